@@ -0,0 +1,168 @@
+package com.campus.EventInClubs.benchmark;
+
+import com.campus.EventInClubs.domain.model.Club;
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.domain.model.Idea;
+import com.campus.EventInClubs.domain.model.Role;
+import com.campus.EventInClubs.domain.model.TeamRegistration;
+import com.campus.EventInClubs.domain.model.User;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shared sample data and in-memory stand-ins for the benchmarks. Nothing here
+ * touches Spring or a database, so the numbers isolate the Java code paths.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static final Club CLUB = Club.builder()
+            .id(1L).name("Coding Club").shortName("CC").category("Technology")
+            .memberCount(120).eventCount(8).rating(4.5).isActive(true)
+            .build();
+
+    static final User ORGANIZER = User.builder()
+            .id(10L).name("Aarav Sharma").email("aarav.sharma@campus.edu").role(Role.CLUB_ADMIN)
+            .build();
+
+    static final User STUDENT = User.builder()
+            .id(20L).name("Priya Verma").email("priya.verma@campus.edu").role(Role.STUDENT)
+            .build();
+
+    static final Hall HALL = Hall.builder()
+            .id(3L).name("Main Auditorium").seatingCapacity(400).isActive(true)
+            .build();
+
+    static Event event(long id) {
+        LocalDateTime start = LocalDateTime.now().plusDays(7 + id % 30).withNano(0);
+        return Event.builder()
+                .id(id)
+                .title("Hack Night #" + id)
+                .description("An overnight build session with mentors, snacks and demos. Bring a laptop and an idea.")
+                .startDate(start)
+                .endDate(start.plusHours(12))
+                .registrationDeadline(start.minusDays(1))
+                .ideaSubmissionDeadline(start.minusDays(2))
+                .acceptsIdeas(true)
+                .location("Main Auditorium")
+                .maxParticipants(300)
+                .currentParticipants(0)
+                .registrationFee(0.0)
+                .status(Event.EventStatus.PUBLISHED)
+                .type(Event.EventType.HACKATHON)
+                .club(CLUB)
+                .organizer(ORGANIZER)
+                .tags("coding,hackathon,ai")
+                .imageUrl("/uploads/posters/" + id + ".png")
+                .createdAt(start.minusDays(20))
+                .updatedAt(start.minusDays(10))
+                .isActive(true)
+                .hall(HALL)
+                .approvalStatus(Event.ApprovalStatus.APPROVED)
+                .isTeamEvent(id % 3 == 0)
+                .minTeamMembers(2)
+                .maxTeamMembers(4)
+                .build();
+    }
+
+    static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            events.add(event(i));
+        }
+        return events;
+    }
+
+    static List<Idea> ideas(Event event, int count) {
+        List<Idea> ideas = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            ideas.add(Idea.builder().id(event.getId() * 1000 + i).title("Idea " + i).event(event).isActive(true).build());
+        }
+        return ideas;
+    }
+
+    static EventRegistration registration(Event event) {
+        return EventRegistration.builder()
+                .id(500L)
+                .event(event)
+                .user(STUDENT)
+                .rollNumber("2021CS1042")
+                .status(EventRegistration.RegistrationStatus.REGISTERED)
+                .paymentStatus(EventRegistration.PaymentStatus.PENDING)
+                .registeredAt(LocalDateTime.now().withNano(0))
+                .build();
+    }
+
+    static TeamRegistration team(Event event, int members) {
+        StringBuilder rolls = new StringBuilder();
+        StringBuilder names = new StringBuilder();
+        StringBuilder emails = new StringBuilder();
+        for (int i = 0; i < members; i++) {
+            if (i > 0) {
+                rolls.append(',');
+                names.append(',');
+                emails.append(',');
+            }
+            rolls.append("2021CS").append(1000 + i);
+            names.append("Member ").append(i);
+            emails.append("member").append(i).append("@campus.edu");
+        }
+        return TeamRegistration.builder()
+                .id(700L)
+                .event(event)
+                .teamName("Null Pointers")
+                .teamSize(members)
+                .memberRollNumbers(rolls.toString())
+                .memberNames(names.toString())
+                .memberEmails(emails.toString())
+                .registeredBy(STUDENT)
+                .status(TeamRegistration.RegistrationStatus.REGISTERED)
+                .paymentStatus(TeamRegistration.PaymentStatus.PENDING)
+                .registeredAt(LocalDateTime.now().withNano(0))
+                .build();
+    }
+
+    /**
+     * In-memory repository stand-in: answers the named methods and fails loudly
+     * on anything else so a benchmark never silently measures a no-op.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stand-in";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+
+    /** Private converters are benchmarked as-is rather than widened for the harness. */
+    static MethodHandle privateMethod(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+}
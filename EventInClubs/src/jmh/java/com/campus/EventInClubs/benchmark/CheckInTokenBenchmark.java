@@ -0,0 +1,54 @@
+package com.campus.EventInClubs.benchmark;
+
+import com.campus.EventInClubs.service.CheckInTokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signature checking is the only per-scan work at the check-in desk once the
+ * roster is in memory, so it bounds how fast a door can admit people.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckInTokenBenchmark {
+
+    private CheckInTokenService tokenService;
+    private String token;
+    private String forged;
+
+    @Setup
+    public void setUp() {
+        tokenService = new CheckInTokenService("benchmark-secret");
+        token = tokenService.issue(48213L, 17L);
+        forged = token.substring(0, token.length() - 2) + "AA";
+    }
+
+    @Benchmark
+    public CheckInTokenService.Claims verify() {
+        return tokenService.verify(token);
+    }
+
+    @Benchmark
+    public CheckInTokenService.Claims rejectForged() {
+        return tokenService.verify(forged);
+    }
+
+    @Benchmark
+    public String issue() {
+        return tokenService.issue(48213L, 17L);
+    }
+}
@@ -0,0 +1,59 @@
+package com.campus.EventInClubs.benchmark;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.service.EmailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTML rendering for the registration and reminder mails, which run once per
+ * registration and once per registrant in every reminder sweep.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private EmailService emailService;
+    private MethodHandle buildRegistrationEmail;
+    private MethodHandle buildReminderEmail;
+    private Event event;
+    private EventRegistration registration;
+
+    @Setup
+    public void setUp() {
+        emailService = new EmailService(null);
+        buildRegistrationEmail = BenchmarkFixtures.privateMethod(EmailService.class, "buildRegistrationEmail",
+                String.class, EventRegistration.class, Event.class, User.class);
+        buildReminderEmail = BenchmarkFixtures.privateMethod(EmailService.class, "buildReminderEmail",
+                String.class, EventRegistration.class, Event.class, User.class);
+        event = BenchmarkFixtures.event(1);
+        registration = BenchmarkFixtures.registration(event);
+    }
+
+    @Benchmark
+    public String buildRegistrationEmail() throws Throwable {
+        return (String) buildRegistrationEmail.invokeExact(emailService, registration, event, BenchmarkFixtures.STUDENT);
+    }
+
+    @Benchmark
+    public String buildReminderEmail() throws Throwable {
+        return (String) buildReminderEmail.invokeExact(emailService, registration, event, BenchmarkFixtures.STUDENT);
+    }
+}
@@ -0,0 +1,115 @@
+package com.campus.EventInClubs.benchmark;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.Idea;
+import com.campus.EventInClubs.dto.EventDto;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.IdeaRepository;
+import com.campus.EventInClubs.repository.TeamRegistrationRepository;
+import com.campus.EventInClubs.repository.VoteRepository;
+import com.campus.EventInClubs.service.EventCleanupService;
+import com.campus.EventInClubs.service.EventService;
+import com.campus.EventInClubs.service.PosterDerivativeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Converts a page of events with repositories answered from memory. The
+ * trial report prints how many repository calls each converter makes per
+ * page, i.e. the queries it would issue against a real database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDtoConversionBenchmark {
+
+    @Param({"20", "200"})
+    public int events;
+
+    @Param({"5"})
+    public int ideasPerEvent;
+
+    private List<Event> page;
+    private EventService eventService;
+    private MethodHandle convertToDto;
+    private MethodHandle convertToDtoLightweight;
+    private final AtomicLong repositoryCalls = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        page = BenchmarkFixtures.events(events);
+        Map<Long, List<Idea>> ideasByEvent = new java.util.HashMap<>();
+        for (Event event : page) {
+            ideasByEvent.put(event.getId(), BenchmarkFixtures.ideas(event, ideasPerEvent));
+        }
+
+        IdeaRepository ideaRepository = BenchmarkFixtures.repository(IdeaRepository.class, Map.of(
+                "findByEventIdAndIsActiveTrueOrderByCreatedAtDesc", args -> counted(ideasByEvent.get((Long) args[0]))));
+        VoteRepository voteRepository = BenchmarkFixtures.repository(VoteRepository.class, Map.of(
+                "countTotalVotesByIdeaId", args -> counted(7L)));
+        EventRegistrationRepository registrationRepository = BenchmarkFixtures.repository(EventRegistrationRepository.class, Map.of(
+                "countActiveByEventId", args -> counted(142L)));
+        TeamRegistrationRepository teamRepository = BenchmarkFixtures.repository(TeamRegistrationRepository.class, Map.of(
+                "sumTeamMembersByEventId", args -> counted(36L)));
+
+        eventService = new EventService(null, ideaRepository, voteRepository, null,
+                new EventCleanupService(null, null), registrationRepository, teamRepository, null, null, null, null, null,
+                new PosterDerivativeService(null, null, null, null, "uploads"), null);
+        convertToDto = BenchmarkFixtures.privateMethod(EventService.class, "convertToDto", EventDto.class, Event.class);
+        convertToDtoLightweight = BenchmarkFixtures.privateMethod(EventService.class, "convertToDtoLightweight", EventDto.class, Event.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void report() throws Throwable {
+        System.out.printf("%n%d events x %d ideas: convertToDto %d repository calls/page, lightweight %d%n",
+                events, ideasPerEvent, callsPerPage(convertToDto), callsPerPage(convertToDtoLightweight));
+    }
+
+    @Benchmark
+    public void convertToDto(Blackhole blackhole) throws Throwable {
+        for (Event event : page) {
+            blackhole.consume((EventDto) convertToDto.invokeExact(eventService, event));
+        }
+    }
+
+    @Benchmark
+    public void convertToDtoLightweight(Blackhole blackhole) throws Throwable {
+        for (Event event : page) {
+            blackhole.consume((EventDto) convertToDtoLightweight.invokeExact(eventService, event));
+        }
+    }
+
+    private long callsPerPage(MethodHandle converter) throws Throwable {
+        long before = repositoryCalls.get();
+        for (Event event : page) {
+            EventDto dto = (EventDto) converter.invokeExact(eventService, event);
+        }
+        return repositoryCalls.get() - before;
+    }
+
+    private <T> T counted(T value) {
+        repositoryCalls.incrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,119 @@
+package com.campus.EventInClubs.benchmark;
+
+import com.campus.EventInClubs.config.JacksonConfig;
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.dto.EventDto;
+import com.campus.EventInClubs.service.JsonResponseCache;
+import com.campus.EventInClubs.service.ResourceVersionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing an event list three ways: a stock mapper, the application mapper
+ * (Blackbird, shared writer) and a hit on the pre-serialized response cache.
+ * Sample mode records percentiles, and the gc profiler adds bytes/op
+ * (gc.alloc.rate.norm) to the JSON report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDtoSerializationBenchmark {
+
+    @Param({"20", "200"})
+    public int events;
+
+    private List<EventDto> dtos;
+    private ObjectMapper plainMapper;
+    private ObjectWriter applicationWriter;
+    private JsonResponseCache cache;
+    private ResourceVersionService versions;
+
+    @Setup
+    public void setUp() {
+        dtos = BenchmarkFixtures.events(events).stream().map(EventDtoSerializationBenchmark::toDto).toList();
+        plainMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ObjectMapper applicationMapper = new JacksonConfig().objectMapper();
+        applicationWriter = applicationMapper.writerFor(applicationMapper.getTypeFactory()
+                .constructCollectionType(List.class, EventDto.class));
+        cache = new JsonResponseCache(applicationMapper);
+        versions = new ResourceVersionService();
+    }
+
+    @Benchmark
+    public byte[] plainObjectMapper() throws Exception {
+        return plainMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] applicationWriter() throws Exception {
+        return applicationWriter.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> cachedGzipHit() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/active");
+        request.addHeader("Accept-Encoding", "gzip");
+        return cache.cached(new ServletWebRequest(request, new MockHttpServletResponse()), "events:active",
+                versions.current(ResourceVersionService.Resource.EVENTS), () -> dtos);
+    }
+
+    private static EventDto toDto(Event event) {
+        return EventDto.builder()
+                .id(event.getId())
+                .title(event.getTitle())
+                .description(event.getDescription())
+                .startDate(event.getStartDate())
+                .endDate(event.getEndDate())
+                .registrationDeadline(event.getRegistrationDeadline())
+                .ideaSubmissionDeadline(event.getIdeaSubmissionDeadline())
+                .acceptsIdeas(event.getAcceptsIdeas())
+                .location(event.getLocation())
+                .maxParticipants(event.getMaxParticipants())
+                .currentParticipants(142)
+                .registrationFee(event.getRegistrationFee())
+                .status(event.getStatus())
+                .type(event.getType())
+                .clubId(event.getClub().getId())
+                .clubName(event.getClub().getName())
+                .organizerId(event.getOrganizer().getId())
+                .organizerName(event.getOrganizer().getName())
+                .tags(event.getTags())
+                .imageUrl(event.getImageUrl())
+                .createdAt(event.getCreatedAt())
+                .updatedAt(event.getUpdatedAt())
+                .totalVotes(35)
+                .isActive(true)
+                .isExpired(false)
+                .isViewOnly(false)
+                .hallId(event.getHall().getId())
+                .hallName(event.getHall().getName())
+                .hallCapacity(event.getHall().getSeatingCapacity())
+                .approvalStatus(event.getApprovalStatus())
+                .isTeamEvent(event.getIsTeamEvent())
+                .minTeamMembers(event.getMinTeamMembers())
+                .maxTeamMembers(event.getMaxTeamMembers())
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.campus.EventInClubs.benchmark;
+
+import com.campus.EventInClubs.domain.model.TeamRegistration;
+import com.campus.EventInClubs.dto.TeamRegistrationDto;
+import com.campus.EventInClubs.service.TeamRegistrationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splitting the comma-separated member columns of a team registration into
+ * the lists the DTO exposes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamMemberCsvBenchmark {
+
+    @Param({"4", "10"})
+    public int members;
+
+    private TeamRegistrationService teamRegistrationService;
+    private MethodHandle convertToDto;
+    private TeamRegistration team;
+
+    @Setup
+    public void setUp() {
+        teamRegistrationService = new TeamRegistrationService(null, null, null, null, null, null);
+        convertToDto = BenchmarkFixtures.privateMethod(TeamRegistrationService.class, "convertToDto",
+                TeamRegistrationDto.class, TeamRegistration.class);
+        team = BenchmarkFixtures.team(BenchmarkFixtures.event(3), members);
+    }
+
+    @Benchmark
+    public TeamRegistrationDto convertToDto() throws Throwable {
+        return (TeamRegistrationDto) convertToDto.invokeExact(teamRegistrationService, team);
+    }
+}
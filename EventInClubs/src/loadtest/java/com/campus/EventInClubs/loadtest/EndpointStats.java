@@ -0,0 +1,54 @@
+package com.campus.EventInClubs.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latency samples and status codes for one endpoint within one scenario.
+ */
+final class EndpointStats {
+
+    private long[] latenciesMicros = new long[1024];
+    private int count;
+    private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+    synchronized void record(long latencyMicros, int status) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyMicros;
+        statuses.merge(status, 1, Integer::sum);
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    synchronized Map<String, Object> summary(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(latenciesMicros, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("throughputPerSec", round(count / elapsedSeconds));
+        summary.put("p50Ms", percentile(sorted, 0.50));
+        summary.put("p95Ms", percentile(sorted, 0.95));
+        summary.put("p99Ms", percentile(sorted, 0.99));
+        summary.put("maxMs", count == 0 ? 0 : round(sorted[count - 1] / 1000.0));
+        summary.put("statuses", new TreeMap<>(statuses));
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return round(sorted[Math.max(0, index)] / 1000.0);
+    }
+
+    static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,485 @@
+package com.campus.EventInClubs.loadtest;
+
+import com.campus.EventInClubs.EventInClubsApplication;
+import com.campus.EventInClubs.config.QueryAccountingFilter;
+import com.campus.EventInClubs.config.SyntheticCampusSeeder;
+import com.campus.EventInClubs.security.JwtUtil;
+import com.campus.EventInClubs.service.FileStorageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpServer;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Boots the application against a disposable embedded Postgres, seeds a
+ * synthetic campus and drives the scenarios below, writing a JSON report.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="-Dloadtest.concurrency=200 -Dapp.seed.synthetic.students=10000"
+ * </pre>
+ *
+ * Running the same arguments again with {@code -Dspring.threads.virtual.enabled=true}
+ * compares virtual against platform threads on the same connection pool, and
+ * {@code -Dloadtest.scenarios=file-downloads -Dapp.uploads.zero-copy.enabled=false}
+ * compares the upload file server against Spring's resource handler. Process CPU
+ * per GB covers this client as well as the server, both running in one JVM.
+ */
+public final class LoadTestRunner {
+
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 50);
+    private static final String SCENARIOS = System.getProperty("loadtest.scenarios",
+            "browsing,notification-polling,live-voting,flash-registration,google-login");
+    private static final String REPORT = System.getProperty("loadtest.report", "target/loadtest-report.json");
+    // How long the stand-in for Google's tokeninfo endpoint takes to answer
+    private static final int UPSTREAM_DELAY_MS = Integer.getInteger("loadtest.upstream-delay-ms", 200);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+    private final Statistics statistics;
+    private final MeterRegistry meterRegistry;
+    private final HikariDataSource dataSource;
+    private final List<Student> students;
+    private final List<Long> eventIds;
+    private final List<Long> ideaIds;
+    private final List<String> clubAdminEmails;
+    private final boolean virtualThreads;
+    private final boolean zeroCopyUploads;
+    private final FileStorageService fileStorage;
+    private final LongAdder bytesReceived = new LongAdder();
+
+    private record Student(long id, String email, String token) {}
+
+    private record Request(String endpoint, String method, String path, String token, String body, Map<String, String> headers) {
+        Request(String endpoint, String method, String path, String token, String body) {
+            this(endpoint, method, path, token, body, Map.of());
+        }
+    }
+
+    private interface Workload {
+        /** Next request for the given virtual user, or null when the scenario has no more work. */
+        Request next(int user, int iteration);
+    }
+
+    private LoadTestRunner(ConfigurableApplicationContext app) {
+        this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+        this.statistics = app.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        this.meterRegistry = app.getBean(MeterRegistry.class);
+        this.dataSource = app.getBean(HikariDataSource.class);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        JwtUtil jwtUtil = app.getBean(JwtUtil.class);
+        this.students = jdbc.query("SELECT id, email FROM users WHERE role = 'STUDENT' AND email LIKE ? ORDER BY id",
+                (rs, row) -> new Student(rs.getLong("id"), rs.getString("email"),
+                        jwtUtil.generateToken(rs.getString("email"), "STUDENT", rs.getLong("id"))),
+                "%" + SyntheticCampusSeeder.EMAIL_DOMAIN);
+        this.eventIds = jdbc.queryForList("SELECT id FROM events ORDER BY id", Long.class);
+        this.ideaIds = jdbc.queryForList("SELECT id FROM ideas ORDER BY id", Long.class);
+        this.clubAdminEmails = jdbc.queryForList("SELECT email FROM users WHERE role = 'CLUB_ADMIN' AND email LIKE ? ORDER BY id",
+                String.class, "%" + SyntheticCampusSeeder.EMAIL_DOMAIN);
+        this.virtualThreads = app.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        this.zeroCopyUploads = app.getEnvironment().getProperty("app.uploads.zero-copy.enabled", Boolean.class, true);
+        this.fileStorage = app.getBean(FileStorageService.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        HttpServer tokenInfo = startTokenInfoStandIn();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+            properties.put("spring.datasource.username", "postgres");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.hibernate.ddl-auto", "update");
+            properties.put("spring.jpa.show-sql", "false");
+            properties.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+            properties.put("server.port", "0");
+            properties.put("spring.mail.host", "localhost");
+            properties.put("spring.mail.port", "1");
+            properties.put("spring.mail.username", "loadtest" + SyntheticCampusSeeder.EMAIL_DOMAIN);
+            properties.put("spring.mail.password", "unused");
+            properties.put("logging.level.root", "WARN");
+            properties.put("logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener", "OFF");
+            // No SMTP server here; registration mails fail fast and are expected
+            properties.put("logging.level.com.campus.EventInClubs.service.EmailService", "OFF");
+            // Budget overruns are summarised per endpoint in the report instead
+            properties.put("logging.level.com.campus.EventInClubs.config.QueryAccountingFilter", "OFF");
+            properties.put("app.seed.synthetic.enabled", "true");
+            properties.put("app.uploads.dir", Files.createTempDirectory("loadtest-uploads").toString());
+            properties.put("app.google.tokeninfo-url", "http://localhost:" + tokenInfo.getAddress().getPort() + "/tokeninfo");
+            // Every virtual user calls from localhost, so per-IP limits would throttle the whole run;
+            // pass -Dapp.rate-limit.enabled=true to measure the limiter instead
+            properties.put("app.rate-limit.enabled", "false");
+            // Scale knobs (app.seed.synthetic.*) and any other app setting can be passed as -D flags
+            System.getProperties().forEach((key, value) -> {
+                if (key.toString().startsWith("app.") || key.toString().startsWith("spring.")) {
+                    properties.put(key.toString(), value);
+                }
+            });
+
+            ConfigurableApplicationContext app = new SpringApplicationBuilder(EventInClubsApplication.class)
+                    .properties(properties)
+                    .run();
+            try {
+                new LoadTestRunner(app).run();
+            } finally {
+                app.close();
+            }
+        } finally {
+            tokenInfo.stop(0);
+        }
+    }
+
+    /** Answers like Google's tokeninfo after a delay, echoing the id_token back as the email. */
+    private static HttpServer startTokenInfoStandIn() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/tokeninfo", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String query = exchange.getRequestURI().getQuery();
+            String email = query.substring(query.indexOf('=') + 1);
+            byte[] body = ("{\"email\":\"" + email + "\",\"name\":\"Load Test\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Synthetic campus: %d students, %d events, %d ideas; %d virtual users, %ds per scenario; %s threads%n",
+                students.size(), eventIds.size(), ideaIds.size(), CONCURRENCY, DURATION_SECONDS,
+                virtualThreads ? "virtual" : "platform");
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threads", virtualThreads ? "virtual" : "platform");
+        report.put("uploadServing", zeroCopyUploads ? "zero-copy" : "resource-handler");
+        for (String scenario : SCENARIOS.split(",")) {
+            Workload workload = switch (scenario.trim()) {
+                case "browsing" -> browsing();
+                case "notification-polling" -> notificationPolling();
+                case "live-voting" -> liveVoting();
+                case "flash-registration" -> flashRegistration();
+                case "google-login" -> googleLogin();
+                case "file-downloads" -> fileDownloads();
+                default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+            };
+            report.put(scenario.trim(), runScenario(scenario.trim(), workload));
+        }
+
+        File file = new File(REPORT);
+        file.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+
+    /** Students opening the app: event and club lists, an event detail page, top ideas, leaderboard. */
+    private Workload browsing() {
+        return (user, iteration) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return switch (random.nextInt(10)) {
+                case 0, 1, 2 -> get("GET /api/events/active", "/api/events/active", null);
+                case 3, 4 -> get("GET /api/clubs", "/api/clubs", null);
+                case 5 -> get("GET /api/clubs/top", "/api/clubs/top", null);
+                case 6, 7 -> get("GET /api/events/{id}", "/api/events/" + pick(eventIds), null);
+                case 8 -> get("GET /api/ideas/top", "/api/ideas/top", null);
+                default -> get("GET /api/achievements/leaderboard", "/api/achievements/leaderboard", null);
+            };
+        };
+    }
+
+    /** Every open tab polls the unread badge, occasionally opening the full list. */
+    private Workload notificationPolling() {
+        return (user, iteration) -> {
+            Student student = students.get(user % students.size());
+            return iteration % 5 == 4
+                    ? get("GET /api/notifications", "/api/notifications", student.token())
+                    : get("GET /api/notifications/unread/count", "/api/notifications/unread/count", student.token());
+        };
+    }
+
+    /** A handful of ideas are being pitched live and the whole audience votes on them. */
+    private Workload liveVoting() {
+        List<Long> hotIdeas = ideaIds.subList(0, Math.min(10, ideaIds.size()));
+        return (user, iteration) -> {
+            Student student = pick(students);
+            String voteType = ThreadLocalRandom.current().nextInt(10) < 8 ? "UP" : "DOWN";
+            return new Request("POST /api/votes/idea/{id}", "POST",
+                    "/api/votes/idea/" + pick(hotIdeas) + "?userId=" + student.id() + "&voteType=" + voteType, null, null);
+        };
+    }
+
+    /** Registration opens for one popular event and every student tries to get a seat at once. */
+    private Workload flashRegistration() {
+        long eventId = eventIds.get(eventIds.size() - 1);
+        AtomicInteger nextStudent = new AtomicInteger();
+        return (user, iteration) -> {
+            int index = nextStudent.getAndIncrement();
+            if (index >= students.size()) {
+                return null;
+            }
+            Student student = students.get(index);
+            return new Request("POST /api/event-registrations/register", "POST",
+                    "/api/event-registrations/register?eventId=" + eventId + "&userId=" + student.id()
+                            + "&rollNumber=FLASH" + student.id(), null, null);
+        };
+    }
+
+    /** Sign-ins that wait on a slow Google token check, with no database work while they wait. */
+    private Workload googleLogin() {
+        return (user, iteration) -> new Request("POST /api/auth/google", "POST", "/api/auth/google", null,
+                "{\"idToken\":\"" + pick(clubAdminEmails) + "\"}");
+    }
+
+    /** Slide decks and posters opened from event pages: whole files, resumed downloads (ranges) and images. */
+    private Workload fileDownloads() throws Exception {
+        String deck = storeRandomFile("deck.pptx", 10 * 1024 * 1024);
+        String poster = storeRandomFile("poster.jpg", 200 * 1024);
+        return (user, iteration) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            // A fresh query string per request keeps the per-user validator cache from turning downloads into 304s
+            String bust = "?u=" + user + "&i=" + iteration;
+            return switch (random.nextInt(4)) {
+                case 0, 1 -> get("GET deck (10 MB)", deck + bust, null);
+                case 2 -> {
+                    long start = random.nextLong(9L * 1024 * 1024);
+                    yield new Request("GET deck range (1 MB)", "GET", deck + bust, null, null,
+                            Map.of("Range", "bytes=" + start + "-" + (start + 1024 * 1024 - 1)));
+                }
+                default -> get("GET poster (200 KB)", poster + bust, null);
+            };
+        };
+    }
+
+    private String storeRandomFile(String name, int size) throws Exception {
+        byte[] content = new byte[size];
+        ThreadLocalRandom.current().nextBytes(content);
+        return fileStorage.store(new MockMultipartFile("file", name, null, content), "bin").url();
+    }
+
+    private Map<String, Object> runScenario(String name, Workload workload) throws Exception {
+        System.out.printf("%n== %s%n", name);
+        Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+        long queriesBefore = statistics.getPrepareStatementCount();
+        long entityLoadsBefore = statistics.getEntityLoadCount();
+        Map<String, double[]> sqlBefore = sqlByEndpoint();
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long cpuBefore = os.getProcessCpuTime();
+        long serverCpuBefore = serverCpuNanos();
+        long bytesBefore = bytesReceived.sum();
+        long deadline = System.nanoTime() + Duration.ofSeconds(DURATION_SECONDS).toNanos();
+        long started = System.nanoTime();
+
+        Map<String, Object> pool;
+        try (PoolSampler sampler = new PoolSampler(dataSource);
+             ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < CONCURRENCY; user++) {
+                int userId = user;
+                users.submit(() -> virtualUser(userId, workload, endpoints, deadline));
+            }
+            users.shutdown();
+            users.close();
+            sampler.close();
+            pool = sampler.summary();
+        }
+
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        long queries = statistics.getPrepareStatementCount() - queriesBefore;
+        long entityLoads = statistics.getEntityLoadCount() - entityLoadsBefore;
+        int requests = endpoints.values().stream().mapToInt(EndpointStats::count).sum();
+        double cpuSeconds = (os.getProcessCpuTime() - cpuBefore) / 1e9;
+        double serverCpuSeconds = (serverCpuNanos() - serverCpuBefore) / 1e9;
+        double megabytes = (bytesReceived.sum() - bytesBefore) / (1024.0 * 1024.0);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("elapsedSeconds", EndpointStats.round(elapsedSeconds));
+        result.put("requests", requests);
+        result.put("throughputPerSec", EndpointStats.round(requests / elapsedSeconds));
+        result.put("sqlStatements", queries);
+        result.put("sqlStatementsPerRequest", requests == 0 ? 0 : EndpointStats.round((double) queries / requests));
+        result.put("entityLoads", entityLoads);
+        result.put("processCpuSeconds", EndpointStats.round(cpuSeconds));
+        result.put("megabytesReceived", EndpointStats.round(megabytes));
+        result.put("megabytesPerSec", EndpointStats.round(megabytes / elapsedSeconds));
+        result.put("cpuSecondsPerGb", megabytes < 1 ? 0 : EndpointStats.round(cpuSeconds / (megabytes / 1024)));
+        result.put("tomcatCpuSeconds", EndpointStats.round(serverCpuSeconds));
+        result.put("tomcatCpuSecondsPerGb", megabytes < 1 ? 0 : EndpointStats.round(serverCpuSeconds / (megabytes / 1024)));
+        result.put("connectionPool", pool);
+        Map<String, Object> perEndpoint = new LinkedHashMap<>();
+        endpoints.forEach((endpoint, stats) -> perEndpoint.put(endpoint, stats.summary(elapsedSeconds)));
+        result.put("endpoints", perEndpoint);
+        result.put("sqlByEndpoint", sqlDelta(sqlBefore, sqlByEndpoint()));
+
+        System.out.printf("%-45s %9s %9s %9s %9s %9s%n", "endpoint", "req/s", "p50 ms", "p95 ms", "p99 ms", "requests");
+        perEndpoint.forEach((endpoint, value) -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> stats = (Map<String, Object>) value;
+            System.out.printf("%-45s %9s %9s %9s %9s %9s%n", endpoint, stats.get("throughputPerSec"),
+                    stats.get("p50Ms"), stats.get("p95Ms"), stats.get("p99Ms"), stats.get("requests"));
+        });
+        System.out.printf("SQL statements: %d (%.2f/request), pool: %s%n", queries,
+                requests == 0 ? 0.0 : (double) queries / requests, pool);
+        System.out.printf("Received %.1f MB (%.1f MB/s), process CPU %.2f s (%s s/GB), Tomcat threads %.2f s (%s s/GB)%n",
+                megabytes, megabytes / elapsedSeconds, cpuSeconds, result.get("cpuSecondsPerGb"),
+                serverCpuSeconds, result.get("tomcatCpuSecondsPerGb"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> sql = (Map<String, Object>) result.get("sqlByEndpoint");
+        sql.forEach((endpoint, stats) -> System.out.printf("  %-43s %s%n", endpoint, stats));
+        return result;
+    }
+
+    /**
+     * CPU time of Tomcat's platform threads (request workers, poller, acceptor),
+     * which is where sendfile and response writes run. With virtual threads the
+     * request work itself is not included, since the JVM does not time those.
+     */
+    private static long serverCpuNanos() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith("http-nio-")) {
+                total += Math.max(0, threads.getThreadCpuTime(info.getThreadId()));
+            }
+        }
+        return total;
+    }
+
+    /** Request count, statements, entity loads and JDBC ms per "METHOD uri", from the query accounting meters. */
+    private Map<String, double[]> sqlByEndpoint() {
+        Map<String, double[]> totals = new HashMap<>();
+        for (DistributionSummary summary : meterRegistry.find(QueryAccountingFilter.STATEMENTS_METRIC).summaries()) {
+            String method = summary.getId().getTag("method");
+            String uri = summary.getId().getTag("uri");
+            DistributionSummary loads = meterRegistry.find(QueryAccountingFilter.ENTITY_LOADS_METRIC)
+                    .tag("method", method).tag("uri", uri).summary();
+            Timer jdbc = meterRegistry.find(QueryAccountingFilter.JDBC_TIME_METRIC)
+                    .tag("method", method).tag("uri", uri).timer();
+            totals.put(method + " " + uri, new double[]{
+                    summary.count(),
+                    summary.totalAmount(),
+                    loads == null ? 0 : loads.totalAmount(),
+                    jdbc == null ? 0 : jdbc.totalTime(TimeUnit.MILLISECONDS)});
+        }
+        return totals;
+    }
+
+    private static Map<String, Object> sqlDelta(Map<String, double[]> before, Map<String, double[]> after) {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        after.forEach((endpoint, totals) -> {
+            double[] previous = before.getOrDefault(endpoint, new double[4]);
+            double requests = totals[0] - previous[0];
+            if (requests <= 0) {
+                return;
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", (long) requests);
+            stats.put("statementsPerRequest", EndpointStats.round((totals[1] - previous[1]) / requests));
+            stats.put("entityLoadsPerRequest", EndpointStats.round((totals[2] - previous[2]) / requests));
+            stats.put("jdbcMsPerRequest", EndpointStats.round((totals[3] - previous[3]) / requests));
+            delta.put(endpoint, stats);
+        });
+        return delta;
+    }
+
+    private void virtualUser(int user, Workload workload, Map<String, EndpointStats> endpoints, long deadline) {
+        // Per-user validator cache, as a browser would keep for conditional GETs
+        Map<String, String> etags = new HashMap<>();
+        for (int iteration = 0; System.nanoTime() < deadline; iteration++) {
+            Request request = workload.next(user, iteration);
+            if (request == null) {
+                return;
+            }
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Accept-Encoding", "gzip");
+            if (request.token() != null) {
+                builder.header("Authorization", "Bearer " + request.token());
+            }
+            request.headers().forEach(builder::header);
+            if ("GET".equals(request.method())) {
+                String etag = etags.get(request.path());
+                if (etag != null) {
+                    builder.header("If-None-Match", etag);
+                }
+                builder.GET();
+            } else if (request.body() != null) {
+                builder.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(request.body()));
+            } else {
+                builder.POST(HttpRequest.BodyPublishers.noBody());
+            }
+
+            long started = System.nanoTime();
+            int status;
+            try {
+                HttpResponse<InputStream> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+                try (InputStream body = response.body()) {
+                    bytesReceived.add(body.transferTo(OutputStream.nullOutputStream()));
+                }
+                status = response.statusCode();
+                response.headers().firstValue("ETag").ifPresent(etag -> etags.put(request.path(), etag));
+            } catch (Exception e) {
+                status = -1;
+            }
+            endpoints.computeIfAbsent(request.endpoint(), key -> new EndpointStats())
+                    .record((System.nanoTime() - started) / 1000, status);
+        }
+    }
+
+    private static Request get(String endpoint, String path, String token) {
+        return new Request(endpoint, "GET", path, token, null);
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.campus.EventInClubs.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Samples the Hikari pool while a scenario runs to show how close the
+ * connection pool gets to exhaustion.
+ */
+final class PoolSampler implements AutoCloseable {
+
+    private static final long INTERVAL_MILLIS = 10;
+
+    private final HikariPoolMXBean pool;
+    private final int maxPoolSize;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private int samples;
+    private int saturatedSamples;
+    private int waitingSamples;
+    private int maxActive;
+    private int maxWaiting;
+
+    PoolSampler(HikariDataSource dataSource) {
+        this.pool = dataSource.getHikariPoolMXBean();
+        this.maxPoolSize = dataSource.getMaximumPoolSize();
+        this.thread = Thread.ofPlatform().daemon().name("pool-sampler").start(this::sample);
+    }
+
+    private void sample() {
+        while (running) {
+            int active = pool.getActiveConnections();
+            int waiting = pool.getThreadsAwaitingConnection();
+            synchronized (this) {
+                samples++;
+                maxActive = Math.max(maxActive, active);
+                maxWaiting = Math.max(maxWaiting, waiting);
+                if (active >= maxPoolSize) {
+                    saturatedSamples++;
+                }
+                if (waiting > 0) {
+                    waitingSamples++;
+                }
+            }
+            try {
+                Thread.sleep(INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    synchronized Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("maxPoolSize", maxPoolSize);
+        summary.put("maxActive", maxActive);
+        summary.put("maxWaitingThreads", maxWaiting);
+        summary.put("saturatedPct", samples == 0 ? 0 : EndpointStats.round(100.0 * saturatedSamples / samples));
+        summary.put("waitingPct", samples == 0 ? 0 : EndpointStats.round(100.0 * waitingSamples / samples));
+        return summary;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.join();
+    }
+}
@@ -0,0 +1,194 @@
+package com.campus.EventInClubs.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * The pools below stay bounded in both threading modes, since their limits
+ * protect SMTP and the connection pool. With spring.threads.virtual.enabled
+ * their workers are virtual threads, as are Tomcat's and the scheduler's.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Bounded pool for notification fan-out (in-app rows and emails) that
+     * callers should not wait on. SMTP is the bottleneck, so a few threads suffice.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor notificationExecutor(
+            @Value("${app.async.notification.threads:2}") int threads,
+            @Value("${app.async.notification.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notify-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Runs streaming response bodies (registration exports). Each one holds a
+     * database connection while it writes, so the pool stays below Hikari's.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor(
+            @Value("${app.async.mvc.threads:4}") int threads,
+            @Value("${app.async.mvc.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setVirtualThreads(virtualThreads);
+        return executor;
+    }
+
+    /**
+     * Resizes uploaded posters. Decoding is CPU- and memory-heavy, so one thread
+     * by default. Overflow is dropped rather than run on the caller: the job row
+     * stays pending and the next sweep resubmits it.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageExecutor(
+            @Value("${app.async.image.threads:1}") int threads,
+            @Value("${app.async.image.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+
+    /**
+     * Runs waitlist promotions after seats are released, apart from the SMTP
+     * pool so a mail backlog cannot delay or reject them. Each run locks its
+     * event row and holds a connection, so one thread is the default; overflow
+     * is dropped, since a later run or the waitlist sweep promotes everyone due.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor promotionExecutor(
+            @Value("${app.async.promotion.threads:1}") int threads,
+            @Value("${app.async.promotion.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("promotion-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+
+    /**
+     * Pushes staged club logos to Cloudinary. The thread count bounds concurrent
+     * uploads to the API; as with images, overflow waits in the job table.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cloudinaryExecutor(
+            @Value("${app.async.cloudinary.threads:2}") int threads,
+            @Value("${app.async.cloudinary.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cloudinary-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+
+    /**
+     * Recomputes the dashboard counters behind a stale snapshot. Only one
+     * refresh is ever in flight, so a single thread and queue slot are enough.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor analyticsExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("analytics-");
+        executor.setVirtualThreads(virtualThreads);
+        return executor;
+    }
+
+    /**
+     * Drains admission queues, one event per thread at a time. Each drain holds
+     * one connection while it commits a batch, so a couple of threads keep
+     * several flash sign-ups moving without crowding out requests.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor admissionExecutor(
+            @Value("${app.async.admission.threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("admission-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Writes live seat counts to SSE streams, so a slow client never holds up
+     * the scheduler. One thread and one queued run; further runs are dropped
+     * because the queued one sends everything pending when it starts.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor seatBroadcastExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("seats-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+
+    /**
+     * Writes one broadcast pass to each live seat stream, one virtual thread
+     * per subscriber whatever the threading mode, so LiveSeatService can give
+     * up on a stalled client without waiting on it.
+     */
+    @Bean
+    public SimpleAsyncTaskExecutor seatSendExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("seat-send-");
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(5_000);
+        return executor;
+    }
+
+    /**
+     * Runs dashboard sections side by side, one virtual thread each whatever the
+     * threading mode. DashboardService caps how many of them hold a connection.
+     */
+    @Bean
+    public SimpleAsyncTaskExecutor dashboardExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(5_000);
+        // Sections read from the replica; they must know whose dashboard it is to see that user's own writes
+        executor.setTaskDecorator(ReadYourWrites::propagate);
+        return executor;
+    }
+}
@@ -20,6 +20,10 @@ public class CloudinaryConfig {
     @Value("${cloudinary.api-secret:Kp6R8xFSOtI7dyY4KScCDJCIO5A}")
     private String apiSecret;
     
+    // Points uploads at another API host, e.g. a local stand-in during tests
+    @Value("${cloudinary.upload-prefix:}")
+    private String uploadPrefix;
+    
     @Bean
     public Cloudinary cloudinary() {
         try {
@@ -33,6 +37,9 @@ public class CloudinaryConfig {
                 "api_secret", apiSecret,
                 "secure", true
             ));
+            if (uploadPrefix != null && !uploadPrefix.isBlank()) {
+                cloudinary.config.uploadPrefix = uploadPrefix;
+            }
             
             log.info("Cloudinary initialized successfully");
             return cloudinary;
@@ -2,12 +2,18 @@ package com.campus.EventInClubs.config;
 
 import com.campus.EventInClubs.domain.model.Hall;
 import com.campus.EventInClubs.domain.model.Role;
+import com.campus.EventInClubs.domain.model.TeamMember;
 import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.repository.CommentRepository;
 import com.campus.EventInClubs.repository.HallRepository;
+import com.campus.EventInClubs.repository.ProblemRepository;
+import com.campus.EventInClubs.repository.TeamMemberRepository;
 import com.campus.EventInClubs.repository.UserRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
@@ -108,7 +114,62 @@ public class DataInitializer {
             }
         };
     }
-}
+    
+    /**
+     * Fills team_members for teams registered before the table existed (V14).
+     * A no-op once every active team has its member rows. Roll numbers longer
+     * than the column allows are left out and reported rather than failing startup.
+     */
+    @Bean
+    public CommandLineRunner backfillTeamMembers(TeamMemberRepository teamMemberRepository) {
+        return args -> {
+            for (Object[] skipped : teamMemberRepository.findRollNumbersTooLongToBackfill()) {
+                System.out.println("Skipped backfilling roll number '" + skipped[1] + "' of team registration "
+                        + skipped[0] + ": longer than " + TeamMember.MAX_ROLL_NUMBER_LENGTH + " characters");
+            }
+            int inserted = teamMemberRepository.backfillFromTeamRegistrations();
+            if (inserted > 0) {
+                System.out.println("Backfilled " + inserted + " team members from existing team registrations");
+            }
+        };
+    }
 
+    /**
+     * Fills root_id and path for comments posted before threads were stored
+     * with them (V19). A no-op once every comment has its path.
+     */
+    @Bean
+    public CommandLineRunner backfillCommentThreads(CommentRepository commentRepository) {
+        return args -> {
+            int updated = commentRepository.backfillThreadPaths();
+            if (updated > 0) {
+                System.out.println("Backfilled thread paths for " + updated + " comments");
+            }
+        };
+    }
 
+    /**
+     * Brings problems.idea_count in line with the active ideas, for problems
+     * whose ideas were posted before the count was maintained. A no-op once
+     * every count is right.
+     */
+    @Bean
+    public CommandLineRunner recountProblemIdeas(ProblemRepository problemRepository) {
+        return args -> {
+            int updated = problemRepository.recountIdeas();
+            if (updated > 0) {
+                System.out.println("Recounted ideas for " + updated + " problems");
+            }
+        };
+    }
 
+    /**
+     * Load-test dataset; runs after the halls exist so events can be placed in them.
+     */
+    @Bean
+    @Order(100)
+    @ConditionalOnProperty(name = "app.seed.synthetic.enabled", havingValue = "true")
+    public CommandLineRunner seedSyntheticCampus(SyntheticCampusSeeder seeder) {
+        return args -> seeder.seed();
+    }
+}
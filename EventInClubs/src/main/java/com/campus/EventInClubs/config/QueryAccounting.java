@@ -0,0 +1,80 @@
+package com.campus.EventInClubs.config;
+
+/**
+ * Per-thread SQL accounting. Hibernate's global Statistics cannot attribute
+ * work to a single request under concurrency, so the session hooks registered
+ * in {@link QueryAccountingConfig} report into whichever scope is open on the
+ * current thread. Scopes nest: a closed inner scope folds into its parent.
+ */
+public final class QueryAccounting {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryAccounting() {
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private long statements;
+        private long entityLoads;
+        private long jdbcNanos;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntityLoads() {
+            return entityLoads;
+        }
+
+        public long getJdbcNanos() {
+            return jdbcNanos;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent != null) {
+                parent.statements += statements;
+                parent.entityLoads += entityLoads;
+                parent.jdbcNanos += jdbcNanos;
+            }
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+
+    /** Opens a scope on the current thread; close it in a finally or try-with-resources. */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static void statementExecuted(long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements++;
+            scope.jdbcNanos += nanos;
+        }
+    }
+
+    public static void entityLoaded() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.entityLoads++;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.campus.EventInClubs.config;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Hooks every Hibernate session into {@link QueryAccounting}: JDBC executions
+ * (with their wall time) through a session event listener, entity loads through
+ * a post-load listener.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryAccountingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryAccountingHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, StatementListener.class.getName());
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new EntityLoadIntegrator()));
+        };
+    }
+
+    /** Instantiated by Hibernate once per session, so the start timestamp is not shared. */
+    public static class StatementListener extends BaseSessionEventListener {
+
+        private long started;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            started = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            QueryAccounting.statementExecuted(System.nanoTime() - started);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            started = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            // One round trip, however many rows the batch carried
+            QueryAccounting.statementExecuted(System.nanoTime() - started);
+        }
+    }
+
+    static class EntityLoadIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, event -> QueryAccounting.entityLoaded());
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                 SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
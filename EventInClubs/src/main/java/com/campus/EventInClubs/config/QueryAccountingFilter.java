@@ -0,0 +1,92 @@
+package com.campus.EventInClubs.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records SQL statements, entity loads and JDBC time per HTTP request as
+ * Micrometer meters tagged by method and URI pattern, and logs requests that
+ * go over the statement budget. Runs ahead of the security chain so the user
+ * lookups done during authentication are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.query-accounting.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class QueryAccountingFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_METRIC = "http.server.sql.statements";
+    public static final String ENTITY_LOADS_METRIC = "http.server.sql.entity.loads";
+    public static final String JDBC_TIME_METRIC = "http.server.sql.jdbc.time";
+    public static final String BUDGET_EXCEEDED_METRIC = "http.server.sql.budget.exceeded";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.query-accounting.statement-budget:30}")
+    private int statementBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long started = System.nanoTime();
+        QueryAccounting.Scope scope = QueryAccounting.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            record(request, scope, System.nanoTime() - started);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryAccounting.Scope scope, long elapsedNanos) {
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements executed per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(scope.getStatements());
+        DistributionSummary.builder(ENTITY_LOADS_METRIC)
+                .description("Entities hydrated per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(scope.getEntityLoads());
+        Timer.builder(JDBC_TIME_METRIC)
+                .description("Time spent executing JDBC statements per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(scope.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (statementBudget > 0 && scope.getStatements() > statementBudget) {
+            Counter.builder(BUDGET_EXCEEDED_METRIC)
+                    .description("Requests that executed more SQL statements than the budget")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} executed {} SQL statements (budget {}), {} entity loads, {} ms JDBC of {} ms total",
+                    method, request.getRequestURI(), scope.getStatements(), statementBudget, scope.getEntityLoads(),
+                    TimeUnit.NANOSECONDS.toMillis(scope.getJdbcNanos()), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.campus.EventInClubs.config;
+
+import com.campus.EventInClubs.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns away bursts on the expensive write endpoints before they reach
+ * security, Hibernate or BCrypt. Each limited route has token buckets per
+ * signed-in user and per client IP (see {@link RateLimiter}); an empty bucket
+ * gets 429 with Retry-After. Separately, signed-in API writes share a cap on
+ * how many run at once, kept below the connection pool size, so a burst queues
+ * briefly here and is then shed with 503 instead of waiting on Hikari for 30 s.
+ * <p>
+ * Multipart requests (uploads, registration imports) are left out of the cap:
+ * they spend most of their time streaming the body and would hold a permit
+ * meanwhile. So are anonymous writes; sign-in and sign-up have their own
+ * per-IP bucket, and anything else is turned away by security without a query.
+ * <p>
+ * Limits are per node. Behind a proxy, set server.forward-headers-strategy so
+ * that the client IP is the caller's rather than the proxy's.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String DECISIONS_METRIC = "http.server.ratelimit.decisions";
+    public static final String WRITES_IN_FLIGHT_METRIC = "http.server.ratelimit.writes.in.flight";
+    public static final String TRACKED_KEYS_METRIC = "http.server.ratelimit.tracked.keys";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    record Route(String name, Set<String> methods, List<PathPattern> paths,
+                 RateLimiter.Limit perUser, RateLimiter.Limit perIp) {
+
+        boolean matches(String method, PathContainer path) {
+            return methods.contains(method) && paths.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final JwtUtil jwtUtil;
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final ObjectMapper objectMapper;
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+    private List<Route> routes;
+    private RateLimiter limiter;
+    private Semaphore writes;
+
+    // Sign-in and sign-up run BCrypt; nobody is signed in yet, so only per IP (a campus NAT shares one)
+    @Value("${app.rate-limit.auth.per-ip:30/1m}")
+    private String authPerIp = "30/1m";
+
+    @Value("${app.rate-limit.votes.per-user:30/1m}")
+    private String votesPerUser = "30/1m";
+
+    @Value("${app.rate-limit.votes.per-ip:300/1m}")
+    private String votesPerIp = "300/1m";
+
+    @Value("${app.rate-limit.registrations.per-user:10/1m}")
+    private String registrationsPerUser = "10/1m";
+
+    @Value("${app.rate-limit.registrations.per-ip:200/1m}")
+    private String registrationsPerIp = "200/1m";
+
+    @Value("${app.rate-limit.max-keys:100000}")
+    private int maxKeys = 100_000;
+
+    // Below the pool size of 10, leaving connections for reads and scheduled jobs
+    @Value("${app.rate-limit.max-concurrent-writes:8}")
+    private int maxConcurrentWrites = 8;
+
+    @Value("${app.rate-limit.write-queue-ms:250}")
+    private long writeQueueMs = 250;
+
+    public RateLimitFilter(MeterRegistry meterRegistry, JwtUtil jwtUtil,
+                           CorsConfigurationSource corsConfigurationSource, ObjectMapper objectMapper) {
+        this.meterRegistry = meterRegistry;
+        this.jwtUtil = jwtUtil;
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void init() {
+        routes = List.of(
+                route("auth", Set.of("POST"), null, authPerIp,
+                        "/api/auth/login", "/api/auth/google", "/api/auth/register"),
+                route("votes", Set.of("POST", "DELETE"), votesPerUser, votesPerIp,
+                        "/api/votes/idea/**"),
+                route("registrations", Set.of("POST", "DELETE"), registrationsPerUser, registrationsPerIp,
+                        "/api/event-registrations/register", "/api/event-registrations/cancel",
+                        "/api/team-registrations/register"));
+        limiter = new RateLimiter(maxKeys);
+        writes = new Semaphore(maxConcurrentWrites);
+        Gauge.builder(WRITES_IN_FLIGHT_METRIC, writes, permits -> maxConcurrentWrites - permits.availablePermits())
+                .description("API writes running now, out of max-concurrent-writes")
+                .register(meterRegistry);
+        Gauge.builder(TRACKED_KEYS_METRIC, limiter, RateLimiter::trackedKeys)
+                .description("Token buckets held in memory")
+                .register(meterRegistry);
+        routes.forEach(route -> log.info("Rate limit {}: {} per user, {} per IP",
+                route.name(), describe(route.perUser()), describe(route.perIp())));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String method = request.getMethod();
+        if (!WRITE_METHODS.contains(method) || !request.getRequestURI().startsWith("/api/")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        Route route = routes.stream().filter(r -> r.matches(method, path)).findFirst().orElse(null);
+        String tag = route != null ? route.name() : "other";
+
+        Long userId = userId(request);
+        if (route != null && !withinLimits(route, userId, request, response)) {
+            return;
+        }
+        if (userId == null || isMultipart(request)) {
+            record(tag, "allowed");
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean admitted;
+        try {
+            admitted = writes.tryAcquire(writeQueueMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            record(tag, "shed");
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "Server is busy, please try again");
+            return;
+        }
+        try {
+            record(tag, "allowed");
+            filterChain.doFilter(request, response);
+        } finally {
+            writes.release();
+        }
+    }
+
+    private boolean withinLimits(Route route, Long userId, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        if (route.perIp() != null) {
+            long wait = limiter.tryAcquire(route.name() + ":ip:" + request.getRemoteAddr(), route.perIp());
+            if (wait > 0) {
+                record(route.name(), "limited_ip");
+                reject(request, response, HttpStatus.TOO_MANY_REQUESTS, wait, "Too many requests, please slow down");
+                return false;
+            }
+        }
+        if (route.perUser() != null && userId != null) {
+            long wait = limiter.tryAcquire(route.name() + ":user:" + userId, route.perUser());
+            if (wait > 0) {
+                record(route.name(), "limited_user");
+                reject(request, response, HttpStatus.TOO_MANY_REQUESTS, wait, "Too many requests, please slow down");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Long userId(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtUtil.extractUserId(header.substring(7));
+        } catch (Exception e) {
+            // Expired or forged; security rejects it later, the IP bucket still applies
+            return null;
+        }
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith("multipart/");
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        long retryAfterNanos, String message) throws IOException {
+        // Runs ahead of the security chain's CORS filter; without these the browser hides the 429 from the app
+        CorsConfiguration cors = corsConfigurationSource.getCorsConfiguration(request);
+        if (cors != null && !corsProcessor.processRequest(cors, request, response)) {
+            return;
+        }
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+
+    private void record(String route, String outcome) {
+        meterRegistry.counter(DECISIONS_METRIC, "route", route, "outcome", outcome).increment();
+    }
+
+    private static Route route(String name, Set<String> methods, String perUser, String perIp, String... paths) {
+        return new Route(name, methods,
+                Arrays.stream(paths).map(PathPatternParser.defaultInstance::parse).toList(),
+                RateLimiter.Limit.parse(perUser), RateLimiter.Limit.parse(perIp));
+    }
+
+    private static String describe(RateLimiter.Limit limit) {
+        return limit == null ? "unlimited" : limit.toString();
+    }
+}
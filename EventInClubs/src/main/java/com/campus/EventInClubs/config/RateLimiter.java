@@ -0,0 +1,143 @@
+package com.campus.EventInClubs.config;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by caller, kept in memory on this node. Keys are spread
+ * over a fixed number of stripes, each its own map. There is no sweeper
+ * thread: when a stripe grows past its share of max-keys, the caller adding a
+ * key drops that stripe's full buckets first. A full bucket has been idle long
+ * enough to refill, so dropping it loses nothing.
+ */
+public class RateLimiter {
+
+    /** Bursts of up to capacity requests, refilled evenly over the period. */
+    public record Limit(int capacity, long periodNanos) {
+
+        /** Parses "capacity/period", e.g. "10/60s" or "300/1h"; "0" or blank means unlimited. */
+        public static Limit parse(String value) {
+            if (value == null || value.isBlank() || value.trim().equals("0")) {
+                return null;
+            }
+            String[] parts = value.trim().split("/", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Rate limit must look like 10/60s: " + value);
+            }
+            Limit limit = new Limit(Integer.parseInt(parts[0].trim()), DurationStyle.detectAndParse(parts[1].trim()).toNanos());
+            if (limit.capacity() <= 0 || limit.periodNanos() <= 0) {
+                throw new IllegalArgumentException("Rate limit must be positive: " + value);
+            }
+            return limit;
+        }
+
+        double tokensPerNano() {
+            return (double) capacity / periodNanos;
+        }
+
+        @Override
+        public String toString() {
+            return capacity + "/" + TimeUnit.NANOSECONDS.toSeconds(periodNanos) + "s";
+        }
+    }
+
+    private static final int STRIPES = 16;
+    private static final long SWEEP_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int maxKeysPerStripe;
+    private final LongSupplier clock;
+
+    public RateLimiter(int maxKeys) {
+        this(maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int maxKeys, LongSupplier clock) {
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.clock = clock;
+        long now = clock.getAsLong();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(now);
+        }
+    }
+
+    /**
+     * Takes a token for the key. Returns 0 if one was taken, else the nanos until
+     * one will be free. A key keeps the limit it was first seen with until evicted.
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long now = clock.getAsLong();
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        Bucket bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            if (stripe.buckets.size() >= maxKeysPerStripe) {
+                stripe.sweep(now);
+            }
+            bucket = stripe.buckets.computeIfAbsent(key, k -> new Bucket(limit, now));
+        }
+        return bucket.tryTake(now);
+    }
+
+    public int trackedKeys() {
+        int keys = 0;
+        for (Stripe stripe : stripes) {
+            keys += stripe.buckets.size();
+        }
+        return keys;
+    }
+
+    private static final class Stripe {
+        final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+        // Under a flood of distinct keys every bucket is busy; sweeping on each insert would then be quadratic
+        volatile long nextSweepNanos;
+
+        Stripe(long now) {
+            this.nextSweepNanos = now;
+        }
+
+        void sweep(long now) {
+            if (now - nextSweepNanos < 0) {
+                return;
+            }
+            nextSweepNanos = now + SWEEP_BACKOFF_NANOS;
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    private static final class Bucket {
+        private final Limit limit;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.tokens = limit.capacity();
+            this.refilledAt = now;
+        }
+
+        synchronized long tryTake(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / limit.tokensPerNano()));
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= limit.capacity();
+        }
+
+        private void refill(long now) {
+            long elapsed = now - refilledAt;
+            if (elapsed > 0) {
+                tokens = Math.min(limit.capacity(), tokens + elapsed * limit.tokensPerNano());
+                refilledAt = now;
+            }
+        }
+    }
+}
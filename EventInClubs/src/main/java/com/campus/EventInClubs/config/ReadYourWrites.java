@@ -0,0 +1,121 @@
+package com.campus.EventInClubs.config;
+
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers when each client last committed a write, so that its reads can
+ * stay on the primary until the replica has caught up with that write. The
+ * client of the current thread is set by {@link ReadYourWritesFilter}; threads
+ * outside a request have none and always read where routing sends them.
+ * <p>
+ * The map here only knows this node's writes. So that the next request may land
+ * on any node, the write time also goes back to the client (a short-lived
+ * cookie) and comes in again as the carried write. Times are wall-clock, so
+ * node clocks must agree to well within the sticky margin.
+ */
+public class ReadYourWrites implements TransactionExecutionListener {
+
+    /**
+     * The current request's client: a key for the map (null for anonymous
+     * callers, who rely on the carried write alone), the last write it
+     * carried in, and where to report a new write.
+     */
+    record Client(@Nullable String key, long carriedWriteNanos, @Nullable LongConsumer onWrite) {}
+
+    private static final ThreadLocal<Client> CLIENT = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    // Past max-lag plus the margin a write can no longer keep anyone on the primary
+    private final long retentionNanos;
+    private final LongSupplier clock;
+
+    public ReadYourWrites(long retentionNanos) {
+        this(retentionNanos, () -> TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()));
+    }
+
+    ReadYourWrites(long retentionNanos, LongSupplier clock) {
+        this.retentionNanos = retentionNanos;
+        this.clock = clock;
+    }
+
+    static void setClient(@Nullable Client client) {
+        if (client == null) {
+            CLIENT.remove();
+        } else {
+            CLIENT.set(client);
+        }
+    }
+
+    /** Carries the submitting thread's client over to the thread that runs the task. */
+    public static Runnable propagate(Runnable task) {
+        Client client = CLIENT.get();
+        if (client == null) {
+            return task;
+        }
+        return () -> {
+            Client previous = CLIENT.get();
+            CLIENT.set(client);
+            try {
+                task.run();
+            } finally {
+                setClient(previous);
+            }
+        };
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        // Read-only work and joined transactions never need the primary afterwards
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            recordWrite();
+        }
+    }
+
+    void recordWrite() {
+        Client client = CLIENT.get();
+        if (client == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (client.key() != null) {
+            lastWriteNanos.put(client.key(), now);
+        }
+        if (client.onWrite() != null) {
+            client.onWrite().accept(now);
+        }
+    }
+
+    /** Whether the current client committed a write less than the given time ago, here or on another node. */
+    public boolean wroteWithin(long nanos) {
+        Client client = CLIENT.get();
+        if (client == null) {
+            return false;
+        }
+        Long wroteAt = client.key() != null ? lastWriteNanos.get(client.key()) : null;
+        long latest = Math.max(wroteAt != null ? wroteAt : 0, client.carriedWriteNanos());
+        return latest > 0 && clock.getAsLong() - latest < nanos;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:1000}")
+    public void forgetSettledWrites() {
+        long now = clock.getAsLong();
+        lastWriteNanos.values().removeIf(wroteAt -> now - wroteAt >= retentionNanos);
+    }
+
+    /** How long after a write it can still keep its client on the primary. */
+    public long retentionNanos() {
+        return retentionNanos;
+    }
+
+    public int trackedClients() {
+        return lastWriteNanos.size();
+    }
+}
@@ -0,0 +1,88 @@
+package com.campus.EventInClubs.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Names the client of each request for {@link ReadYourWrites}: the bearer
+ * token when there is one. The token is only hashed, not verified; a forged
+ * one just sends its own reads to the primary.
+ * <p>
+ * A committed write also sets the {@value #LAST_WRITE_COOKIE} cookie to its
+ * time, and the next request carries it to whichever node serves it, so no
+ * sticky sessions are needed. It is the only thing that follows anonymous
+ * callers, who have no token; several of them behind one address no longer
+ * share a key. The cookie lives as long as a write can matter, and a value
+ * further ahead than that is ignored, so a forged one can keep only its own
+ * sender on the primary, and only briefly.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "last_write";
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String key = header != null && header.startsWith("Bearer ")
+                ? "token:" + Integer.toHexString(header.hashCode())
+                : null;
+        ReadYourWrites.setClient(new ReadYourWrites.Client(key, carriedWrite(request),
+                wroteAt -> rememberWrite(request, response, wroteAt)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.setClient(null);
+        }
+    }
+
+    private long carriedWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    long wroteAt = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(cookie.getValue()));
+                    long now = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+                    return wroteAt - now > readYourWrites.retentionNanos() ? 0 : wroteAt;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void rememberWrite(HttpServletRequest request, HttpServletResponse response, long wroteAtNanos) {
+        // A streamed response may have sent its headers already; the map still covers this node
+        if (response.isCommitted()) {
+            return;
+        }
+        ResponseCookie cookie = ResponseCookie.from(LAST_WRITE_COOKIE, String.valueOf(TimeUnit.NANOSECONDS.toMillis(wroteAtNanos)))
+                .path("/")
+                .maxAge(Duration.ofNanos(readYourWrites.retentionNanos()).plusSeconds(1))
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
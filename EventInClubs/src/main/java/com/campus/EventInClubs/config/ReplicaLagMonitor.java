@@ -0,0 +1,74 @@
+package com.campus.EventInClubs.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how far the replica is behind the primary, once per check
+ * interval. The replica counts as caught up when it has replayed the primary's
+ * WAL position read just before; otherwise its lag is the age of the last
+ * transaction it replayed. A server that is not in recovery (e.g. a second
+ * pool on the primary itself) has no lag. Until the first check succeeds, and
+ * after any failure, the replica is unavailable and reads use the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    public static final String LAG_METRIC = "db.replica.lag";
+
+    private static final String PRIMARY_POSITION = "SELECT pg_current_wal_lsn()::text";
+
+    private static final String REPLICA_LAG =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private volatile long lagNanos = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        // Runs on the shared scheduler; a hung replica must not hold it up
+        this.primary.setQueryTimeout(2);
+        this.replica.setQueryTimeout(2);
+        Gauge.builder(LAG_METRIC, this, monitor -> monitor.lagNanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(monitor.lagNanos))
+                .description("Replica lag in ms at the last check, -1 while unavailable")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        try {
+            String position = primary.queryForObject(PRIMARY_POSITION, String.class);
+            Number lagMs = replica.queryForObject(REPLICA_LAG, Number.class, position);
+            long lag = lagMs == null ? -1 : TimeUnit.MILLISECONDS.toNanos(Math.max(0, lagMs.longValue()));
+            if (lagNanos < 0 && lag >= 0) {
+                log.info("Replica available, {} ms behind", TimeUnit.NANOSECONDS.toMillis(lag));
+            }
+            lagNanos = lag;
+        } catch (RuntimeException e) {
+            replicaFailed(e);
+        }
+    }
+
+    /** The replica's lag at the last check, or -1 if it is unavailable. */
+    public long lagNanos() {
+        return lagNanos;
+    }
+
+    void replicaFailed(Exception e) {
+        if (lagNanos >= 0) {
+            log.warn("Replica unavailable, reading from the primary until it answers again: {}", e.getMessage());
+        }
+        lagNanos = -1;
+    }
+}
@@ -0,0 +1,116 @@
+package com.campus.EventInClubs.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends @Transactional(readOnly = true) work to a read replica when
+ * app.datasource.replica.url is set; without it the single auto-configured
+ * pool is used as before.
+ * <p>
+ * The application's DataSource is a lazy proxy over the primary pool. It only
+ * takes a physical connection at the first statement, by which time the
+ * transaction has declared itself read-only, and then asks
+ * {@link ReplicaRoutingDataSource} for one instead of the primary. Everything
+ * else, including JdbcTemplate outside a transaction, stays on the primary.
+ * <p>
+ * To try it locally, point the replica URL at the primary itself: the second
+ * pool then has no lag and reads move over to it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+@Slf4j
+public class ReplicaRoutingConfig {
+
+    @Value("${app.datasource.replica.max-lag-ms:1000}")
+    private long maxLagMs = 1000;
+
+    @Value("${app.datasource.replica.lag-check-interval-ms:1000}")
+    private long lagCheckIntervalMs = 1000;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.datasource.replica.connection-timeout-ms:1000}") long connectionTimeoutMs) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+        dataSource.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        // Short, so that a replica that has gone away costs a read one brief wait before it falls back
+        dataSource.setConnectionTimeout(connectionTimeoutMs);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(MeterRegistry meterRegistry) {
+        ReadYourWrites readYourWrites = new ReadYourWrites(TimeUnit.MILLISECONDS.toNanos(maxLagMs) + stickyMarginNanos());
+        Gauge.builder("db.replica.read-your-writes.clients", readYourWrites, ReadYourWrites::trackedClients)
+                .description("Clients reading from the primary because they wrote recently")
+                .register(meterRegistry);
+        return readYourWrites;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWrites readYourWrites) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWrites));
+        // Ahead of security, whose token checks may read the database
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor, ReadYourWrites readYourWrites,
+                                 MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                replicaLagMonitor, readYourWrites, meterRegistry,
+                TimeUnit.MILLISECONDS.toNanos(maxLagMs), stickyMarginNanos()));
+        log.info("Read-only transactions go to the replica while it is within {} ms of the primary", maxLagMs);
+        return dataSource;
+    }
+
+    // Two checks: the write may have landed just after one started
+    private long stickyMarginNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(2 * lagCheckIntervalMs);
+    }
+}
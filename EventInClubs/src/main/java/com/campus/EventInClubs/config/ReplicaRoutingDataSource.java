@@ -0,0 +1,73 @@
+package com.campus.EventInClubs.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Where read-only transactions get their connection (see ReplicaRoutingConfig):
+ * the replica, unless it is unavailable, further behind than max-lag, or the
+ * current client wrote recently enough that the replica may not have the write
+ * yet. In those cases, and if the replica refuses a connection, the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    public static final String ROUTING_METRIC = "db.replica.routing";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor monitor;
+    private final ReadYourWrites readYourWrites;
+    private final MeterRegistry meterRegistry;
+    private final long maxLagNanos;
+    // A write may have landed just after the last lag check; stick to the primary for this long beyond the lag
+    private final long stickyMarginNanos;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+                                    ReadYourWrites readYourWrites, MeterRegistry meterRegistry,
+                                    long maxLagNanos, long stickyMarginNanos) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.readYourWrites = readYourWrites;
+        this.meterRegistry = meterRegistry;
+        this.maxLagNanos = maxLagNanos;
+        this.stickyMarginNanos = stickyMarginNanos;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long lag = monitor.lagNanos();
+        String reason;
+        if (lag < 0) {
+            reason = "replica_unavailable";
+        } else if (lag > maxLagNanos) {
+            reason = "replica_lagging";
+        } else if (readYourWrites.wroteWithin(lag + stickyMarginNanos)) {
+            reason = "read_your_writes";
+        } else {
+            try {
+                Connection connection = replica.getConnection();
+                record("replica", "ok");
+                return connection;
+            } catch (SQLException e) {
+                monitor.replicaFailed(e);
+                reason = "replica_unavailable";
+            }
+        }
+        record("primary", reason);
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private void record(String target, String reason) {
+        meterRegistry.counter(ROUTING_METRIC, "target", target, "reason", reason).increment();
+    }
+}
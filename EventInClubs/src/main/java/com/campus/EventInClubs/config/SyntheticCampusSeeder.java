@@ -0,0 +1,224 @@
+package com.campus.EventInClubs.config;
+
+import com.campus.EventInClubs.domain.model.Club;
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.domain.model.Idea;
+import com.campus.EventInClubs.domain.model.Notification;
+import com.campus.EventInClubs.domain.model.Role;
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.domain.model.Vote;
+import com.campus.EventInClubs.repository.HallRepository;
+import com.campus.EventInClubs.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds a deterministic synthetic campus (students, clubs, events, ideas, votes,
+ * registrations, notifications) for load testing. Only active when
+ * app.seed.synthetic.enabled=true; never enable it against a real database.
+ */
+@Component
+@ConditionalOnProperty(name = "app.seed.synthetic.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticCampusSeeder {
+
+    public static final String EMAIL_DOMAIN = "@synthetic.campus";
+    public static final String PASSWORD = "Synthetic@123";
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final UserRepository userRepository;
+    private final HallRepository hallRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${app.seed.synthetic.students:2000}")
+    private int students;
+
+    @Value("${app.seed.synthetic.clubs:20}")
+    private int clubs;
+
+    @Value("${app.seed.synthetic.events-per-club:5}")
+    private int eventsPerClub;
+
+    @Value("${app.seed.synthetic.ideas-per-event:5}")
+    private int ideasPerEvent;
+
+    @Value("${app.seed.synthetic.votes-per-idea:20}")
+    private int votesPerIdea;
+
+    @Value("${app.seed.synthetic.registrations-per-event:50}")
+    private int registrationsPerEvent;
+
+    @Value("${app.seed.synthetic.notifications-per-student:5}")
+    private int notificationsPerStudent;
+
+    @Value("${app.seed.synthetic.random-seed:42}")
+    private long randomSeed;
+
+    public static String studentEmail(int index) {
+        return "student" + index + EMAIL_DOMAIN;
+    }
+
+    public void seed() {
+        if (userRepository.findByEmail(studentEmail(1)).isPresent()) {
+            log.info("Synthetic campus already present, skipping seed");
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+        // BCrypt is deliberately slow, so every synthetic account shares one hash
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<Long> hallIds = hallRepository.findAll().stream().map(Hall::getId).toList();
+
+        List<Long> studentIds = persistAll(students, i -> User.builder()
+                .name("Student " + (i + 1))
+                .email(studentEmail(i + 1))
+                .passwordHash(passwordHash)
+                .role(Role.STUDENT)
+                .build());
+
+        List<Long> adminIds = persistAll(clubs, i -> User.builder()
+                .name("Club Admin " + (i + 1))
+                .email("clubadmin" + (i + 1) + EMAIL_DOMAIN)
+                .passwordHash(passwordHash)
+                .role(Role.CLUB_ADMIN)
+                .build());
+
+        String[] categories = {"Technology", "Design", "Arts", "Sports", "Business", "Science", "Music", "Dance"};
+        List<Long> clubIds = persistAll(clubs, i -> Club.builder()
+                .name("Synthetic Club " + (i + 1))
+                .shortName("SC" + (i + 1))
+                .description("Synthetic club used for load testing")
+                .category(categories[i % categories.length])
+                .memberCount(random.nextInt(300))
+                .rating(3 + random.nextInt(20) / 10.0)
+                .adminUser(entityManager.getReference(User.class, adminIds.get(i)))
+                .build());
+
+        inTransaction(() -> {
+            for (int i = 0; i < clubs; i++) {
+                entityManager.find(User.class, adminIds.get(i)).setClubId(clubIds.get(i));
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Long> eventIds = persistAll(clubs * eventsPerClub, i -> {
+            int club = i / eventsPerClub;
+            LocalDateTime start = now.plusDays(1 + random.nextInt(30)).plusHours(random.nextInt(12));
+            boolean teamEvent = i % 5 == 4;
+            return Event.builder()
+                    .title("Synthetic Event " + (i + 1))
+                    .description("Synthetic event " + (i + 1) + " hosted by club " + (club + 1))
+                    .startDate(start)
+                    .endDate(start.plusHours(3))
+                    .registrationDeadline(start.minusHours(6))
+                    .ideaSubmissionDeadline(start.minusDays(1).plusHours(12))
+                    .location("Campus")
+                    .maxParticipants(50 + random.nextInt(250))
+                    .status(Event.EventStatus.PUBLISHED)
+                    .type(Event.EventType.values()[i % Event.EventType.values().length])
+                    .approvalStatus(Event.ApprovalStatus.APPROVED)
+                    .club(entityManager.getReference(Club.class, clubIds.get(club)))
+                    .organizer(entityManager.getReference(User.class, adminIds.get(club)))
+                    .hall(hallIds.isEmpty() ? null : entityManager.getReference(Hall.class, hallIds.get(i % hallIds.size())))
+                    .isTeamEvent(teamEvent)
+                    .minTeamMembers(teamEvent ? 2 : null)
+                    .maxTeamMembers(teamEvent ? 4 : null)
+                    .tags("synthetic,load-test")
+                    .build();
+        });
+
+        List<Long> ideaIds = persistAll(eventIds.size() * ideasPerEvent, i -> Idea.builder()
+                .title("Synthetic Idea " + (i + 1))
+                .description("Synthetic idea " + (i + 1) + " for load testing")
+                .event(entityManager.getReference(Event.class, eventIds.get(i / ideasPerEvent)))
+                .submittedBy(entityManager.getReference(User.class, studentIds.get(random.nextInt(studentIds.size()))))
+                .build());
+
+        // Consecutive students from a random offset keep (user, idea) and (user, event) pairs unique
+        int votesPerIdeaCapped = Math.min(votesPerIdea, studentIds.size());
+        int[] voteOffsets = random.ints(ideaIds.size(), 0, studentIds.size()).toArray();
+        persistAll(ideaIds.size() * votesPerIdeaCapped, i -> {
+            int idea = i / votesPerIdeaCapped;
+            int student = (voteOffsets[idea] + i % votesPerIdeaCapped) % studentIds.size();
+            return Vote.builder()
+                    .idea(entityManager.getReference(Idea.class, ideaIds.get(idea)))
+                    .user(entityManager.getReference(User.class, studentIds.get(student)))
+                    .voteType(random.nextInt(10) < 8 ? Vote.VoteType.UP : Vote.VoteType.DOWN)
+                    .build();
+        });
+
+        int registrationsCapped = Math.min(registrationsPerEvent, studentIds.size());
+        int[] registrationOffsets = random.ints(eventIds.size(), 0, studentIds.size()).toArray();
+        persistAll(eventIds.size() * registrationsCapped, i -> {
+            int event = i / registrationsCapped;
+            int student = (registrationOffsets[event] + i % registrationsCapped) % studentIds.size();
+            return EventRegistration.builder()
+                    .event(entityManager.getReference(Event.class, eventIds.get(event)))
+                    .user(entityManager.getReference(User.class, studentIds.get(student)))
+                    .rollNumber("SYN" + (student + 1))
+                    .status(EventRegistration.RegistrationStatus.REGISTERED)
+                    .paymentStatus(EventRegistration.PaymentStatus.PENDING)
+                    .build();
+        });
+
+        persistAll(studentIds.size() * notificationsPerStudent, i -> Notification.builder()
+                .title("Synthetic notification")
+                .message("Synthetic notification " + (i + 1))
+                .type(Notification.NotificationType.SYSTEM)
+                .user(entityManager.getReference(User.class, studentIds.get(i / notificationsPerStudent)))
+                .isRead(random.nextBoolean())
+                .build());
+
+        log.info("Seeded synthetic campus in {} ms: {} students, {} clubs, {} events, {} ideas",
+                System.currentTimeMillis() - started, studentIds.size(), clubIds.size(), eventIds.size(), ideaIds.size());
+    }
+
+    /**
+     * Persists count entities in chunked transactions, clearing the persistence
+     * context between chunks so memory stays flat at any scale.
+     */
+    private <T> List<Long> persistAll(int count, IntFunction<T> factory) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(count, from + CHUNK_SIZE);
+            inTransaction(() -> {
+                List<T> chunk = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    T entity = factory.apply(i);
+                    entityManager.persist(entity);
+                    chunk.add(entity);
+                }
+                entityManager.flush();
+                chunk.forEach(entity -> ids.add((Long) entityManager.getEntityManagerFactory()
+                        .getPersistenceUnitUtil().getIdentifier(entity)));
+                entityManager.clear();
+            });
+        }
+        return ids;
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+}
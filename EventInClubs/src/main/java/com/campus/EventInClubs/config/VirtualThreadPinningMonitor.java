@@ -0,0 +1,92 @@
+package com.campus.EventInClubs.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches JFR's jdk.VirtualThreadPinned events while the app runs on virtual
+ * threads. Each pin is counted per call site (the first frame in our own code,
+ * or the top frame), and the first pin at a site is logged with its stack.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "app.threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    public static final String PINNED_METRIC = "jvm.threads.virtual.pinned";
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.campus.EventInClubs.";
+    private static final int LOGGED_FRAMES = 15;
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    // JFR's own default; shorter pins are rarely worth a stack walk
+    @Value("${app.threads.pinning-monitor.threshold-ms:20}")
+    private long thresholdMs = 20;
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms", thresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = site(frames);
+        meterRegistry.counter(PINNED_METRIC, "site", site).increment();
+        if (reportedSites.add(site)) {
+            StringBuilder stack = new StringBuilder();
+            frames.stream().limit(LOGGED_FRAMES).forEach(frame -> stack.append("\n\tat ").append(describe(frame)));
+            log.warn("Virtual thread pinned for {} ms at {}; further pins here are only counted in {}{}",
+                    event.getDuration().toMillis(), site, PINNED_METRIC, stack);
+        }
+    }
+
+    static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+}
@@ -1,17 +1,41 @@
 package com.campus.EventInClubs.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.nio.file.Paths;
+
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
+
+    @Value("${app.uploads.dir:${user.dir}/uploads}")
+    private String uploadDir;
+
+    // UploadFileController serves uploads unless this is turned off
+    @Value("${app.uploads.zero-copy.enabled:true}")
+    private boolean zeroCopyUploads = true;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve uploaded files from uploads directory in project root
-        String uploadPath = "file:" + System.getProperty("user.dir") + "/uploads/";
+        if (zeroCopyUploads) {
+            return;
+        }
+        // Serve uploaded files from the uploads directory
+        String uploadPath = Paths.get(uploadDir).toAbsolutePath().toUri().toString();
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations(uploadPath);
     }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+    }
 }
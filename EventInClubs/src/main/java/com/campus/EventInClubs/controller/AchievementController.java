@@ -2,10 +2,14 @@ package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.dto.UserAchievementDto;
 import com.campus.EventInClubs.service.AchievementService;
+import com.campus.EventInClubs.service.JsonResponseCache;
+import com.campus.EventInClubs.service.ResourceVersionService;
+import com.campus.EventInClubs.service.ResourceVersionService.Resource;
 import com.campus.EventInClubs.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -17,6 +21,8 @@ public class AchievementController {
 
     private final AchievementService achievementService;
     private final JwtUtil jwtUtil;
+    private final ResourceVersionService resourceVersionService;
+    private final JsonResponseCache jsonResponseCache;
 
     @GetMapping
     public ResponseEntity<List<UserAchievementDto>> getUserAchievements(@RequestHeader("Authorization") String token) {
@@ -64,11 +70,12 @@ public class AchievementController {
     }
 
     @GetMapping("/leaderboard")
-    public ResponseEntity<List<Map<String, Object>>> getLeaderboard(
-            @RequestParam(defaultValue = "50") int limit) {
+    public ResponseEntity<?> getLeaderboard(
+            @RequestParam(defaultValue = "50") int limit, WebRequest request) {
         try {
-            List<Map<String, Object>> leaderboard = achievementService.getLeaderboard(limit);
-            return ResponseEntity.ok(leaderboard);
+            return jsonResponseCache.cached(request, "leaderboard:" + limit,
+                    resourceVersionService.current(Resource.LEADERBOARD),
+                    () -> achievementService.getLeaderboard(limit));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(List.of(Map.of("error", e.getMessage())));
         }
@@ -11,12 +11,15 @@ import com.campus.EventInClubs.service.ClubAdminRequestService;
 import com.campus.EventInClubs.security.JwtUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,7 +33,18 @@ public class AuthController {
     private final ClubAdminRequestService clubAdminRequestService;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate = googleRestTemplate();
+
+    @Value("${app.google.tokeninfo-url:https://oauth2.googleapis.com/tokeninfo}")
+    private String tokenInfoUrl = "https://oauth2.googleapis.com/tokeninfo";
+
+    // A slow Google endpoint should fail the login, not hold a request thread indefinitely
+    private static RestTemplate googleRestTemplate() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(5));
+        requestFactory.setReadTimeout(Duration.ofSeconds(10));
+        return new RestTemplate(requestFactory);
+    }
 
     // ---------------- REGISTER ----------------
     @PostMapping("/register")
@@ -119,7 +133,7 @@ public class AuthController {
             }
 
             // Verify id_token using Google's tokeninfo endpoint
-            String url = "https://oauth2.googleapis.com/tokeninfo?id_token=" + req.getIdToken();
+            String url = tokenInfoUrl + "?id_token=" + req.getIdToken();
             Map<?,?> googleResponse = restTemplate.getForObject(url, Map.class);
 
             if (googleResponse == null || googleResponse.get("email") == null) {
@@ -0,0 +1,118 @@
+package com.campus.EventInClubs.controller;
+
+import com.campus.EventInClubs.dto.CheckInResult;
+import com.campus.EventInClubs.dto.CheckInRosterEntry;
+import com.campus.EventInClubs.dto.CheckInStats;
+import com.campus.EventInClubs.dto.OfflineScan;
+import com.campus.EventInClubs.security.JwtUtil;
+import com.campus.EventInClubs.service.CheckInService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/check-in")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class CheckInController {
+
+    private final CheckInService checkInService;
+    private final JwtUtil jwtUtil;
+
+    @GetMapping("/registration/{registrationId}/token")
+    public ResponseEntity<?> getToken(@PathVariable Long registrationId,
+                                      @RequestHeader(value = "Authorization", required = false) String authorization) {
+        try {
+            String token = checkInService.issueToken(registrationId, jwtUtil.requireUserId(authorization));
+            return ResponseEntity.ok(Map.of("registrationId", registrationId, "token", token));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error issuing check-in token: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/event/{eventId}/open")
+    public ResponseEntity<?> openRoster(
+            @PathVariable Long eventId,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(defaultValue = "false") boolean reload) {
+        try {
+            CheckInStats stats = checkInService.openRoster(eventId, jwtUtil.requireUserId(authorization), reload);
+            return ResponseEntity.ok(stats);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error opening check-in for event {}: {}", eventId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/event/{eventId}/scan")
+    public ResponseEntity<?> scan(
+            @PathVariable Long eventId,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam String token) {
+        try {
+            CheckInResult result = checkInService.scan(eventId, jwtUtil.requireUserId(authorization), token);
+            return ResponseEntity.ok(result);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error checking in for event {}: {}", eventId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/event/{eventId}/sync")
+    public ResponseEntity<?> sync(
+            @PathVariable Long eventId,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody List<OfflineScan> scans) {
+        try {
+            List<CheckInResult> results = checkInService.sync(eventId, jwtUtil.requireUserId(authorization), scans);
+            return ResponseEntity.ok(results);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error syncing offline check-ins for event {}: {}", eventId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/event/{eventId}/stats")
+    public ResponseEntity<?> getStats(@PathVariable Long eventId,
+                                      @RequestHeader(value = "Authorization", required = false) String authorization) {
+        try {
+            CheckInStats stats = checkInService.getStats(eventId, jwtUtil.requireUserId(authorization));
+            return ResponseEntity.ok(stats);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error fetching check-in stats for event {}: {}", eventId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/event/{eventId}/roster")
+    public ResponseEntity<?> getRoster(@PathVariable Long eventId,
+                                       @RequestHeader(value = "Authorization", required = false) String authorization) {
+        try {
+            List<CheckInRosterEntry> roster = checkInService.getRoster(eventId, jwtUtil.requireUserId(authorization));
+            return ResponseEntity.ok(roster);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error fetching check-in roster for event {}: {}", eventId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
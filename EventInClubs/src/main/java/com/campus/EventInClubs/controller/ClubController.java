@@ -4,6 +4,9 @@ import com.campus.EventInClubs.domain.model.Role;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.dto.ClubDto;
 import com.campus.EventInClubs.service.ClubService;
+import com.campus.EventInClubs.service.JsonResponseCache;
+import com.campus.EventInClubs.service.ResourceVersionService;
+import com.campus.EventInClubs.service.ResourceVersionService.Resource;
 import com.campus.EventInClubs.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -24,13 +28,17 @@ public class ClubController {
     
     private final ClubService clubService;
     private final UserService userService;
+    private final ResourceVersionService resourceVersionService;
+    private final JsonResponseCache jsonResponseCache;
     
     @GetMapping
-    public ResponseEntity<List<ClubDto>> getAllActiveClubs() {
+    public ResponseEntity<byte[]> getAllActiveClubs(WebRequest request) {
         try {
-            List<ClubDto> clubs = clubService.getAllActiveClubs();
-            log.info("Returning {} clubs to frontend", clubs.size());
-            return ResponseEntity.ok(clubs);
+            return jsonResponseCache.cached(request, "clubs:active", resourceVersionService.current(Resource.CLUBS), () -> {
+                List<ClubDto> clubs = clubService.getAllActiveClubs();
+                log.info("Returning {} clubs to frontend", clubs.size());
+                return clubs;
+            });
         } catch (Exception e) {
             log.error("Error fetching all clubs", e);
             return ResponseEntity.internalServerError().build();
@@ -38,10 +46,10 @@ public class ClubController {
     }
     
     @GetMapping("/top")
-    public ResponseEntity<List<ClubDto>> getTopClubs() {
+    public ResponseEntity<byte[]> getTopClubs(WebRequest request) {
         try {
-            List<ClubDto> clubs = clubService.getTopClubs();
-            return ResponseEntity.ok(clubs);
+            return jsonResponseCache.cached(request, "clubs:top", resourceVersionService.current(Resource.CLUBS),
+                    clubService::getTopClubs);
         } catch (Exception e) {
             log.error("Error fetching top clubs", e);
             return ResponseEntity.internalServerError().build();
@@ -49,10 +57,10 @@ public class ClubController {
     }
     
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<ClubDto>> getClubsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<ClubDto>> getClubsByCategory(@PathVariable String category, WebRequest request) {
         try {
-            List<ClubDto> clubs = clubService.getClubsByCategory(category);
-            return ResponseEntity.ok(clubs);
+            return resourceVersionService.conditional(request, resourceVersionService.current(Resource.CLUBS),
+                    () -> clubService.getClubsByCategory(category));
         } catch (Exception e) {
             log.error("Error fetching clubs by category: {}", category, e);
             return ResponseEntity.internalServerError().build();
@@ -60,10 +68,10 @@ public class ClubController {
     }
     
     @GetMapping("/top/category/{category}")
-    public ResponseEntity<List<ClubDto>> getTopClubsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<ClubDto>> getTopClubsByCategory(@PathVariable String category, WebRequest request) {
         try {
-            List<ClubDto> clubs = clubService.getTopClubsByCategory(category);
-            return ResponseEntity.ok(clubs);
+            return resourceVersionService.conditional(request, resourceVersionService.current(Resource.CLUBS),
+                    () -> clubService.getTopClubsByCategory(category));
         } catch (Exception e) {
             log.error("Error fetching top clubs by category: {}", category, e);
             return ResponseEntity.internalServerError().build();
@@ -71,14 +79,14 @@ public class ClubController {
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<ClubDto>> searchClubs(@RequestParam String q) {
+    public ResponseEntity<List<ClubDto>> searchClubs(@RequestParam String q, WebRequest request) {
         try {
             if (q == null || q.trim().isEmpty()) {
                 return ResponseEntity.badRequest().build();
             }
             
-            List<ClubDto> clubs = clubService.searchClubs(q.trim());
-            return ResponseEntity.ok(clubs);
+            return resourceVersionService.conditional(request, resourceVersionService.current(Resource.CLUBS),
+                    () -> clubService.searchClubs(q.trim()));
         } catch (Exception e) {
             log.error("Error searching clubs with query: {}", q, e);
             return ResponseEntity.internalServerError().build();
@@ -181,11 +189,13 @@ public class ClubController {
     }
     
     @GetMapping("/admin/{adminUserId}")
-    public ResponseEntity<List<ClubDto>> getClubsByAdminUser(@PathVariable Long adminUserId) {
+    public ResponseEntity<List<ClubDto>> getClubsByAdminUser(@PathVariable Long adminUserId, WebRequest request) {
         try {
-            List<ClubDto> clubs = clubService.getClubsByAdminUser(adminUserId);
-            log.info("Returning {} clubs for admin user {}", clubs.size(), adminUserId);
-            return ResponseEntity.ok(clubs);
+            return resourceVersionService.conditional(request, resourceVersionService.current(Resource.CLUBS), () -> {
+                List<ClubDto> clubs = clubService.getClubsByAdminUser(adminUserId);
+                log.info("Returning {} clubs for admin user {}", clubs.size(), adminUserId);
+                return clubs;
+            });
         } catch (Exception e) {
             log.error("Error fetching clubs for admin user: {}", adminUserId, e);
             return ResponseEntity.internalServerError().build();
@@ -194,10 +204,10 @@ public class ClubController {
     
     // Super Admin endpoints for club approval
     @GetMapping("/pending")
-    public ResponseEntity<List<ClubDto>> getPendingClubs() {
+    public ResponseEntity<List<ClubDto>> getPendingClubs(WebRequest request) {
         try {
-            List<ClubDto> pendingClubs = clubService.getPendingClubs();
-            return ResponseEntity.ok(pendingClubs);
+            return resourceVersionService.conditional(request, resourceVersionService.current(Resource.CLUBS),
+                    clubService::getPendingClubs);
         } catch (Exception e) {
             log.error("Error fetching pending clubs", e);
             return ResponseEntity.internalServerError().build();
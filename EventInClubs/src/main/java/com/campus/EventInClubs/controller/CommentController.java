@@ -1,6 +1,7 @@
 package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.dto.CommentDto;
+import com.campus.EventInClubs.dto.CommentThreadDto;
 import com.campus.EventInClubs.service.CommentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +31,24 @@ public class CommentController {
         }
     }
     
+    @GetMapping("/idea/{ideaId}/thread")
+    public ResponseEntity<?> getCommentThreads(@PathVariable Long ideaId,
+                                               @RequestParam(defaultValue = "0") int offset,
+                                               @RequestParam(defaultValue = "20") int limit,
+                                               @RequestParam(required = false) Integer maxDepth) {
+        if (offset < 0 || limit < 1 || limit > 100 || (maxDepth != null && maxDepth < 0)) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "offset must be >= 0, limit between 1 and 100 and maxDepth >= 0"));
+        }
+        try {
+            CommentThreadDto threads = commentService.getThreads(ideaId, offset, limit, maxDepth);
+            return ResponseEntity.ok(threads);
+        } catch (Exception e) {
+            log.error("Error fetching comment threads for idea: {}", ideaId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<CommentDto>> getCommentsByUser(@PathVariable Long userId) {
         try {
@@ -0,0 +1,70 @@
+package com.campus.EventInClubs.controller;
+
+import com.campus.EventInClubs.dto.DashboardDto;
+import com.campus.EventInClubs.security.JwtUtil;
+import com.campus.EventInClubs.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * One request per dashboard refresh instead of one per panel. Partial results
+ * come back as 200 with the failed sections listed; 503 only when every
+ * section failed.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final JwtUtil jwtUtil;
+
+    @GetMapping("/club-admin")
+    @PreAuthorize("hasAnyRole('CLUB_ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getClubAdminDashboard(@RequestHeader("Authorization") String token) {
+        try {
+            Long userId = jwtUtil.extractUserId(token.substring(7));
+            return respond(dashboardService.clubAdmin(userId));
+        } catch (Exception e) {
+            log.error("Error building club admin dashboard", e);
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/super-admin")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> getSuperAdminDashboard() {
+        try {
+            return respond(dashboardService.superAdmin());
+        } catch (Exception e) {
+            log.error("Error building super admin dashboard", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/student")
+    public ResponseEntity<?> getStudentDashboard(@RequestHeader("Authorization") String token) {
+        try {
+            Long userId = jwtUtil.extractUserId(token.substring(7));
+            return respond(dashboardService.student(userId));
+        } catch (Exception e) {
+            log.error("Error building student dashboard", e);
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<DashboardDto> respond(DashboardDto dashboard) {
+        if (dashboard.getSections().isEmpty() && !dashboard.getErrors().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(dashboard);
+        }
+        return ResponseEntity.ok(dashboard);
+    }
+}
@@ -2,13 +2,20 @@ package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.dto.EventDto;
 import com.campus.EventInClubs.service.EventService;
+import com.campus.EventInClubs.service.JsonResponseCache;
+import com.campus.EventInClubs.service.ResourceVersionService;
+import com.campus.EventInClubs.service.ResourceVersionService.Resource;
+import com.campus.EventInClubs.service.ViewCountService;
+import com.campus.EventInClubs.service.ViewCountService.Kind;
 import com.campus.EventInClubs.security.JwtUtil;
 import com.campus.EventInClubs.domain.model.Club;
 import com.campus.EventInClubs.repository.ClubRepository;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,56 +29,65 @@ public class EventController {
     private final EventService eventService;
     private final JwtUtil jwtUtil;
     private final ClubRepository clubRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final JsonResponseCache jsonResponseCache;
+    private final ViewCountService viewCountService;
     
     @GetMapping
-    public ResponseEntity<List<EventDto>> getAllEvents() {
-        List<EventDto> events = eventService.getAllEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDto>> getAllEvents(WebRequest request) {
+        return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                eventService::getAllEvents);
     }
     
     
     @GetMapping("/club-topics")
-    public ResponseEntity<List<EventDto>> getEventsForClubTopics() {
-        List<EventDto> events = eventService.getEventsForClubTopics();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDto>> getEventsForClubTopics(WebRequest request) {
+        return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                eventService::getEventsForClubTopics);
     }
     
     @GetMapping("/admin/published")
-    public ResponseEntity<List<EventDto>> getPublishedEventsForAdmin() {
-        List<EventDto> events = eventService.getPublishedEventsForAdmin();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDto>> getPublishedEventsForAdmin(WebRequest request) {
+        return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                eventService::getPublishedEventsForAdmin);
     }
     
     @GetMapping("/active")
-    public ResponseEntity<List<EventDto>> getActiveEventsForStudents() {
-        List<EventDto> events = eventService.getActiveEventsForStudents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<byte[]> getActiveEventsForStudents(WebRequest request) {
+        return jsonResponseCache.cached(request, "events:active", resourceVersionService.current(Resource.EVENTS),
+                eventService::getActiveEventsForStudents);
     }
     
     @GetMapping("/upcoming")
-    public ResponseEntity<List<EventDto>> getUpcomingEvents() {
-        List<EventDto> events = eventService.getUpcomingEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDto>> getUpcomingEvents(WebRequest request) {
+        return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                eventService::getUpcomingEvents);
     }
     
     @GetMapping("/ongoing")
-    public ResponseEntity<List<EventDto>> getOngoingEvents() {
-        List<EventDto> events = eventService.getOngoingEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDto>> getOngoingEvents(WebRequest request) {
+        return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                eventService::getOngoingEvents);
     }
     
     @GetMapping("/club/{clubId}")
-    public ResponseEntity<List<EventDto>> getEventsByClub(@PathVariable Long clubId) {
-        List<EventDto> events = eventService.getEventsByClub(clubId);
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDto>> getEventsByClub(@PathVariable Long clubId, WebRequest request) {
+        return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                () -> eventService.getEventsByClub(clubId));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<EventDto> getEventById(@PathVariable Long id) {
+    public ResponseEntity<EventDto> getEventById(@PathVariable Long id, HttpServletRequest request) {
         EventDto event = eventService.getEventById(id);
+        viewCountService.recordView(Kind.EVENT, id, ViewCountService.viewerKey(request));
         return ResponseEntity.ok(event);
     }
     
+    @GetMapping("/{id}/views")
+    public ResponseEntity<ViewCountService.Stats> getEventViews(@PathVariable Long id) {
+        return ResponseEntity.ok(viewCountService.stats(Kind.EVENT, id));
+    }
+    
     @PostMapping
     public ResponseEntity<EventDto> createEvent(
             @RequestBody EventDto eventDto,
@@ -176,9 +192,9 @@ public class EventController {
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<EventDto>> searchEvents(@RequestParam String keyword) {
-        List<EventDto> events = eventService.searchEvents(keyword);
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDto>> searchEvents(@RequestParam String keyword, WebRequest request) {
+        return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                () -> eventService.searchEvents(keyword));
     }
     
     @GetMapping("/stats/club/{clubId}")
@@ -188,9 +204,9 @@ public class EventController {
     }
     
     @GetMapping("/accepting-ideas")
-    public ResponseEntity<List<EventDto>> getEventsAcceptingIdeas() {
-        List<EventDto> events = eventService.getEventsAcceptingIdeas();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDto>> getEventsAcceptingIdeas(WebRequest request) {
+        return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                eventService::getEventsAcceptingIdeas);
     }
     
     @GetMapping("/{eventId}/ideas")
@@ -444,10 +460,10 @@ public class EventController {
     }
     
     @GetMapping("/pending-approval")
-    public ResponseEntity<List<EventDto>> getPendingApprovalEvents() {
+    public ResponseEntity<List<EventDto>> getPendingApprovalEvents(WebRequest request) {
         try {
-            List<EventDto> pendingEvents = eventService.getPendingApprovalEvents();
-            return ResponseEntity.ok(pendingEvents);
+            return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                    eventService::getPendingApprovalEvents);
         } catch (Exception e) {
             log.error("Error getting pending approval events", e);
             return ResponseEntity.internalServerError().build();
@@ -455,10 +471,10 @@ public class EventController {
     }
     
     @GetMapping("/approved-for-students")
-    public ResponseEntity<List<EventDto>> getApprovedEventsForStudents() {
+    public ResponseEntity<List<EventDto>> getApprovedEventsForStudents(WebRequest request) {
         try {
-            List<EventDto> approvedEvents = eventService.getApprovedEventsForStudents();
-            return ResponseEntity.ok(approvedEvents);
+            return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                    eventService::getApprovedEventsForStudents);
         } catch (Exception e) {
             log.error("Error getting approved events for students", e);
             return ResponseEntity.internalServerError().build();
@@ -466,10 +482,10 @@ public class EventController {
     }
     
     @GetMapping("/approved")
-    public ResponseEntity<List<EventDto>> getApprovedEvents() {
+    public ResponseEntity<List<EventDto>> getApprovedEvents(WebRequest request) {
         try {
-            List<EventDto> approvedEvents = eventService.getApprovedEvents();
-            return ResponseEntity.ok(approvedEvents);
+            return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                    eventService::getApprovedEvents);
         } catch (Exception e) {
             log.error("Error getting approved events", e);
             return ResponseEntity.internalServerError().build();
@@ -477,10 +493,10 @@ public class EventController {
     }
     
     @GetMapping("/rejected")
-    public ResponseEntity<List<EventDto>> getRejectedEvents() {
+    public ResponseEntity<List<EventDto>> getRejectedEvents(WebRequest request) {
         try {
-            List<EventDto> rejectedEvents = eventService.getRejectedEvents();
-            return ResponseEntity.ok(rejectedEvents);
+            return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                    eventService::getRejectedEvents);
         } catch (Exception e) {
             log.error("Error getting rejected events", e);
             return ResponseEntity.internalServerError().build();
@@ -488,10 +504,10 @@ public class EventController {
     }
     
     @GetMapping("/rejected/{clubId}")
-    public ResponseEntity<List<EventDto>> getRejectedEventsForClubAdmin(@PathVariable Long clubId) {
+    public ResponseEntity<List<EventDto>> getRejectedEventsForClubAdmin(@PathVariable Long clubId, WebRequest request) {
         try {
-            List<EventDto> rejectedEvents = eventService.getRejectedEventsForClubAdmin(clubId);
-            return ResponseEntity.ok(rejectedEvents);
+            return resourceVersionService.conditional(request, resourceVersionService.current(Resource.EVENTS),
+                () -> eventService.getRejectedEventsForClubAdmin(clubId));
         } catch (Exception e) {
             log.error("Error getting rejected events for club {}", clubId, e);
             return ResponseEntity.internalServerError().build();
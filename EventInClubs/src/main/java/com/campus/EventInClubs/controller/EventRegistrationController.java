@@ -2,11 +2,26 @@ package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.domain.model.EventRegistration;
 import com.campus.EventInClubs.dto.EventRegistrationDto;
+import com.campus.EventInClubs.dto.RegistrationImportReport;
+import com.campus.EventInClubs.security.JwtUtil;
+import com.campus.EventInClubs.service.AdmissionQueueService;
 import com.campus.EventInClubs.service.EventRegistrationService;
+import com.campus.EventInClubs.service.LiveSeatService;
+import com.campus.EventInClubs.service.RegistrationExportService;
+import com.campus.EventInClubs.service.RegistrationImportService;
+import com.campus.EventInClubs.service.TabularFileWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -19,6 +34,12 @@ import java.util.Map;
 public class EventRegistrationController {
     
     private final EventRegistrationService registrationService;
+    private final AdmissionQueueService admissionQueueService;
+    private final RegistrationImportService registrationImportService;
+    private final RegistrationExportService registrationExportService;
+    private final LiveSeatService liveSeatService;
+    private final ObjectMapper objectMapper;
+    private final JwtUtil jwtUtil;
     
     @PostMapping("/register")
     public ResponseEntity<?> registerForEvent(
@@ -27,8 +48,16 @@ public class EventRegistrationController {
             @RequestParam String rollNumber,
             @RequestParam(required = false) String notes) {
         try {
+            if (admissionQueueService.isQueued(eventId)) {
+                // 202 with a ticket; the outcome is read from /queue/{ticketId}
+                return ResponseEntity.accepted().body(admissionQueueService.enqueue(eventId, userId, rollNumber, notes));
+            }
             EventRegistrationDto registration = registrationService.registerForEvent(eventId, userId, notes, rollNumber);
             return ResponseEntity.ok(registration);
+        } catch (IllegalStateException e) {
+            log.warn("Registration queue refused a sign-up: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             log.error("Error registering for event: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -40,6 +69,29 @@ public class EventRegistrationController {
         }
     }
 
+    @PostMapping(value = "/event/{eventId}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importRegistrations(
+            @PathVariable Long eventId,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam("file") MultipartFile file) {
+        try {
+            Long adminUserId = jwtUtil.requireUserId(authorization);
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Please upload a CSV or XLSX file"));
+            }
+            RegistrationImportReport report = registrationImportService.importRegistrations(eventId, adminUserId, file);
+            return ResponseEntity.ok(report);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error importing registrations: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error importing registrations: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Internal server error"));
+        }
+    }
+
     @PutMapping("/roll")
     public ResponseEntity<?> setRollNumber(
             @RequestParam Long eventId,
@@ -67,6 +119,35 @@ public class EventRegistrationController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @GetMapping("/event/{eventId}/export")
+    public ResponseEntity<StreamingResponseBody> exportRegistrations(
+            @PathVariable Long eventId,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(required = false) List<String> status) {
+        try {
+            RegistrationExportService.Export export = registrationExportService.prepare(
+                    RegistrationExportService.Dataset.REGISTRATIONS, eventId, jwtUtil.requireUserId(authorization),
+                    TabularFileWriter.Format.of(format), columns, status);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(export.filename()).build().toString())
+                    .contentType(MediaType.parseMediaType(export.contentType()))
+                    .body(export.body());
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, Map.of("error", e.getMessage())));
+        } catch (RuntimeException e) {
+            log.error("Error exporting registrations: {}", e.getMessage());
+            // The streaming return type rules out a Map body, so the error JSON is written by hand
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, Map.of("error", e.getMessage())));
+        }
+    }
     
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<EventRegistrationDto>> getUserRegistrations(@PathVariable Long userId) {
@@ -90,6 +171,37 @@ public class EventRegistrationController {
         }
     }
     
+    @GetMapping("/queue/{ticketId}")
+    public ResponseEntity<?> getQueueTicket(@PathVariable Long ticketId) {
+        try {
+            AdmissionQueueService.Ticket ticket = admissionQueueService.findTicket(ticketId);
+            if (ticket == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(ticket);
+        } catch (Exception e) {
+            log.error("Error fetching queue ticket {}: {}", ticketId, e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "Internal server error"));
+        }
+    }
+    
+    /** Server-sent "seats" events with the taken and remaining seats of the given events. */
+    @GetMapping(value = "/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamSeats(@RequestParam List<Long> eventIds) {
+        try {
+            return ResponseEntity.ok(liveSeatService.subscribe(eventIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     @PutMapping("/{registrationId}/status")
     public ResponseEntity<?> updateRegistrationStatus(
             @PathVariable Long registrationId,
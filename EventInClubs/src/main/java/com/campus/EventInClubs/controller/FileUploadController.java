@@ -1,6 +1,7 @@
 package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.service.CloudinaryService;
+import com.campus.EventInClubs.service.CloudinaryUploadService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -19,6 +21,9 @@ public class FileUploadController {
     @Autowired(required = false)
     private CloudinaryService cloudinaryService;
     
+    @Autowired
+    private CloudinaryUploadService cloudinaryUploadService;
+    
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
     private static final String[] ALLOWED_EXTENSIONS = {".jpg", ".jpeg", ".png", ".gif", ".webp"};
     
@@ -64,23 +69,15 @@ public class FileUploadController {
                         .body(Map.of("error", "Only image files (jpg, jpeg, png, gif, webp) are allowed"));
             }
             
-            // Check if Cloudinary is available
-            if (cloudinaryService == null) {
-                log.error("CloudinaryService is not available - bean not initialized");
-                return ResponseEntity.internalServerError()
-                        .body(Map.of("error", "Image upload service is not configured. Please contact administrator."));
-            }
-            
-            // Upload to Cloudinary
-            log.info("Uploading to Cloudinary...");
-            String imageUrl = cloudinaryService.uploadClubLogo(file);
-            log.info("Successfully uploaded club logo to Cloudinary: {}", imageUrl);
+            // Stage locally and push to Cloudinary in the background; the local URL works meanwhile
+            CloudinaryUploadService.Job job = cloudinaryUploadService.submit(file, "club-logos");
             
-            // Return the Cloudinary URL
-            return ResponseEntity.ok(Map.of(
+            return ResponseEntity.accepted().body(Map.of(
                     "success", true,
-                    "fileUrl", imageUrl,
-                    "filename", originalFilename
+                    "fileUrl", job.url(),
+                    "filename", originalFilename,
+                    "jobId", job.id(),
+                    "status", job.status()
             ));
             
         } catch (IOException e) {
@@ -94,6 +91,29 @@ public class FileUploadController {
         }
     }
     
+    @GetMapping("/upload-jobs/{jobId}")
+    public ResponseEntity<?> getUploadJob(@PathVariable Long jobId) {
+        try {
+            CloudinaryUploadService.Job job = cloudinaryUploadService.findJob(jobId);
+            if (job == null) {
+                return ResponseEntity.notFound().build();
+            }
+            Map<String, Object> body = new HashMap<>();
+            body.put("jobId", job.id());
+            body.put("status", job.status());
+            body.put("fileUrl", job.url());
+            body.put("attempts", job.attempts());
+            if (job.lastError() != null) {
+                body.put("error", job.lastError());
+            }
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            log.error("Error fetching upload job {}", jobId, e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "Failed to fetch upload job"));
+        }
+    }
+    
     @DeleteMapping("/delete-club-logo")
     public ResponseEntity<?> deleteClubLogo(@RequestParam String imageUrl) {
         try {
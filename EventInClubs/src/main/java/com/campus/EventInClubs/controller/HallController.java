@@ -2,11 +2,14 @@ package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.domain.model.Hall;
 import com.campus.EventInClubs.service.HallService;
+import com.campus.EventInClubs.service.ResourceVersionService;
+import com.campus.EventInClubs.service.ResourceVersionService.Resource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,11 +23,12 @@ import java.util.Optional;
 public class HallController {
     
     private final HallService hallService;
+    private final ResourceVersionService resourceVersionService;
     
     @GetMapping
-    public ResponseEntity<List<Hall>> getAllHalls() {
-        List<Hall> halls = hallService.getAllActiveHalls();
-        return ResponseEntity.ok(halls);
+    public ResponseEntity<List<Hall>> getAllHalls(WebRequest request) {
+        return resourceVersionService.conditional(request, resourceVersionService.current(Resource.HALLS),
+                hallService::getAllActiveHalls);
     }
     
     @GetMapping("/{id}")
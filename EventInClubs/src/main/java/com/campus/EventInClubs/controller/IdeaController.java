@@ -1,7 +1,12 @@
 package com.campus.EventInClubs.controller;
 
+import com.campus.EventInClubs.domain.model.IdeaRanking;
 import com.campus.EventInClubs.dto.IdeaDto;
+import com.campus.EventInClubs.service.IdeaRankingService;
 import com.campus.EventInClubs.service.IdeaService;
+import com.campus.EventInClubs.service.ViewCountService;
+import com.campus.EventInClubs.service.ViewCountService.Kind;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +14,9 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/ideas")
@@ -18,6 +26,7 @@ import java.util.Map;
 public class IdeaController {
     
     private final IdeaService ideaService;
+    private final ViewCountService viewCountService;
     
     @GetMapping
     public ResponseEntity<List<IdeaDto>> getAllActiveIdeas() {
@@ -41,6 +50,40 @@ public class IdeaController {
         }
     }
     
+    /**
+     * sort is top, hot or rising; at most one of eventId, problemId and clubId
+     * narrows the list, which otherwise covers all ideas.
+     */
+    @GetMapping("/ranked")
+    public ResponseEntity<?> getRankedIdeas(@RequestParam(defaultValue = "hot") String sort,
+                                            @RequestParam(required = false) Long eventId,
+                                            @RequestParam(required = false) Long problemId,
+                                            @RequestParam(required = false) Long clubId,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        IdeaRankingService.Sort order;
+        try {
+            order = IdeaRankingService.Sort.valueOf(sort.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "sort must be top, hot or rising"));
+        }
+        long scopes = Stream.of(eventId, problemId, clubId).filter(Objects::nonNull).count();
+        if (scopes > 1 || limit < 1 || limit > 100) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Use at most one of eventId, problemId and clubId, and a limit between 1 and 100"));
+        }
+        IdeaRanking.Scope scope = eventId != null ? IdeaRanking.Scope.EVENT
+                : problemId != null ? IdeaRanking.Scope.PROBLEM
+                : clubId != null ? IdeaRanking.Scope.CLUB
+                : IdeaRanking.Scope.ALL;
+        Long scopeId = eventId != null ? eventId : problemId != null ? problemId : clubId;
+        try {
+            return ResponseEntity.ok(ideaService.getRankedIdeas(order, scope, scopeId, limit));
+        } catch (Exception e) {
+            log.error("Error fetching {} ideas for {} {}", sort, scope, scopeId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     @GetMapping("/featured")
     public ResponseEntity<List<IdeaDto>> getFeaturedIdeas() {
         try {
@@ -101,9 +144,11 @@ public class IdeaController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<IdeaDto> getIdeaById(@PathVariable Long id) {
+    public ResponseEntity<IdeaDto> getIdeaById(@PathVariable Long id, HttpServletRequest request) {
         try {
-            return ideaService.getIdeaById(id)
+            Optional<IdeaDto> idea = ideaService.getIdeaById(id);
+            idea.ifPresent(found -> viewCountService.recordView(Kind.IDEA, id, ViewCountService.viewerKey(request)));
+            return idea
                     .map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
@@ -112,6 +157,11 @@ public class IdeaController {
         }
     }
     
+    @GetMapping("/{id}/views")
+    public ResponseEntity<ViewCountService.Stats> getIdeaViews(@PathVariable Long id) {
+        return ResponseEntity.ok(viewCountService.stats(Kind.IDEA, id));
+    }
+    
     @PostMapping
     public ResponseEntity<?> createIdea(@RequestBody IdeaDto ideaDto, 
                                      @RequestParam Long problemId, 
@@ -2,10 +2,12 @@ package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.dto.NotificationDto;
 import com.campus.EventInClubs.service.NotificationService;
+import com.campus.EventInClubs.service.ResourceVersionService;
 import com.campus.EventInClubs.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -17,10 +19,11 @@ public class NotificationController {
 
     private final NotificationService notificationService;
     private final JwtUtil jwtUtil;
+    private final ResourceVersionService resourceVersionService;
 
     @GetMapping
     public ResponseEntity<List<NotificationDto>> getUserNotifications(
-            @RequestHeader(value = "Authorization", required = false) String token) {
+            @RequestHeader(value = "Authorization", required = false) String token, WebRequest request) {
         try {
             if (token == null || !token.startsWith("Bearer ")) {
                 return ResponseEntity.status(401).body(List.of());
@@ -31,8 +34,8 @@ public class NotificationController {
                 return ResponseEntity.status(401).body(List.of());
             }
             
-            List<NotificationDto> notifications = notificationService.getUserNotifications(userId);
-            return ResponseEntity.ok(notifications);
+            return resourceVersionService.conditional(request, resourceVersionService.notifications(userId),
+                    () -> notificationService.getUserNotifications(userId));
         } catch (Exception e) {
             return ResponseEntity.status(401).body(List.of());
         }
@@ -40,7 +43,7 @@ public class NotificationController {
 
     @GetMapping("/unread")
     public ResponseEntity<List<NotificationDto>> getUnreadNotifications(
-            @RequestHeader(value = "Authorization", required = false) String token) {
+            @RequestHeader(value = "Authorization", required = false) String token, WebRequest request) {
         try {
             if (token == null || !token.startsWith("Bearer ")) {
                 return ResponseEntity.status(401).body(List.of());
@@ -50,8 +53,8 @@ public class NotificationController {
                 return ResponseEntity.status(401).build();
             }
             
-            List<NotificationDto> notifications = notificationService.getUnreadNotifications(userId);
-            return ResponseEntity.ok(notifications);
+            return resourceVersionService.conditional(request, resourceVersionService.notifications(userId),
+                    () -> notificationService.getUnreadNotifications(userId));
         } catch (Exception e) {
             return ResponseEntity.status(401).build();
         }
@@ -59,7 +62,7 @@ public class NotificationController {
 
     @GetMapping("/unread/count")
     public ResponseEntity<Map<String, Object>> getUnreadCount(
-            @RequestHeader(value = "Authorization", required = false) String token) {
+            @RequestHeader(value = "Authorization", required = false) String token, WebRequest request) {
         try {
             if (token == null || !token.startsWith("Bearer ")) {
                 return ResponseEntity.status(401).body(Map.of("unreadCount", 0));
@@ -69,8 +72,8 @@ public class NotificationController {
                 return ResponseEntity.status(401).build();
             }
             
-            long count = notificationService.getUnreadCount(userId);
-            return ResponseEntity.ok(Map.of("unreadCount", count));
+            return resourceVersionService.conditional(request, resourceVersionService.notifications(userId),
+                    () -> Map.<String, Object>of("unreadCount", notificationService.getUnreadCount(userId)));
         } catch (Exception e) {
             return ResponseEntity.status(401).build();
         }
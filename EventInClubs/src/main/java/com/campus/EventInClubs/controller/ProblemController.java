@@ -2,6 +2,9 @@ package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.dto.ProblemDto;
 import com.campus.EventInClubs.service.ProblemService;
+import com.campus.EventInClubs.service.ViewCountService;
+import com.campus.EventInClubs.service.ViewCountService.Kind;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/problems")
@@ -18,6 +22,7 @@ import java.util.Map;
 public class ProblemController {
     
     private final ProblemService problemService;
+    private final ViewCountService viewCountService;
     
     @GetMapping
     public ResponseEntity<List<ProblemDto>> getAllActiveProblems() {
@@ -79,9 +84,11 @@ public class ProblemController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ProblemDto> getProblemById(@PathVariable Long id) {
+    public ResponseEntity<ProblemDto> getProblemById(@PathVariable Long id, HttpServletRequest request) {
         try {
-            return problemService.getProblemById(id)
+            Optional<ProblemDto> problem = problemService.getProblemById(id);
+            problem.ifPresent(found -> viewCountService.recordView(Kind.PROBLEM, id, ViewCountService.viewerKey(request)));
+            return problem
                     .map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
@@ -90,6 +97,11 @@ public class ProblemController {
         }
     }
     
+    @GetMapping("/{id}/views")
+    public ResponseEntity<ViewCountService.Stats> getProblemViews(@PathVariable Long id) {
+        return ResponseEntity.ok(viewCountService.stats(Kind.PROBLEM, id));
+    }
+    
     @PostMapping
     public ResponseEntity<?> createProblem(@RequestBody ProblemDto problemDto, 
                                          @RequestParam Long clubId, 
@@ -1,11 +1,21 @@
 package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.dto.TeamRegistrationDto;
+import com.campus.EventInClubs.security.JwtUtil;
+import com.campus.EventInClubs.service.RegistrationExportService;
+import com.campus.EventInClubs.service.TabularFileWriter;
 import com.campus.EventInClubs.service.TeamRegistrationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -18,6 +28,9 @@ import java.util.Map;
 public class TeamRegistrationController {
     
     private final TeamRegistrationService teamRegistrationService;
+    private final RegistrationExportService registrationExportService;
+    private final ObjectMapper objectMapper;
+    private final JwtUtil jwtUtil;
     
     @PostMapping("/register")
     public ResponseEntity<?> registerTeam(
@@ -58,6 +71,35 @@ public class TeamRegistrationController {
         }
     }
     
+    @GetMapping("/event/{eventId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTeams(
+            @PathVariable Long eventId,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(required = false) List<String> status) {
+        try {
+            RegistrationExportService.Export export = registrationExportService.prepare(
+                    RegistrationExportService.Dataset.TEAMS, eventId, jwtUtil.requireUserId(authorization),
+                    TabularFileWriter.Format.of(format), columns, status);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(export.filename()).build().toString())
+                    .contentType(MediaType.parseMediaType(export.contentType()))
+                    .body(export.body());
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, Map.of("error", e.getMessage())));
+        } catch (RuntimeException e) {
+            log.error("Error exporting teams: {}", e.getMessage());
+            // The streaming return type rules out a Map body, so the error JSON is written by hand
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, Map.of("error", e.getMessage())));
+        }
+    }
+    
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<TeamRegistrationDto>> getTeamsByUser(@PathVariable Long userId) {
         try {
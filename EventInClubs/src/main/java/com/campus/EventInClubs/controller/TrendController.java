@@ -0,0 +1,85 @@
+package com.campus.EventInClubs.controller;
+
+import com.campus.EventInClubs.domain.model.ActivityRollup.Granularity;
+import com.campus.EventInClubs.domain.model.ActivityRollup.Metric;
+import com.campus.EventInClubs.domain.model.ActivityRollup.Scope;
+import com.campus.EventInClubs.service.TrendRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/trends")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class TrendController {
+    
+    private final TrendRollupService trendRollupService;
+    
+    /**
+     * metric: registrations, ideas, votes or members; scope: all, club or event
+     * (with scopeId); granularity: hour or day. The range defaults to the last
+     * 48 hours or 30 days.
+     */
+    @GetMapping
+    public ResponseEntity<?> getTrend(@RequestParam String metric,
+                                      @RequestParam(defaultValue = "all") String scope,
+                                      @RequestParam(required = false) Long scopeId,
+                                      @RequestParam(defaultValue = "day") String granularity,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Metric parsedMetric;
+        Scope parsedScope;
+        Granularity parsedGranularity;
+        try {
+            parsedMetric = Metric.valueOf(metric.toUpperCase());
+            parsedScope = Scope.valueOf(scope.toUpperCase());
+            parsedGranularity = Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "metric must be registrations, ideas, votes or members; scope all, club or event; granularity hour or day"));
+        }
+        if (parsedScope != Scope.ALL && scopeId == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "scopeId is required for club and event trends"));
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from
+                : end.minus(parsedGranularity == Granularity.HOUR ? Duration.ofHours(48) : Duration.ofDays(30));
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from must be before to"));
+        }
+        try {
+            return ResponseEntity.ok(trendRollupService.trend(parsedMetric, parsedScope, scopeId, parsedGranularity, start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error fetching {} trend for {} {}", metric, scope, scopeId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Long>> getStatus() {
+        return ResponseEntity.ok(trendRollupService.watermarks());
+    }
+    
+    // Recounts a metric from scratch, e.g. after changing app.trends.time-zone
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> rebuild(@RequestParam String metric) {
+        try {
+            trendRollupService.rebuild(Metric.valueOf(metric.toUpperCase()));
+            return ResponseEntity.accepted().body(Map.of("message", "Rollups for " + metric + " will be rebuilt by the next passes"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "metric must be registrations, ideas, votes or members"));
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.campus.EventInClubs.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Serves uploaded files. Bodies go out through Tomcat's sendfile, so the kernel
+ * copies the file to the socket without passing through the JVM heap. Single
+ * byte ranges are supported. Content-addressed blobs are tagged with their hash
+ * and cached as immutable. A {@code <file>.gz} sibling is sent to clients that
+ * accept gzip. Set {@code app.uploads.zero-copy.enabled=false} to fall back to
+ * Spring's resource handler.
+ */
+@Controller
+@ConditionalOnProperty(name = "app.uploads.zero-copy.enabled", havingValue = "true", matchIfMissing = true)
+public class UploadFileController {
+
+    // Request attributes of Tomcat's NIO connector; the body is written by the connector after we return
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String PREFIX = "/uploads/";
+    private static final Pattern BLOB_NAME = Pattern.compile("([0-9a-f]{64})\\.[a-z0-9]{1,10}");
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+    private static final String REVALIDATE = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private final Path uploadRoot;
+    private final Path blobRoot;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    // Tomcat's DefaultServlet threshold: below it one buffered write is cheaper than handing off to sendfile
+    @Value("${app.uploads.sendfile-min-bytes:49152}")
+    private long sendfileMinBytes = 49152;
+
+    public UploadFileController(@Value("${app.uploads.dir:${user.dir}/uploads}") String uploadDir) {
+        this.uploadRoot = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.blobRoot = uploadRoot.resolve("blobs");
+    }
+
+    @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = resolve(urlPathHelper.getPathWithinApplication(request));
+        BasicFileAttributes attributes = file == null ? null : readAttributes(file);
+        if (attributes == null || !attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = etag(file, attributes);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        boolean useRange = rangeHeader != null && rangeStillValid(request, etag, lastModified);
+
+        // Ranges always address the identity bytes; only whole-file responses use the gzip sibling
+        Path gzip = file.resolveSibling(file.getFileName() + ".gz");
+        boolean hasGzip = Files.isRegularFile(gzip);
+        boolean sendGzip = hasGzip && !useRange && acceptsGzip(request);
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, isBlob(file) ? IMMUTABLE : REVALIDATE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (hasGzip) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(sendGzip ? gzipEtag(etag) : etag, lastModified)) {
+            return;
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        if (sendGzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            send(request, response, gzip, 0, Files.size(gzip));
+            return;
+        }
+
+        long size = attributes.size();
+        if (useRange) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Multipart range responses are rare in practice; a server may answer them with the whole file
+            if (ranges.size() == 1) {
+                long start = -1;
+                long end = -1;
+                try {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    // Falls through as unsatisfiable
+                }
+                if (start < 0 || start >= size || end < start) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                send(request, response, file, start, end - start + 1);
+                return;
+            }
+        }
+        send(request, response, file, 0, size);
+    }
+
+    private void send(HttpServletRequest request, HttpServletResponse response, Path file, long start, long length) throws IOException {
+        response.setContentLengthLong(length);
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || length == 0) {
+            return;
+        }
+        if (length >= sendfileMinBytes && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        // No sendfile (other connectors, TLS without it, small files): still no intermediate byte[] of the whole file
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + length;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    throw new IOException("File shrank while it was being sent: " + file.getFileName());
+                }
+                position += sent;
+            }
+        }
+    }
+
+    /** The file for a request path, or null for anything outside the upload root or hidden (in-progress writes). */
+    Path resolve(String requestPath) {
+        if (requestPath == null || !requestPath.startsWith(PREFIX)) {
+            return null;
+        }
+        Path path = uploadRoot.resolve(requestPath.substring(PREFIX.length())).normalize();
+        if (!path.startsWith(uploadRoot) || path.equals(uploadRoot)) {
+            return null;
+        }
+        for (Path part : uploadRoot.relativize(path)) {
+            if (part.toString().startsWith(".")) {
+                return null;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * A blob's name is the hash of its bytes, which makes the tag strong by
+     * construction. Other files are only ever replaced by an atomic rename, so
+     * size plus modification time changes whenever the bytes do.
+     */
+    String etag(Path file, BasicFileAttributes attributes) {
+        if (isBlob(file)) {
+            var matcher = BLOB_NAME.matcher(file.getFileName().toString());
+            matcher.matches();
+            return "\"" + matcher.group(1) + "\"";
+        }
+        return "\"" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+    }
+
+    private boolean isBlob(Path file) {
+        return file.startsWith(blobRoot) && BLOB_NAME.matcher(file.getFileName().toString()).matches();
+    }
+
+    /** If-Range: the client wants the range only if its copy is still current, and the whole file otherwise. */
+    private static boolean rangeStillValid(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Ranges need a strong match, so weak tags never qualify
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+}
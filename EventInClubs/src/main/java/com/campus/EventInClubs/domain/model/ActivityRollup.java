@@ -0,0 +1,61 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * How many registrations, ideas, votes or new members one club or event (or
+ * the whole campus) had in one hour or day. Maintained by TrendRollupService
+ * from the raw tables, so trend charts read a few hundred of these instead.
+ */
+@Entity
+@Table(name = "activity_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_activity_rollups_bucket",
+                columnNames = {"metric", "scope", "scope_id", "granularity", "bucket_start"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Metric metric;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Scope scope;
+    
+    // 0 for the ALL scope
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Granularity granularity;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+    
+    @Column(nullable = false)
+    private Long count;
+    
+    public enum Metric {
+        REGISTRATIONS, IDEAS, VOTES, MEMBERS
+    }
+    
+    public enum Scope {
+        ALL, CLUB, EVENT
+    }
+    
+    public enum Granularity {
+        HOUR, DAY
+    }
+}
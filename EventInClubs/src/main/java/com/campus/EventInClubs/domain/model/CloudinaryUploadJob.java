@@ -0,0 +1,64 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One push of a locally staged upload to Cloudinary. The staged copy is served
+ * until the push succeeds, after which rows pointing at it are switched to the
+ * remote URL.
+ */
+@Entity
+@Table(name = "cloudinary_upload_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CloudinaryUploadJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "staged_url", nullable = false, length = 512)
+    private String stagedUrl;
+    
+    @Column(nullable = false, length = 100)
+    private String folder;
+    
+    // The node whose upload directory holds the staged file
+    @Column(name = "node_id", length = 64)
+    private String nodeId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private Status status = Status.PENDING;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    // Backoff: a PENDING job is not picked up before this
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "remote_url", length = 512)
+    private String remoteUrl;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Doubles as a heartbeat: an UPLOADING job not updated for a while is treated as abandoned
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public enum Status {
+        PENDING, UPLOADING, DONE, FAILED
+    }
+}
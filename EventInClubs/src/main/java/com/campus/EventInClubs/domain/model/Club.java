@@ -1,5 +1,6 @@
 package com.campus.EventInClubs.domain.model;
 
+import com.campus.EventInClubs.service.ResourceChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -13,6 +14,7 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
+@EntityListeners(ResourceChangeListener.class)
 @Table(name = "clubs")
 public class Club {
 
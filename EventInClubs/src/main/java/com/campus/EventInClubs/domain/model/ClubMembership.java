@@ -1,5 +1,6 @@
 package com.campus.EventInClubs.domain.model;
 
+import com.campus.EventInClubs.service.ResourceChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.Instant;
@@ -10,6 +11,7 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Entity
+@EntityListeners(ResourceChangeListener.class)
 @Table(name = "club_memberships", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "club_id"})
 })
@@ -12,9 +12,15 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        // A page of threads: the roots of an idea, then everything under them in tree order
+        @Index(name = "idx_comments_idea_roots", columnList = "idea_id, path"),
+        @Index(name = "idx_comments_thread", columnList = "root_id, path")
+})
 public class Comment {
 
+    public static final int PATH_SEGMENT_LENGTH = 13;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -36,6 +42,18 @@ public class Comment {
     @JoinColumn(name = "parent_comment_id")
     private Comment parentComment;
 
+    // Top-level comment of the thread; its own id for a top-level comment
+    @Column(name = "root_id")
+    private Long rootId;
+
+    /**
+     * Ids from the root down to this comment, each zero-padded to
+     * {@link #PATH_SEGMENT_LENGTH} characters and followed by '/'. Sorting by
+     * path lists a thread depth-first with replies in posting order.
+     */
+    @Column(length = 2048)
+    private String path;
+
     @Column(name = "is_edited")
     @Builder.Default
     private Boolean isEdited = false;
@@ -59,6 +77,18 @@ public class Comment {
     @Builder.Default
     private Instant updatedAt = Instant.now();
 
+    /** Sets root and path from the parent; the id must already be assigned. */
+    public void placeInThread() {
+        String segment = String.format("%012d/", id);
+        if (parentComment == null) {
+            rootId = id;
+            path = segment;
+        } else {
+            rootId = parentComment.getRootId();
+            path = parentComment.getPath() + segment;
+        }
+    }
+
     @PreUpdate
     protected void onUpdate() {
         updatedAt = Instant.now();
@@ -1,6 +1,7 @@
 package com.campus.EventInClubs.domain.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.campus.EventInClubs.service.ResourceChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(ResourceChangeListener.class)
 @Table(name = "events")
 @Data
 @Builder
@@ -101,6 +103,11 @@ public class Event {
     @Builder.Default
     private Boolean isActive = true;
     
+    // Flash sign-ups: registrations are queued and admitted in batches (see AdmissionQueueService)
+    @Column(name = "admission_queue")
+    @Builder.Default
+    private Boolean admissionQueue = false;
+    
     // Team event fields
     @Column(name = "is_team_event")
     @Builder.Default
@@ -1,5 +1,6 @@
 package com.campus.EventInClubs.domain.model;
 
+import com.campus.EventInClubs.service.ResourceChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -7,6 +8,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ResourceChangeListener.class)
 @Table(name = "event_registrations")
 @Data
 @Builder
@@ -45,6 +47,9 @@ public class EventRegistration {
     @Column(name = "registered_at", nullable = false, updatable = false)
     private LocalDateTime registeredAt;
     
+    @Column(name = "checked_in_at")
+    private LocalDateTime checkedInAt;
+    
     public enum RegistrationStatus {
         REGISTERED,
         WAITLISTED,
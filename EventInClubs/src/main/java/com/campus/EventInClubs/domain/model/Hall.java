@@ -1,6 +1,7 @@
 package com.campus.EventInClubs.domain.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.campus.EventInClubs.service.ResourceChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +14,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(ResourceChangeListener.class)
 @Table(name = "halls")
 @Data
 @Builder
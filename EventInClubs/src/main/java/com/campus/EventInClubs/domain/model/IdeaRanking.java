@@ -0,0 +1,53 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * An idea's scores within one list it appears in: everything, its event, its
+ * problem or its club. One row per list keeps each "top", "hot" and "rising"
+ * list a single range read of one index.
+ */
+@Entity
+@Table(name = "idea_rankings", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idea_rankings_scope_idea", columnNames = {"scope", "scope_id", "idea_id"})
+}, indexes = {
+        @Index(name = "idx_idea_rankings_top", columnList = "scope, scope_id, top_score DESC, idea_id DESC"),
+        @Index(name = "idx_idea_rankings_hot", columnList = "scope, scope_id, hot_score DESC, idea_id DESC"),
+        @Index(name = "idx_idea_rankings_rising", columnList = "scope, scope_id, rising_score DESC, idea_id DESC"),
+        @Index(name = "idx_idea_rankings_idea", columnList = "idea_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdeaRanking {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Scope scope;
+    
+    // 0 for the ALL scope
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+    
+    @Column(name = "idea_id", nullable = false)
+    private Long ideaId;
+    
+    @Column(name = "top_score", nullable = false)
+    private Double topScore;
+    
+    @Column(name = "hot_score", nullable = false)
+    private Double hotScore;
+    
+    @Column(name = "rising_score", nullable = false)
+    private Double risingScore;
+    
+    public enum Scope {
+        ALL, EVENT, PROBLEM, CLUB
+    }
+}
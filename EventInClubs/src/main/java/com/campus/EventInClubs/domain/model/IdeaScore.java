@@ -0,0 +1,55 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Running vote and comment tallies of one idea, kept up to date by
+ * IdeaRankingService as votes and comments come in. Activity is an
+ * exponentially decayed event count, valid as of activityAt.
+ */
+@Entity
+@Table(name = "idea_scores")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdeaScore {
+    
+    @Id
+    @Column(name = "idea_id")
+    private Long ideaId;
+    
+    @Column(nullable = false)
+    private Integer upvotes;
+    
+    @Column(nullable = false)
+    private Integer downvotes;
+    
+    @Column(nullable = false)
+    private Integer comments;
+    
+    // Decays with app.ideas.ranking.hot-half-life-hours
+    @Column(nullable = false)
+    private Double activity;
+    
+    // Decays with the shorter app.ideas.ranking.rising-half-life-hours
+    @Column(name = "recent_activity", nullable = false)
+    private Double recentActivity;
+    
+    @Column(name = "activity_at", nullable = false)
+    private Instant activityAt;
+    
+    // The idea's own creation time; rising only considers young ideas
+    @Column(name = "idea_created_at", nullable = false)
+    private Instant ideaCreatedAt;
+    
+    // Until then the decay pass keeps recomputing the idea's scores
+    @Column(name = "decay_until", nullable = false)
+    private Instant decayUntil;
+    
+    @Column(name = "ranked_at")
+    private Instant rankedAt;
+}
@@ -0,0 +1,52 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resizing work for one uploaded image, keyed by its URL. Rows outlive restarts,
+ * so a job interrupted by a shutdown is picked up again by the next sweep.
+ */
+@Entity
+@Table(name = "image_derivative_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageDerivativeJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "source_url", nullable = false, unique = true, length = 512)
+    private String sourceUrl;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private Status status = Status.PENDING;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Doubles as a heartbeat: a RUNNING job not updated for a while is treated as abandoned
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    public enum Status {
+        PENDING, RUNNING, DONE, FAILED
+    }
+}
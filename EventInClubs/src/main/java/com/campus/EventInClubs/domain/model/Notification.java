@@ -1,5 +1,6 @@
 package com.campus.EventInClubs.domain.model;
 
+import com.campus.EventInClubs.service.ResourceChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -12,6 +13,7 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Entity
+@EntityListeners(ResourceChangeListener.class)
 @Table(name = "notifications")
 public class Notification {
 
@@ -13,7 +13,9 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "problems")
+@Table(name = "problems", indexes = {
+        @Index(name = "idx_problems_trending", columnList = "is_active, idea_count DESC, view_count DESC, created_at DESC")
+})
 public class Problem {
 
     @Id
@@ -69,11 +71,13 @@ public class Problem {
     @JoinColumn(name = "posted_by", nullable = false)
     private User postedBy;
 
-    @Column(name = "view_count")
+    // Both counters are only ever changed by SQL increments (ViewCountService, ProblemRepository.adjustIdeaCount),
+    // so saving a problem loaded earlier cannot write back a stale value
+    @Column(name = "view_count", updatable = false)
     @Builder.Default
     private Integer viewCount = 0;
 
-    @Column(name = "idea_count")
+    @Column(name = "idea_count", updatable = false)
     @Builder.Default
     private Integer ideaCount = 0;
 
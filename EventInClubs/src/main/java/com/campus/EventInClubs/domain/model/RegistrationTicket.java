@@ -0,0 +1,57 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A sign-up waiting in an event's admission queue, journaled before it is
+ * acknowledged so a restart does not lose it. AdmissionQueueService decides
+ * them in id order and records the outcome here.
+ */
+@Entity
+@Table(name = "registration_tickets", indexes = {
+        @Index(name = "idx_registration_tickets_queue", columnList = "event_id, status, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationTicket {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "roll_number", length = 32)
+    private String rollNumber;
+    
+    @Column(name = "notes", length = 255)
+    private String notes;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private Status status = Status.QUEUED;
+    
+    // Why a ticket was rejected
+    @Column(length = 255)
+    private String message;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "decided_at")
+    private LocalDateTime decidedAt;
+    
+    public enum Status {
+        QUEUED, REGISTERED, WAITLISTED, REJECTED
+    }
+}
@@ -0,0 +1,30 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * The shared version of one conditional-GET view (a list resource, or one
+ * user's notifications), so that every node hands out the same ETag and none
+ * answers 304 after another node took a write. ResourceVersionService bumps
+ * and reads these rows with plain SQL.
+ */
+@Entity
+@Table(name = "resource_versions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceStamp {
+    
+    @Id
+    @Column(name = "resource_key", length = 64)
+    private String resourceKey;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    // Epoch millis, always at least a second past the previous value
+    @Column(name = "last_modified", nullable = false)
+    private Long lastModified;
+}
@@ -0,0 +1,29 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * The highest source row id already counted into activity_rollups for one
+ * metric. The row is also what nodes lock to take turns rolling that metric up.
+ */
+@Entity
+@Table(name = "rollup_watermarks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupWatermark {
+    
+    @Id
+    @Column(length = 16)
+    private String metric;
+    
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+    
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One uploaded file, stored once under the SHA-256 of its content however many
+ * times it is uploaded. refCount is the number of entity columns pointing at it.
+ */
+@Entity
+@Table(name = "stored_files")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFile {
+    
+    @Id
+    @Column(length = 64)
+    private String sha256;
+    
+    @Column(nullable = false, length = 16)
+    private String extension;
+    
+    @Column(name = "content_type")
+    private String contentType;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+    
+    @Column(name = "ref_count", nullable = false)
+    @Builder.Default
+    private Integer refCount = 0;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Restarts the garbage-collection grace period on every upload of the same content
+    @Column(name = "last_uploaded_at", nullable = false)
+    private LocalDateTime lastUploadedAt;
+}
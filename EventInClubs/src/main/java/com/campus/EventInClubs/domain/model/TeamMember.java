@@ -0,0 +1,50 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One member of a registered team. The unique indexes on (event_id, roll_number)
+ * and (event_id, email) make the database the arbiter of duplicate sign-ups,
+ * including concurrent ones. Rows are removed when the team is cancelled.
+ */
+@Entity
+@Table(name = "team_members", uniqueConstraints = {
+        @UniqueConstraint(name = TeamMember.UNIQUE_ROLL_NUMBER, columnNames = {"event_id", "roll_number"}),
+        @UniqueConstraint(name = TeamMember.UNIQUE_EMAIL, columnNames = {"event_id", "email"})
+}, indexes = @Index(name = "idx_team_members_team", columnList = "team_registration_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamMember {
+
+    public static final String UNIQUE_ROLL_NUMBER = "uk_team_members_event_roll";
+    public static final String UNIQUE_EMAIL = "uk_team_members_event_email";
+    public static final int MAX_ROLL_NUMBER_LENGTH = 32;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_registration_id", nullable = false)
+    private TeamRegistration teamRegistration;
+
+    // Copied from the team so the per-event unique indexes need no join
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @Column(name = "member_index", nullable = false)
+    private Integer memberIndex;
+
+    @Column(name = "roll_number", nullable = false, length = MAX_ROLL_NUMBER_LENGTH)
+    private String rollNumber;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "email")
+    private String email; // Stored trimmed and lowercase
+}
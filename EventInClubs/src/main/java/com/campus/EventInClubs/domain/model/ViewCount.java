@@ -0,0 +1,40 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Detail-page views of one problem, event or idea, written in batches by
+ * ViewCountService. viewers holds HyperLogLog registers for the unique-viewer
+ * estimate, so no per-viewer rows are kept.
+ */
+@Entity
+@Table(name = "view_counts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_view_counts_entity", columnNames = {"entity_type", "entity_id"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViewCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 10)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private Long views;
+
+    private byte[] viewers;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
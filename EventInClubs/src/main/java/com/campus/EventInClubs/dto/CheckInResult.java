@@ -0,0 +1,33 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInResult {
+    
+    private Outcome outcome;
+    private String message;
+    private Long eventId;
+    private Long registrationId;
+    private Long userId;
+    private String name;
+    private String rollNumber;
+    private LocalDateTime checkedInAt;
+    private int checkedIn;
+    
+    public enum Outcome {
+        CHECKED_IN,
+        ALREADY_CHECKED_IN,
+        NOT_ADMITTED,
+        WRONG_EVENT,
+        INVALID_TOKEN
+    }
+}
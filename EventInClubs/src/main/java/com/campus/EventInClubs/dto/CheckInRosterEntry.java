@@ -0,0 +1,21 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInRosterEntry {
+    
+    private Long registrationId;
+    private Long userId;
+    private String name;
+    private String rollNumber;
+    private LocalDateTime checkedInAt;
+}
@@ -0,0 +1,22 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInStats {
+    
+    private Long eventId;
+    private int expected;
+    private int checkedIn;
+    private int pendingFlush;
+    private LocalDateTime lastCheckInAt;
+    private LocalDateTime loadedAt;
+}
@@ -3,6 +3,7 @@ package com.campus.EventInClubs.dto;
 import lombok.*;
 
 import java.time.Instant;
+import java.util.List;
 
 @Getter
 @Setter
@@ -20,4 +21,9 @@ public class CommentDto {
     private Boolean isActive;
     private Instant createdAt;
     private Instant updatedAt;
+    
+    // Set by the thread loader only
+    private Integer depth;
+    private Integer replyCount;
+    private List<CommentDto> replies;
 }
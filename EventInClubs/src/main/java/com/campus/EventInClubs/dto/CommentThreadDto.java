@@ -0,0 +1,20 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/** A page of an idea's discussion: top-level comments with their replies nested below them. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentThreadDto {
+    private Long ideaId;
+    private Long totalThreads;
+    private Integer offset;
+    private Integer limit;
+    private Integer maxDepth;
+    private List<CommentDto> threads;
+}
@@ -0,0 +1,24 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Everything one dashboard shows, gathered in one request. A section that
+ * failed or ran out of time is missing from sections and has its reason in
+ * errors, and partial is set.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardDto {
+    private Map<String, Object> sections;
+    private Map<String, String> errors;
+    private boolean partial;
+    private Instant generatedAt;
+    private Long elapsedMs;
+}
@@ -35,6 +35,9 @@ public class EventDto {
     private String organizerName;
     private String tags;
     private String imageUrl;
+    // Resized copies of the poster; null until the background job has produced them
+    private String imageThumbnailUrl;
+    private String imageCardUrl;
     private String pptFileUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -65,6 +68,9 @@ public class EventDto {
     // Proposal information
     private Long proposalId;
     
+    // Registrations go through the admission queue
+    private Boolean admissionQueue;
+    
     // Team event information
     private Boolean isTeamEvent;
     private Integer minTeamMembers;
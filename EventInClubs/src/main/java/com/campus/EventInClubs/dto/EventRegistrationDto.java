@@ -25,6 +25,7 @@ public class EventRegistrationDto {
     private String rollNumber;
     private EventRegistration.PaymentStatus paymentStatus;
     private LocalDateTime registeredAt;
+    private LocalDateTime checkedInAt;
     
     // Event details for user's registration view
     private String eventDescription;
@@ -0,0 +1,20 @@
+package com.campus.EventInClubs.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** A scan a door device queued while offline, replayed through the sync endpoint. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfflineScan {
+    
+    private String token;
+    // Scanners record seconds; the app-wide format stops at minutes
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm[:ss]")
+    private LocalDateTime scannedAt;
+}
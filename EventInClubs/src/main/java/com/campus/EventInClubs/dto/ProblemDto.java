@@ -24,6 +24,8 @@ public class ProblemDto {
     private Instant deadline;
     private Boolean isExpired;
     private Boolean isViewOnly; // deadline passed but not yet removed
+    private Integer ideaCount;
+    private Long viewCount;
     private Instant createdAt;
     private Instant updatedAt;
 }
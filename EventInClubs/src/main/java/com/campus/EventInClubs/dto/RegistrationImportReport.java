@@ -0,0 +1,40 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationImportReport {
+    
+    private Long eventId;
+    private int totalRows;
+    private int registered;
+    private int waitlisted;
+    private int failed;
+    private long durationMs;
+    private List<RowResult> rows;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        private int row;
+        private String email;
+        private Outcome outcome;
+        private String message;
+    }
+    
+    public enum Outcome {
+        REGISTERED,
+        WAITLISTED,
+        FAILED
+    }
+}
@@ -0,0 +1,33 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/** One trend series for a chart, with a point for every bucket in the range including empty ones. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendDto {
+    private String metric;
+    private String scope;
+    private Long scopeId;
+    private String granularity;
+    private String timeZone;
+    private Instant from;
+    private Instant to;
+    private Long total;
+    private List<Point> points;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private Instant bucket;
+        private Long count;
+    }
+}
@@ -4,9 +4,11 @@ import com.campus.EventInClubs.domain.model.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -47,6 +49,17 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c WHERE c.idea.id = :ideaId AND c.content LIKE %:searchTerm% ORDER BY c.createdAt DESC")
     List<Comment> searchCommentsByIdeaId(@Param("ideaId") Long ideaId, @Param("searchTerm") String searchTerm);
     
+    // Root and path for comments written before they existed (see V19); a no-op once all are set
+    @Transactional
+    @Modifying
+    @Query(value = "WITH RECURSIVE tree AS (" +
+           "  SELECT id, id AS root_id, lpad(id::text, 12, '0') || '/' AS path FROM comments WHERE parent_comment_id IS NULL " +
+           "  UNION ALL " +
+           "  SELECT c.id, t.root_id, t.path || lpad(c.id::text, 12, '0') || '/' FROM comments c JOIN tree t ON c.parent_comment_id = t.id" +
+           ") UPDATE comments c SET root_id = tree.root_id, path = tree.path FROM tree " +
+           "WHERE c.id = tree.id AND c.path IS NULL", nativeQuery = true)
+    int backfillThreadPaths();
+    
     // Additional method for achievement service
     Long countByUserIdAndIsActiveTrue(Long userId);
 }
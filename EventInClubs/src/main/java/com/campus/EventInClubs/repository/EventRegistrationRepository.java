@@ -2,10 +2,13 @@ package com.campus.EventInClubs.repository;
 
 import com.campus.EventInClubs.domain.model.EventRegistration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,4 +49,37 @@ public interface EventRegistrationRepository extends JpaRepository<EventRegistra
     // Check if an email is already registered for an event (any status except CANCELLED)
     @Query("SELECT CASE WHEN COUNT(er) > 0 THEN true ELSE false END FROM EventRegistration er INNER JOIN er.user u WHERE er.event.id = :eventId AND LOWER(u.email) = LOWER(:email) AND er.status != 'CANCELLED'")
     boolean existsByEventIdAndUserEmail(@Param("eventId") Long eventId, @Param("email") String email);
+    
+    // Which of the given users already hold a non-cancelled registration for the event
+    @Query("SELECT er.user.id FROM EventRegistration er WHERE er.event.id = :eventId AND er.user.id IN :userIds AND er.status != 'CANCELLED'")
+    List<Long> findActiveUserIdsByEventIdAndUserIdIn(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
+    // Registrations with everything the confirmation email renders, for sending outside a transaction
+    @Query("SELECT er FROM EventRegistration er JOIN FETCH er.user JOIN FETCH er.event e JOIN FETCH e.club " +
+           "WHERE er.event.id = :eventId AND er.user.id IN :userIds AND er.status = :status")
+    List<EventRegistration> findForEmailByEventIdAndUserIdIn(@Param("eventId") Long eventId,
+                                                             @Param("userIds") Collection<Long> userIds,
+                                                             @Param("status") EventRegistration.RegistrationStatus status);
+    
+    // Count registrations in any of the given statuses for an event
+    @Query("SELECT COUNT(er) FROM EventRegistration er WHERE er.event.id = :eventId AND er.status IN :statuses")
+    long countByEventIdAndStatusIn(@Param("eventId") Long eventId,
+                                   @Param("statuses") Collection<EventRegistration.RegistrationStatus> statuses);
+    
+    // Oldest waitlisted registrations first, skipping rows another transaction is changing right now
+    @Query(value = "SELECT id FROM event_registrations WHERE event_id = :eventId AND status = 'WAITLISTED' " +
+                   "ORDER BY registered_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockOldestWaitlistedIds(@Param("eventId") Long eventId, @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE EventRegistration er SET er.status = 'REGISTERED' WHERE er.id IN :ids AND er.status = 'WAITLISTED'")
+    int promoteWaitlisted(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT er.user.id FROM EventRegistration er WHERE er.id IN :ids")
+    List<Long> findUserIdsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Events that still have someone waiting and have not ended
+    @Query("SELECT DISTINCT er.event.id FROM EventRegistration er WHERE er.status = 'WAITLISTED' " +
+           "AND (er.event.endDate IS NULL OR er.event.endDate > :now)")
+    List<Long> findEventIdsWithWaitlist(@Param("now") LocalDateTime now);
 }
@@ -1,19 +1,25 @@
 package com.campus.EventInClubs.repository;
 
 import com.campus.EventInClubs.domain.model.Event;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     
     List<Event> findByClubId(Long clubId);
     
+    List<Event> findByClubIdIn(Collection<Long> clubIds);
+    
     List<Event> findByOrganizerId(Long organizerId);
     
     List<Event> findByStatus(Event.EventStatus status);
@@ -74,4 +80,17 @@ public interface EventRepository extends JpaRepository<Event, Long> {
            "AND e.endDate IS NOT NULL " +
            "AND e.endDate > :now")
     List<Event> findActiveEventsWithRelations(@Param("now") LocalDateTime now);
+    
+    // Events starting between :since and :until that have not ended yet, for preloading check-in rosters
+    @Query("SELECT e.id FROM Event e WHERE e.startDate BETWEEN :since AND :until " +
+           "AND (e.endDate IS NULL OR e.endDate > :now) " +
+           "AND e.status IN ('PUBLISHED', 'APPROVED', 'REGISTRATION_CLOSED', 'ONGOING')")
+    List<Long> findIdsOpenForCheckIn(@Param("now") LocalDateTime now,
+                                     @Param("since") LocalDateTime since,
+                                     @Param("until") LocalDateTime until);
+
+    // Row lock that serializes sign-ups and waitlist promotions for one event, across nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
 }
@@ -61,11 +61,9 @@ public interface IdeaRepository extends JpaRepository<Idea, Long> {
            "ORDER BY i.createdAt DESC")
     List<Idea> searchActiveIdeas(@Param("searchTerm") String searchTerm);
     
-    // Top ideas method
-    @Query("SELECT i FROM Idea i WHERE i.isActive = true ORDER BY " +
-           "(SELECT COUNT(v) FROM Vote v WHERE v.idea.id = i.id AND v.voteType = 'UP') DESC, " +
-           "i.createdAt DESC")
-    List<Idea> findTopIdeas();
+    // Ranked lists: ids come from idea_rankings, the ideas and the names shown with them in one query
+    @Query("SELECT i FROM Idea i JOIN FETCH i.submittedBy LEFT JOIN FETCH i.problem WHERE i.id IN :ids")
+    List<Idea> findWithSubmitterByIdIn(@Param("ids") List<Long> ids);
     
     // Additional methods for achievement service
     Long countBySubmittedByIdAndIsActiveTrue(Long submittedById);
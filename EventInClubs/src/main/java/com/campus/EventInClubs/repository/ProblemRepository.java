@@ -5,9 +5,11 @@ import com.campus.EventInClubs.domain.model.Problem.ProblemStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -54,12 +56,23 @@ public interface ProblemRepository extends JpaRepository<Problem, Long> {
            "ORDER BY p.createdAt DESC")
     List<Problem> searchActiveProblems(@Param("searchTerm") String searchTerm);
     
-    // Trending problems method
-    @Query("SELECT p FROM Problem p WHERE p.isActive = true ORDER BY " +
-           "(SELECT COUNT(i) FROM Idea i WHERE i.problem.id = p.id AND i.isActive = true) DESC, " +
-           "p.createdAt DESC")
+    // Trending problems method; reads idx_problems_trending in order
+    @Query("SELECT p FROM Problem p WHERE p.isActive = true ORDER BY p.ideaCount DESC, p.viewCount DESC, p.createdAt DESC")
     List<Problem> findTrendingProblems();
     
+    @Modifying
+    @Query("UPDATE Problem p SET p.ideaCount = COALESCE(p.ideaCount, 0) + :delta WHERE p.id = :id")
+    int adjustIdeaCount(@Param("id") Long id, @Param("delta") int delta);
+    
+    // Recounts idea_count from the ideas themselves and zeroes missing view counts; only touches rows that are off
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE problems p SET idea_count = c.n, view_count = COALESCE(p.view_count, 0) " +
+           "FROM (SELECT pr.id, COUNT(i.id) AS n FROM problems pr " +
+           "  LEFT JOIN ideas i ON i.problem_id = pr.id AND i.is_active GROUP BY pr.id) c " +
+           "WHERE c.id = p.id AND (p.idea_count IS DISTINCT FROM c.n OR p.view_count IS NULL)", nativeQuery = true)
+    int recountIdeas();
+    
     // Find problems that are expired (deadline + 1 hour has passed)
     @Query("SELECT p FROM Problem p WHERE p.isActive = true AND p.deadline IS NOT NULL AND p.deadline < :oneHourAgo")
     List<Problem> findExpiredProblems(@Param("oneHourAgo") Instant oneHourAgo);
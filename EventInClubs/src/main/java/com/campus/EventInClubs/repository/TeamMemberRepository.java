@@ -0,0 +1,63 @@
+package com.campus.EventInClubs.repository;
+
+import com.campus.EventInClubs.domain.model.TeamMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
+
+    // Every member of the event that clashes with any of the given roll numbers or emails, in one query
+    @Query("SELECT tm FROM TeamMember tm JOIN FETCH tm.teamRegistration " +
+           "WHERE tm.event.id = :eventId AND (tm.rollNumber IN :rollNumbers OR tm.email IN :emails)")
+    List<TeamMember> findConflicts(@Param("eventId") Long eventId,
+                                   @Param("rollNumbers") Collection<String> rollNumbers,
+                                   @Param("emails") Collection<String> emails);
+
+    // Inserts the whole team as a single multi-row INSERT; arrays are aligned by member index
+    @Modifying
+    @Query(value = "INSERT INTO team_members (team_registration_id, event_id, member_index, roll_number, name, email) " +
+           "SELECT :teamId, :eventId, m.ord - 1, m.roll_number, m.name, m.email " +
+           "FROM unnest(CAST(:rollNumbers AS text[]), CAST(:names AS text[]), CAST(:emails AS text[])) " +
+           "WITH ORDINALITY AS m(roll_number, name, email, ord)", nativeQuery = true)
+    int insertTeam(@Param("teamId") Long teamId,
+                   @Param("eventId") Long eventId,
+                   @Param("rollNumbers") String[] rollNumbers,
+                   @Param("names") String[] names,
+                   @Param("emails") String[] emails);
+
+    @Modifying
+    @Query("DELETE FROM TeamMember tm WHERE tm.teamRegistration.id = :teamId")
+    int deleteByTeamRegistrationId(@Param("teamId") Long teamId);
+
+    // Splits the legacy comma-separated columns of active teams that have no member rows yet (see V14)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO team_members (team_registration_id, event_id, member_index, roll_number, name, email) " +
+           "SELECT tr.id, tr.event_id, r.ord - 1, trim(r.roll_number), " +
+           "       NULLIF(trim((string_to_array(tr.member_names, ','))[r.ord]), ''), " +
+           "       NULLIF(lower(trim((string_to_array(tr.member_emails, ','))[r.ord])), '') " +
+           "FROM team_registrations tr " +
+           "CROSS JOIN LATERAL unnest(string_to_array(tr.member_roll_numbers, ',')) WITH ORDINALITY AS r(roll_number, ord) " +
+           "WHERE tr.status <> 'CANCELLED' AND trim(r.roll_number) <> '' " +
+           "AND length(trim(r.roll_number)) <= " + TeamMember.MAX_ROLL_NUMBER_LENGTH + " " +
+           "AND NOT EXISTS (SELECT 1 FROM team_members tm WHERE tm.team_registration_id = tr.id) " +
+           "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int backfillFromTeamRegistrations();
+
+    // The legacy roll numbers (team id, roll number) too long for team_members, which the backfill leaves out
+    @Query(value = "SELECT tr.id, trim(r.roll_number) " +
+           "FROM team_registrations tr " +
+           "CROSS JOIN LATERAL unnest(string_to_array(tr.member_roll_numbers, ',')) AS r(roll_number) " +
+           "WHERE tr.status <> 'CANCELLED' " +
+           "AND length(trim(r.roll_number)) > " + TeamMember.MAX_ROLL_NUMBER_LENGTH + " " +
+           "AND NOT EXISTS (SELECT 1 FROM team_members tm WHERE tm.team_registration_id = tr.id)", nativeQuery = true)
+    List<Object[]> findRollNumbersTooLongToBackfill();
+}
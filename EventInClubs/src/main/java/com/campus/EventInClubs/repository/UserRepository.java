@@ -3,6 +3,10 @@ package com.campus.EventInClubs.repository;
 import com.campus.EventInClubs.domain.model.Role;
 import com.campus.EventInClubs.domain.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +15,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     List<User> findByRole(Role role);
     long countByRole(Role role);
+
+    // [id, lowercased email] for every user matching one of the (lowercased) emails
+    @Query("SELECT u.id, LOWER(u.email) FROM User u WHERE LOWER(u.email) IN :emails")
+    List<Object[]> findIdsByLowerEmailIn(@Param("emails") Collection<String> emails);
 }
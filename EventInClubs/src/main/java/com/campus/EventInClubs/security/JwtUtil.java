@@ -2,6 +2,7 @@ package com.campus.EventInClubs.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
@@ -49,6 +50,26 @@ public class JwtUtil {
         return claims.get("userId", Long.class);
     }
 
+    /**
+     * The user named by an "Authorization: Bearer ..." header, for endpoints that
+     * must act as the caller rather than as a user id the request supplies.
+     */
+    public Long requireUserId(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            throw new BadCredentialsException("Sign in to continue");
+        }
+        Long userId;
+        try {
+            userId = extractUserId(authorizationHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Invalid or expired token", e);
+        }
+        if (userId == null) {
+            throw new BadCredentialsException("Invalid or expired token");
+        }
+        return userId;
+    }
+
     public String extractRole(String token) {
         Claims claims = Jwts.parserBuilder().setSigningKey(key).build()
                 .parseClaimsJws(token)
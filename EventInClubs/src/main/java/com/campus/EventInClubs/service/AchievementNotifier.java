@@ -0,0 +1,38 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Notification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Tells users about achievements they earned, on the notification pool once
+ * the vote, idea or comment that earned them has committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AchievementNotifier {
+
+    private final NotificationService notificationService;
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAchievementAwarded(AchievementService.AchievementAwarded awarded) {
+        try {
+            notificationService.createNotification(
+                awarded.userId(),
+                "Achievement Unlocked!",
+                "You've earned the '" + awarded.title() + "' achievement! +" + awarded.points() + " points",
+                Notification.NotificationType.ACHIEVEMENT,
+                awarded.achievementId(),
+                "ACHIEVEMENT"
+            );
+        } catch (Exception e) {
+            log.error("Failed to notify user {} of achievement {}: {}", awarded.userId(), awarded.achievementId(), e.getMessage(), e);
+        }
+    }
+}
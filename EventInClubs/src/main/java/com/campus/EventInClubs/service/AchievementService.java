@@ -10,6 +10,7 @@ import com.campus.EventInClubs.repository.VoteRepository;
 import com.campus.EventInClubs.repository.CommentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,14 +25,18 @@ import java.util.stream.Collectors;
 @Slf4j
 @Transactional
 public class AchievementService {
+
+    /** Published once the award is saved; AchievementNotifier tells the user after commit. */
+    public record AchievementAwarded(Long userId, Long achievementId, String title, int points) {}
     
     private final UserAchievementRepository achievementRepository;
     private final UserRepository userRepository;
     private final IdeaRepository ideaRepository;
     private final VoteRepository voteRepository;
     private final CommentRepository commentRepository;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
     
+    @Transactional(readOnly = true)
     public List<UserAchievementDto> getUserAchievements(Long userId) {
         List<UserAchievement> achievements = achievementRepository.findByUserIdOrderByEarnedAtDesc(userId);
         return achievements.stream()
@@ -39,6 +44,7 @@ public class AchievementService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public Long getUserTotalPoints(Long userId) {
         Long points = achievementRepository.getTotalPointsByUserId(userId);
         return points != null ? points : 0L;
@@ -136,15 +142,9 @@ public class AchievementService {
         
         achievementRepository.save(achievement);
         
-        // Send notification
-        notificationService.createNotification(
-            user.getId(),
-            "Achievement Unlocked!",
-            "You've earned the '" + getAchievementTitle(type, level) + "' achievement! +" + points + " points",
-            com.campus.EventInClubs.domain.model.Notification.NotificationType.ACHIEVEMENT,
-            achievement.getId(),
-            "ACHIEVEMENT"
-        );
+        // Notified after commit: the notification's own transaction would otherwise need a second connection now
+        eventPublisher.publishEvent(new AchievementAwarded(user.getId(), achievement.getId(),
+                getAchievementTitle(type, level), points));
         
         log.info("Awarded achievement {} level {} to user {}", type, level, user.getName());
     }
@@ -195,6 +195,7 @@ public class AchievementService {
                 .build();
     }
     
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getLeaderboard(int limit) {
         // Get users with their total points and achievement counts
         List<Object[]> leaderboardData = achievementRepository.getLeaderboardData(limit);
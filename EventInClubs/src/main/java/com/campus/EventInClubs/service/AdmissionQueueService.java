@@ -0,0 +1,412 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.domain.model.RegistrationTicket;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission queue for flash sign-ups. For an event with admissionQueue set, a
+ * registration is journaled as a QUEUED ticket with one insert and answered
+ * straight away with the ticket and its place in line. One writer per event
+ * then takes queued tickets in order, a batch at a time, under the event row
+ * lock that waitlist promotions also take. It decides REGISTERED, WAITLISTED or
+ * REJECTED by the same rules as a single registration, and commits the whole
+ * batch in one transaction. A burst therefore costs one commit per batch
+ * rather than one locked count-and-insert per student.
+ * <p>
+ * Ticket states are kept in memory for polling. The sweep picks up tickets the
+ * writer has not reached, e.g. after a restart or ones taken on another node.
+ */
+@Service
+@Slf4j
+public class AdmissionQueueService {
+
+    public record Ticket(Long id, Long eventId, RegistrationTicket.Status status, Long position, String message) {}
+
+    /** Published once a batch commits; see RegistrationImportNotifier. */
+    public record AdmissionsCommitted(Long eventId, List<Long> registeredUserIds, List<Long> waitlistedUserIds) {}
+
+    private record Queued(Long id, Long userId, String rollNumber, String notes) {}
+
+    private record Decision(Long ticketId, RegistrationTicket.Status status, String message) {}
+
+    private static final String ENQUEUE =
+            "INSERT INTO registration_tickets (event_id, user_id, roll_number, notes, status, created_at) " +
+            "VALUES (?, ?, ?, ?, 'QUEUED', ?) RETURNING id";
+
+    private static final String NEXT_BATCH =
+            "SELECT id, user_id, roll_number, notes FROM registration_tickets " +
+            "WHERE event_id = ? AND status = 'QUEUED' ORDER BY id LIMIT ?";
+
+    private static final String DECIDE =
+            "UPDATE registration_tickets SET status = ?, message = ?, decided_at = ? WHERE id = ? AND status = 'QUEUED'";
+
+    private static final String FIND_TICKET =
+            "SELECT id, event_id, status, message FROM registration_tickets WHERE id = ?";
+
+    private static final String FIND_TICKETS =
+            "SELECT id, status, message FROM registration_tickets WHERE id IN (%s) AND status <> 'QUEUED'";
+
+    private static final String FIND_QUEUED_EVENTS =
+            "SELECT DISTINCT event_id FROM registration_tickets WHERE status = 'QUEUED'";
+
+    private static final String FIND_USERS = "SELECT id FROM users WHERE id IN (%s)";
+
+    private static final String INSERT_REGISTRATION =
+            "INSERT INTO event_registrations (event_id, user_id, status, registration_notes, roll_number, payment_status, registered_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long MODE_TTL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final WaitlistPromotionService waitlistPromotionService;
+    private final ResourceVersionService resourceVersionService;
+    private final LiveSeatService liveSeatService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolTaskExecutor admissionExecutor;
+    private final ConcurrentHashMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Entry> tickets = new ConcurrentHashMap<>();
+    // Whether an event queues its registrations; read on every registration, so briefly cached
+    private final ConcurrentHashMap<Long, Mode> modes = new ConcurrentHashMap<>();
+
+    @Value("${app.admission.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${app.admission.max-queued-per-event:20000}")
+    private int maxQueuedPerEvent = 20_000;
+
+    // How long a decided ticket stays answerable from memory; later polls read the journal
+    @Value("${app.admission.ticket-retention-minutes:30}")
+    private long ticketRetentionMinutes = 30;
+
+    public AdmissionQueueService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 EventRepository eventRepository, EventRegistrationRepository registrationRepository,
+                                 WaitlistPromotionService waitlistPromotionService,
+                                 ResourceVersionService resourceVersionService, LiveSeatService liveSeatService,
+                                 ApplicationEventPublisher eventPublisher, ThreadPoolTaskExecutor admissionExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.waitlistPromotionService = waitlistPromotionService;
+        this.resourceVersionService = resourceVersionService;
+        this.liveSeatService = liveSeatService;
+        this.eventPublisher = eventPublisher;
+        this.admissionExecutor = admissionExecutor;
+    }
+
+    public boolean isQueued(Long eventId) {
+        long now = System.nanoTime();
+        Mode mode = modes.get(eventId);
+        if (mode == null || now - mode.loadedAt() > MODE_TTL_NANOS) {
+            boolean queued = eventRepository.findById(eventId)
+                    .map(event -> Boolean.TRUE.equals(event.getAdmissionQueue()))
+                    .orElse(false);
+            mode = new Mode(queued, now);
+            modes.put(eventId, mode);
+        }
+        return mode.queued();
+    }
+
+    /**
+     * Journals the sign-up and returns its ticket. A student already waiting in
+     * this event's queue gets their existing ticket back.
+     */
+    public Ticket enqueue(Long eventId, Long userId, String rollNumber, String notes) {
+        if (rollNumber != null && rollNumber.length() > 32) {
+            throw new RuntimeException("Roll number is longer than 32 characters");
+        }
+        if (notes != null && notes.length() > 255) {
+            throw new RuntimeException("Notes are longer than 255 characters");
+        }
+        Lane lane = lanes.computeIfAbsent(eventId, Lane::new);
+        Long existing = lane.waiting.get(userId);
+        if (existing != null) {
+            return findTicket(existing);
+        }
+        if (lane.waiting.size() >= maxQueuedPerEvent) {
+            throw new IllegalStateException("The queue for this event is full, please try again shortly");
+        }
+
+        Long ticketId = jdbcTemplate.queryForObject(ENQUEUE, Long.class, eventId, userId,
+                rollNumber, notes, Timestamp.valueOf(LocalDateTime.now()));
+        Entry entry = new Entry(eventId, lane.enqueued.incrementAndGet());
+        tickets.put(ticketId, entry);
+        Long raced = lane.waiting.putIfAbsent(userId, ticketId);
+        if (raced != null) {
+            // A double click that got past the check above. The writer rejects this ticket as a
+            // duplicate, but nothing here would learn of it if another node did, so answer with the first
+            tickets.remove(ticketId);
+            log.debug("User {} queued twice for event {}: tickets {} and {}", userId, eventId, raced, ticketId);
+            schedule(lane);
+            return findTicket(raced);
+        }
+        schedule(lane);
+        return entry.toTicket(ticketId, lane);
+    }
+
+    public Ticket findTicket(Long ticketId) {
+        Entry entry = tickets.get(ticketId);
+        if (entry != null) {
+            return entry.toTicket(ticketId, lanes.get(entry.eventId));
+        }
+        List<Ticket> found = jdbcTemplate.query(FIND_TICKET, (rs, row) -> new Ticket(rs.getLong("id"),
+                rs.getLong("event_id"), RegistrationTicket.Status.valueOf(rs.getString("status")), null,
+                rs.getString("message")), ticketId);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /** Resumes queues the writers have not finished and forgets long-decided tickets. */
+    @Scheduled(fixedDelayString = "${app.admission.sweep-interval-ms:5000}")
+    public void sweep() {
+        for (Long eventId : jdbcTemplate.queryForList(FIND_QUEUED_EVENTS, Long.class)) {
+            schedule(lanes.computeIfAbsent(eventId, Lane::new));
+        }
+        long cutoff = System.nanoTime() - TimeUnit.MINUTES.toNanos(ticketRetentionMinutes);
+        tickets.values().removeIf(entry -> entry.decidedAt != 0 && entry.decidedAt - cutoff < 0);
+    }
+
+    private void schedule(Lane lane) {
+        if (!lane.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            admissionExecutor.execute(() -> drain(lane));
+        } catch (TaskRejectedException e) {
+            // The tickets stay queued in the journal; the sweep tries again
+            lane.draining.set(false);
+            log.warn("Admission executor is full; event {} waits for the next sweep", lane.eventId);
+        }
+    }
+
+    private void drain(Lane lane) {
+        boolean failed = false;
+        try {
+            int decided;
+            do {
+                decided = admitBatch(lane);
+            } while (decided == batchSize);
+        } catch (Exception e) {
+            failed = true;
+            log.error("Failed to admit queued registrations for event {}: {}", lane.eventId, e.getMessage(), e);
+        } finally {
+            lane.draining.set(false);
+        }
+        // A ticket journaled after the last batch was read would otherwise wait for the sweep
+        if (!failed && !lane.waiting.isEmpty()) {
+            schedule(lane);
+        }
+    }
+
+    /** Decides and commits the next batch in line; returns how many tickets it took. */
+    int admitBatch(Lane lane) {
+        Long eventId = lane.eventId;
+        List<Object[]> registered = new ArrayList<>();
+        List<Object[]> waitlisted = new ArrayList<>();
+        AtomicBoolean waitlistedWithSeatsFree = new AtomicBoolean();
+        List<Decision> decisions = transactionTemplate.execute(status -> {
+            // Taken before reading the batch: a second writer for this event (another node) waits here
+            Event event = eventRepository.findByIdForUpdate(eventId).orElse(null);
+            List<Queued> batch = jdbcTemplate.query(NEXT_BATCH, (rs, row) -> new Queued(rs.getLong("id"),
+                    rs.getLong("user_id"), rs.getString("roll_number"), rs.getString("notes")), eventId, batchSize);
+            if (batch.isEmpty()) {
+                return List.<Decision>of();
+            }
+            List<Decision> batchDecisions = decide(event, batch, registered, waitlisted, waitlistedWithSeatsFree);
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>(registered.size() + waitlisted.size());
+            rows.addAll(registered);
+            rows.addAll(waitlisted);
+            rows.forEach(row -> row[6] = now);
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_REGISTRATION, rows);
+            }
+            List<Object[]> outcomes = new ArrayList<>(batchDecisions.size());
+            for (Decision decision : batchDecisions) {
+                outcomes.add(new Object[]{decision.status().name(), decision.message(), now, decision.ticketId()});
+            }
+            jdbcTemplate.batchUpdate(DECIDE, outcomes);
+
+            if (!rows.isEmpty()) {
+                // The JDBC inserts bypass the entity listener
+                resourceVersionService.markChanged(ResourceVersionService.Resource.EVENTS);
+                liveSeatService.seatsChanged(eventId);
+                eventPublisher.publishEvent(new AdmissionsCommitted(eventId, userIds(registered), userIds(waitlisted)));
+            }
+            if (waitlistedWithSeatsFree.get()) {
+                // As for a single registration: queued behind an existing waitlist, which promotion then moves up
+                waitlistPromotionService.seatsReleased(eventId);
+            }
+            return batchDecisions;
+        });
+
+        long decidedAt = System.nanoTime();
+        for (Decision decision : decisions) {
+            Entry entry = tickets.get(decision.ticketId());
+            if (entry != null) {
+                entry.decide(decision.status(), decision.message(), decidedAt);
+                lane.admitted.incrementAndGet();
+            }
+        }
+        lane.waiting.values().removeAll(decisions.stream().map(Decision::ticketId).toList());
+        if (decisions.isEmpty() && !lane.waiting.isEmpty()) {
+            // Nothing left in the journal, so another node's writer decided the rest of ours
+            forgetDecidedElsewhere(lane, decidedAt);
+        }
+        if (!decisions.isEmpty()) {
+            log.info("Admitted {} queued sign-ups for event {}: {} registered, {} waitlisted",
+                    decisions.size(), eventId, registered.size(), waitlisted.size());
+        }
+        return decisions.size();
+    }
+
+    /**
+     * Same rules as EventRegistrationService.registerForEvent, applied in queue
+     * order: seats go to the first in line, then everyone is waitlisted.
+     */
+    private List<Decision> decide(Event event, List<Queued> batch, List<Object[]> registered, List<Object[]> waitlisted,
+                                  AtomicBoolean waitlistedWithSeatsFree) {
+        List<Decision> decisions = new ArrayList<>(batch.size());
+        if (event == null || (event.getStatus() != Event.EventStatus.PUBLISHED
+                && event.getStatus() != Event.EventStatus.APPROVED)) {
+            for (Queued ticket : batch) {
+                decisions.add(new Decision(ticket.id(), RegistrationTicket.Status.REJECTED, "Event is not open for registration"));
+            }
+            return decisions;
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        batch.forEach(ticket -> userIds.add(ticket.userId()));
+        Set<Long> existingUsers = existingUsers(userIds);
+        Set<Long> taken = new HashSet<>(registrationRepository.findActiveUserIdsByEventIdAndUserIdIn(event.getId(), userIds));
+        long active = registrationRepository.countActiveByEventId(event.getId());
+        long waiting = registrationRepository.countByEventIdAndStatus(event.getId(), EventRegistration.RegistrationStatus.WAITLISTED);
+        EventRegistration.PaymentStatus paymentStatus = event.getRegistrationFee() == null || event.getRegistrationFee() == 0
+                ? EventRegistration.PaymentStatus.NOT_REQUIRED
+                : EventRegistration.PaymentStatus.PENDING;
+
+        for (Queued ticket : batch) {
+            if (!existingUsers.contains(ticket.userId())) {
+                decisions.add(new Decision(ticket.id(), RegistrationTicket.Status.REJECTED, "User not found"));
+                continue;
+            }
+            if (!taken.add(ticket.userId())) {
+                decisions.add(new Decision(ticket.id(), RegistrationTicket.Status.REJECTED, "User is already registered for this event"));
+                continue;
+            }
+            boolean full = event.getMaxParticipants() != null && active >= event.getMaxParticipants();
+            EventRegistration.RegistrationStatus status;
+            if (full || waiting > 0) {
+                status = EventRegistration.RegistrationStatus.WAITLISTED;
+                waiting++;
+                if (!full) {
+                    waitlistedWithSeatsFree.set(true);
+                }
+                decisions.add(new Decision(ticket.id(), RegistrationTicket.Status.WAITLISTED, null));
+            } else {
+                status = EventRegistration.RegistrationStatus.REGISTERED;
+                active++;
+                decisions.add(new Decision(ticket.id(), RegistrationTicket.Status.REGISTERED, null));
+            }
+            Object[] row = {event.getId(), ticket.userId(), status.name(), ticket.notes(), ticket.rollNumber(),
+                    paymentStatus.name(), null};
+            (status == EventRegistration.RegistrationStatus.REGISTERED ? registered : waitlisted).add(row);
+        }
+        return decisions;
+    }
+
+    private void forgetDecidedElsewhere(Lane lane, long decidedAt) {
+        List<Long> ids = new ArrayList<>(lane.waiting.values());
+        jdbcTemplate.query(FIND_TICKETS.formatted(String.join(", ", Collections.nCopies(ids.size(), "?"))), rs -> {
+            long ticketId = rs.getLong("id");
+            Entry entry = tickets.get(ticketId);
+            if (entry != null) {
+                entry.decide(RegistrationTicket.Status.valueOf(rs.getString("status")), rs.getString("message"), decidedAt);
+            }
+            lane.waiting.values().remove(ticketId);
+        }, ids.toArray());
+    }
+
+    private Set<Long> existingUsers(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        return new HashSet<>(jdbcTemplate.queryForList(
+                FIND_USERS.formatted(String.join(", ", Collections.nCopies(ids.size(), "?"))), Long.class, ids.toArray()));
+    }
+
+    private static List<Long> userIds(List<Object[]> rows) {
+        return rows.stream().map(row -> (Long) row[1]).toList();
+    }
+
+    private record Mode(boolean queued, long loadedAt) {}
+
+    /** One event's queue on this node: its writer flag and the counters behind queue positions. */
+    static final class Lane {
+        final Long eventId;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // Numbering of tickets taken here, and how many of them have been decided
+        final AtomicLong enqueued = new AtomicLong();
+        final AtomicLong admitted = new AtomicLong();
+        // Undecided tickets taken here, by user
+        final Map<Long, Long> waiting = new ConcurrentHashMap<>();
+
+        Lane(Long eventId) {
+            this.eventId = eventId;
+        }
+    }
+
+    private static final class Entry {
+        final Long eventId;
+        final long sequence;
+        volatile RegistrationTicket.Status status = RegistrationTicket.Status.QUEUED;
+        volatile String message;
+        volatile long decidedAt;
+
+        Entry(Long eventId, long sequence) {
+            this.eventId = eventId;
+            this.sequence = sequence;
+        }
+
+        void decide(RegistrationTicket.Status status, String message, long decidedAt) {
+            this.message = message;
+            this.decidedAt = decidedAt;
+            this.status = status;
+        }
+
+        Ticket toTicket(Long id, Lane lane) {
+            Long position = null;
+            if (status == RegistrationTicket.Status.QUEUED && lane != null) {
+                position = Math.max(1, sequence - lane.admitted.get());
+            }
+            return new Ticket(id, eventId, status, position, message);
+        }
+    }
+}
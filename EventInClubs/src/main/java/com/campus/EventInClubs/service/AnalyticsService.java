@@ -1,74 +1,153 @@
 package com.campus.EventInClubs.service;
 
-import com.campus.EventInClubs.domain.model.ApprovalStatus;
-import com.campus.EventInClubs.domain.model.Role;
-import com.campus.EventInClubs.repository.ClubRepository;
-import com.campus.EventInClubs.repository.EventRepository;
-import com.campus.EventInClubs.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Dashboard counters for users, clubs and events. They are computed in one
+ * statement that scans each table once, counting every breakdown with FILTER.
+ * <p>
+ * The result is held as a snapshot. Once it is older than the TTL, the next
+ * request still gets it straight away and a single background refresh replaces
+ * it (stale-while-revalidate). However many admins watch the dashboard, the
+ * counts are computed at most about once per TTL.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class AnalyticsService {
 
-    private final UserRepository userRepository;
-    private final ClubRepository clubRepository;
-    private final EventRepository eventRepository;
+    public record Snapshot(long users, long students, long clubAdmins, long superAdmins,
+                           long clubs, long activeClubs, long pendingClubs,
+                           long events, long activeEvents, Instant asOf) {}
+
+    private record Cached(Snapshot snapshot, long computedAtNanos) {
+
+        long ageMs() {
+            return (System.nanoTime() - computedAtNanos) / 1_000_000;
+        }
+    }
+
+    private static final String COUNTS =
+            "SELECT u.total AS users, u.students, u.club_admins, u.super_admins, " +
+            "  c.total AS clubs, c.active AS active_clubs, c.pending AS pending_clubs, " +
+            "  e.total AS events, e.active AS active_events " +
+            "FROM (SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE role = 'STUDENT') AS students, " +
+            "  COUNT(*) FILTER (WHERE role = 'CLUB_ADMIN') AS club_admins, " +
+            "  COUNT(*) FILTER (WHERE role = 'SUPER_ADMIN') AS super_admins FROM users) u " +
+            "CROSS JOIN (SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE is_active) AS active, " +
+            "  COUNT(*) FILTER (WHERE approval_status = 'PENDING') AS pending FROM clubs) c " +
+            "CROSS JOIN (SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE is_active) AS active FROM events) e";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolTaskExecutor analyticsExecutor;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Cached cached;
+
+    @Value("${app.analytics.ttl-ms:15000}")
+    private long ttlMs = 15_000;
+
+    // Past this age (say, nobody looked overnight) the caller waits for fresh counts rather than seeing old ones
+    @Value("${app.analytics.max-stale-ms:300000}")
+    private long maxStaleMs = 300_000;
+
+    public AnalyticsService(JdbcTemplate jdbcTemplate, ThreadPoolTaskExecutor analyticsExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.analyticsExecutor = analyticsExecutor;
+    }
 
     public Map<String, Object> getDashboardAnalytics() {
+        Snapshot counts = snapshot();
         Map<String, Object> analytics = new HashMap<>();
-        
-        // User analytics
-        long totalUsers = userRepository.count();
-        long students = userRepository.countByRole(Role.STUDENT);
-        long clubAdmins = userRepository.countByRole(Role.CLUB_ADMIN);
-        long superAdmins = userRepository.countByRole(Role.SUPER_ADMIN);
-        
-        // Club analytics
-        long totalClubs = clubRepository.count();
-        long activeClubs = clubRepository.countByIsActiveTrue();
-        long pendingClubs = clubRepository.countByApprovalStatus(ApprovalStatus.PENDING);
-        
-        // Event analytics
-        long totalEvents = eventRepository.count();
-        long activeEvents = eventRepository.countByIsActiveTrue();
-        
+
         analytics.put("users", Map.of(
-            "total", totalUsers,
-            "students", students,
-            "clubAdmins", clubAdmins,
-            "superAdmins", superAdmins
+            "total", counts.users(),
+            "students", counts.students(),
+            "clubAdmins", counts.clubAdmins(),
+            "superAdmins", counts.superAdmins()
         ));
-        
+
         analytics.put("clubs", Map.of(
-            "total", totalClubs,
-            "active", activeClubs,
-            "pending", pendingClubs
+            "total", counts.clubs(),
+            "active", counts.activeClubs(),
+            "pending", counts.pendingClubs()
         ));
-        
+
         analytics.put("events", Map.of(
-            "total", totalEvents,
-            "active", activeEvents
+            "total", counts.events(),
+            "active", counts.activeEvents()
         ));
-        
+        analytics.put("asOf", counts.asOf());
+
         return analytics;
     }
 
     public Map<String, Object> getSystemAnalytics() {
+        Snapshot counts = snapshot();
         Map<String, Object> analytics = new HashMap<>();
-        
+
         // Detailed system statistics
-        analytics.put("activeEvents", eventRepository.countByIsActiveTrue());
-        analytics.put("clubAdmins", userRepository.countByRole(Role.CLUB_ADMIN));
-        analytics.put("students", userRepository.countByRole(Role.STUDENT));
-        analytics.put("totalUsers", userRepository.count());
-        analytics.put("activeClubs", clubRepository.countByIsActiveTrue());
-        analytics.put("pendingApprovals", clubRepository.countByApprovalStatus(ApprovalStatus.PENDING));
-        
+        analytics.put("activeEvents", counts.activeEvents());
+        analytics.put("clubAdmins", counts.clubAdmins());
+        analytics.put("students", counts.students());
+        analytics.put("totalUsers", counts.users());
+        analytics.put("activeClubs", counts.activeClubs());
+        analytics.put("pendingApprovals", counts.pendingClubs());
+        analytics.put("asOf", counts.asOf());
+
         return analytics;
     }
+
+    /** The cached counters, refreshed in the background once older than the TTL. */
+    public Snapshot snapshot() {
+        Cached current = cached;
+        if (current == null || current.ageMs() > maxStaleMs) {
+            return refreshNow();
+        }
+        if (current.ageMs() > ttlMs && refreshing.compareAndSet(false, true)) {
+            try {
+                analyticsExecutor.execute(() -> {
+                    try {
+                        refreshNow();
+                    } catch (RuntimeException e) {
+                        log.warn("Background analytics refresh failed, serving the previous counts: {}", e.getMessage());
+                    } finally {
+                        refreshing.set(false);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                refreshing.set(false);
+            }
+        }
+        return current.snapshot();
+    }
+
+    private Snapshot refreshNow() {
+        refreshLock.lock();
+        try {
+            // Whoever waited on the lock behind a refresh can use its result
+            Cached current = cached;
+            if (current != null && current.ageMs() <= ttlMs) {
+                return current.snapshot();
+            }
+            Snapshot fresh = jdbcTemplate.queryForObject(COUNTS, (rs, row) -> new Snapshot(
+                    rs.getLong("users"), rs.getLong("students"), rs.getLong("club_admins"), rs.getLong("super_admins"),
+                    rs.getLong("clubs"), rs.getLong("active_clubs"), rs.getLong("pending_clubs"),
+                    rs.getLong("events"), rs.getLong("active_events"), Instant.now()));
+            cached = new Cached(fresh, System.nanoTime());
+            return fresh;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
 }
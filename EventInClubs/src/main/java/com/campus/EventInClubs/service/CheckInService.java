@@ -0,0 +1,435 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.dto.CheckInResult;
+import com.campus.EventInClubs.dto.CheckInResult.Outcome;
+import com.campus.EventInClubs.dto.CheckInRosterEntry;
+import com.campus.EventInClubs.dto.CheckInStats;
+import com.campus.EventInClubs.dto.OfflineScan;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * QR check-in at the door. Each event's admissible registrations are held in
+ * memory (preloaded shortly before it starts), so a scan costs an HMAC check
+ * and a map lookup. Check-ins are queued and written to event_registrations in
+ * batches. Every node keeps its own roster; the writes are idempotent, so
+ * scanners may talk to any node.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CheckInService {
+
+    private static final String ROSTER_QUERY =
+            "SELECT er.id, er.user_id, u.name, er.roll_number, er.checked_in_at " +
+            "FROM event_registrations er JOIN users u ON u.id = er.user_id " +
+            "WHERE er.event_id = ? AND er.status IN ('REGISTERED', 'ATTENDED')";
+
+    private static final String ATTENDEE_QUERY = ROSTER_QUERY + " AND er.id = ?";
+
+    // Keeps the earliest scan when an offline scanner syncs late; cancelled or waitlisted rows are left alone
+    private static final String MARK_ATTENDED =
+            "UPDATE event_registrations SET status = 'ATTENDED', " +
+            "checked_in_at = CASE WHEN checked_in_at IS NULL OR checked_in_at > ? THEN ? ELSE checked_in_at END " +
+            "WHERE id = ? AND status IN ('REGISTERED', 'ATTENDED')";
+
+    private static final RowMapper<Attendee> ATTENDEE_MAPPER = (rs, rowNum) -> {
+        Timestamp checkedInAt = rs.getTimestamp(5);
+        return new Attendee(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                checkedInAt != null ? checkedInAt.toLocalDateTime() : null);
+    };
+
+    private final CheckInTokenService tokenService;
+    private final EventAccessService eventAccessService;
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Roster> rosters = new ConcurrentHashMap<>();
+    // Not synchronized: loading does JDBC, which would pin a virtual thread to its carrier
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    @Value("${app.checkin.preload-minutes:60}")
+    private long preloadMinutes = 60;
+
+    @Value("${app.checkin.flush-batch-size:500}")
+    private int flushBatchSize = 500;
+
+    @Transactional(readOnly = true)
+    public String issueToken(Long registrationId, Long userId) {
+        EventRegistration registration = registrationRepository.findById(registrationId)
+                .orElseThrow(() -> new RuntimeException("Registration not found"));
+        if (!registration.getUser().getId().equals(userId)) {
+            throw new RuntimeException("You can only get the check-in code for your own registration");
+        }
+        if (registration.getStatus() != EventRegistration.RegistrationStatus.REGISTERED
+                && registration.getStatus() != EventRegistration.RegistrationStatus.ATTENDED) {
+            throw new RuntimeException("Only confirmed registrations can check in");
+        }
+        return tokenService.issue(registration.getId(), registration.getEvent().getId());
+    }
+
+    /** Loads the event's roster ahead of the doors opening; reload re-reads it from the database. */
+    public CheckInStats openRoster(Long eventId, Long adminUserId, boolean reload) {
+        eventAccessService.requireEventAdmin(eventId, adminUserId);
+        Roster roster = load(eventId, reload);
+        roster.scanners.add(adminUserId);
+        return stats(roster);
+    }
+
+    public CheckInResult scan(Long eventId, Long adminUserId, String token) {
+        return scan(roster(eventId, adminUserId), token, null);
+    }
+
+    /** Replays scans queued by a scanner that lost connectivity, each with the time it was made. */
+    public List<CheckInResult> sync(Long eventId, Long adminUserId, List<OfflineScan> scans) {
+        Roster roster = roster(eventId, adminUserId);
+        List<CheckInResult> results = new ArrayList<>(scans.size());
+        for (OfflineScan scan : scans) {
+            results.add(scan(roster, scan.getToken(), scan.getScannedAt()));
+        }
+        return results;
+    }
+
+    public CheckInStats getStats(Long eventId, Long adminUserId) {
+        return stats(roster(eventId, adminUserId));
+    }
+
+    /** The admissible registrations, for scanners that show names while offline. */
+    public List<CheckInRosterEntry> getRoster(Long eventId, Long adminUserId) {
+        Roster roster = roster(eventId, adminUserId);
+        return roster.attendees.values().stream()
+                .sorted(Comparator.comparingLong(Attendee::registrationId))
+                .map(attendee -> CheckInRosterEntry.builder()
+                        .registrationId(attendee.registrationId())
+                        .userId(attendee.userId())
+                        .name(attendee.name())
+                        .rollNumber(attendee.rollNumber())
+                        .checkedInAt(attendee.checkedInAt.get())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Drops a registration from a loaded roster once the surrounding transaction
+     * commits, so its next scan re-reads the status (cancelled, NO_SHOW, ...).
+     */
+    public void registrationChanged(Long eventId, Long registrationId) {
+        if (!rosters.containsKey(eventId)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(eventId, registrationId);
+                }
+            });
+        } else {
+            evict(eventId, registrationId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.checkin.flush-interval-ms:1000}")
+    public void flushPending() {
+        rosters.values().forEach(this::flush);
+    }
+
+    /** Loads rosters for events about to start and drops those of events that are over. */
+    @Scheduled(fixedDelayString = "${app.checkin.preload-interval-ms:60000}")
+    public void refreshRosters() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long eventId : eventRepository.findIdsOpenForCheckIn(now, now.minusDays(1), now.plusMinutes(preloadMinutes))) {
+            if (!rosters.containsKey(eventId)) {
+                try {
+                    load(eventId, false);
+                } catch (RuntimeException e) {
+                    log.warn("Could not preload check-in roster for event {}: {}", eventId, e.getMessage());
+                }
+            }
+        }
+        for (Roster roster : rosters.values()) {
+            if (roster.closesAt.isBefore(now) && flush(roster) >= 0 && roster.pendingCount.get() == 0) {
+                rosters.remove(roster.eventId, roster);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushPending();
+    }
+
+    private Roster roster(Long eventId, Long scannerUserId) {
+        Roster roster = rosters.get(eventId);
+        if (roster == null || !roster.scanners.contains(scannerUserId)) {
+            // Checked once per scanner, then scans stay off the database
+            eventAccessService.requireEventAdmin(eventId, scannerUserId);
+            roster = roster != null ? roster : load(eventId, false);
+            roster.scanners.add(scannerUserId);
+        }
+        return roster;
+    }
+
+    private Roster load(Long eventId, boolean reload) {
+        loadLock.lock();
+        try {
+            return loadLocked(eventId, reload);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Roster loadLocked(Long eventId, boolean reload) {
+        Roster existing = rosters.get(eventId);
+        if (existing != null && !reload) {
+            return existing;
+        }
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        if (existing != null) {
+            flush(existing);
+        }
+
+        long started = System.currentTimeMillis();
+        Roster roster = new Roster(eventId, closesAt(event));
+        for (Attendee attendee : jdbcTemplate.query(ROSTER_QUERY, ATTENDEE_MAPPER, eventId)) {
+            roster.add(attendee);
+        }
+        if (existing != null) {
+            roster.scanners.addAll(existing.scanners);
+            // Scans that could not be written yet survive the reload
+            for (Attendee pending : existing.pending) {
+                Attendee current = roster.attendees.get(pending.registrationId());
+                if (current != null) {
+                    current.checkInAt(pending.checkedInAt.get(), roster);
+                }
+            }
+        }
+        rosters.put(eventId, roster);
+        log.info("Loaded check-in roster for event {}: {} registrations, {} already checked in, in {} ms",
+                eventId, roster.attendees.size(), roster.checkedIn.get(), System.currentTimeMillis() - started);
+        return roster;
+    }
+
+    private CheckInResult scan(Roster roster, String token, LocalDateTime scannedAt) {
+        CheckInTokenService.Claims claims = tokenService.verify(token);
+        if (claims == null) {
+            return result(roster, Outcome.INVALID_TOKEN, "Not a valid check-in code", null, null);
+        }
+        if (claims.eventId() != roster.eventId) {
+            return result(roster, Outcome.WRONG_EVENT, "This code is for a different event", null, null);
+        }
+        Attendee attendee = roster.attendees.get(claims.registrationId());
+        if (attendee == null) {
+            // Registered after the roster was loaded, or changed since; one lookup settles it
+            List<Attendee> found = jdbcTemplate.query(ATTENDEE_QUERY, ATTENDEE_MAPPER, roster.eventId, claims.registrationId());
+            if (found.isEmpty()) {
+                return result(roster, Outcome.NOT_ADMITTED, "Registration is cancelled or not confirmed", null, null);
+            }
+            attendee = roster.add(found.get(0));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime at = scannedAt == null || scannedAt.isAfter(now) ? now : scannedAt;
+        LocalDateTime previous = attendee.checkInAt(at, roster);
+        if (previous == null) {
+            roster.lastCheckInAt = now;
+            return result(roster, Outcome.CHECKED_IN, null, attendee, at);
+        }
+        return result(roster, Outcome.ALREADY_CHECKED_IN, "Already checked in", attendee, attendee.checkedInAt.get());
+    }
+
+    /** Writes queued check-ins; returns how many were written, or -1 if the database rejected a batch. */
+    private int flush(Roster roster) {
+        int written = 0;
+        while (true) {
+            List<Attendee> drained = new ArrayList<>();
+            List<Object[]> batch = new ArrayList<>();
+            Attendee attendee;
+            while (batch.size() < flushBatchSize && (attendee = roster.pending.poll()) != null) {
+                roster.pendingCount.decrementAndGet();
+                Timestamp at = Timestamp.valueOf(attendee.checkedInAt.get());
+                drained.add(attendee);
+                batch.add(new Object[]{at, at, attendee.registrationId()});
+            }
+            if (batch.isEmpty()) {
+                return written;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(MARK_ATTENDED, batch));
+                written += batch.size();
+            } catch (DataAccessException e) {
+                log.warn("Could not write {} check-ins for event {}, will retry: {}",
+                        batch.size(), roster.eventId, e.getMessage());
+                drained.forEach(roster::enqueue);
+                return -1;
+            }
+        }
+    }
+
+    private void evict(Long eventId, Long registrationId) {
+        Roster roster = rosters.get(eventId);
+        if (roster != null) {
+            Attendee removed = roster.attendees.remove(registrationId);
+            if (removed != null && removed.checkedInAt.get() != null) {
+                roster.checkedIn.decrementAndGet();
+            }
+        }
+    }
+
+    private static LocalDateTime closesAt(Event event) {
+        if (event.getEndDate() != null) {
+            return event.getEndDate().plusHours(2);
+        }
+        LocalDateTime start = event.getStartDate() != null ? event.getStartDate() : LocalDateTime.now();
+        return start.plusDays(1);
+    }
+
+    private static CheckInStats stats(Roster roster) {
+        return CheckInStats.builder()
+                .eventId(roster.eventId)
+                .expected(roster.attendees.size())
+                .checkedIn(roster.checkedIn.get())
+                .pendingFlush(roster.pendingCount.get())
+                .lastCheckInAt(roster.lastCheckInAt)
+                .loadedAt(roster.loadedAt)
+                .build();
+    }
+
+    private static CheckInResult result(Roster roster, Outcome outcome, String message,
+                                        Attendee attendee, LocalDateTime checkedInAt) {
+        CheckInResult.CheckInResultBuilder result = CheckInResult.builder()
+                .outcome(outcome)
+                .message(message)
+                .eventId(roster.eventId)
+                .checkedIn(roster.checkedIn.get())
+                .checkedInAt(checkedInAt);
+        if (attendee != null) {
+            result.registrationId(attendee.registrationId())
+                    .userId(attendee.userId())
+                    .name(attendee.name())
+                    .rollNumber(attendee.rollNumber());
+        }
+        return result.build();
+    }
+
+    static final class Roster {
+
+        final long eventId;
+        final LocalDateTime closesAt;
+        final LocalDateTime loadedAt = LocalDateTime.now();
+        final Map<Long, Attendee> attendees = new ConcurrentHashMap<>();
+        final Set<Long> scanners = ConcurrentHashMap.newKeySet();
+        final Queue<Attendee> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pendingCount = new AtomicInteger();
+        final AtomicInteger checkedIn = new AtomicInteger();
+        volatile LocalDateTime lastCheckInAt;
+
+        Roster(long eventId, LocalDateTime closesAt) {
+            this.eventId = eventId;
+            this.closesAt = closesAt;
+        }
+
+        /** Adds the attendee unless already present; returns whichever instance is in the roster. */
+        Attendee add(Attendee attendee) {
+            Attendee existing = attendees.putIfAbsent(attendee.registrationId(), attendee);
+            if (existing != null) {
+                return existing;
+            }
+            if (attendee.checkedInAt.get() != null) {
+                checkedIn.incrementAndGet();
+            }
+            return attendee;
+        }
+
+        void enqueue(Attendee attendee) {
+            pending.add(attendee);
+            pendingCount.incrementAndGet();
+        }
+    }
+
+    static final class Attendee {
+
+        private final long registrationId;
+        private final long userId;
+        private final String name;
+        private final String rollNumber;
+        final AtomicReference<LocalDateTime> checkedInAt;
+
+        Attendee(long registrationId, long userId, String name, String rollNumber, LocalDateTime checkedInAt) {
+            this.registrationId = registrationId;
+            this.userId = userId;
+            this.name = name;
+            this.rollNumber = rollNumber;
+            this.checkedInAt = new AtomicReference<>(checkedInAt);
+        }
+
+        long registrationId() {
+            return registrationId;
+        }
+
+        long userId() {
+            return userId;
+        }
+
+        String name() {
+            return name;
+        }
+
+        String rollNumber() {
+            return rollNumber;
+        }
+
+        /**
+         * Records a check-in at the given time, keeping the earliest one, and
+         * queues it for writing if it changed anything. Returns the check-in
+         * time that was recorded before, or null if this is the first.
+         */
+        LocalDateTime checkInAt(LocalDateTime at, Roster roster) {
+            while (true) {
+                LocalDateTime current = checkedInAt.get();
+                if (current != null && !at.isBefore(current)) {
+                    return current;
+                }
+                if (checkedInAt.compareAndSet(current, at)) {
+                    if (current == null) {
+                        roster.checkedIn.incrementAndGet();
+                    }
+                    roster.enqueue(this);
+                    return current;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.campus.EventInClubs.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Signs and verifies the QR check-in tokens handed to registrants. A token is
+ * {@code <registrationId>.<eventId>.<signature>}, where the signature is a
+ * truncated HMAC-SHA256, so a scanner can reject forgeries without a lookup.
+ * <p>
+ * Without app.checkin.secret the key is random per process: tokens then stop
+ * verifying after a restart (attendees fetch their code again) and on other
+ * nodes, so any multi-node deployment must set it.
+ */
+@Service
+@Slf4j
+public class CheckInTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    // Shipped in earlier templates, so anyone could forge tokens signed with it
+    private static final String PUBLISHED_SECRET = "change-me-check-in-secret";
+    private static final int RANDOM_KEY_BYTES = 32;
+    // 128 bits keeps the QR code small and is still far beyond guessing
+    private static final int SIGNATURE_BYTES = 16;
+
+    public record Claims(long registrationId, long eventId) {}
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public CheckInTokenService(@Value("${app.checkin.secret:}") String secret) {
+        if (PUBLISHED_SECRET.equals(secret)) {
+            throw new IllegalStateException("app.checkin.secret is still the published example value; set a secret of your own");
+        }
+        if (StringUtils.hasText(secret)) {
+            this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        } else {
+            log.warn("app.checkin.secret is not set; check-in tokens are signed with a random key and stop working after a restart");
+            byte[] random = new byte[RANDOM_KEY_BYTES];
+            new SecureRandom().nextBytes(random);
+            this.key = new SecretKeySpec(random, ALGORITHM);
+        }
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+    }
+
+    public String issue(long registrationId, long eventId) {
+        String payload = registrationId + "." + eventId;
+        return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(payload));
+    }
+
+    /** The token's claims, or null if it is malformed or the signature does not match. */
+    public Claims verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        token = token.trim();
+        int first = token.indexOf('.');
+        int last = token.lastIndexOf('.');
+        if (first <= 0 || last == first || last == token.length() - 1) {
+            return null;
+        }
+        String payload = token.substring(0, last);
+        byte[] signature;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(last + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            return null;
+        }
+        try {
+            return new Claims(Long.parseLong(token.substring(0, first)), Long.parseLong(token.substring(first + 1, last)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        byte[] digest = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Arrays.copyOf(digest, SIGNATURE_BYTES);
+    }
+}
@@ -4,10 +4,12 @@ import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 @Service
@@ -17,28 +19,40 @@ public class CloudinaryService {
     
     private final Cloudinary cloudinary;
     
-    public String uploadClubLogo(MultipartFile file) throws IOException {
+    // Milliseconds; without them a stalled connection holds an upload worker indefinitely
+    @Value("${cloudinary.connect-timeout-ms:5000}")
+    private int connectTimeoutMs = 5000;
+    
+    @Value("${cloudinary.timeout-ms:30000}")
+    private int timeoutMs = 30000;
+    
+    /** Uploads an image file to the folder and returns its HTTPS URL. */
+    public String upload(Path file, String folder) throws IOException {
         try {
-            log.info("Starting Cloudinary upload for file: {}, size: {} bytes", 
-                file.getOriginalFilename(), file.getSize());
+            log.info("Starting Cloudinary upload for file: {}, size: {} bytes", file.getFileName(), Files.size(file));
             
-            // Upload to Cloudinary without transformation (simpler approach)
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(),
+            Map uploadResult = cloudinary.uploader().upload(file.toFile(),
                 ObjectUtils.asMap(
-                    "folder", "club-logos",
-                    "resource_type", "image"
+                    "folder", folder,
+                    "resource_type", "image",
+                    "connect_timeout", connectTimeoutMs,
+                    "connection_request_timeout", connectTimeoutMs,
+                    "timeout", timeoutMs
                 )
             );
             
             String imageUrl = (String) uploadResult.get("secure_url");
+            if (imageUrl == null) {
+                throw new IOException("Cloudinary response has no secure_url");
+            }
             log.info("Successfully uploaded image to Cloudinary: {}", imageUrl);
             return imageUrl;
             
         } catch (IOException e) {
-            log.error("IOException uploading image to Cloudinary: {}", e.getMessage(), e);
+            log.warn("IOException uploading image to Cloudinary: {}", e.getMessage());
             throw new IOException("Failed to upload image to Cloudinary: " + e.getMessage(), e);
         } catch (Exception e) {
-            log.error("Unexpected error uploading image to Cloudinary: {}", e.getMessage(), e);
+            log.warn("Unexpected error uploading image to Cloudinary: {}", e.getMessage());
             throw new IOException("Unexpected error uploading to Cloudinary: " + e.getMessage(), e);
         }
     }
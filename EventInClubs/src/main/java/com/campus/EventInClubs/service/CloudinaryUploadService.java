@@ -0,0 +1,286 @@
+package com.campus.EventInClubs.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Club logos are written to the local upload store and served from there
+ * straight away, while the push to Cloudinary happens on the bounded
+ * cloudinaryExecutor. A failed push is retried with exponential backoff; once
+ * one succeeds, clubs still pointing at the staged copy move to the remote URL.
+ * <p>
+ * The staged file is on the disk of the node that took the upload, so a job
+ * records that node and only it claims the job. Another node takes it over
+ * only if it can see the file too (a shared upload directory).
+ */
+@Service
+@Slf4j
+public class CloudinaryUploadService {
+
+    public record Job(Long id, String status, String stagedUrl, String remoteUrl, int attempts, String lastError) {
+
+        /** The URL clients should use for the image right now. */
+        public String url() {
+            return remoteUrl != null ? remoteUrl : stagedUrl;
+        }
+    }
+
+    public record UploadRequested(Long jobId) {}
+
+    private static final String ENQUEUE =
+            "INSERT INTO cloudinary_upload_jobs (staged_url, folder, node_id, status, attempts, next_attempt_at, created_at, updated_at) " +
+            "VALUES (?, ?, ?, 'PENDING', 0, ?, ?, ?) RETURNING id";
+
+    // Only one node or thread wins a job; an UPLOADING row past the stale cutoff belonged to a worker that died.
+    // Jobs staged on another node are only taken when the caller has checked that the file is visible here
+    private static final String CLAIM =
+            "UPDATE cloudinary_upload_jobs SET status = 'UPLOADING', attempts = attempts + 1, updated_at = ? " +
+            "WHERE id = ? AND ((status = 'PENDING' AND next_attempt_at <= ?) OR (status = 'UPLOADING' AND updated_at < ?)) " +
+            "AND (node_id IS NULL OR node_id = ? OR ?) " +
+            "RETURNING staged_url, folder, attempts";
+
+    private static final String FIND_DUE =
+            "SELECT id, staged_url, node_id FROM cloudinary_upload_jobs " +
+            "WHERE (status = 'PENDING' AND next_attempt_at <= ?) OR (status = 'UPLOADING' AND updated_at < ?) " +
+            "ORDER BY next_attempt_at LIMIT ?";
+
+    private static final String FIND_JOB =
+            "SELECT id, status, staged_url, remote_url, attempts, last_error FROM cloudinary_upload_jobs WHERE id = ?";
+
+    private static final String FIND_REMOTE_URL =
+            "SELECT remote_url FROM cloudinary_upload_jobs WHERE staged_url = ? AND status = 'DONE' " +
+            "ORDER BY updated_at DESC LIMIT 1";
+
+    // Clubs saved with a staged URL while its upload was finishing, which the completing update could not see
+    private static final String FIND_STALE_LOGOS =
+            "SELECT DISTINCT j.staged_url, j.remote_url FROM cloudinary_upload_jobs j " +
+            "JOIN clubs c ON c.logo_url = j.staged_url WHERE j.status = 'DONE'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolTaskExecutor cloudinaryExecutor;
+    private final FileStorageService fileStorageService;
+    private final CloudinaryService cloudinaryService;
+    private final ResourceVersionService resourceVersionService;
+    private final String nodeId;
+
+    @Value("${app.cloudinary.max-attempts:6}")
+    private int maxAttempts = 6;
+
+    @Value("${app.cloudinary.backoff-initial-ms:2000}")
+    private long backoffInitialMs = 2000;
+
+    @Value("${app.cloudinary.backoff-max-ms:600000}")
+    private long backoffMaxMs = 600_000;
+
+    // Comfortably above the client's own timeouts, so a slow but live upload is not taken over
+    @Value("${app.cloudinary.stale-after-minutes:5}")
+    private long staleAfterMinutes = 5;
+
+    @Value("${app.cloudinary.sweep-batch-size:50}")
+    private int sweepBatchSize = 50;
+
+    public CloudinaryUploadService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher, ThreadPoolTaskExecutor cloudinaryExecutor,
+                                   FileStorageService fileStorageService, CloudinaryService cloudinaryService,
+                                   ResourceVersionService resourceVersionService,
+                                   @Value("${app.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.cloudinaryExecutor = cloudinaryExecutor;
+        this.fileStorageService = fileStorageService;
+        this.cloudinaryService = cloudinaryService;
+        this.resourceVersionService = resourceVersionService;
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : localHostName();
+    }
+
+    /**
+     * Stages the file and queues its upload. The returned job carries the local
+     * URL, which works until (and after) the remote copy exists.
+     */
+    public Job submit(MultipartFile file, String folder) throws IOException {
+        FileStorageService.Stored stored = fileStorageService.store(file, "jpg");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long id = transactionTemplate.execute(status -> {
+            Long jobId = jdbcTemplate.queryForObject(ENQUEUE, Long.class, stored.url(), folder, nodeId, now, now, now);
+            // The job keeps the staged file alive until it no longer needs it
+            fileStorageService.adjustReferences(stored.url(), 1);
+            eventPublisher.publishEvent(new UploadRequested(jobId));
+            return jobId;
+        });
+        log.info("Queued Cloudinary upload job {} for {}", id, stored.url());
+        return new Job(id, "PENDING", stored.url(), null, 0, null);
+    }
+
+    @Async("cloudinaryExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUploadRequested(UploadRequested requested) {
+        process(requested.jobId(), false);
+    }
+
+    public Job findJob(Long id) {
+        List<Job> jobs = jdbcTemplate.query(FIND_JOB, (rs, row) -> new Job(rs.getLong("id"), rs.getString("status"),
+                rs.getString("staged_url"), rs.getString("remote_url"), rs.getInt("attempts"), rs.getString("last_error")), id);
+        return jobs.isEmpty() ? null : jobs.get(0);
+    }
+
+    /**
+     * The remote URL if the upload behind a staged URL has finished, so a club
+     * saved after the push is stored with its final logo; otherwise the URL as given.
+     */
+    public String resolve(String url) {
+        if (!FileStorageService.isStoredUrl(url)) {
+            return url;
+        }
+        List<String> remote = jdbcTemplate.queryForList(FIND_REMOTE_URL, String.class, url);
+        return remote.isEmpty() ? url : remote.get(0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cloudinary.sweep-interval-ms:5000}", initialDelayString = "${app.cloudinary.sweep-initial-delay-ms:15000}")
+    public void sweep() {
+        int relinked = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(FIND_STALE_LOGOS)) {
+            String stagedUrl = (String) row.get("staged_url");
+            String remoteUrl = (String) row.get("remote_url");
+            relinked += transactionTemplate.execute(status -> switchClubLogos(stagedUrl, remoteUrl));
+        }
+        if (relinked > 0) {
+            resourceVersionService.markChanged(ResourceVersionService.Resource.CLUBS);
+        }
+
+        // The pool discards work it has no room for, so only hand it what fits; the rest waits for the next sweep
+        int room = Math.min(sweepBatchSize, cloudinaryExecutor.getQueueCapacity() - cloudinaryExecutor.getQueueSize());
+        if (room <= 0) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map<String, Object> due : jdbcTemplate.queryForList(FIND_DUE, now, staleCutoff(), room)) {
+            Long id = ((Number) due.get("id")).longValue();
+            String owner = (String) due.get("node_id");
+            boolean foreign = owner != null && !owner.equals(nodeId);
+            if (foreign && !isStagedHere((String) due.get("staged_url"))) {
+                // Its node retries it; from here the file could only be reported missing
+                continue;
+            }
+            cloudinaryExecutor.execute(() -> process(id, foreign));
+        }
+    }
+
+    /**
+     * Claims the job and pushes its file; returns false if it was not due,
+     * another worker had it, or it was staged on another node and takeOver is false.
+     */
+    boolean process(Long id, boolean takeOver) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map<String, Object>> claimed = jdbcTemplate.queryForList(CLAIM, now, id, now, staleCutoff(), nodeId, takeOver);
+        if (claimed.isEmpty()) {
+            return false;
+        }
+        String stagedUrl = (String) claimed.get(0).get("staged_url");
+        String folder = (String) claimed.get(0).get("folder");
+        int attempts = ((Number) claimed.get(0).get("attempts")).intValue();
+        try {
+            Path file = fileStorageService.localPath(stagedUrl);
+            if (file == null || !Files.exists(file)) {
+                throw new IOException("Staged file not found");
+            }
+            String remoteUrl = cloudinaryService.upload(file, folder);
+            complete(id, stagedUrl, remoteUrl);
+        } catch (Exception e) {
+            fail(id, stagedUrl, attempts, e);
+        }
+        return true;
+    }
+
+    private void complete(Long id, String stagedUrl, String remoteUrl) {
+        int switched = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("UPDATE cloudinary_upload_jobs SET status = 'DONE', remote_url = ?, last_error = NULL, updated_at = ? WHERE id = ?",
+                    remoteUrl, Timestamp.valueOf(LocalDateTime.now()), id);
+            fileStorageService.adjustReferences(stagedUrl, -1);
+            return switchClubLogos(stagedUrl, remoteUrl);
+        });
+        if (switched > 0) {
+            resourceVersionService.markChanged(ResourceVersionService.Resource.CLUBS);
+        }
+        log.info("Cloudinary upload job {} done: {} ({} clubs updated)", id, remoteUrl, switched);
+    }
+
+    private int switchClubLogos(String stagedUrl, String remoteUrl) {
+        // Plain SQL bypasses UploadReferenceTracker, so the references it drops are released here
+        int clubs = jdbcTemplate.update("UPDATE clubs SET logo_url = ? WHERE logo_url = ?", remoteUrl, stagedUrl);
+        fileStorageService.adjustReferences(stagedUrl, -clubs);
+        return clubs;
+    }
+
+    private void fail(Long id, String stagedUrl, int attempts, Exception e) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (attempts >= maxAttempts) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE cloudinary_upload_jobs SET status = 'FAILED', last_error = ?, updated_at = ? WHERE id = ?",
+                        String.valueOf(e.getMessage()), now, id);
+                // Clubs already using the staged copy keep their own references to it
+                fileStorageService.adjustReferences(stagedUrl, -1);
+            });
+            log.error("Cloudinary upload job {} failed after {} attempts: {}", id, attempts, e.getMessage());
+            return;
+        }
+        Duration delay = backoff(attempts, backoffInitialMs, backoffMaxMs);
+        jdbcTemplate.update("UPDATE cloudinary_upload_jobs SET status = 'PENDING', last_error = ?, next_attempt_at = ?, updated_at = ? WHERE id = ?",
+                String.valueOf(e.getMessage()), Timestamp.valueOf(LocalDateTime.now().plus(delay)), now, id);
+        log.warn("Cloudinary upload job {} attempt {} failed, retrying in {} ms: {}", id, attempts, delay.toMillis(), e.getMessage());
+    }
+
+    /**
+     * Delay before the next try after the given number of failed attempts: the
+     * initial delay doubled each time, capped, then jittered between half and
+     * all of it so jobs that failed together do not retry together.
+     */
+    static Duration backoff(int failedAttempts, long initialMs, long maxMs) {
+        int doublings = Math.min(Math.max(failedAttempts - 1, 0), 30);
+        long ceiling = Math.min(maxMs, initialMs << doublings);
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+
+    private boolean isStagedHere(String stagedUrl) {
+        Path file = fileStorageService.localPath(stagedUrl);
+        return file != null && Files.exists(file);
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot determine this node's host name; set app.node-id", e);
+        }
+    }
+
+    private Timestamp staleCutoff() {
+        return Timestamp.valueOf(LocalDateTime.now().minusMinutes(staleAfterMinutes));
+    }
+}
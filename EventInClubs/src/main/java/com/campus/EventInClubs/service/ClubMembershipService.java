@@ -28,6 +28,7 @@ public class ClubMembershipService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     
+    @Transactional(readOnly = true)
     public List<ClubMembershipDto> getClubMembers(Long clubId) {
         List<ClubMembership> memberships = membershipRepository.findByClubIdAndIsActiveTrue(clubId);
         return memberships.stream()
@@ -35,6 +36,7 @@ public class ClubMembershipService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ClubMembershipDto> getUserMemberships(Long userId) {
         List<ClubMembership> memberships = membershipRepository.findByUserIdAndIsActiveTrue(userId);
         return memberships.stream()
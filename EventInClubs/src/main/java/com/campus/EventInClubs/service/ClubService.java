@@ -25,7 +25,9 @@ public class ClubService {
     
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
+    private final CloudinaryUploadService cloudinaryUploadService;
     
+    @Transactional(readOnly = true)
     public List<ClubDto> getAllActiveClubs() {
         try {
             // Only return clubs that are active AND approved
@@ -40,6 +42,7 @@ public class ClubService {
         }
     }
     
+    @Transactional(readOnly = true)
     public List<ClubDto> getPendingClubs() {
         return clubRepository.findByApprovalStatus(ApprovalStatus.PENDING)
                 .stream()
@@ -67,6 +70,7 @@ public class ClubService {
         return convertToDto(savedClub);
     }
     
+    @Transactional(readOnly = true)
     public List<ClubDto> getClubsByCategory(String category) {
         List<Club> clubs = clubRepository.findByCategory(category);
         return clubs.stream()
@@ -74,6 +78,7 @@ public class ClubService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ClubDto> getTopClubs() {
         List<Club> clubs = clubRepository.findTopClubs();
         return clubs.stream()
@@ -81,6 +86,7 @@ public class ClubService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ClubDto> getTopClubsByCategory(String category) {
         List<Club> clubs = clubRepository.findTopClubsByCategory(category);
         return clubs.stream()
@@ -88,6 +94,7 @@ public class ClubService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ClubDto> searchClubs(String searchTerm) {
         List<Club> clubs = clubRepository.searchActiveClubs(searchTerm);
         return clubs.stream()
@@ -95,11 +102,13 @@ public class ClubService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public Optional<ClubDto> getClubById(Long id) {
         return clubRepository.findById(id)
                 .map(this::convertToDto);
     }
     
+    @Transactional(readOnly = true)
     public List<ClubDto> getClubsByAdminUser(Long adminUserId) {
         List<Club> clubs = clubRepository.findByAdminUserId(adminUserId);
         log.info("Found {} clubs for admin user {}", clubs.size(), adminUserId);
@@ -108,6 +117,7 @@ public class ClubService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public Optional<ClubDto> getClubByName(String name) {
         return clubRepository.findByName(name)
                 .map(this::convertToDto);
@@ -141,7 +151,7 @@ public class ClubService {
                 .memberCount(clubDto.getMemberCount() != null ? clubDto.getMemberCount() : 0)
                 .eventCount(clubDto.getEventCount() != null ? clubDto.getEventCount() : 0)
                 .rating(clubDto.getRating() != null ? clubDto.getRating() : 0.0)
-                .logoUrl(clubDto.getLogoUrl())
+                .logoUrl(cloudinaryUploadService.resolve(clubDto.getLogoUrl()))
                 .adminUser(adminUser)
                 .isActive(true) // Active immediately
                 .approvalStatus(ApprovalStatus.APPROVED) // Auto-approved
@@ -190,7 +200,8 @@ public class ClubService {
         }
         
         if (clubDto.getLogoUrl() != null) {
-            club.setLogoUrl(clubDto.getLogoUrl());
+            // A logo still being pushed to Cloudinary is saved with its local URL and switched when the push completes
+            club.setLogoUrl(cloudinaryUploadService.resolve(clubDto.getLogoUrl()));
             log.info("Updated logo for club: {}", club.getName());
         }
         
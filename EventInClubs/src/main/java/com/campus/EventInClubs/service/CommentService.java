@@ -4,16 +4,21 @@ import com.campus.EventInClubs.domain.model.Comment;
 import com.campus.EventInClubs.domain.model.Idea;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.dto.CommentDto;
+import com.campus.EventInClubs.dto.CommentThreadDto;
 import com.campus.EventInClubs.repository.CommentRepository;
 import com.campus.EventInClubs.repository.IdeaRepository;
 import com.campus.EventInClubs.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -28,7 +33,32 @@ public class CommentService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final AchievementService achievementService;
+    private final JdbcTemplate jdbcTemplate;
+    private final IdeaRankingService ideaRankingService;
     
+    /*
+     * One round trip for a page of threads however deep they go. The roots
+     * are paged by path (posting order); all rows under them come back in
+     * path order, which is depth-first, so the tree assembles in one pass.
+     * Deleted comments are loaded too, so that replies under them keep their place.
+     */
+    private static final String FIND_THREADS =
+            "WITH roots AS (" +
+            "  SELECT id, COUNT(*) OVER () AS total_threads FROM comments r " +
+            "  WHERE r.idea_id = ? AND r.parent_comment_id IS NULL " +
+            "  AND (r.is_active OR EXISTS (SELECT 1 FROM comments d WHERE d.root_id = r.id AND d.is_active)) " +
+            "  ORDER BY r.path LIMIT ? OFFSET ?" +
+            "), thread AS (" +
+            "  SELECT c.*, roots.total_threads, " +
+            "         COUNT(*) FILTER (WHERE c.is_active AND c.parent_comment_id IS NOT NULL) OVER (PARTITION BY c.root_id) AS thread_reply_count " +
+            "  FROM comments c JOIN roots ON roots.id = c.root_id" +
+            ") " +
+            "SELECT t.id, t.content, t.user_id, u.name AS user_name, t.parent_comment_id, t.path, t.is_active, " +
+            "       t.created_at, t.updated_at, t.total_threads, t.thread_reply_count " +
+            "FROM thread t JOIN users u ON u.id = t.user_id " +
+            "WHERE length(t.path) <= ? ORDER BY t.path";
+    
+    @Transactional(readOnly = true)
     public List<CommentDto> getCommentsByIdea(Long ideaId) {
         List<Comment> comments = commentRepository.findByIdeaIdAndIsActiveTrueOrderByCreatedAtAsc(ideaId);
         return comments.stream()
@@ -36,6 +66,79 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Top-level comments of an idea, {@code limit} from {@code offset}, each with
+     * its replies nested down to {@code maxDepth} levels (null for all of them).
+     */
+    @Transactional(readOnly = true)
+    public CommentThreadDto getThreads(Long ideaId, int offset, int limit, Integer maxDepth) {
+        int maxPathLength = maxDepth == null ? Integer.MAX_VALUE : (maxDepth + 1) * Comment.PATH_SEGMENT_LENGTH;
+        long[] totalThreads = {0};
+        List<CommentDto> rows = jdbcTemplate.query(FIND_THREADS, (rs, row) -> {
+            totalThreads[0] = rs.getLong("total_threads");
+            return CommentDto.builder()
+                    .id(rs.getLong("id"))
+                    .content(rs.getString("content"))
+                    .ideaId(ideaId)
+                    .userId(rs.getLong("user_id"))
+                    .userName(rs.getString("user_name"))
+                    .parentCommentId(rs.getObject("parent_comment_id", Long.class))
+                    .isActive(rs.getBoolean("is_active"))
+                    .createdAt(rs.getTimestamp("created_at").toInstant())
+                    .updatedAt(rs.getTimestamp("updated_at").toInstant())
+                    .depth(rs.getString("path").length() / Comment.PATH_SEGMENT_LENGTH - 1)
+                    .replyCount(rs.getInt("thread_reply_count"))
+                    .build();
+        }, ideaId, limit, offset, maxPathLength);
+        
+        return CommentThreadDto.builder()
+                .ideaId(ideaId)
+                .totalThreads(totalThreads[0])
+                .offset(offset)
+                .limit(limit)
+                .maxDepth(maxDepth)
+                .threads(assembleThreads(rows))
+                .build();
+    }
+    
+    /**
+     * Nests rows given in path order under their parents. Deleted comments stay
+     * as content-less placeholders only while replies below them remain.
+     */
+    static List<CommentDto> assembleThreads(List<CommentDto> rows) {
+        Map<Long, CommentDto> byId = new HashMap<>();
+        List<CommentDto> roots = new ArrayList<>();
+        for (CommentDto row : rows) {
+            row.setReplies(new ArrayList<>());
+            byId.put(row.getId(), row);
+            CommentDto parent = row.getParentCommentId() == null ? null : byId.get(row.getParentCommentId());
+            if (parent != null) {
+                // The count is per thread, so it is only kept on the top-level comment
+                row.setReplyCount(null);
+                parent.getReplies().add(row);
+            } else {
+                roots.add(row);
+            }
+        }
+        // Children follow their parents, so walking backwards settles every reply before its parent
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            CommentDto row = rows.get(i);
+            if (Boolean.TRUE.equals(row.getIsActive())) {
+                continue;
+            }
+            if (row.getReplies().isEmpty()) {
+                CommentDto parent = row.getParentCommentId() == null ? null : byId.get(row.getParentCommentId());
+                (parent != null ? parent.getReplies() : roots).remove(row);
+            } else {
+                row.setContent(null);
+                row.setUserId(null);
+                row.setUserName(null);
+            }
+        }
+        return roots;
+    }
+    
+    @Transactional(readOnly = true)
     public List<CommentDto> getCommentsByUser(Long userId) {
         List<Comment> comments = commentRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(userId);
         return comments.stream()
@@ -43,6 +146,7 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<CommentDto> getRepliesToComment(Long parentCommentId) {
         List<Comment> comments = commentRepository.findByParentCommentIdAndIsActiveTrueOrderByCreatedAtAsc(parentCommentId);
         return comments.stream()
@@ -50,6 +154,7 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public Optional<CommentDto> getCommentById(Long id) {
         return commentRepository.findById(id)
                 .map(this::convertToDto);
@@ -90,6 +195,9 @@ public class CommentService {
                 .build();
         
         Comment savedComment = commentRepository.save(comment);
+        // The path embeds the generated id, so it is set once the insert has assigned one
+        savedComment.placeInThread();
+        ideaRankingService.recordComment(ideaId, 1);
         log.info("Created new comment on idea: {} by user: {}", idea.getTitle(), user.getName());
         
         // Send notification to idea owner (if not commenting on own idea)
@@ -136,6 +244,9 @@ public class CommentService {
             throw new RuntimeException("You can only delete your own comments");
         }
         
+        if (comment.getIsActive()) {
+            ideaRankingService.recordComment(comment.getIdea().getId(), -1);
+        }
         comment.setIsActive(false);
         comment.setUpdatedAt(Instant.now());
         commentRepository.save(comment);
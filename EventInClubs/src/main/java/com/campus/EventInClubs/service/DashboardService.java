@@ -0,0 +1,221 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.dto.ClubDto;
+import com.campus.EventInClubs.dto.DashboardDto;
+import com.campus.EventInClubs.dto.EventDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds each dashboard from its sections in one request. Every section runs
+ * on its own virtual thread, in its own read transaction, and must finish
+ * within section-timeout-ms of the request starting. A section that fails or
+ * times out is reported and left out; the rest are still returned.
+ * <p>
+ * A section holds at most one connection at a time. So that dashboards cannot
+ * drain Hikari's pool, one dashboard runs at most max-parallel-sections at
+ * once, and all dashboards together hold at most max-connections.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+
+    private interface SectionWork<D, T> {
+        T apply(D input) throws Exception;
+    }
+
+    private final AsyncTaskExecutor dashboardExecutor;
+    private final ClubService clubService;
+    private final EventService eventService;
+    private final EventRegistrationService eventRegistrationService;
+    private final ClubMembershipService clubMembershipService;
+    private final NotificationService notificationService;
+    private final UserService userService;
+    private final AnalyticsService analyticsService;
+    private final SuperAdminRequestService superAdminRequestService;
+    private final ClubAdminRequestService clubAdminRequestService;
+    private final Semaphore connections;
+
+    @Value("${app.dashboard.section-timeout-ms:3000}")
+    private long sectionTimeoutMs = 3_000;
+
+    @Value("${app.dashboard.max-parallel-sections:3}")
+    private int maxParallelSections = 3;
+
+    public DashboardService(AsyncTaskExecutor dashboardExecutor, ClubService clubService, EventService eventService,
+                            EventRegistrationService eventRegistrationService, ClubMembershipService clubMembershipService,
+                            NotificationService notificationService, UserService userService,
+                            AnalyticsService analyticsService, SuperAdminRequestService superAdminRequestService,
+                            ClubAdminRequestService clubAdminRequestService,
+                            @Value("${app.dashboard.max-connections:5}") int maxConnections) {
+        this.dashboardExecutor = dashboardExecutor;
+        this.clubService = clubService;
+        this.eventService = eventService;
+        this.eventRegistrationService = eventRegistrationService;
+        this.clubMembershipService = clubMembershipService;
+        this.notificationService = notificationService;
+        this.userService = userService;
+        this.analyticsService = analyticsService;
+        this.superAdminRequestService = superAdminRequestService;
+        this.clubAdminRequestService = clubAdminRequestService;
+        this.connections = new Semaphore(maxConnections, true);
+    }
+
+    /** The admin's clubs and their events; the event sections start once the clubs are known. */
+    public DashboardDto clubAdmin(Long userId) {
+        Gathering gathering = new Gathering("club-admin");
+        Future<List<ClubDto>> clubs = gathering.section("clubs", () -> clubService.getClubsByAdminUser(userId));
+        gathering.section("topics", clubs, own -> forClubs(own, eventService::getEventsForClubTopics));
+        gathering.section("activeEvents", clubs, own -> forClubs(own, eventService::getPublishedEventsForAdmin));
+        gathering.section("allEvents", clubs, own -> forClubs(own, eventService::getAllEvents));
+        gathering.section("rejectedEvents", clubs, own -> forClubs(own, eventService::getRejectedEvents));
+        gathering.section("unreadNotifications", () -> notificationService.getUnreadCount(userId));
+        return gathering.collect();
+    }
+
+    public DashboardDto superAdmin() {
+        Gathering gathering = new Gathering("super-admin");
+        gathering.section("clubs", clubService::getAllActiveClubs);
+        gathering.section("events", eventService::getEventsAcceptingIdeas);
+        gathering.section("users", userService::getAllUsers);
+        gathering.section("analytics", analyticsService::getSystemAnalytics);
+        gathering.section("pendingSuperAdminRequests", superAdminRequestService::getPendingRequestsCount);
+        gathering.section("pendingClubAdminRequests", () -> clubAdminRequestService.getPendingRequests().size());
+        return gathering.collect();
+    }
+
+    public DashboardDto student(Long userId) {
+        Gathering gathering = new Gathering("student");
+        gathering.section("events", eventService::getApprovedEventsForStudents);
+        gathering.section("registrations", () -> eventRegistrationService.getUserRegistrations(userId));
+        gathering.section("memberships", () -> clubMembershipService.getUserMemberships(userId));
+        gathering.section("unreadNotifications", () -> notificationService.getUnreadCount(userId));
+        return gathering.collect();
+    }
+
+    private static List<EventDto> forClubs(List<ClubDto> clubs, Function<Set<Long>, List<EventDto>> events) {
+        if (clubs.isEmpty()) {
+            return List.of();
+        }
+        return events.apply(clubs.stream().map(ClubDto::getId).collect(Collectors.toSet()));
+    }
+
+    /** The sections of one dashboard request, sharing its deadline and its parallelism limit. */
+    private final class Gathering {
+
+        private final String dashboard;
+        private final long startNanos = System.nanoTime();
+        private final long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+        private final Semaphore parallel = new Semaphore(maxParallelSections);
+        private final Map<String, Future<?>> sections = new LinkedHashMap<>();
+
+        Gathering(String dashboard) {
+            this.dashboard = dashboard;
+        }
+
+        <T> Future<T> section(String name, Callable<T> work) {
+            Future<T> future = dashboardExecutor.submit(() -> withConnection(work));
+            sections.put(name, future);
+            return future;
+        }
+
+        /** A section needing another's result; it waits for it before taking a connection. */
+        <D, T> Future<T> section(String name, Future<D> dependency, SectionWork<D, T> work) {
+            Future<T> future = dashboardExecutor.submit(() -> {
+                D input = dependency.get(remainingNanos(), TimeUnit.NANOSECONDS);
+                return withConnection(() -> work.apply(input));
+            });
+            sections.put(name, future);
+            return future;
+        }
+
+        private <T> T withConnection(Callable<T> work) throws Exception {
+            if (!parallel.tryAcquire(remainingNanos(), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException();
+            }
+            try {
+                if (!connections.tryAcquire(remainingNanos(), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException();
+                }
+                try {
+                    return work.call();
+                } finally {
+                    connections.release();
+                }
+            } finally {
+                parallel.release();
+            }
+        }
+
+        DashboardDto collect() {
+            Map<String, Object> results = new LinkedHashMap<>();
+            Map<String, String> errors = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<?>> section : sections.entrySet()) {
+                Future<?> future = section.getValue();
+                try {
+                    results.put(section.getKey(), future.get(Math.max(0, remainingNanos()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    // Not interrupted: on a virtual thread that closes the JDBC socket. The section gives up
+                    // waiting for a slot at the deadline anyway, and one mid-query frees its slot when done
+                    future.cancel(false);
+                    errors.put(section.getKey(), timedOut());
+                } catch (ExecutionException e) {
+                    errors.put(section.getKey(), reason(e.getCause()));
+                } catch (CancellationException e) {
+                    errors.put(section.getKey(), "Cancelled");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.cancel(false);
+                    errors.put(section.getKey(), "Cancelled");
+                }
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (!errors.isEmpty()) {
+                log.warn("Dashboard {} returned without {} after {} ms: {}", dashboard, errors.keySet(), elapsedMs, errors);
+            }
+            return DashboardDto.builder()
+                    .sections(results)
+                    .errors(errors)
+                    .partial(!errors.isEmpty())
+                    .generatedAt(Instant.now())
+                    .elapsedMs(elapsedMs)
+                    .build();
+        }
+
+        private String reason(Throwable cause) {
+            if (cause instanceof TimeoutException) {
+                return timedOut();
+            }
+            if (cause instanceof ExecutionException || cause instanceof CancellationException) {
+                return "Depends on a section that failed";
+            }
+            log.warn("Dashboard {} section failed", dashboard, cause);
+            return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        }
+
+        private String timedOut() {
+            return "Timed out after " + sectionTimeoutMs + " ms";
+        }
+
+        private long remainingNanos() {
+            return deadlineNanos - System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.Role;
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class EventAccessService {
+    
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    
+    /**
+     * Loads the event if the user administers its club (or is a super admin),
+     * for operations on a whole event's participant list. The user id must be
+     * the caller's own, from their token ({@code JwtUtil.requireUserId}), never
+     * one the request supplies.
+     */
+    public Event requireEventAdmin(Long eventId, Long userId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        User clubAdmin = event.getClub().getAdminUser();
+        if (user.getRole() != Role.SUPER_ADMIN && (clubAdmin == null || !clubAdmin.getId().equals(userId))) {
+            throw new RuntimeException("Only the club admin can manage registrations for this event");
+        }
+        return event;
+    }
+}
@@ -10,9 +10,11 @@ import com.campus.EventInClubs.repository.TeamRegistrationRepository;
 import com.campus.EventInClubs.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,11 +29,16 @@ public class EventRegistrationService {
     private final UserRepository userRepository;
     private final TeamRegistrationRepository teamRegistrationRepository;
     private final NotificationService notificationService;
-    private final EmailService emailService;
+    private final CheckInService checkInService;
+    private final WaitlistPromotionService waitlistPromotionService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public record Registered(Long eventId, Long userId, String userName) {}
     
     public EventRegistrationDto registerForEvent(Long eventId, Long userId, String notes, String rollNumber) {
-        // Check if event exists and is open for registration
-        Event event = eventRepository.findById(eventId)
+        // Check if event exists and is open for registration. The row stays locked until
+        // commit, so concurrent sign-ups cannot both take the last seat or jump the waitlist
+        Event event = eventRepository.findByIdForUpdate(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
         
         if (event.getStatus() != Event.EventStatus.PUBLISHED && 
@@ -63,52 +70,22 @@ public class EventRegistrationService {
         
         // Check capacity (count REGISTERED + ATTENDED + NO_SHOW towards capacity)
         Long currentRegistrations = registrationRepository.countActiveByEventId(eventId);
-        if (event.getMaxParticipants() != null && currentRegistrations >= event.getMaxParticipants()) {
-            // Register as waitlisted
-            return createRegistration(event, user, EventRegistration.RegistrationStatus.WAITLISTED, notes, rollNumber);
+        boolean full = event.getMaxParticipants() != null && currentRegistrations >= event.getMaxParticipants();
+        if (full || registrationRepository.countByEventIdAndStatus(eventId, EventRegistration.RegistrationStatus.WAITLISTED) > 0) {
+            // Register as waitlisted, behind anyone already waiting
+            EventRegistrationDto waitlisted = createRegistration(event, user, EventRegistration.RegistrationStatus.WAITLISTED, notes, rollNumber);
+            if (!full) {
+                waitlistPromotionService.seatsReleased(eventId);
+            }
+            return waitlisted;
         }
         
         // Register normally
         EventRegistrationDto registration = createRegistration(event, user, EventRegistration.RegistrationStatus.REGISTERED, notes, rollNumber);
         
-        // Send notification to user
-        notificationService.createNotification(
-            userId,
-            "Event Registration Confirmed",
-            String.format("You have successfully registered for '%s'", event.getTitle()),
-            com.campus.EventInClubs.domain.model.Notification.NotificationType.SYSTEM,
-            eventId,
-            "EVENT"
-        );
-        
-        // Send notification to event organizer
-        notificationService.createNotification(
-            event.getClub().getAdminUser().getId(),
-            "New Event Registration",
-            String.format("New registration for '%s' by %s", event.getTitle(), user.getName()),
-            com.campus.EventInClubs.domain.model.Notification.NotificationType.SYSTEM,
-            eventId,
-            "EVENT"
-        );
-        
-        // Send confirmation email to student
-        try {
-            log.info("Attempting to send registration confirmation email to user {}", user.getEmail());
-            String clubAdminEmail = event.getClub().getAdminUser().getEmail();
-            log.info("Club admin email: {}", clubAdminEmail);
-            
-            EventRegistration savedRegistration = registrationRepository.findById(registration.getId()).orElse(null);
-            if (savedRegistration != null) {
-                log.info("Saved registration found, calling email service...");
-                emailService.sendRegistrationConfirmation(savedRegistration, clubAdminEmail);
-                log.info("Email service call completed for registration {}", savedRegistration.getId());
-            } else {
-                log.warn("Saved registration not found for ID {}", registration.getId());
-            }
-        } catch (Exception e) {
-            log.error("Failed to send registration confirmation email to {}: {}", user.getEmail(), e.getMessage(), e);
-            // Don't fail the registration if email fails
-        }
+        // Notifications and the confirmation email follow after commit, so the event row
+        // is not held while they take a second connection or wait on SMTP
+        eventPublisher.publishEvent(new Registered(eventId, userId, user.getName()));
         
         log.info("User {} registered for event {}", userId, eventId);
         return registration;
@@ -130,6 +107,7 @@ public class EventRegistrationService {
         return convertToDto(saved);
     }
     
+    @Transactional(readOnly = true)
     public List<EventRegistrationDto> getEventRegistrations(Long eventId) {
         List<EventRegistration> registrations = registrationRepository.findByEventIdOrderByRegisteredAtDesc(eventId);
         return registrations.stream()
@@ -137,6 +115,7 @@ public class EventRegistrationService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventRegistrationDto> getUserRegistrations(Long userId) {
         List<EventRegistration> registrations = registrationRepository.findByUserIdOrderByRegisteredAtDesc(userId);
         return registrations.stream()
@@ -144,6 +123,7 @@ public class EventRegistrationService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public Long getRegistrationCount(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -161,8 +141,16 @@ public class EventRegistrationService {
         EventRegistration registration = registrationRepository.findById(registrationId)
                 .orElseThrow(() -> new RuntimeException("Registration not found"));
         
+        EventRegistration.RegistrationStatus oldStatus = registration.getStatus();
         registration.setStatus(newStatus);
+        if (newStatus == EventRegistration.RegistrationStatus.ATTENDED && registration.getCheckedInAt() == null) {
+            registration.setCheckedInAt(LocalDateTime.now());
+        }
         EventRegistration updated = registrationRepository.save(registration);
+        checkInService.registrationChanged(registration.getEvent().getId(), registrationId);
+        if (waitlistPromotionService.holdsSeat(oldStatus) && !waitlistPromotionService.holdsSeat(newStatus)) {
+            waitlistPromotionService.seatsReleased(registration.getEvent().getId());
+        }
         
         // Send notification to user about status change
         notificationService.createNotification(
@@ -183,8 +171,13 @@ public class EventRegistrationService {
         EventRegistration registration = registrationRepository.findByEventIdAndUserId(eventId, userId)
                 .orElseThrow(() -> new RuntimeException("Registration not found"));
         
+        boolean heldSeat = waitlistPromotionService.holdsSeat(registration.getStatus());
         registration.setStatus(EventRegistration.RegistrationStatus.CANCELLED);
         registrationRepository.save(registration);
+        checkInService.registrationChanged(eventId, registration.getId());
+        if (heldSeat) {
+            waitlistPromotionService.seatsReleased(eventId);
+        }
         
         // Send notification
         notificationService.createNotification(
@@ -225,6 +218,7 @@ public class EventRegistrationService {
                 .rollNumber(registration.getRollNumber())
                 .paymentStatus(registration.getPaymentStatus())
                 .registeredAt(registration.getRegisteredAt())
+                .checkedInAt(registration.getCheckedInAt())
                 .build();
     }
 }
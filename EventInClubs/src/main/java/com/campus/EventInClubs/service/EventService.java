@@ -20,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -39,18 +40,43 @@ public class EventService {
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
     private final HallRepository hallRepository;
+    private final WaitlistPromotionService waitlistPromotionService;
+    private final FileStorageService fileStorageService;
+    private final PosterDerivativeService posterDerivativeService;
+    private final IdeaRankingService ideaRankingService;
     
+    @Transactional(readOnly = true)
     public List<EventDto> getAllEvents() {
-        return eventRepository.findAll().stream()
+        return listedEvents(eventRepository.findAll());
+    }
+    
+    /** {@link #getAllEvents()} for the given clubs only, without converting anyone else's events. */
+    @Transactional(readOnly = true)
+    public List<EventDto> getAllEvents(Collection<Long> clubIds) {
+        return listedEvents(eventRepository.findByClubIdIn(clubIds));
+    }
+    
+    private List<EventDto> listedEvents(List<Event> events) {
+        return events.stream()
                 .filter(event -> event.getIsActive() != null && event.getIsActive()) // Only show active events
                 .filter(event -> event.getStatus() != Event.EventStatus.PUBLISHED) // Hide published events from general listing
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getPublishedEventsForAdmin() {
+        return publishedEvents(eventRepository.findAll());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<EventDto> getPublishedEventsForAdmin(Collection<Long> clubIds) {
+        return publishedEvents(eventRepository.findByClubIdIn(clubIds));
+    }
+    
+    private List<EventDto> publishedEvents(List<Event> events) {
         LocalDateTime now = LocalDateTime.now();
-        return eventRepository.findAll().stream()
+        return events.stream()
                 .filter(event -> event.getIsActive() == null || event.getIsActive()) // Show events that are active or have null isActive
                 .filter(event -> event.getStatus() == Event.EventStatus.PUBLISHED || 
                                  event.getStatus() == Event.EventStatus.APPROVED) // Show both PUBLISHED and APPROVED events
@@ -64,6 +90,7 @@ public class EventService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getActiveEventsForStudents() {
         // Use optimized query with JOIN FETCH to load all relationships in one query
         List<Event> activeEvents = eventRepository.findActiveEventsWithRelations(LocalDateTime.now());
@@ -75,10 +102,20 @@ public class EventService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getEventsForClubTopics() {
+        return clubTopics(eventRepository.findAll());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<EventDto> getEventsForClubTopics(Collection<Long> clubIds) {
+        return clubTopics(eventRepository.findByClubIdIn(clubIds));
+    }
+    
+    private List<EventDto> clubTopics(List<Event> events) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime gracePeriod = now.minusDays(1); // 24 hours grace period after deadline
-        return eventRepository.findAll().stream()
+        return events.stream()
                 // Show events that are active (null or true means active)
                 .filter(event -> event.getIsActive() == null || event.getIsActive())
                 // Include events in various stages (exclude only CANCELLED and COMPLETED)
@@ -92,6 +129,7 @@ public class EventService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getEventsForClubTopicsDebug() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime oneDayAgo = now.minusDays(1);
@@ -107,24 +145,28 @@ public class EventService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getEventsByClub(Long clubId) {
         return eventRepository.findByClubId(clubId).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getUpcomingEvents() {
         return eventRepository.findUpcomingEvents(LocalDateTime.now()).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getOngoingEvents() {
         return eventRepository.findOngoingEvents(LocalDateTime.now()).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public EventDto getEventById(Long id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
@@ -182,6 +224,7 @@ public class EventService {
                 .approvalStatus(approvalStatus)
                 .approvedBy(isDirectEvent ? organizer : null)
                 .approvalDate(isDirectEvent ? LocalDateTime.now() : null)
+                .admissionQueue(Boolean.TRUE.equals(eventDto.getAdmissionQueue()))
                 .isTeamEvent(eventDto.getIsTeamEvent() != null ? eventDto.getIsTeamEvent() : false)
                 .minTeamMembers(eventDto.getMinTeamMembers())
                 .maxTeamMembers(eventDto.getMaxTeamMembers())
@@ -211,6 +254,7 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
         
         Event.EventStatus oldStatus = event.getStatus();
+        Integer oldMaxParticipants = event.getMaxParticipants();
         
         event.setTitle(eventDto.getTitle());
         event.setDescription(eventDto.getDescription());
@@ -238,6 +282,10 @@ public class EventService {
         }
         // If isActive is null in DTO, keep the existing value (don't change it)
         
+        if (eventDto.getAdmissionQueue() != null) {
+            event.setAdmissionQueue(eventDto.getAdmissionQueue());
+        }
+        
         // Update team event fields
         if (eventDto.getIsTeamEvent() != null) {
             event.setIsTeamEvent(eventDto.getIsTeamEvent());
@@ -258,6 +306,10 @@ public class EventService {
         Event savedEvent = eventRepository.save(event);
         log.info("Updated event: {}", savedEvent.getTitle());
         
+        if (capacityRaised(oldMaxParticipants, savedEvent.getMaxParticipants())) {
+            waitlistPromotionService.seatsReleased(savedEvent.getId());
+        }
+        
         // Send notification if status changed to published
         if (oldStatus != Event.EventStatus.PUBLISHED && eventDto.getStatus() == Event.EventStatus.PUBLISHED) {
             notificationService.createNotification(
@@ -312,22 +364,26 @@ public class EventService {
         return convertToDto(savedEvent);
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> searchEvents(String keyword) {
         return eventRepository.searchEvents(keyword).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public Long getEventCountByClub(Long clubId) {
         return eventRepository.countByClubId(clubId);
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getEventsAcceptingIdeas() {
         return eventRepository.findEventsAcceptingIdeas(LocalDateTime.now()).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public java.util.List<java.util.Map<String, Object>> getIdeasForEvent(Long eventId) {
         // Verify event exists
         eventRepository.findById(eventId)
@@ -389,6 +445,7 @@ public class EventService {
                 .build();
         
         Idea savedIdea = ideaRepository.save(idea);
+        ideaRankingService.track(savedIdea.getId());
         
         log.info("Idea submitted for event '{}' by user '{}': {}", 
                 event.getTitle(), user.getName(), ideaData.get("title"));
@@ -412,6 +469,7 @@ public class EventService {
         );
     }
 
+    @Transactional(readOnly = true)
     public java.util.Map<String, Object> getUserIdeaSubmissionStatus(Long eventId, Long userId) {
         // Verify event exists
         Event event = eventRepository.findById(eventId)
@@ -464,6 +522,8 @@ public class EventService {
                 .organizerName(event.getOrganizer().getName())
                 .tags(event.getTags())
                 .imageUrl(event.getImageUrl())
+                .imageThumbnailUrl(posterDerivativeService.derivativeUrl(event.getImageUrl(), PosterDerivativeService.Variant.THUMBNAIL))
+                .imageCardUrl(posterDerivativeService.derivativeUrl(event.getImageUrl(), PosterDerivativeService.Variant.CARD))
                 .pptFileUrl(event.getPptFileUrl())
                 .createdAt(event.getCreatedAt())
                 .updatedAt(event.getUpdatedAt())
@@ -480,12 +540,18 @@ public class EventService {
                 .approvedByName(event.getApprovedBy() != null ? event.getApprovedBy().getName() : null)
                 .approvalDate(event.getApprovalDate())
                 .submittedForApprovalDate(event.getSubmittedForApprovalDate())
+                .admissionQueue(event.getAdmissionQueue())
                 .isTeamEvent(event.getIsTeamEvent())
                 .minTeamMembers(event.getMinTeamMembers())
                 .maxTeamMembers(event.getMaxTeamMembers())
                 .build();
     }
     
+    // A null capacity means unlimited
+    private static boolean capacityRaised(Integer oldMax, Integer newMax) {
+        return oldMax != null && (newMax == null || newMax > oldMax);
+    }
+    
     private EventDto convertToDto(Event event) {
         // Calculate total votes from all ideas submitted to this event
         int totalVotes = 0;
@@ -536,6 +602,8 @@ public class EventService {
                 .organizerName(event.getOrganizer().getName())
                 .tags(event.getTags())
                 .imageUrl(event.getImageUrl())
+                .imageThumbnailUrl(posterDerivativeService.derivativeUrl(event.getImageUrl(), PosterDerivativeService.Variant.THUMBNAIL))
+                .imageCardUrl(posterDerivativeService.derivativeUrl(event.getImageUrl(), PosterDerivativeService.Variant.CARD))
                 .pptFileUrl(event.getPptFileUrl())
                 .createdAt(event.getCreatedAt())
                 .updatedAt(event.getUpdatedAt())
@@ -552,6 +620,7 @@ public class EventService {
             .approvedByName(event.getApprovedBy() != null ? event.getApprovedBy().getName() : null)
             .approvalDate(event.getApprovalDate())
             .submittedForApprovalDate(event.getSubmittedForApprovalDate())
+            .admissionQueue(event.getAdmissionQueue())
             .isTeamEvent(event.getIsTeamEvent())
             .minTeamMembers(event.getMinTeamMembers())
             .maxTeamMembers(event.getMaxTeamMembers())
@@ -652,6 +721,7 @@ public class EventService {
             originalEvent.setStartDate(startDate);
             originalEvent.setEndDate(endDate);
             originalEvent.setLocation(location);
+            Integer oldMaxParticipants = originalEvent.getMaxParticipants();
             originalEvent.setMaxParticipants(maxParticipants);
             originalEvent.setRegistrationFee(registrationFee);
             originalEvent.setDescription(description);
@@ -703,6 +773,9 @@ public class EventService {
             }
             
             Event savedEvent = eventRepository.save(originalEvent);
+            if (capacityRaised(oldMaxParticipants, maxParticipants)) {
+                waitlistPromotionService.seatsReleased(savedEvent.getId());
+            }
             
             // Send notification to club admin about the approved event
             notificationService.createNotification(
@@ -733,25 +806,9 @@ public class EventService {
     
     private String handlePosterUpload(org.springframework.web.multipart.MultipartFile poster) {
         try {
-            // Create uploads directory in the project root
-            String uploadDir = System.getProperty("user.dir") + "/uploads/posters/";
-            java.nio.file.Path uploadPath = java.nio.file.Paths.get(uploadDir);
-            if (!java.nio.file.Files.exists(uploadPath)) {
-                java.nio.file.Files.createDirectories(uploadPath);
-            }
-            
-            // Generate unique filename
-            String originalFilename = poster.getOriginalFilename();
-            String fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            String uniqueFilename = java.util.UUID.randomUUID().toString() + fileExtension;
-            
-            // Save file
-            java.nio.file.Path filePath = uploadPath.resolve(uniqueFilename);
-            poster.transferTo(filePath.toFile());
-            
-            // Return relative URL
-            return "/uploads/posters/" + uniqueFilename;
-            
+            String url = fileStorageService.store(poster, "jpg").url();
+            posterDerivativeService.requestDerivatives(url);
+            return url;
         } catch (Exception e) {
             log.error("Error uploading poster: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to upload poster: " + e.getMessage());
@@ -917,6 +974,7 @@ public class EventService {
         return convertToDto(savedEvent);
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getPendingApprovalEvents() {
         return eventRepository.findAll().stream()
                 .filter(event -> event.getStatus() == Event.EventStatus.PENDING_APPROVAL)
@@ -925,6 +983,7 @@ public class EventService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getApprovedEventsForStudents() {
         return eventRepository.findAll().stream()
                 .filter(event -> event.getStatus() == Event.EventStatus.APPROVED || event.getStatus() == Event.EventStatus.PUBLISHED)
@@ -934,6 +993,7 @@ public class EventService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getApprovedEvents() {
         return eventRepository.findAll().stream()
                 .filter(event -> event.getStatus() == Event.EventStatus.APPROVED || event.getStatus() == Event.EventStatus.PUBLISHED)
@@ -943,8 +1003,18 @@ public class EventService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getRejectedEvents() {
-        return eventRepository.findAll().stream()
+        return rejectedEvents(eventRepository.findAll());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<EventDto> getRejectedEvents(Collection<Long> clubIds) {
+        return rejectedEvents(eventRepository.findByClubIdIn(clubIds));
+    }
+    
+    private List<EventDto> rejectedEvents(List<Event> events) {
+        return events.stream()
                 .filter(event -> event.getStatus() == Event.EventStatus.REJECTED)
                 .filter(event -> event.getApprovalStatus() == Event.ApprovalStatus.REJECTED)
                 .filter(event -> event.getIsActive() == null || event.getIsActive())
@@ -952,6 +1022,7 @@ public class EventService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<EventDto> getRejectedEventsForClubAdmin(Long clubId) {
         return eventRepository.findAll().stream()
                 .filter(event -> event.getStatus() == Event.EventStatus.REJECTED)
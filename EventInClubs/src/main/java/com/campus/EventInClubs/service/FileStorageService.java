@@ -0,0 +1,338 @@
+package com.campus.EventInClubs.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed store behind the upload endpoints. A file is kept once, at
+ * {@code uploads/blobs/ab/cd/<sha256>.<ext>}, however often it is uploaded;
+ * {@link UploadReferenceTracker} counts the entity columns that point at it,
+ * and files nothing has pointed at for the grace period are collected. The
+ * tracker also registers those columns here, so the check before a deletion
+ * and the periodic recount of ref_count look at the same columns it counts.
+ */
+@Service
+@Slf4j
+public class FileStorageService {
+
+    public static final String URL_PREFIX = "/uploads/blobs/";
+
+    private static final Pattern BLOB_URL = Pattern.compile(
+            Pattern.quote(URL_PREFIX) + "[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})\\.([a-z0-9]{1,10})");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+    // Formats that are not compressed already (pptx, docx, jpg, png, pdf mostly are)
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = Set.of("ppt", "doc", "xls", "svg", "txt", "csv", "json", "xml", "bmp", "tif", "tiff");
+
+    // Claims the hash, or refreshes its grace period; waits out a collection in progress for the same row
+    private static final String UPSERT =
+            "INSERT INTO stored_files (sha256, extension, content_type, size_bytes, ref_count, created_at, last_uploaded_at) " +
+            "VALUES (?, ?, ?, ?, 0, ?, ?) " +
+            "ON CONFLICT (sha256) DO UPDATE SET last_uploaded_at = EXCLUDED.last_uploaded_at " +
+            "RETURNING extension";
+
+    private static final String ADJUST_REFERENCES =
+            "UPDATE stored_files SET ref_count = ref_count + ? WHERE sha256 = ?";
+
+    private static final String LOCK_COLLECTABLE =
+            "SELECT sha256, extension FROM stored_files WHERE ref_count <= 0 AND last_uploaded_at < ? " +
+            "ORDER BY last_uploaded_at LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    // Cloudinary jobs hold a reference to their staged file (by plain SQL) until they finish
+    private static final String ACTIVE_JOB_REFERENCES =
+            "SELECT staged_url AS url FROM cloudinary_upload_jobs WHERE status IN ('PENDING', 'UPLOADING')";
+
+    // The URL a stored_files row is served under, as url() builds it
+    private static final String ROW_URL =
+            "'" + URL_PREFIX + "' || substr(f.sha256, 1, 2) || '/' || substr(f.sha256, 3, 2) || '/' || f.sha256 || '.' || f.extension";
+
+    public record Stored(String url, String sha256, long size, boolean deduplicated) {}
+
+    /** A column that may hold upload URLs, as tracked by {@link UploadReferenceTracker}. */
+    public record ReferenceColumn(String table, String column) {}
+
+    private record Blob(String sha256, String extension) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path blobRoot;
+    private volatile List<ReferenceColumn> referenceColumns = List.of();
+
+    @Value("${app.uploads.gc-grace-hours:24}")
+    private long gcGraceHours = 24;
+
+    @Value("${app.uploads.gc-batch-size:200}")
+    private int gcBatchSize = 200;
+
+    @Value("${app.uploads.precompress-min-savings:0.1}")
+    private double precompressMinSavings = 0.1;
+
+    public FileStorageService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              @Value("${app.uploads.dir:${user.dir}/uploads}") String uploadDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.blobRoot = Paths.get(uploadDir, "blobs");
+    }
+
+    /**
+     * Stores the upload unless the same content is already on disk, in which
+     * case only its row is touched and the existing URL is returned.
+     */
+    public Stored store(MultipartFile file, String defaultExtension) throws IOException {
+        String extension = extensionOf(file.getOriginalFilename(), defaultExtension);
+        Files.createDirectories(blobRoot);
+        // The name depends on the hash, so the content is hashed while it is copied next to the blobs
+        Path temp = blobRoot.resolve(".upload-" + UUID.randomUUID());
+        try {
+            MessageDigest digest = sha256Digest();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            // Content seen before keeps the extension it was first stored under
+            String storedExtension = jdbcTemplate.queryForObject(UPSERT, String.class,
+                    sha256, extension, file.getContentType(), file.getSize(), now, now);
+
+            Path blob = blobPath(sha256, storedExtension);
+            boolean deduplicated = Files.exists(blob);
+            if (!deduplicated) {
+                Files.createDirectories(blob.getParent());
+                Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                if (COMPRESSIBLE_EXTENSIONS.contains(storedExtension)) {
+                    precompress(blob);
+                }
+            }
+            log.info("Stored upload {} ({} bytes, {})", sha256, file.getSize(), deduplicated ? "already on disk" : "written");
+            return new Stored(url(sha256, storedExtension), sha256, file.getSize(), deduplicated);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Called by the tracker once it knows the mapped columns; until then nothing is collected. */
+    public void trackReferencesIn(List<ReferenceColumn> columns) {
+        this.referenceColumns = List.copyOf(columns);
+    }
+
+    /** Adds (or with a negative delta, removes) references to the file behind a URL; other URLs are ignored. */
+    public void adjustReferences(String url, int delta) {
+        Blob blob = parse(url);
+        if (blob != null && delta != 0) {
+            jdbcTemplate.update(ADJUST_REFERENCES, delta, blob.sha256());
+        }
+    }
+
+    /** The file behind a stored URL, or null for URLs this store did not issue. */
+    public Path localPath(String url) {
+        Blob blob = parse(url);
+        return blob == null ? null : blobPath(blob.sha256(), blob.extension());
+    }
+
+    public static boolean isStoredUrl(Object value) {
+        return value instanceof String url && url.startsWith(URL_PREFIX);
+    }
+
+    /**
+     * Deletes files with no references whose last upload is older than the grace
+     * period, so an upload has time to be attached to the event it was made for.
+     */
+    @Scheduled(fixedDelayString = "${app.uploads.gc-interval-ms:3600000}", initialDelayString = "${app.uploads.gc-initial-delay-ms:600000}")
+    public void collectGarbage() {
+        if (referenceColumns.isEmpty()) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofHours(gcGraceHours)));
+        int[] deleted = {0};
+        int resolved;
+        do {
+            resolved = transactionTemplate.execute(status -> {
+                List<Blob> candidates = jdbcTemplate.query(LOCK_COLLECTABLE,
+                        (rs, row) -> new Blob(rs.getString("sha256"), rs.getString("extension")), cutoff, gcBatchSize);
+                Map<String, Long> referenced = countReferences(candidates);
+                int done = 0;
+                for (Blob blob : candidates) {
+                    String url = url(blob.sha256(), blob.extension());
+                    Long references = referenced.get(url);
+                    if (references != null) {
+                        // A write path bypassed the tracker; trust the columns
+                        jdbcTemplate.update("UPDATE stored_files SET ref_count = ? WHERE sha256 = ?", references, blob.sha256());
+                        done++;
+                        continue;
+                    }
+                    try {
+                        Path file = blobPath(blob.sha256(), blob.extension());
+                        deleteVariants(file.getParent(), blob.sha256());
+                        Files.deleteIfExists(gzipPath(file));
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        log.warn("Could not delete unreferenced upload {}: {}", blob.sha256(), e.getMessage());
+                        continue;
+                    }
+                    jdbcTemplate.update("DELETE FROM image_derivative_jobs WHERE source_url = ?", url);
+                    jdbcTemplate.update("DELETE FROM stored_files WHERE sha256 = ?", blob.sha256());
+                    deleted[0]++;
+                    done++;
+                }
+                return done;
+            });
+        // A full batch may mean more candidates; files that could not be deleted stop the loop
+        } while (resolved == gcBatchSize);
+        if (deleted[0] > 0) {
+            log.info("Deleted {} unreferenced uploads", deleted[0]);
+        }
+    }
+
+    /**
+     * Resets every ref_count to the number of references actually in the
+     * tracked columns, correcting drift from writes that bypassed the tracker
+     * (plain SQL, failed adjustments). A reference committed during the recount
+     * may be missed; the check before deletion still sees it.
+     */
+    @Scheduled(fixedDelayString = "${app.uploads.recount-interval-ms:21600000}", initialDelayString = "${app.uploads.recount-initial-delay-ms:1800000}")
+    public void recountReferences() {
+        if (referenceColumns.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE stored_files s SET ref_count = COALESCE(r.n, 0) FROM stored_files f " +
+                "LEFT JOIN (SELECT url, COUNT(*) AS n FROM (" + referenceSources("LIKE '" + URL_PREFIX + "%'") +
+                ") refs GROUP BY url) r ON r.url = " + ROW_URL + " " +
+                "WHERE s.sha256 = f.sha256 AND s.ref_count <> COALESCE(r.n, 0)";
+        int corrected = jdbcTemplate.update(sql);
+        if (corrected > 0) {
+            log.info("Corrected the reference count of {} uploads", corrected);
+        }
+    }
+
+    // How many tracked references each candidate's URL has, in one query for the batch; unreferenced URLs are absent
+    private Map<String, Long> countReferences(List<Blob> candidates) {
+        Map<String, Long> counts = new HashMap<>();
+        if (candidates.isEmpty()) {
+            return counts;
+        }
+        String[] urls = candidates.stream().map(blob -> url(blob.sha256(), blob.extension())).toArray(String[]::new);
+        String sql = "SELECT url, COUNT(*) AS n FROM (" + referenceSources("= ANY (?)") + ") refs GROUP BY url";
+        int sources = referenceColumns.size() + 1;
+        jdbcTemplate.query(sql, ps -> {
+            Array array = ps.getConnection().createArrayOf("text", urls);
+            for (int i = 1; i <= sources; i++) {
+                ps.setArray(i, array);
+            }
+        }, rs -> {
+            counts.put(rs.getString("url"), rs.getLong("n"));
+        });
+        return counts;
+    }
+
+    // One url per reference: every tracked column, plus the staged files of unfinished Cloudinary jobs
+    private String referenceSources(String urlCondition) {
+        StringBuilder sql = new StringBuilder();
+        for (ReferenceColumn column : referenceColumns) {
+            sql.append("SELECT ").append(column.column()).append(" AS url FROM ").append(column.table())
+                    .append(" WHERE ").append(column.column()).append(' ').append(urlCondition).append(" UNION ALL ");
+        }
+        return sql.append(ACTIVE_JOB_REFERENCES).append(" AND staged_url ").append(urlCondition).toString();
+    }
+
+    /**
+     * Writes {@code <blob>.gz} for the upload file server to send to clients that
+     * accept gzip, and keeps it only when it is meaningfully smaller.
+     */
+    private void precompress(Path blob) {
+        Path gzip = gzipPath(blob);
+        Path temp = blob.resolveSibling(".gzip-" + UUID.randomUUID());
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                Files.copy(blob, out);
+            }
+            if (Files.size(temp) <= Files.size(blob) * (1 - precompressMinSavings)) {
+                Files.move(temp, gzip, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // Only an optimisation; the blob itself is stored
+            log.warn("Could not precompress upload {}: {}", blob.getFileName(), e.getMessage());
+        } finally {
+            temp.toFile().delete();
+        }
+    }
+
+    private static Path gzipPath(Path blob) {
+        return blob.resolveSibling(blob.getFileName() + ".gz");
+    }
+
+    // Resized copies written next to the blob (see PosterDerivativeService) go with it
+    private static void deleteVariants(Path directory, String sha256) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> variants = Files.newDirectoryStream(directory, sha256 + "-*")) {
+            for (Path variant : variants) {
+                Files.deleteIfExists(variant);
+            }
+        }
+    }
+
+    Path blobPath(String sha256, String extension) {
+        return blobRoot.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256 + "." + extension);
+    }
+
+    static String url(String sha256, String extension) {
+        return URL_PREFIX + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256 + "." + extension;
+    }
+
+    static String extensionOf(String filename, String defaultExtension) {
+        if (filename != null && filename.lastIndexOf('.') >= 0) {
+            String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            if (EXTENSION.matcher(extension).matches()) {
+                return extension;
+            }
+        }
+        return defaultExtension;
+    }
+
+    private static Blob parse(String url) {
+        if (url == null) {
+            return null;
+        }
+        Matcher matcher = BLOB_URL.matcher(url);
+        return matcher.matches() ? new Blob(matcher.group(1), matcher.group(2)) : null;
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
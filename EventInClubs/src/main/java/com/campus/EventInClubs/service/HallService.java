@@ -19,14 +19,17 @@ public class HallService {
     
     private final HallRepository hallRepository;
     
+    @Transactional(readOnly = true)
     public List<Hall> getAllActiveHalls() {
         return hallRepository.findByIsActiveTrueOrderBySeatingCapacityAsc();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Hall> getHallById(Long id) {
         return hallRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public List<Hall> getAvailableHalls(Integer requiredCapacity, LocalDateTime startTime, LocalDateTime endTime) {
         log.info("Finding available halls for capacity: {}, start: {}, end: {}", 
                 requiredCapacity, startTime, endTime);
@@ -58,6 +61,7 @@ public class HallService {
         return availableHalls;
     }
     
+    @Transactional(readOnly = true)
     public List<Hall> getAvailableHallsExcludingEvent(Integer requiredCapacity, LocalDateTime startTime, 
                                                      LocalDateTime endTime, Long excludeEventId) {
         log.info("Finding available halls excluding event: {}", excludeEventId);
@@ -73,6 +77,7 @@ public class HallService {
         return hallRepository.findAvailableHallsExcludingEvent(requiredCapacity, startTime, endTime, excludeEventId);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Hall> getBestFitHall(Integer requiredCapacity, LocalDateTime startTime, LocalDateTime endTime) {
         List<Hall> availableHalls = getAvailableHalls(requiredCapacity, startTime, endTime);
         
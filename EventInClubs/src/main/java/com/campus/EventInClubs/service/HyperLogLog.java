@@ -0,0 +1,107 @@
+package com.campus.EventInClubs.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct-count sketch: 2^precision one-byte registers, each
+ * holding the longest run of leading zeros seen among the hashes routed to
+ * it. The standard error is about 1.04 / sqrt(2^precision).
+ * <p>
+ * Offers may come from many threads; a register is only locked when it has to
+ * grow, which after the first few views of an item is rare.
+ */
+public final class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /** A sketch over registers previously taken from {@link #toBytes()}. */
+    public static HyperLogLog of(byte[] registers) {
+        int precision = Integer.numberOfTrailingZeros(registers.length);
+        if (registers.length != 1 << precision) {
+            throw new IllegalArgumentException("Register count must be a power of two");
+        }
+        HyperLogLog sketch = new HyperLogLog(precision);
+        System.arraycopy(registers, 0, sketch.registers, 0, registers.length);
+        return sketch;
+    }
+
+    /** Returns true if the sketch changed. */
+    public boolean offer(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // The guard bit caps the rank at 64 - precision + 1 when the remaining bits are all zero
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (registers[index] >= rank) {
+            return false;
+        }
+        synchronized (this) {
+            if (registers[index] >= rank) {
+                return false;
+            }
+            registers[index] = rank;
+            return true;
+        }
+    }
+
+    public boolean offer(String value) {
+        return offer(hash(value));
+    }
+
+    /** Folds another sketch of the same precision into this one; the result counts the union. */
+    public synchronized void merge(byte[] other) {
+        if (other.length != registers.length) {
+            throw new IllegalArgumentException("Cannot merge sketches of different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other[i] > registers[i]) {
+                registers[i] = other[i];
+            }
+        }
+    }
+
+    public synchronized byte[] toBytes() {
+        return Arrays.copyOf(registers, registers.length);
+    }
+
+    public synchronized long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = 0.7213 / (1 + 1.079 / m) * m * m / sum;
+        // Small cardinalities are counted far better from the share of empty registers
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /** 64-bit FNV-1a, finished with the murmur3 mixer so short keys still spread over the high bits. */
+    public static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,337 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.IdeaRanking;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scores ideas for the "top", "hot" and "rising" lists and keeps them in
+ * idea_rankings, one row per list an idea appears in, so reading a list is a
+ * single index range scan.
+ * <ul>
+ *   <li>top: Wilson lower bound of the upvote share, so a few votes do not outrank many</li>
+ *   <li>hot: that share times activity (votes and comments) decaying with a half-life of hours</li>
+ *   <li>rising: activity decaying much faster, for ideas posted recently</li>
+ * </ul>
+ * Votes and comments are added up in memory once their transaction commits,
+ * and a flush every second applies each idea's sum in one short transaction,
+ * as ViewCountService does for views. A vote therefore never waits on the
+ * score row lock of a popular idea, and a burst of votes on it costs one
+ * update per flush. Between events, decay is applied by a periodic pass over
+ * ideas that were active within the last decay window; older ideas have long
+ * since settled and are left alone.
+ */
+@Service
+@Slf4j
+public class IdeaRankingService {
+
+    public enum Sort {
+        TOP("top_score"), HOT("hot_score"), RISING("rising_score");
+
+        private final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+    }
+
+    public record Ranked(Long ideaId, long upvotes, long downvotes) {}
+
+    public record Scores(double top, double hot, double rising) {}
+
+    // Votes and comments on one idea not yet applied; activity is the engagement they add
+    private record Delta(int upvotes, int downvotes, int comments, double activity) {
+
+        Delta plus(Delta other) {
+            return new Delta(upvotes + other.upvotes, downvotes + other.downvotes,
+                    comments + other.comments, activity + other.activity);
+        }
+    }
+
+    private record Activity(Long ideaId, int upvotes, int downvotes, double activity, double recentActivity,
+                            Instant activityAt, Instant ideaCreatedAt) {}
+
+    // 95% confidence for the Wilson interval
+    private static final double Z = 1.96;
+    // Lets ideas nobody has voted on yet rank by activity rather than all sit at zero
+    private static final double HOT_PRIOR = 0.1;
+    // Caps the exponent: 2^-1000 is already zero for ranking purposes and stays clear of underflow
+    private static final int MAX_HALF_LIVES = 1000;
+
+    private static final String DECAY =
+            "power(0.5, LEAST(GREATEST(EXTRACT(EPOCH FROM (CAST(? AS TIMESTAMPTZ) - %s)), 0) / ?, " + MAX_HALF_LIVES + "))";
+
+    private static final String ACTIVITY_COLUMNS = "idea_id, upvotes, downvotes, activity, recent_activity, activity_at, idea_created_at";
+
+    private static final String RECORD =
+            "UPDATE idea_scores SET upvotes = upvotes + ?, downvotes = downvotes + ?, comments = comments + ?, " +
+            "activity = activity * " + DECAY.formatted("activity_at") + " + ?, " +
+            "recent_activity = recent_activity * " + DECAY.formatted("activity_at") + " + ?, " +
+            "activity_at = GREATEST(activity_at, ?), decay_until = GREATEST(decay_until, ?), ranked_at = ? " +
+            "WHERE idea_id = ? RETURNING " + ACTIVITY_COLUMNS;
+
+    // Ideas created through any path; the creation itself counts as one unit of activity
+    private static final String TRACK_SCORES =
+            "INSERT INTO idea_scores (idea_id, upvotes, downvotes, comments, activity, recent_activity, activity_at, idea_created_at, decay_until) " +
+            "SELECT id, 0, 0, 0, 1, 1, ?, created_at, ? FROM ideas WHERE id = ? ON CONFLICT (idea_id) DO NOTHING";
+
+    private static final String RANKING_ROWS =
+            "INSERT INTO idea_rankings (scope, scope_id, idea_id, top_score, hot_score, rising_score) " +
+            "SELECT s.scope, s.scope_id, i.id, 0, 0, 0 FROM ideas i " +
+            "LEFT JOIN events e ON e.id = i.event_id LEFT JOIN problems p ON p.id = i.problem_id " +
+            "CROSS JOIN LATERAL (VALUES ('ALL', CAST(0 AS BIGINT)), ('EVENT', i.event_id), ('PROBLEM', i.problem_id), " +
+            "  ('CLUB', COALESCE(e.club_id, p.club_id))) AS s(scope, scope_id) " +
+            "WHERE i.is_active AND s.scope_id IS NOT NULL AND %s " +
+            "ON CONFLICT (scope, scope_id, idea_id) DO NOTHING";
+
+    // Ideas with votes or comments from before scoring existed, or written around the services (the synthetic seeder)
+    private static final String BACKFILL_SCORES =
+            "INSERT INTO idea_scores (idea_id, upvotes, downvotes, comments, activity, recent_activity, activity_at, idea_created_at, decay_until) " +
+            "SELECT i.id, COALESCE(v.up, 0), COALESCE(v.down, 0), COALESCE(c.n, 0), " +
+            "  " + DECAY.formatted("i.created_at") + " + COALESCE(v.activity, 0) + COALESCE(c.activity, 0), " +
+            "  " + DECAY.formatted("i.created_at") + " + COALESCE(v.recent, 0) + COALESCE(c.recent, 0), " +
+            "  ?, i.created_at, GREATEST(i.created_at, v.last_at, c.last_at) + CAST(? AS INTERVAL) " +
+            "FROM ideas i " +
+            "LEFT JOIN LATERAL (SELECT COUNT(*) FILTER (WHERE vote_type = 'UP') AS up, COUNT(*) FILTER (WHERE vote_type = 'DOWN') AS down, " +
+            "  SUM(" + DECAY.formatted("created_at") + ") AS activity, SUM(" + DECAY.formatted("created_at") + ") AS recent, " +
+            "  MAX(created_at) AS last_at FROM votes WHERE idea_id = i.id) v ON TRUE " +
+            "LEFT JOIN LATERAL (SELECT COUNT(*) AS n, " +
+            "  SUM(" + DECAY.formatted("created_at") + ") AS activity, SUM(" + DECAY.formatted("created_at") + ") AS recent, " +
+            "  MAX(created_at) AS last_at FROM comments WHERE idea_id = i.id AND is_active) c ON TRUE " +
+            "WHERE i.is_active AND NOT EXISTS (SELECT 1 FROM idea_scores s WHERE s.idea_id = i.id)";
+
+    private static final String PRUNE_INACTIVE =
+            "DELETE FROM idea_rankings r USING ideas i WHERE r.idea_id = i.id AND NOT i.is_active";
+
+    // Locked rows are being rescored by a flush right now, so the pass skips them
+    private static final String LOCK_DECAYING =
+            "SELECT " + ACTIVITY_COLUMNS + " FROM idea_scores " +
+            "WHERE (ranked_at IS NULL OR decay_until > ranked_at) AND idea_id > ? " +
+            "ORDER BY idea_id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String UPDATE_RANKINGS =
+            "UPDATE idea_rankings SET top_score = ?, hot_score = ?, rising_score = ? WHERE idea_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, Delta> pending = new ConcurrentHashMap<>();
+    // One flush at a time
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Value("${app.ideas.ranking.hot-half-life-hours:24}")
+    private double hotHalfLifeHours = 24;
+
+    @Value("${app.ideas.ranking.rising-half-life-hours:3}")
+    private double risingHalfLifeHours = 3;
+
+    @Value("${app.ideas.ranking.rising-max-age-hours:48}")
+    private long risingMaxAgeHours = 48;
+
+    // After this long without activity an idea's hot score has decayed to about 1% and is no longer refreshed
+    @Value("${app.ideas.ranking.decay-window-hours:168}")
+    private long decayWindowHours = 168;
+
+    @Value("${app.ideas.ranking.decay-batch-size:500}")
+    private int decayBatchSize = 500;
+
+    public IdeaRankingService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /** Adds a newly persisted idea to its lists; joins the caller's transaction. */
+    public void track(Long ideaId) {
+        Instant now = Instant.now();
+        jdbcTemplate.update(TRACK_SCORES, Timestamp.from(now), Timestamp.from(now.plus(decayWindow())), ideaId);
+        jdbcTemplate.update(RANKING_ROWS.formatted("i.id = ?"), ideaId);
+        record(ideaId, 0, 0, 0, 0);
+    }
+
+    /** Takes a deactivated idea off every list; its tallies stay in case it comes back. */
+    public void untrack(Long ideaId) {
+        jdbcTemplate.update("DELETE FROM idea_rankings WHERE idea_id = ?", ideaId);
+    }
+
+    /** A vote was cast, withdrawn or flipped; deltas are -1, 0 or 1. Applied by the next flush after commit. */
+    public void recordVote(Long ideaId, int upDelta, int downDelta) {
+        // Withdrawing a vote is not engagement; casting or changing one is
+        afterCommit(ideaId, new Delta(upDelta, downDelta, 0, upDelta > 0 || downDelta > 0 ? 1 : 0));
+    }
+
+    public void recordComment(Long ideaId, int delta) {
+        afterCommit(ideaId, new Delta(0, 0, delta, delta > 0 ? 1 : 0));
+    }
+
+    private void afterCommit(Long ideaId, Delta delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.merge(ideaId, delta, Delta::plus);
+                }
+            });
+        } else {
+            pending.merge(ideaId, delta, Delta::plus);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ideas.ranking.flush-interval-ms:1000}", initialDelayString = "${app.ideas.ranking.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushLocked() {
+        // Removing takes the idea's sum whole: merge and remove are atomic per key
+        Map<Long, Delta> draining = new TreeMap<>();
+        for (Long ideaId : new ArrayList<>(pending.keySet())) {
+            Delta delta = pending.remove(ideaId);
+            if (delta != null) {
+                draining.put(ideaId, delta);
+            }
+        }
+        if (draining.isEmpty()) {
+            return;
+        }
+        try {
+            // In id order, so that two nodes flushing together cannot deadlock
+            transactionTemplate.executeWithoutResult(status -> draining.forEach((ideaId, delta) ->
+                    record(ideaId, delta.upvotes(), delta.downvotes(), delta.comments(), delta.activity())));
+        } catch (RuntimeException e) {
+            // Put them back for the next flush rather than lose them
+            draining.forEach((ideaId, delta) -> pending.merge(ideaId, delta, Delta::plus));
+            log.warn("Could not apply votes and comments to {} idea scores, will retry: {}", draining.size(), e.getMessage());
+        }
+    }
+
+    int pendingIdeas() {
+        return pending.size();
+    }
+
+    /** Ideas in the list, best first, with their vote tallies. */
+    public List<Ranked> ranked(Sort sort, IdeaRanking.Scope scope, Long scopeId, int limit) {
+        // The inner query is the range read of the list's index; the tallies are joined onto just those rows
+        String sql = "SELECT r.idea_id, s.upvotes, s.downvotes FROM (SELECT idea_id, " + sort.column + " AS score FROM idea_rankings " +
+                "WHERE scope = ? AND scope_id = ? ORDER BY " + sort.column + " DESC, idea_id DESC LIMIT ?) r " +
+                "JOIN idea_scores s ON s.idea_id = r.idea_id ORDER BY r.score DESC, r.idea_id DESC";
+        return jdbcTemplate.query(sql, (rs, row) -> new Ranked(rs.getLong("idea_id"), rs.getLong("upvotes"), rs.getLong("downvotes")),
+                scope.name(), scope == IdeaRanking.Scope.ALL ? 0L : scopeId, limit);
+    }
+
+    private void record(Long ideaId, int upDelta, int downDelta, int commentDelta, double weight) {
+        Instant now = Instant.now();
+        Timestamp at = Timestamp.from(now);
+        List<Activity> updated = jdbcTemplate.query(RECORD, IdeaRankingService::activity,
+                upDelta, downDelta, commentDelta,
+                at, hotHalfLifeHours * 3600, weight,
+                at, risingHalfLifeHours * 3600, weight,
+                at, Timestamp.from(now.plus(decayWindow())), at, ideaId);
+        if (updated.isEmpty()) {
+            // Not scored yet; the next decay pass backfills it from the votes and comments themselves
+            return;
+        }
+        Scores scores = score(updated.get(0), now);
+        jdbcTemplate.update(UPDATE_RANKINGS, scores.top(), scores.hot(), scores.rising(), ideaId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ideas.ranking.decay-interval-ms:300000}", initialDelayString = "${app.ideas.ranking.decay-initial-delay-ms:30000}")
+    public void applyDecay() {
+        Instant now = Instant.now();
+        Timestamp at = Timestamp.from(now);
+        double hotSeconds = hotHalfLifeHours * 3600;
+        double risingSeconds = risingHalfLifeHours * 3600;
+        int backfilled = jdbcTemplate.update(BACKFILL_SCORES,
+                at, hotSeconds, at, risingSeconds, at, decayWindowHours + " hours",
+                at, hotSeconds, at, risingSeconds,
+                at, hotSeconds, at, risingSeconds);
+        jdbcTemplate.update(RANKING_ROWS.formatted("NOT EXISTS (SELECT 1 FROM idea_rankings r WHERE r.idea_id = i.id)"));
+        jdbcTemplate.update(PRUNE_INACTIVE);
+
+        long[] after = {0};
+        int rescored = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<Activity> decaying = jdbcTemplate.query(LOCK_DECAYING, IdeaRankingService::activity, after[0], decayBatchSize);
+                List<Object[]> rankings = decaying.stream().map(row -> {
+                    Scores scores = score(row, now);
+                    return new Object[]{scores.top(), scores.hot(), scores.rising(), row.ideaId()};
+                }).toList();
+                jdbcTemplate.batchUpdate(UPDATE_RANKINGS, rankings);
+                jdbcTemplate.batchUpdate("UPDATE idea_scores SET ranked_at = ? WHERE idea_id = ?",
+                        decaying.stream().map(row -> new Object[]{at, row.ideaId()}).toList());
+                if (!decaying.isEmpty()) {
+                    after[0] = decaying.get(decaying.size() - 1).ideaId();
+                }
+                return decaying.size();
+            });
+            rescored += batch;
+        } while (batch == decayBatchSize);
+        if (backfilled > 0 || rescored > 0) {
+            log.info("Idea rankings: {} ideas backfilled, {} rescored for decay", backfilled, rescored);
+        }
+    }
+
+    private Scores score(Activity row, Instant now) {
+        double share = wilsonLowerBound(row.upvotes(), row.downvotes());
+        double hot = (share + HOT_PRIOR) * decayed(row.activity(), row.activityAt(), now, hotHalfLifeHours);
+        boolean young = row.ideaCreatedAt().isAfter(now.minus(Duration.ofHours(risingMaxAgeHours)));
+        double rising = young ? decayed(row.recentActivity(), row.activityAt(), now, risingHalfLifeHours) : 0;
+        return new Scores(share, hot, rising);
+    }
+
+    /** Lower end of the 95% Wilson interval for the share of upvotes; 0 without votes. */
+    static double wilsonLowerBound(long upvotes, long downvotes) {
+        long n = upvotes + downvotes;
+        if (n <= 0) {
+            return 0;
+        }
+        double p = (double) upvotes / n;
+        double z2 = Z * Z;
+        return (p + z2 / (2 * n) - Z * Math.sqrt((p * (1 - p) + z2 / (4 * n)) / n)) / (1 + z2 / n);
+    }
+
+    /** The value an exponentially decaying quantity had at {@code from} has fallen to this by {@code to}. */
+    static double decayed(double value, Instant from, Instant to, double halfLifeHours) {
+        double hours = Math.max(0, Duration.between(from, to).toMillis() / 3_600_000.0);
+        return value * Math.pow(0.5, Math.min(hours / halfLifeHours, MAX_HALF_LIVES));
+    }
+
+    private Duration decayWindow() {
+        return Duration.ofHours(decayWindowHours);
+    }
+
+    private static Activity activity(ResultSet rs, int row) throws SQLException {
+        return new Activity(rs.getLong("idea_id"), rs.getInt("upvotes"), rs.getInt("downvotes"),
+                rs.getDouble("activity"), rs.getDouble("recent_activity"),
+                rs.getTimestamp("activity_at").toInstant(), rs.getTimestamp("idea_created_at").toInstant());
+    }
+}
@@ -1,6 +1,7 @@
 package com.campus.EventInClubs.service;
 
 import com.campus.EventInClubs.domain.model.Idea;
+import com.campus.EventInClubs.domain.model.IdeaRanking;
 import com.campus.EventInClubs.domain.model.Problem;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.dto.IdeaDto;
@@ -15,7 +16,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,7 +33,9 @@ public class IdeaService {
     private final VoteRepository voteRepository;
     private final NotificationService notificationService;
     private final AchievementService achievementService;
+    private final IdeaRankingService ideaRankingService;
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> getAllActiveIdeas() {
         List<Idea> ideas = ideaRepository.findByIsActiveTrueOrderByCreatedAtDesc();
         return ideas.stream()
@@ -38,6 +43,7 @@ public class IdeaService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> getIdeasByProblem(Long problemId) {
         List<Idea> ideas = ideaRepository.findByProblemIdAndIsActiveTrueOrderByCreatedAtDesc(problemId);
         return ideas.stream()
@@ -45,6 +51,7 @@ public class IdeaService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> getIdeasByUser(Long userId) {
         List<Idea> ideas = ideaRepository.findBySubmittedByIdAndIsActiveTrueOrderByCreatedAtDesc(userId);
         return ideas.stream()
@@ -52,13 +59,25 @@ public class IdeaService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> getTopIdeas() {
-        List<Idea> ideas = ideaRepository.findTopIdeas();
-        return ideas.stream()
-                .map(this::convertToDto)
+        return getRankedIdeas(IdeaRankingService.Sort.TOP, IdeaRanking.Scope.ALL, null, 50);
+    }
+    
+    /** One list from idea_rankings, best first; the ideas themselves are loaded in one query. */
+    @Transactional(readOnly = true)
+    public List<IdeaDto> getRankedIdeas(IdeaRankingService.Sort sort, IdeaRanking.Scope scope, Long scopeId, int limit) {
+        List<IdeaRankingService.Ranked> ranked = ideaRankingService.ranked(sort, scope, scopeId, limit);
+        Map<Long, Idea> ideas = ideaRepository.findWithSubmitterByIdIn(
+                        ranked.stream().map(IdeaRankingService.Ranked::ideaId).toList()).stream()
+                .collect(Collectors.toMap(Idea::getId, Function.identity()));
+        return ranked.stream()
+                .filter(entry -> ideas.containsKey(entry.ideaId()))
+                .map(entry -> convertToDto(ideas.get(entry.ideaId()), entry.upvotes(), entry.downvotes()))
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> getFeaturedIdeas() {
         List<Idea> ideas = ideaRepository.findByIsFeaturedTrueAndIsActiveTrueOrderByCreatedAtDesc();
         return ideas.stream()
@@ -66,6 +85,7 @@ public class IdeaService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> getIdeasByStatus(String status) {
         List<Idea> ideas = ideaRepository.findByStatusAndIsActiveTrueOrderByCreatedAtDesc(status);
         return ideas.stream()
@@ -73,6 +93,7 @@ public class IdeaService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> searchIdeas(String searchTerm) {
         List<Idea> ideas = ideaRepository.searchActiveIdeas(searchTerm);
         return ideas.stream()
@@ -80,6 +101,7 @@ public class IdeaService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public Optional<IdeaDto> getIdeaById(Long id) {
         return ideaRepository.findById(id)
                 .map(this::convertToDto);
@@ -117,6 +139,8 @@ public class IdeaService {
                 .build();
         
         Idea savedIdea = ideaRepository.save(idea);
+        ideaRankingService.track(savedIdea.getId());
+        problemRepository.adjustIdeaCount(problem.getId(), 1);
         log.info("Created new idea: {} for problem: {}", savedIdea.getTitle(), problem.getTitle());
         
         // Send notification to problem owner
@@ -248,9 +272,14 @@ public class IdeaService {
             throw new RuntimeException("You can only delete your own ideas");
         }
         
+        boolean wasActive = Boolean.TRUE.equals(idea.getIsActive());
         idea.setIsActive(false);
         idea.setUpdatedAt(Instant.now());
         ideaRepository.save(idea);
+        ideaRankingService.untrack(idea.getId());
+        if (wasActive && idea.getProblem() != null) {
+            problemRepository.adjustIdeaCount(idea.getProblem().getId(), -1);
+        }
         log.info("Deactivated idea: {}", idea.getTitle());
     }
     
@@ -258,7 +287,10 @@ public class IdeaService {
         // Calculate vote counts
         long upvotes = voteRepository.countByIdeaIdAndVoteType(idea.getId(), com.campus.EventInClubs.domain.model.Vote.VoteType.UP);
         long downvotes = voteRepository.countByIdeaIdAndVoteType(idea.getId(), com.campus.EventInClubs.domain.model.Vote.VoteType.DOWN);
-        
+        return convertToDto(idea, upvotes, downvotes);
+    }
+    
+    private IdeaDto convertToDto(Idea idea, long upvotes, long downvotes) {
         return IdeaDto.builder()
                 .id(idea.getId())
                 .title(idea.getTitle())
@@ -266,8 +298,8 @@ public class IdeaService {
                 .implementationPlan(idea.getImplementationPlan())
                 .expectedOutcome(idea.getExpectedOutcome())
                 .pptFileUrl(idea.getPptFileUrl())
-                .problemId(idea.getProblem().getId())
-                .problemTitle(idea.getProblem().getTitle())
+                .problemId(idea.getProblem() != null ? idea.getProblem().getId() : null)
+                .problemTitle(idea.getProblem() != null ? idea.getProblem().getTitle() : null)
                 .submittedById(idea.getSubmittedBy().getId())
                 .submittedByName(idea.getSubmittedBy().getName())
                 .status(idea.getStatus().name())
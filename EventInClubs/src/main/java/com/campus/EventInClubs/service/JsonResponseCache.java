@@ -0,0 +1,108 @@
+package com.campus.EventInClubs.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds the serialized JSON of hot list views, together with a gzip variant,
+ * for as long as the view's version stamp is unchanged. Hits skip the database,
+ * DTO conversion and Jackson entirely and are copied straight to the response.
+ */
+@Service
+@Slf4j
+public class JsonResponseCache {
+
+    private record Entry(String etag, byte[] identity, byte[] gzip) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ObjectWriter writer;
+
+    @Value("${app.http.json-cache.max-views:64}")
+    private int maxViews = 64;
+
+    // Below this size gzip framing costs more than it saves
+    @Value("${app.http.json-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes = 1024;
+
+    public JsonResponseCache(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer();
+    }
+
+    /**
+     * Serves the view from cache when its version is unchanged, rebuilding and
+     * re-encoding it once per version otherwise. The representation is chosen
+     * first, so that the 304 check, and the ETag and Last-Modified it writes
+     * onto the response, use that representation's tag.
+     */
+    public ResponseEntity<byte[]> cached(WebRequest request, String view,
+                                         ResourceVersionService.Version version, Supplier<?> body) {
+        Entry entry = entries.get(view);
+        if (entry == null || !entry.etag().equals(version.etag())) {
+            entry = encode(version.etag(), body.get());
+            log.debug("Re-encoded cached view {} ({} bytes)", view, entry.identity().length);
+            if (entries.size() < maxViews || entries.containsKey(view)) {
+                entries.put(view, entry);
+            }
+        }
+        boolean gzipped = acceptsGzip(request) && entry.gzip() != null;
+
+        if (request.checkNotModified(gzipped ? gzipEtag(version.etag()) : version.etag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.gzip());
+        }
+        return response.body(entry.identity());
+    }
+
+    private Entry encode(String etag, Object value) {
+        try {
+            byte[] identity = writer.writeValueAsBytes(value);
+            byte[] gzip = identity.length >= gzipMinBytes ? gzip(identity) : null;
+            return new Entry(etag, identity, gzip);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize cached response: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+}
@@ -0,0 +1,331 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.domain.model.TeamRegistration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes seat counts to students watching event cards, over server-sent events.
+ * <p>
+ * Seat counts of watched events are kept in memory, loaded from the database
+ * when first watched. A committed registration, cancellation, status change or
+ * team registration only marks its event dirty. Once per broadcast interval,
+ * the dirty events are recounted in one query and the changed ones are sent.
+ * However many seats a flash crowd takes, an event therefore costs at most one
+ * query row and one message per subscriber per interval. Each message carries
+ * the new total and the change since the last one, so a client that missed one
+ * is still right after the next.
+ * <p>
+ * Writes from other nodes are caught by the reconcile pass, which recounts
+ * every watched event now and then.
+ * <p>
+ * Each pass writes to every stream in parallel, one virtual thread per
+ * subscriber. A stream still blocked after the send timeout (a client that has
+ * stopped reading) is closed, so it cannot hold up the others.
+ */
+@Service
+@Slf4j
+public class LiveSeatService {
+
+    public record Seats(Long eventId, long taken, Integer capacity, Integer remaining, long delta) {}
+
+    private record Count(long taken, Integer capacity) {}
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Set<Long> eventIds;
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Set<Long> eventIds) {
+            this.emitter = emitter;
+            this.eventIds = eventIds;
+        }
+    }
+
+    // Same rule as EventRegistrationService.getRegistrationCount: team events count members of registered teams
+    private static final String COUNT_SEATS =
+            "SELECT e.id, e.max_participants, CASE WHEN COALESCE(e.is_team_event, FALSE) " +
+            "THEN (SELECT COALESCE(SUM(t.team_size), 0) FROM team_registrations t WHERE t.event_id = e.id AND t.status = 'REGISTERED') " +
+            "ELSE (SELECT COUNT(*) FROM event_registrations r WHERE r.event_id = e.id AND r.status IN ('REGISTERED', 'ATTENDED', 'NO_SHOW')) " +
+            "END AS taken FROM events e WHERE e.id IN (%s)";
+
+    private static final int QUERY_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolTaskExecutor seatBroadcastExecutor;
+    private final AsyncTaskExecutor seatSendExecutor;
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Count> counts = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    // Latest unsent update per event; a slow send lets later updates replace earlier ones here
+    private final ConcurrentHashMap<Long, Seats> outbox = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private volatile boolean heartbeatDue;
+
+    @Value("${app.seats.max-subscribers:2000}")
+    private int maxSubscribers = 2000;
+
+    @Value("${app.seats.max-events-per-subscription:100}")
+    private int maxEventsPerSubscription = 100;
+
+    @Value("${app.seats.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs = 1_800_000;
+
+    @Value("${app.seats.send-timeout-ms:2000}")
+    private long sendTimeoutMs = 2000;
+
+    public LiveSeatService(JdbcTemplate jdbcTemplate, ThreadPoolTaskExecutor seatBroadcastExecutor,
+                           AsyncTaskExecutor seatSendExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seatBroadcastExecutor = seatBroadcastExecutor;
+        this.seatSendExecutor = seatSendExecutor;
+    }
+
+    /**
+     * Opens a stream of seat updates for the given events, starting with their
+     * current counts. Throws IllegalArgumentException for too many events and
+     * IllegalStateException when the node has no room for another stream.
+     */
+    public SseEmitter subscribe(Collection<Long> eventIds) {
+        Set<Long> watched = new LinkedHashSet<>(eventIds);
+        if (watched.isEmpty() || watched.size() > maxEventsPerSubscription) {
+            throw new IllegalArgumentException("Watch between 1 and " + maxEventsPerSubscription + " events");
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many live seat streams, try again later");
+        }
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter, watched);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        for (Long eventId : watched) {
+            subscribers.computeIfAbsent(eventId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        List<Long> unknown = watched.stream().filter(id -> !counts.containsKey(id)).toList();
+        Map<Long, Count> loaded = load(unknown);
+        loaded.forEach(counts::putIfAbsent);
+        try {
+            for (Long eventId : watched) {
+                Count count = counts.getOrDefault(eventId, loaded.get(eventId));
+                if (count != null) {
+                    emitter.send(SseEmitter.event().name("seats").data(seats(eventId, count, 0)));
+                }
+            }
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(streamTimeoutMs);
+    }
+
+    /** Called by the entity listener for every registration, team registration and event write. */
+    public void entityChanged(Object entity) {
+        Long eventId = null;
+        if (entity instanceof EventRegistration registration && registration.getEvent() != null) {
+            eventId = registration.getEvent().getId();
+        } else if (entity instanceof TeamRegistration team && team.getEvent() != null) {
+            eventId = team.getEvent().getId();
+        } else if (entity instanceof Event event) {
+            // Capacity may have changed
+            eventId = event.getId();
+        }
+        if (eventId != null && subscribers.containsKey(eventId)) {
+            seatsChanged(eventId);
+        }
+    }
+
+    /** For writes the entity listener never sees (bulk updates, JDBC imports). */
+    public void seatsChanged(Long eventId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirty.add(eventId);
+                }
+            });
+        } else {
+            dirty.add(eventId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onWaitlistPromoted(WaitlistPromotionService.WaitlistPromoted promoted) {
+        dirty.add(promoted.eventId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRegistrationsImported(RegistrationImportService.RegistrationsImported imported) {
+        dirty.add(imported.eventId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.seats.broadcast-interval-ms:1000}")
+    public void broadcast() {
+        List<Long> changed = new ArrayList<>();
+        for (Long eventId : dirty) {
+            dirty.remove(eventId);
+            if (subscribers.containsKey(eventId)) {
+                changed.add(eventId);
+            }
+        }
+        if (changed.isEmpty() && !heartbeatDue) {
+            return;
+        }
+        try {
+            load(changed).forEach((eventId, count) -> {
+                Count previous = counts.put(eventId, count);
+                if (!count.equals(previous)) {
+                    long delta = previous == null ? 0 : count.taken() - previous.taken();
+                    outbox.merge(eventId, seats(eventId, count, delta),
+                            (queued, latest) -> seats(eventId, count, queued.delta() + latest.delta()));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Recount them next time rather than leave watchers on stale numbers
+            dirty.addAll(changed);
+            log.warn("Could not recount seats for {} events: {}", changed.size(), e.getMessage());
+        }
+        if (!outbox.isEmpty() || heartbeatDue) {
+            // One thread and one queued run: a run already queued sends whatever is in the outbox by then
+            seatBroadcastExecutor.execute(this::send);
+        }
+    }
+
+    /** Recounts every watched event, catching writes made on other nodes, and keeps idle streams open. */
+    @Scheduled(fixedDelayString = "${app.seats.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        dirty.addAll(subscribers.keySet());
+        heartbeatDue = true;
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    void send() {
+        Map<Subscriber, List<SseEmitter.SseEventBuilder>> mail = new LinkedHashMap<>();
+        if (heartbeatDue) {
+            heartbeatDue = false;
+            Set<Subscriber> everyone = new HashSet<>();
+            subscribers.values().forEach(everyone::addAll);
+            everyone.forEach(subscriber -> mail.computeIfAbsent(subscriber, s -> new ArrayList<>())
+                    .add(SseEmitter.event().comment("keep-alive")));
+        }
+        for (Long eventId : new ArrayList<>(outbox.keySet())) {
+            Seats seats = outbox.remove(eventId);
+            Set<Subscriber> watching = subscribers.get(eventId);
+            if (seats == null || watching == null) {
+                continue;
+            }
+            for (Subscriber subscriber : watching) {
+                mail.computeIfAbsent(subscriber, s -> new ArrayList<>()).add(SseEmitter.event().name("seats").data(seats));
+            }
+        }
+
+        Map<Subscriber, Future<?>> sending = new HashMap<>();
+        mail.forEach((subscriber, events) -> sending.put(subscriber, seatSendExecutor.submit(() -> deliver(subscriber, events))));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        sending.forEach((subscriber, future) -> {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Its socket buffer is full: the client has stopped reading
+                log.debug("Closing a live seat stream that blocked for over {} ms", sendTimeoutMs);
+                future.cancel(true);
+                drop(subscriber, new IOException("Send timed out after " + sendTimeoutMs + " ms"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                drop(subscriber, e.getCause());
+            }
+        });
+    }
+
+    private void deliver(Subscriber subscriber, List<SseEmitter.SseEventBuilder> events) {
+        try {
+            for (SseEmitter.SseEventBuilder event : events) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away
+            drop(subscriber, e);
+        }
+    }
+
+    private void drop(Subscriber subscriber, Throwable cause) {
+        if (unsubscribe(subscriber)) {
+            subscriber.emitter.completeWithError(cause);
+        }
+    }
+
+    /** Returns false if the subscriber was already gone. */
+    private boolean unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscriberCount.decrementAndGet();
+        for (Long eventId : subscriber.eventIds) {
+            Set<Subscriber> remaining = subscribers.computeIfPresent(eventId, (id, watching) -> {
+                watching.remove(subscriber);
+                return watching.isEmpty() ? null : watching;
+            });
+            if (remaining == null) {
+                counts.remove(eventId);
+            }
+        }
+        return true;
+    }
+
+    private Map<Long, Count> load(List<Long> eventIds) {
+        Map<Long, Count> loaded = new HashMap<>();
+        for (int from = 0; from < eventIds.size(); from += QUERY_CHUNK) {
+            List<Long> chunk = eventIds.subList(from, Math.min(from + QUERY_CHUNK, eventIds.size()));
+            jdbcTemplate.query(COUNT_SEATS.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?"))), rs -> {
+                Number capacity = (Number) rs.getObject("max_participants");
+                loaded.put(rs.getLong("id"), new Count(rs.getLong("taken"), capacity == null ? null : capacity.intValue()));
+            }, chunk.toArray());
+        }
+        return loaded;
+    }
+
+    private static Seats seats(Long eventId, Count count, long delta) {
+        Integer remaining = count.capacity() == null ? null : (int) Math.max(0, count.capacity() - count.taken());
+        return new Seats(eventId, count.taken(), count.capacity(), remaining, delta);
+    }
+}
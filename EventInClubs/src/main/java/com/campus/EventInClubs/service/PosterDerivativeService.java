@@ -0,0 +1,320 @@
+package com.campus.EventInClubs.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Produces width-bounded copies of uploaded posters so list pages need not pull
+ * the originals. Work is queued in image_derivative_jobs and run on the bounded
+ * imageExecutor, right after the upload commits and again from a sweep for
+ * anything missed. Variants are written next to the original as
+ * {@code <name>-thumb.jpg} and {@code <name>-card.jpg}.
+ */
+@Service
+@Slf4j
+public class PosterDerivativeService {
+
+    public enum Variant {
+        THUMBNAIL("thumb", 320), CARD("card", 800);
+
+        private final String suffix;
+        private final int maxWidth;
+
+        Variant(String suffix, int maxWidth) {
+            this.suffix = suffix;
+            this.maxWidth = maxWidth;
+        }
+
+        public int maxWidth() {
+            return maxWidth;
+        }
+    }
+
+    public record DerivativesRequested(String sourceUrl) {}
+
+    private static final String LOCAL_PREFIX = "/uploads/";
+    private static final int LARGEST_WIDTH = Variant.CARD.maxWidth;
+
+    private static final String ENQUEUE =
+            "INSERT INTO image_derivative_jobs (source_url, status, attempts, created_at, updated_at) " +
+            "VALUES (?, 'PENDING', 0, ?, ?) ON CONFLICT (source_url) DO NOTHING";
+
+    // Posters set on events without going through an upload endpoint (and those from before this pipeline)
+    private static final String ENQUEUE_MISSING =
+            "INSERT INTO image_derivative_jobs (source_url, status, attempts, created_at, updated_at) " +
+            "SELECT DISTINCT e.image_url, 'PENDING', 0, CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP) FROM events e " +
+            "WHERE e.image_url LIKE '" + LOCAL_PREFIX + "%' " +
+            "AND NOT EXISTS (SELECT 1 FROM image_derivative_jobs j WHERE j.source_url = e.image_url) " +
+            "ON CONFLICT (source_url) DO NOTHING";
+
+    // Only one node or thread wins a job; a RUNNING row past the stale cutoff belonged to a worker that died
+    private static final String CLAIM =
+            "UPDATE image_derivative_jobs SET status = 'RUNNING', attempts = attempts + 1, updated_at = ? " +
+            "WHERE source_url = ? AND (status = 'PENDING' OR (status = 'RUNNING' AND updated_at < ?))";
+
+    private static final String FIND_CLAIMABLE =
+            "SELECT source_url FROM image_derivative_jobs " +
+            "WHERE status = 'PENDING' OR (status = 'RUNNING' AND updated_at < ?) ORDER BY created_at LIMIT ?";
+
+    private static final String FIND_COMPLETED =
+            "SELECT source_url, completed_at FROM image_derivative_jobs WHERE status = 'DONE' AND completed_at >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolTaskExecutor imageExecutor;
+    private final ResourceVersionService resourceVersionService;
+    private final Path uploadRoot;
+
+    // Sources whose variants are on disk; EventDto only links variants that exist
+    private final Set<String> ready = ConcurrentHashMap.newKeySet();
+    private volatile Timestamp completedWatermark = new Timestamp(0);
+
+    @Value("${app.images.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    @Value("${app.images.stale-after-minutes:10}")
+    private long staleAfterMinutes = 10;
+
+    @Value("${app.images.sweep-batch-size:50}")
+    private int sweepBatchSize = 50;
+
+    // Decoding is bounded by pixels rather than bytes: a small compressed file can expand to gigabytes
+    @Value("${app.images.max-source-pixels:50000000}")
+    private long maxSourcePixels = 50_000_000L;
+
+    @Value("${app.images.jpeg-quality:0.82}")
+    private float jpegQuality = 0.82f;
+
+    public PosterDerivativeService(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                                   ThreadPoolTaskExecutor imageExecutor, ResourceVersionService resourceVersionService,
+                                   @Value("${app.uploads.dir:${user.dir}/uploads}") String uploadDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.imageExecutor = imageExecutor;
+        this.resourceVersionService = resourceVersionService;
+        this.uploadRoot = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Queues variants for a locally stored image. The job row joins the caller's
+     * transaction, if any; the work starts once it commits.
+     */
+    public void requestDerivatives(String sourceUrl) {
+        if (sourcePath(sourceUrl) == null) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(ENQUEUE, sourceUrl, now, now);
+        eventPublisher.publishEvent(new DerivativesRequested(sourceUrl));
+    }
+
+    @Async("imageExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDerivativesRequested(DerivativesRequested requested) {
+        process(requested.sourceUrl());
+    }
+
+    /** URL of the variant, or null while it has not been produced (or the image is not stored here). */
+    public String derivativeUrl(String sourceUrl, Variant variant) {
+        return sourceUrl != null && ready.contains(sourceUrl) ? variantUrl(sourceUrl, variant) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.images.sweep-interval-ms:60000}", initialDelayString = "${app.images.sweep-initial-delay-ms:15000}")
+    public void sweep() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int queued = jdbcTemplate.update(ENQUEUE_MISSING, now, now);
+        if (queued > 0) {
+            log.info("Queued image variants for {} existing posters", queued);
+        }
+        refreshReady();
+
+        // The pool discards work it has no room for, so only hand it what fits; the rest waits for the next sweep
+        int room = Math.min(sweepBatchSize, imageExecutor.getQueueCapacity() - imageExecutor.getQueueSize());
+        if (room <= 0) {
+            return;
+        }
+        for (String sourceUrl : jdbcTemplate.queryForList(FIND_CLAIMABLE, String.class, staleCutoff(), room)) {
+            imageExecutor.execute(() -> process(sourceUrl));
+        }
+    }
+
+    /** Claims the job for the image and writes its variants; returns false if another worker had it. */
+    boolean process(String sourceUrl) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(CLAIM, now, sourceUrl, staleCutoff()) == 0) {
+            return false;
+        }
+        try {
+            Path source = sourcePath(sourceUrl);
+            if (source == null || !Files.exists(source)) {
+                throw new IOException("Source image not found");
+            }
+            long started = System.nanoTime();
+            writeVariants(source);
+            jdbcTemplate.update("UPDATE image_derivative_jobs SET status = 'DONE', last_error = NULL, updated_at = ?, completed_at = ? " +
+                    "WHERE source_url = ?", Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now()), sourceUrl);
+            ready.add(sourceUrl);
+            resourceVersionService.markChanged(ResourceVersionService.Resource.EVENTS);
+            log.info("Wrote image variants for {} in {} ms", sourceUrl, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception | OutOfMemoryError e) {
+            // Left PENDING, the next sweep retries it (about a minute later) until the attempts run out
+            jdbcTemplate.update("UPDATE image_derivative_jobs SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'PENDING' END, " +
+                    "last_error = ?, updated_at = ? WHERE source_url = ?",
+                    maxAttempts, String.valueOf(e.getMessage()), Timestamp.valueOf(LocalDateTime.now()), sourceUrl);
+            log.warn("Could not write image variants for {}: {}", sourceUrl, e.getMessage());
+        }
+        return true;
+    }
+
+    private void refreshReady() {
+        boolean[] added = {false};
+        jdbcTemplate.query(FIND_COMPLETED, rs -> {
+            added[0] |= ready.add(rs.getString("source_url"));
+            Timestamp completedAt = rs.getTimestamp("completed_at");
+            if (completedAt.after(completedWatermark)) {
+                completedWatermark = completedAt;
+            }
+        }, completedWatermark);
+        if (added[0]) {
+            // Another node finished them; cached event lists here should start linking the variants
+            resourceVersionService.markChanged(ResourceVersionService.Resource.EVENTS);
+        }
+    }
+
+    void writeVariants(Path source) throws IOException {
+        BufferedImage image = decode(source);
+        String baseName = baseName(source.getFileName().toString());
+        for (Variant variant : Variant.values()) {
+            Path target = source.resolveSibling(baseName + "-" + variant.suffix + ".jpg");
+            Path temp = source.resolveSibling(".variant-" + UUID.randomUUID());
+            try {
+                writeJpeg(scaleToWidth(image, variant.maxWidth), temp);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private BufferedImage decode(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    throw new IOException("Image is " + width + "x" + height + ", above the " + maxSourcePixels + " pixel limit");
+                }
+                // Skipping rows and columns while decoding keeps memory near the output size; twice the
+                // largest width is kept so the final downscale still has pixels to average
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, width / (LARGEST_WIDTH * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Halves the image until one bilinear pass reaches the width; never upscales. Flattens alpha onto white for JPEG. */
+    static BufferedImage scaleToWidth(BufferedImage source, int maxWidth) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        while (width > maxWidth) {
+            width = Math.max(maxWidth, width / 2);
+            height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+            current = draw(current, width, height);
+        }
+        return current.getType() == BufferedImage.TYPE_INT_RGB ? current : draw(current, width, height);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            // Progressive scans show a usable preview early on slow connections
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private Timestamp staleCutoff() {
+        return Timestamp.valueOf(LocalDateTime.now().minusMinutes(staleAfterMinutes));
+    }
+
+    /** Path on disk for a URL under /uploads/, or null for remote URLs and anything escaping the upload root. */
+    Path sourcePath(String sourceUrl) {
+        if (sourceUrl == null || !sourceUrl.startsWith(LOCAL_PREFIX) || sourceUrl.contains("?")) {
+            return null;
+        }
+        Path path = uploadRoot.resolve(sourceUrl.substring(LOCAL_PREFIX.length())).normalize();
+        return path.startsWith(uploadRoot) && !path.equals(uploadRoot) ? path : null;
+    }
+
+    static String variantUrl(String sourceUrl, Variant variant) {
+        int slash = sourceUrl.lastIndexOf('/');
+        return sourceUrl.substring(0, slash + 1) + baseName(sourceUrl.substring(slash + 1)) + "-" + variant.suffix + ".jpg";
+    }
+
+    private static String baseName(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return dot > 0 ? filename.substring(0, dot) : filename;
+    }
+}
@@ -27,6 +27,7 @@ public class ProblemService {
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
     
+    @Transactional(readOnly = true)
     public List<ProblemDto> getAllActiveProblems() {
         List<Problem> problems = problemRepository.findByIsActiveTrueOrderByCreatedAtDesc();
         return problems.stream()
@@ -35,6 +36,7 @@ public class ProblemService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ProblemDto> getProblemsByClub(Long clubId) {
         List<Problem> problems = problemRepository.findByClubIdAndIsActiveTrueOrderByCreatedAtDesc(clubId);
         return problems.stream()
@@ -43,6 +45,7 @@ public class ProblemService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ProblemDto> getTrendingProblems() {
         List<Problem> problems = problemRepository.findTrendingProblems();
         return problems.stream()
@@ -51,6 +54,7 @@ public class ProblemService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ProblemDto> getProblemsByCategory(String category) {
         List<Problem> problems = problemRepository.findByCategoryAndIsActiveTrueOrderByCreatedAtDesc(category);
         return problems.stream()
@@ -59,6 +63,7 @@ public class ProblemService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ProblemDto> searchProblems(String searchTerm) {
         List<Problem> problems = problemRepository.searchActiveProblems(searchTerm);
         return problems.stream()
@@ -67,6 +72,7 @@ public class ProblemService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public Optional<ProblemDto> getProblemById(Long id) {
         return problemRepository.findById(id)
                 .map(this::convertToDto);
@@ -176,6 +182,8 @@ public class ProblemService {
                 .deadline(problem.getDeadline())
                 .isExpired(isExpired)
                 .isViewOnly(isViewOnly)
+                .ideaCount(problem.getIdeaCount())
+                .viewCount(problem.getViewCount() != null ? problem.getViewCount().longValue() : 0L)
                 .createdAt(problem.getCreatedAt())
                 .updatedAt(problem.getUpdatedAt())
                 .build();
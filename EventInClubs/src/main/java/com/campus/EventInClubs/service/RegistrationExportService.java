@@ -0,0 +1,235 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.domain.model.TeamRegistration;
+import com.campus.EventInClubs.service.TabularFileWriter.Format;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an event's registrations or team registrations to CSV/XLSX. Rows come
+ * from a flat projection read through a server-side cursor (PostgreSQL only
+ * uses one with a fetch size inside a transaction), so memory stays constant
+ * however large the event is.
+ */
+@Service
+@Slf4j
+public class RegistrationExportService {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public enum Dataset {
+        REGISTRATIONS("registrations"),
+        TEAMS("teams");
+
+        private final String fileSuffix;
+
+        Dataset(String fileSuffix) {
+            this.fileSuffix = fileSuffix;
+        }
+    }
+
+    public record Export(String filename, String contentType, StreamingResponseBody body) {}
+
+    /** member = only available per team member, so selecting one adds the team_members join. */
+    private record Column(String name, String header, String sql, boolean member) {}
+
+    private static final List<Column> REGISTRATION_COLUMNS = List.of(
+            new Column("registrationId", "Registration ID", "er.id", false),
+            new Column("userId", "User ID", "u.id", false),
+            new Column("name", "Name", "u.name", false),
+            new Column("email", "Email", "u.email", false),
+            new Column("rollNumber", "Roll Number", "er.roll_number", false),
+            new Column("status", "Status", "er.status", false),
+            new Column("paymentStatus", "Payment Status", "er.payment_status", false),
+            new Column("notes", "Notes", "er.registration_notes", false),
+            new Column("registeredAt", "Registered At", "er.registered_at", false),
+            new Column("checkedInAt", "Checked In At", "er.checked_in_at", false));
+
+    private static final List<Column> TEAM_COLUMNS = List.of(
+            new Column("teamId", "Team ID", "tr.id", false),
+            new Column("teamName", "Team Name", "tr.team_name", false),
+            new Column("teamSize", "Team Size", "tr.team_size", false),
+            new Column("registeredByName", "Registered By", "u.name", false),
+            new Column("registeredByEmail", "Registered By Email", "u.email", false),
+            new Column("memberNumber", "Member #", "tm.member_index + 1", true),
+            new Column("memberRollNumber", "Member Roll Number", "tm.roll_number", true),
+            new Column("memberName", "Member Name", "tm.name", true),
+            new Column("memberEmail", "Member Email", "tm.email", true),
+            new Column("status", "Status", "tr.status", false),
+            new Column("paymentStatus", "Payment Status", "tr.payment_status", false),
+            new Column("notes", "Notes", "tr.registration_notes", false),
+            new Column("registeredAt", "Registered At", "tr.registered_at", false));
+
+    private final EventAccessService eventAccessService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.registration-export.fetch-size:500}")
+    private int fetchSize = 500;
+
+    public RegistrationExportService(EventAccessService eventAccessService, JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager) {
+        this.eventAccessService = eventAccessService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Checks access and validates the request up front, so errors can still be
+     * reported as a normal response; the returned body runs the query as the
+     * response is written.
+     *
+     * @param columns column names to include, in order; all columns when empty
+     * @param statuses registration statuses to include; all when empty
+     */
+    public Export prepare(Dataset dataset, Long eventId, Long adminUserId, Format format,
+                          List<String> columns, List<String> statuses) {
+        eventAccessService.requireEventAdmin(eventId, adminUserId);
+        List<Column> selected = selectColumns(dataset == Dataset.TEAMS ? TEAM_COLUMNS : REGISTRATION_COLUMNS, columns);
+        List<String> statusFilter = parseStatuses(dataset, statuses);
+        String sql = buildQuery(dataset, selected, statusFilter.size());
+
+        Object[] params = new Object[1 + statusFilter.size()];
+        params[0] = eventId;
+        for (int i = 0; i < statusFilter.size(); i++) {
+            params[i + 1] = statusFilter.get(i);
+        }
+        String[] header = selected.stream().map(Column::header).toArray(String[]::new);
+        String filename = "event-" + eventId + "-" + dataset.fileSuffix + "." + format.getExtension();
+
+        StreamingResponseBody body = out -> {
+            long started = System.currentTimeMillis();
+            try (TabularFileWriter writer = TabularFileWriter.open(format, out)) {
+                writer.writeRow(header);
+                long rows = stream(sql, params, header.length, writer);
+                log.info("Exported {} {} rows for event {} as {} in {} ms",
+                        rows, dataset.fileSuffix, eventId, format, System.currentTimeMillis() - started);
+            }
+        };
+        return new Export(filename, format.getContentType(), body);
+    }
+
+    private long stream(String sql, Object[] params, int width, TabularFileWriter writer) throws IOException {
+        try {
+            Long rows = readOnlyTransaction.execute(status -> {
+                long[] count = {0};
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    for (int i = 0; i < params.length; i++) {
+                        statement.setObject(i + 1, params[i]);
+                    }
+                    return statement;
+                }, rs -> {
+                    String[] cells = new String[width];
+                    for (int i = 0; i < width; i++) {
+                        cells[i] = format(rs.getObject(i + 1));
+                    }
+                    try {
+                        writer.writeRow(cells);
+                    } catch (IOException e) {
+                        // Usually the client went away; abandons the cursor
+                        throw new UncheckedIOException(e);
+                    }
+                    count[0]++;
+                });
+                return count[0];
+            });
+            return rows != null ? rows : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String buildQuery(Dataset dataset, List<Column> selected, int statusCount) {
+        String select = selected.stream().map(Column::sql).collect(Collectors.joining(", "));
+        String statusIn = statusCount == 0 ? ""
+                : " IN (" + String.join(", ", Collections.nCopies(statusCount, "?")) + ")";
+        if (dataset == Dataset.REGISTRATIONS) {
+            return "SELECT " + select + " FROM event_registrations er JOIN users u ON u.id = er.user_id " +
+                   "WHERE er.event_id = ?" + (statusCount == 0 ? "" : " AND er.status" + statusIn) +
+                   " ORDER BY er.registered_at, er.id";
+        }
+        boolean members = selected.stream().anyMatch(Column::member);
+        // Cancelled teams have no member rows left, so the join is an outer one
+        return "SELECT " + select + " FROM team_registrations tr JOIN users u ON u.id = tr.registered_by " +
+               (members ? "LEFT JOIN team_members tm ON tm.team_registration_id = tr.id " : "") +
+               "WHERE tr.event_id = ?" + (statusCount == 0 ? "" : " AND tr.status" + statusIn) +
+               " ORDER BY tr.registered_at, tr.id" + (members ? ", tm.member_index" : "");
+    }
+
+    private static List<Column> selectColumns(List<Column> available, List<String> requested) {
+        if (requested == null || requested.stream().allMatch(String::isBlank)) {
+            return available;
+        }
+        List<Column> selected = new ArrayList<>();
+        for (String name : requested) {
+            if (name.isBlank()) {
+                continue;
+            }
+            Column column = available.stream()
+                    .filter(c -> c.name().equalsIgnoreCase(name.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("Unknown column '" + name.trim() + "', expected one of "
+                            + available.stream().map(Column::name).collect(Collectors.joining(", "))));
+            if (!selected.contains(column)) {
+                selected.add(column);
+            }
+        }
+        return selected;
+    }
+
+    private static List<String> parseStatuses(Dataset dataset, List<String> statuses) {
+        if (statuses == null) {
+            return List.of();
+        }
+        Enum<?>[] allowed = dataset == Dataset.TEAMS
+                ? TeamRegistration.RegistrationStatus.values()
+                : EventRegistration.RegistrationStatus.values();
+        List<String> parsed = new ArrayList<>();
+        for (String status : statuses) {
+            if (status.isBlank()) {
+                continue;
+            }
+            String name = status.trim().toUpperCase(Locale.ROOT);
+            if (Arrays.stream(allowed).noneMatch(s -> s.name().equals(name))) {
+                throw new RuntimeException("Unknown status '" + status.trim() + "'");
+            }
+            if (!parsed.contains(name)) {
+                parsed.add(name);
+            }
+        }
+        return parsed;
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().format(TIMESTAMP);
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,151 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.domain.model.Notification;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends the in-app notifications and confirmation emails for a bulk import, an
+ * admission-queue batch or a single sign-up once it has committed, on the
+ * notification pool so neither the request nor the queue writer waits on them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RegistrationImportNotifier {
+
+    private static final int EMAIL_CHUNK_SIZE = 200;
+
+    private static final String INSERT_NOTIFICATION =
+            "INSERT INTO notifications (title, message, type, user_id, related_entity_id, related_entity_type, is_read, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, 'EVENT', false, true, ?, ?)";
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final ResourceVersionService resourceVersionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRegistrationsImported(RegistrationImportService.RegistrationsImported imported) {
+        try {
+            Event event = notifyRegistrants(imported.eventId(), imported.registeredUserIds(), imported.waitlistedUserIds());
+
+            notificationService.createNotification(
+                event.getClub().getAdminUser().getId(),
+                "Registrations Imported",
+                String.format("%d registered and %d waitlisted for '%s' from a bulk import",
+                        imported.registeredUserIds().size(), imported.waitlistedUserIds().size(), event.getTitle()),
+                Notification.NotificationType.SYSTEM,
+                event.getId(),
+                "EVENT"
+            );
+
+            sendConfirmationEmails(event, imported.registeredUserIds());
+        } catch (Exception e) {
+            log.error("Failed to send notifications for imported registrations of event {}: {}",
+                    imported.eventId(), e.getMessage(), e);
+        }
+    }
+
+    // The organizer is not told per batch; the queue may commit hundreds of them for one opening
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAdmissionsCommitted(AdmissionQueueService.AdmissionsCommitted admitted) {
+        try {
+            Event event = notifyRegistrants(admitted.eventId(), admitted.registeredUserIds(), admitted.waitlistedUserIds());
+            sendConfirmationEmails(event, admitted.registeredUserIds());
+        } catch (Exception e) {
+            log.error("Failed to send notifications for queued registrations of event {}: {}",
+                    admitted.eventId(), e.getMessage(), e);
+        }
+    }
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRegistered(EventRegistrationService.Registered registered) {
+        try {
+            Event event = notifyRegistrants(registered.eventId(), List.of(registered.userId()), List.of());
+
+            notificationService.createNotification(
+                event.getClub().getAdminUser().getId(),
+                "New Event Registration",
+                String.format("New registration for '%s' by %s", event.getTitle(), registered.userName()),
+                Notification.NotificationType.SYSTEM,
+                event.getId(),
+                "EVENT"
+            );
+
+            sendConfirmationEmails(event, List.of(registered.userId()));
+        } catch (Exception e) {
+            log.error("Failed to send notifications for the registration of user {} for event {}: {}",
+                    registered.userId(), registered.eventId(), e.getMessage(), e);
+        }
+    }
+
+    private Event notifyRegistrants(Long eventId, List<Long> registeredUserIds, List<Long> waitlistedUserIds) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Event event = transaction.execute(status -> {
+            Event loaded = eventRepository.findById(eventId).orElseThrow();
+            // Touch what is read below, outside the transaction
+            loaded.getClub().getAdminUser().getEmail();
+            return loaded;
+        });
+
+        transaction.executeWithoutResult(status -> {
+            insertNotifications(registeredUserIds, "Event Registration Confirmed",
+                    String.format("You have been registered for '%s'", event.getTitle()), event.getId());
+            insertNotifications(waitlistedUserIds, "Added to Waitlist",
+                    String.format("'%s' is full, you have been added to the waitlist", event.getTitle()), event.getId());
+        });
+        List<Long> notified = new ArrayList<>(registeredUserIds);
+        notified.addAll(waitlistedUserIds);
+        resourceVersionService.notificationsChanged(notified);
+        return event;
+    }
+
+    private void insertNotifications(List<Long> userIds, String title, String message, Long eventId) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            batch.add(new Object[]{title, message, Notification.NotificationType.SYSTEM.name(), userId, eventId, now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, batch);
+    }
+
+    private void sendConfirmationEmails(Event event, List<Long> userIds) {
+        String clubAdminEmail = event.getClub().getAdminUser().getEmail();
+        int sent = 0;
+        for (int from = 0; from < userIds.size(); from += EMAIL_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(userIds.size(), from + EMAIL_CHUNK_SIZE));
+            for (EventRegistration registration : registrationRepository.findForEmailByEventIdAndUserIdIn(
+                    event.getId(), chunk, EventRegistration.RegistrationStatus.REGISTERED)) {
+                emailService.sendRegistrationConfirmation(registration, clubAdminEmail);
+                sent++;
+            }
+        }
+        log.info("Sent {} confirmation emails for registrations of event {}", sent, event.getId());
+    }
+}
@@ -0,0 +1,283 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.dto.RegistrationImportReport;
+import com.campus.EventInClubs.dto.RegistrationImportReport.Outcome;
+import com.campus.EventInClubs.dto.RegistrationImportReport.RowResult;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk registration from a CSV/XLSX sheet with an email column (roll number and
+ * notes optional). Rows are streamed and handled in chunks: users are resolved
+ * and duplicates found with one query each per chunk, and accepted rows go in
+ * as one JDBC batch. Notifications and emails follow after commit, off-thread.
+ * The event row stays locked for the whole import, as for a single sign-up,
+ * so seats and the waitlist cannot move underneath it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RegistrationImportService {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final String INSERT_REGISTRATION =
+            "INSERT INTO event_registrations (event_id, user_id, status, registration_notes, roll_number, payment_status, registered_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final EventAccessService eventAccessService;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ResourceVersionService resourceVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WaitlistPromotionService waitlistPromotionService;
+
+    @Value("${app.registration-import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.registration-import.max-rows:20000}")
+    private int maxRows = 20000;
+
+    /** Published once the import commits; see RegistrationImportNotifier. */
+    public record RegistrationsImported(Long eventId, List<Long> registeredUserIds, List<Long> waitlistedUserIds) {}
+
+    private record PendingRow(RowResult result, String rollNumber, String notes) {}
+
+    @Transactional
+    public RegistrationImportReport importRegistrations(Long eventId, Long adminUserId, MultipartFile file) {
+        long started = System.currentTimeMillis();
+        eventAccessService.requireEventAdmin(eventId, adminUserId);
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        if (event.getStatus() != Event.EventStatus.PUBLISHED && event.getStatus() != Event.EventStatus.APPROVED) {
+            throw new RuntimeException("Event is not open for registration");
+        }
+
+        ImportState state = new ImportState(event, registrationRepository.countActiveByEventId(eventId),
+                registrationRepository.countByEventIdAndStatus(eventId, EventRegistration.RegistrationStatus.WAITLISTED));
+        try (TabularFileReader reader = TabularFileReader.open(file)) {
+            String[] header = reader.next();
+            Columns columns = Columns.of(header);
+            List<PendingRow> chunk = new ArrayList<>(chunkSize);
+            String[] cells;
+            while ((cells = reader.next()) != null) {
+                if (isBlank(cells)) {
+                    continue;
+                }
+                if (state.rows.size() >= maxRows) {
+                    throw new RuntimeException("Imports are limited to " + maxRows + " rows per file");
+                }
+                chunk.add(parse(reader.getRowNumber(), cells, columns, state));
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, state);
+                    chunk.clear();
+                }
+            }
+            processChunk(chunk, state);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the uploaded file: " + e.getMessage(), e);
+        }
+
+        if (!state.registered.isEmpty() || !state.waitlisted.isEmpty()) {
+            // The JDBC inserts bypass the entity listener
+            resourceVersionService.markChanged(ResourceVersionService.Resource.EVENTS);
+            eventPublisher.publishEvent(new RegistrationsImported(eventId, state.registered, state.waitlisted));
+        }
+        if (state.waitlistedWithSeatsFree) {
+            // Queued behind an existing waitlist, which promotion then moves up
+            waitlistPromotionService.seatsReleased(eventId);
+        }
+
+        int failed = state.rows.size() - state.registered.size() - state.waitlisted.size();
+        log.info("Imported registrations for event {}: {} registered, {} waitlisted, {} failed in {} ms",
+                eventId, state.registered.size(), state.waitlisted.size(), failed, System.currentTimeMillis() - started);
+        return RegistrationImportReport.builder()
+                .eventId(eventId)
+                .totalRows(state.rows.size())
+                .registered(state.registered.size())
+                .waitlisted(state.waitlisted.size())
+                .failed(failed)
+                .durationMs(System.currentTimeMillis() - started)
+                .rows(state.rows)
+                .build();
+    }
+
+    private PendingRow parse(int rowNumber, String[] cells, Columns columns, ImportState state) {
+        String email = cell(cells, columns.email);
+        String normalized = email == null ? null : email.toLowerCase();
+        RowResult result = RowResult.builder().row(rowNumber).email(email).build();
+        state.rows.add(result);
+
+        if (normalized == null) {
+            fail(result, "Email is required");
+        } else if (!EMAIL.matcher(normalized).matches()) {
+            fail(result, "Not a valid email address");
+        } else {
+            Integer firstRow = state.seenEmails.putIfAbsent(normalized, rowNumber);
+            if (firstRow != null) {
+                fail(result, "Duplicate of row " + firstRow);
+            }
+        }
+        String rollNumber = cell(cells, columns.rollNumber);
+        String notes = cell(cells, columns.notes);
+        // Column limits of event_registrations; one oversized value would fail the whole batch
+        if (result.getOutcome() == null && rollNumber != null && rollNumber.length() > 32) {
+            fail(result, "Roll number is longer than 32 characters");
+        } else if (result.getOutcome() == null && notes != null && notes.length() > 255) {
+            fail(result, "Notes are longer than 255 characters");
+        }
+        return new PendingRow(result, rollNumber, notes);
+    }
+
+    private void processChunk(List<PendingRow> chunk, ImportState state) {
+        Set<String> emails = new HashSet<>();
+        for (PendingRow row : chunk) {
+            if (row.result().getOutcome() == null) {
+                emails.add(row.result().getEmail().toLowerCase());
+            }
+        }
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> userIds = new HashMap<>();
+        for (Object[] user : userRepository.findIdsByLowerEmailIn(emails)) {
+            userIds.put((String) user[1], (Long) user[0]);
+        }
+        Set<Long> alreadyRegistered = userIds.isEmpty() ? Set.of()
+                : new HashSet<>(registrationRepository.findActiveUserIdsByEventIdAndUserIdIn(state.event.getId(), userIds.values()));
+
+        List<Object[]> batch = new ArrayList<>(emails.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (PendingRow row : chunk) {
+            RowResult result = row.result();
+            if (result.getOutcome() != null) {
+                continue;
+            }
+            Long userId = userIds.get(result.getEmail().toLowerCase());
+            if (userId == null) {
+                fail(result, "No account with this email");
+                continue;
+            }
+            if (alreadyRegistered.contains(userId)) {
+                fail(result, "Already registered for this event");
+                continue;
+            }
+            // Same rule as single registration: once full, or while anyone is waiting, sign-ups are waitlisted
+            boolean full = state.event.getMaxParticipants() != null && state.activeCount >= state.event.getMaxParticipants();
+            EventRegistration.RegistrationStatus status = full || state.waitingCount > 0
+                    ? EventRegistration.RegistrationStatus.WAITLISTED
+                    : EventRegistration.RegistrationStatus.REGISTERED;
+            if (status == EventRegistration.RegistrationStatus.WAITLISTED) {
+                state.waitingCount++;
+                state.waitlistedWithSeatsFree |= !full;
+                state.waitlisted.add(userId);
+                result.setOutcome(Outcome.WAITLISTED);
+                result.setMessage(full ? "Event is full, added to the waitlist" : "Added to the waitlist behind those already waiting");
+            } else {
+                state.activeCount++;
+                state.registered.add(userId);
+                result.setOutcome(Outcome.REGISTERED);
+            }
+            batch.add(new Object[]{state.event.getId(), userId, status.name(), row.notes(), row.rollNumber(),
+                    state.paymentStatus.name(), now});
+        }
+
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_REGISTRATION, batch);
+        }
+    }
+
+    private static void fail(RowResult result, String message) {
+        result.setOutcome(Outcome.FAILED);
+        result.setMessage(message);
+    }
+
+    private static String cell(String[] cells, int index) {
+        if (index < 0 || index >= cells.length || cells[index] == null) {
+            return null;
+        }
+        String value = cells[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean isBlank(String[] cells) {
+        for (String cell : cells) {
+            if (cell != null && !cell.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class ImportState {
+        final Event event;
+        final EventRegistration.PaymentStatus paymentStatus;
+        final List<RowResult> rows = new ArrayList<>();
+        final Map<String, Integer> seenEmails = new HashMap<>();
+        final List<Long> registered = new ArrayList<>();
+        final List<Long> waitlisted = new ArrayList<>();
+        long activeCount;
+        long waitingCount;
+        boolean waitlistedWithSeatsFree;
+
+        ImportState(Event event, long activeCount, long waitingCount) {
+            this.event = event;
+            this.activeCount = activeCount;
+            this.waitingCount = waitingCount;
+            this.paymentStatus = event.getRegistrationFee() == null || event.getRegistrationFee() == 0
+                    ? EventRegistration.PaymentStatus.NOT_REQUIRED
+                    : EventRegistration.PaymentStatus.PENDING;
+        }
+    }
+
+    private record Columns(int email, int rollNumber, int notes) {
+
+        static Columns of(String[] header) {
+            if (header == null) {
+                throw new RuntimeException("The file is empty");
+            }
+            int email = -1;
+            int rollNumber = -1;
+            int notes = -1;
+            for (int i = 0; i < header.length; i++) {
+                String name = header[i] == null ? "" : header[i].toLowerCase().replaceAll("[^a-z]", "");
+                switch (name) {
+                    case "email", "emailaddress", "emailid", "mail" -> email = email < 0 ? i : email;
+                    case "rollnumber", "rollno", "roll" -> rollNumber = rollNumber < 0 ? i : rollNumber;
+                    case "notes", "note", "registrationnotes" -> notes = notes < 0 ? i : notes;
+                    default -> { }
+                }
+            }
+            if (email < 0) {
+                throw new RuntimeException("The first row must be a header with an 'email' column");
+            }
+            return new Columns(email, rollNumber, notes);
+        }
+    }
+}
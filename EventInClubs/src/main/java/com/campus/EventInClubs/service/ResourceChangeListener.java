@@ -0,0 +1,28 @@
+package com.campus.EventInClubs.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that feeds every insert/update/delete of a listed entity
+ * into {@link ResourceVersionService}, so list ETags change on any write path,
+ * and into {@link LiveSeatService} for live seat counts.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceChangeListener {
+    
+    private final ResourceVersionService resourceVersionService;
+    private final LiveSeatService liveSeatService;
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        resourceVersionService.entityChanged(entity);
+        liveSeatService.entityChanged(entity);
+    }
+}
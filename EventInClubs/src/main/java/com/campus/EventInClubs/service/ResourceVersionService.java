@@ -0,0 +1,286 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Club;
+import com.campus.EventInClubs.domain.model.ClubMembership;
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.domain.model.Idea;
+import com.campus.EventInClubs.domain.model.Notification;
+import com.campus.EventInClubs.domain.model.TeamRegistration;
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.domain.model.UserAchievement;
+import com.campus.EventInClubs.domain.model.Vote;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a version stamp per list view so GET endpoints can answer conditional
+ * requests (If-None-Match / If-Modified-Since) with 304 before any entity is
+ * loaded or converted to a DTO.
+ * <p>
+ * The stamps live in resource_versions so that every node agrees on them: a
+ * node re-reads a stamp once it is older than app.http.etag.refresh-ms, and
+ * writes its own bumps there shortly after commit. Until a bump is written,
+ * the node that took the write adds a local marker to its ETags, so its own
+ * clients never get a 304 for data they just changed. Without a database (the
+ * no-arg constructor, used by tests and benchmarks) stamps stay in memory.
+ */
+@Service
+@Slf4j
+public class ResourceVersionService {
+
+    public enum Resource {
+        EVENTS, CLUBS, HALLS, LEADERBOARD
+    }
+
+    public record Version(String etag, long lastModified) {}
+
+    private record Stamp(long version, long lastModified, long loadedAt) {
+        Stamp next() {
+            // Last-Modified only has second precision, so never reuse the previous second
+            return new Stamp(version + 1, Math.max(System.currentTimeMillis(), lastModified + 1000), 0);
+        }
+    }
+
+    // A bump this node has taken but not yet written to resource_versions
+    private record Unflushed(long sequence, long lastModified) {}
+
+    private static final String SELECT =
+            "SELECT version, last_modified FROM resource_versions WHERE resource_key = ?";
+
+    private static final String INSERT_MISSING =
+            "INSERT INTO resource_versions (resource_key, version, last_modified) VALUES (?, 0, ?) " +
+            "ON CONFLICT (resource_key) DO NOTHING";
+
+    private static final String BUMP =
+            "INSERT INTO resource_versions (resource_key, version, last_modified) VALUES (?, 1, ?) " +
+            "ON CONFLICT (resource_key) DO UPDATE SET version = resource_versions.version + 1, " +
+            "last_modified = GREATEST(EXCLUDED.last_modified, resource_versions.last_modified + 1000) " +
+            "RETURNING version, last_modified";
+
+    // Past this many cached stamps (mostly per-user notification ones), stale ones are dropped and re-read on demand
+    private static final int MAX_CACHED_STAMPS = 10_000;
+
+    @Nullable
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long bootTime = System.currentTimeMillis();
+    // In-memory counters restart at zero, so their ETags carry the boot time to invalidate old ones
+    private final String epoch;
+
+    private final Map<String, Stamp> stamps = new ConcurrentHashMap<>();
+    private final Map<String, Unflushed> unflushed = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Event DTOs carry time-derived flags (expired, view-only, upcoming), so their stamps roll over with the clock
+    @Value("${app.http.etag.time-bucket-seconds:60}")
+    private long timeBucketSeconds = 60;
+
+    // How stale another node's write may look here
+    @Value("${app.http.etag.refresh-ms:1000}")
+    private long refreshMs = 1000;
+
+    public ResourceVersionService() {
+        this(null);
+    }
+
+    @Autowired
+    public ResourceVersionService(@Nullable JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.epoch = jdbcTemplate == null ? Long.toString(bootTime, 36) : "db";
+    }
+
+    /**
+     * Records a write to the given entity. Bumps happen after commit so a reader
+     * can never pair the new version with rows that are not yet visible.
+     */
+    public void entityChanged(Object entity) {
+        if (entity instanceof Notification notification) {
+            if (notification.getUser() != null) {
+                String key = notificationKey(notification.getUser().getId());
+                afterCommit(() -> bump(key));
+            }
+        } else if (entity instanceof Club) {
+            markChanged(Resource.CLUBS, Resource.EVENTS);
+        } else if (entity instanceof ClubMembership) {
+            // Club DTOs carry member counts and the caller's membership
+            markChanged(Resource.CLUBS);
+        } else if (entity instanceof User) {
+            // Event and club DTOs carry organizer, approver and club admin names
+            markChanged(Resource.LEADERBOARD, Resource.EVENTS, Resource.CLUBS);
+        } else if (entity instanceof UserAchievement) {
+            markChanged(Resource.LEADERBOARD);
+        } else if (entity instanceof Hall) {
+            markChanged(Resource.HALLS, Resource.EVENTS);
+        } else if (entity instanceof Event || entity instanceof EventRegistration
+                || entity instanceof TeamRegistration || entity instanceof Idea || entity instanceof Vote) {
+            // Event DTOs include participant counts and idea/vote totals
+            markChanged(Resource.EVENTS);
+        }
+    }
+
+    public void markChanged(Resource... resources) {
+        afterCommit(() -> {
+            for (Resource resource : resources) {
+                bump(resource.name());
+            }
+        });
+    }
+
+    /** For notifications written outside JPA (bulk JDBC inserts), which the entity listener never sees. */
+    public void notificationsChanged(Collection<Long> userIds) {
+        afterCommit(() -> userIds.forEach(userId -> bump(notificationKey(userId))));
+    }
+
+    public Version current(Resource... resources) {
+        StringBuilder tag = new StringBuilder(epoch);
+        long lastModified = 0;
+        boolean timeSensitive = false;
+        for (Resource resource : resources) {
+            tag.append('-').append(Character.toLowerCase(resource.name().charAt(0)));
+            lastModified = Math.max(lastModified, appendStamp(tag, resource.name()));
+            timeSensitive |= resource == Resource.EVENTS;
+        }
+        if (timeSensitive && timeBucketSeconds > 0) {
+            long bucketMillis = timeBucketSeconds * 1000;
+            long bucket = System.currentTimeMillis() / bucketMillis;
+            tag.append("-t").append(bucket);
+            lastModified = Math.max(lastModified, bucket * bucketMillis);
+        }
+        return new Version("\"" + tag + "\"", lastModified);
+    }
+
+    public Version notifications(Long userId) {
+        StringBuilder tag = new StringBuilder(epoch).append("-n").append(userId).append('.');
+        long lastModified = appendStamp(tag, notificationKey(userId));
+        return new Version("\"" + tag + "\"", lastModified);
+    }
+
+    /**
+     * Answers 304 when the client already holds the current version, otherwise
+     * builds the body. Either way the check has already put the version's ETag
+     * and Last-Modified on the response.
+     */
+    public <T> ResponseEntity<T> conditional(WebRequest request, Version version, Supplier<T> body) {
+        if (request.checkNotModified(version.etag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
+    }
+
+    /** Writes the bumps taken on this node since the last run to resource_versions. */
+    @Scheduled(fixedDelayString = "${app.http.etag.flush-interval-ms:200}")
+    public void flushBumps() {
+        if (jdbcTemplate == null) {
+            return;
+        }
+        for (Map.Entry<String, Unflushed> entry : unflushed.entrySet()) {
+            String key = entry.getKey();
+            try {
+                Stamp stamp = jdbcTemplate.queryForObject(BUMP, (rs, row) ->
+                        new Stamp(rs.getLong(1), rs.getLong(2), System.currentTimeMillis()),
+                        key, entry.getValue().lastModified());
+                cache(key, stamp);
+                // A bump taken meanwhile stays for the next run
+                unflushed.remove(key, entry.getValue());
+            } catch (DataAccessException e) {
+                // Kept, and this node keeps marking its ETags, until the database takes it
+                log.warn("Could not record a change to {}, retrying: {}", key, e.getMessage());
+                return;
+            }
+        }
+        if (stamps.size() > MAX_CACHED_STAMPS) {
+            long cutoff = System.currentTimeMillis() - refreshMs;
+            stamps.values().removeIf(stamp -> stamp.loadedAt() < cutoff);
+        }
+    }
+
+    private void bump(String key) {
+        if (jdbcTemplate == null) {
+            stamps.compute(key, (k, stamp) -> (stamp == null ? new Stamp(0, bootTime, 0) : stamp).next());
+            return;
+        }
+        Stamp known = stamps.get(key);
+        long lastModified = Math.max(System.currentTimeMillis(), known == null ? 0 : known.lastModified() + 1000);
+        unflushed.put(key, new Unflushed(sequence.incrementAndGet(), lastModified));
+    }
+
+    // Appends the stamp's version to the tag and returns its Last-Modified
+    private long appendStamp(StringBuilder tag, String key) {
+        Stamp stamp = stamp(key);
+        tag.append(stamp.version());
+        Unflushed pending = unflushed.get(key);
+        if (pending == null) {
+            return stamp.lastModified();
+        }
+        tag.append('p').append(pending.sequence());
+        return Math.max(stamp.lastModified(), pending.lastModified());
+    }
+
+    private Stamp stamp(String key) {
+        Stamp stamp = stamps.get(key);
+        if (jdbcTemplate == null) {
+            return stamp == null ? new Stamp(0, bootTime, 0) : stamp;
+        }
+        if (stamp != null && System.currentTimeMillis() - stamp.loadedAt() < refreshMs) {
+            return stamp;
+        }
+        return cache(key, load(key));
+    }
+
+    private Stamp load(String key) {
+        RowMapper<Stamp> mapper = (rs, row) -> new Stamp(rs.getLong(1), rs.getLong(2), System.currentTimeMillis());
+        List<Stamp> rows = jdbcTemplate.query(SELECT, mapper, key);
+        if (rows.isEmpty()) {
+            // First read anywhere: start the view at now so every node reports the same Last-Modified
+            jdbcTemplate.update(INSERT_MISSING, key, System.currentTimeMillis());
+            rows = jdbcTemplate.query(SELECT, mapper, key);
+        }
+        return rows.get(0);
+    }
+
+    // A read that started before a flush must not put the older version back
+    private Stamp cache(String key, Stamp stamp) {
+        return stamps.merge(key, stamp, (cached, loaded) -> loaded.version() >= cached.version() ? loaded : cached);
+    }
+
+    private static String notificationKey(Long userId) {
+        return "n:" + userId;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
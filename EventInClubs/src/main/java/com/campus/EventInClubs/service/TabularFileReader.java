@@ -0,0 +1,322 @@
+package com.campus.EventInClubs.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads an uploaded CSV or XLSX sheet one row at a time. CSV is parsed straight
+ * off the request stream; XLSX is spooled to a temp file and its first sheet
+ * read with StAX, so only the workbook's shared-strings table is held in memory.
+ */
+public abstract class TabularFileReader implements Closeable {
+
+    protected int rowNumber;
+
+    public static TabularFileReader open(MultipartFile file) throws IOException {
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+        if (name.endsWith(".xlsx")) {
+            return new XlsxReader(file);
+        }
+        if (name.endsWith(".xls")) {
+            throw new RuntimeException("Legacy .xls files are not supported, save the sheet as .xlsx or .csv");
+        }
+        return new CsvReader(file.getInputStream());
+    }
+
+    /** Next row's cells, or null at the end of the sheet. */
+    public abstract String[] next() throws IOException;
+
+    /** 1-based row number of the row last returned, as the user sees it in the sheet. */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    static final class CsvReader extends TabularFileReader {
+
+        private final Reader reader;
+        private int line = 1;
+
+        CsvReader(InputStream in) {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public String[] next() throws IOException {
+            List<String> cells = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            rowNumber = line;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (c == '\uFEFF' && line == 1 && cells.isEmpty() && cell.isEmpty()) {
+                    continue;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            cell.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        cell.append((char) c);
+                    }
+                } else if (c == '"' && cell.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    cell.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            cells.add(cell.toString());
+            return cells.toArray(new String[0]);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    static final class XlsxReader extends TabularFileReader {
+
+        private static final XMLInputFactory XML = XMLInputFactory.newFactory();
+
+        static {
+            XML.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            XML.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        }
+
+        private final Path temp;
+        private final ZipFile zip;
+        private final List<String> sharedStrings;
+        private final InputStream sheetStream;
+        private final XMLStreamReader sheet;
+
+        XlsxReader(MultipartFile file) throws IOException {
+            temp = Files.createTempFile("import-", ".xlsx");
+            try {
+                file.transferTo(temp);
+                zip = new ZipFile(temp.toFile());
+                sharedStrings = readSharedStrings();
+                ZipEntry sheetEntry = zip.getEntry(firstSheetPath());
+                if (sheetEntry == null) {
+                    throw new RuntimeException("The workbook has no worksheet");
+                }
+                sheetStream = zip.getInputStream(sheetEntry);
+                sheet = XML.createXMLStreamReader(sheetStream);
+            } catch (XMLStreamException e) {
+                Files.deleteIfExists(temp);
+                throw new RuntimeException("Not a readable .xlsx workbook: " + e.getMessage(), e);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        }
+
+        @Override
+        public String[] next() throws IOException {
+            try {
+                List<String> cells = null;
+                int column = 0;
+                String type = null;
+                StringBuilder value = new StringBuilder();
+                boolean inValue = false;
+                while (sheet.hasNext()) {
+                    int event = sheet.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        switch (sheet.getLocalName()) {
+                            case "row" -> {
+                                cells = new ArrayList<>();
+                                String r = sheet.getAttributeValue(null, "r");
+                                rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                            }
+                            case "c" -> {
+                                String ref = sheet.getAttributeValue(null, "r");
+                                column = ref != null ? columnIndex(ref) : cells.size();
+                                type = sheet.getAttributeValue(null, "t");
+                                value.setLength(0);
+                            }
+                            case "v", "t" -> inValue = true;
+                            default -> { }
+                        }
+                    } else if (event == XMLStreamConstants.CHARACTERS && inValue) {
+                        value.append(sheet.getText());
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        switch (sheet.getLocalName()) {
+                            case "v", "t" -> inValue = false;
+                            case "c" -> {
+                                while (cells.size() < column) {
+                                    cells.add("");
+                                }
+                                cells.add(cellValue(type, value.toString()));
+                            }
+                            case "row" -> {
+                                return cells.toArray(new String[0]);
+                            }
+                            default -> { }
+                        }
+                    }
+                }
+                return null;
+            } catch (XMLStreamException e) {
+                throw new IOException("Malformed worksheet: " + e.getMessage(), e);
+            }
+        }
+
+        private String cellValue(String type, String raw) {
+            if ("s".equals(type)) {
+                int index = Integer.parseInt(raw.trim());
+                return index < sharedStrings.size() ? sharedStrings.get(index) : "";
+            }
+            if ("b".equals(type)) {
+                return "1".equals(raw) ? "TRUE" : "FALSE";
+            }
+            if ((type == null || "n".equals(type)) && (raw.contains("E") || raw.contains("e"))) {
+                // Long numeric roll numbers come back in scientific notation
+                try {
+                    return new BigDecimal(raw).toPlainString();
+                } catch (NumberFormatException e) {
+                    return raw;
+                }
+            }
+            return raw;
+        }
+
+        private List<String> readSharedStrings() throws IOException, XMLStreamException {
+            List<String> strings = new ArrayList<>();
+            ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+            if (entry == null) {
+                return strings;
+            }
+            try (InputStream in = zip.getInputStream(entry)) {
+                XMLStreamReader xml = XML.createXMLStreamReader(in);
+                StringBuilder text = new StringBuilder();
+                boolean inText = false;
+                int phonetic = 0;
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        switch (xml.getLocalName()) {
+                            case "si" -> text.setLength(0);
+                            case "rPh" -> phonetic++;
+                            case "t" -> inText = phonetic == 0;
+                            default -> { }
+                        }
+                    } else if (event == XMLStreamConstants.CHARACTERS && inText) {
+                        text.append(xml.getText());
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        switch (xml.getLocalName()) {
+                            case "si" -> strings.add(text.toString());
+                            case "rPh" -> phonetic--;
+                            case "t" -> inText = false;
+                            default -> { }
+                        }
+                    }
+                }
+                xml.close();
+            }
+            return strings;
+        }
+
+        /** Follows workbook.xml and its relationships to the first sheet's part. */
+        private String firstSheetPath() throws IOException, XMLStreamException {
+            String relationId = firstAttribute("xl/workbook.xml", "sheet", "id");
+            if (relationId != null) {
+                ZipEntry rels = zip.getEntry("xl/_rels/workbook.xml.rels");
+                if (rels != null) {
+                    try (InputStream in = zip.getInputStream(rels)) {
+                        XMLStreamReader xml = XML.createXMLStreamReader(in);
+                        while (xml.hasNext()) {
+                            if (xml.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(xml.getLocalName())
+                                    && relationId.equals(xml.getAttributeValue(null, "Id"))) {
+                                String target = xml.getAttributeValue(null, "Target");
+                                xml.close();
+                                return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                            }
+                        }
+                        xml.close();
+                    }
+                }
+            }
+            return "xl/worksheets/sheet1.xml";
+        }
+
+        private String firstAttribute(String part, String element, String attribute) throws IOException, XMLStreamException {
+            ZipEntry entry = zip.getEntry(part);
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream in = zip.getInputStream(entry)) {
+                XMLStreamReader xml = XML.createXMLStreamReader(in);
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && element.equals(xml.getLocalName())) {
+                        // r:id lives in the relationships namespace
+                        for (int i = 0; i < xml.getAttributeCount(); i++) {
+                            if (attribute.equals(xml.getAttributeLocalName(i))) {
+                                String value = xml.getAttributeValue(i);
+                                xml.close();
+                                return value;
+                            }
+                        }
+                    }
+                }
+                xml.close();
+            }
+            return null;
+        }
+
+        private static int columnIndex(String ref) {
+            int index = 0;
+            for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+                index = index * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+            }
+            return index - 1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                sheet.close();
+            } catch (XMLStreamException e) {
+                // Closing a reader over a zip stream cannot meaningfully fail
+            }
+            sheetStream.close();
+            zip.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.campus.EventInClubs.service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a CSV or XLSX sheet one row at a time straight to an output stream,
+ * the counterpart of {@link TabularFileReader}. XLSX cells are written as
+ * inline strings, so nothing accumulates per row (no shared-strings table).
+ */
+public abstract class TabularFileWriter implements Closeable {
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    public static TabularFileWriter open(Format format, OutputStream out) throws IOException {
+        return format == Format.XLSX ? new XlsxWriter(out) : new CsvWriter(out);
+    }
+
+    /** Null cells are written empty. */
+    public abstract void writeRow(String[] cells) throws IOException;
+
+    static final class CsvWriter extends TabularFileWriter {
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            // Lets Excel detect UTF-8 when the file is double-clicked
+            writer.write('\uFEFF');
+        }
+
+        @Override
+        public void writeRow(String[] cells) throws IOException {
+            for (int i = 0; i < cells.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCell(cells[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeCell(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            // Spreadsheet apps evaluate cells starting with these as formulas
+            char first = value.charAt(0);
+            if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    static final class XlsxWriter extends TabularFileWriter {
+
+        private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+        private static final String RELS_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+        private static final String DOC_RELS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+        private static final String HEAD = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+        private final ZipOutputStream zip;
+        private final Writer sheet;
+        private int row;
+
+        XlsxWriter(OutputStream out) throws IOException {
+            zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+            part("[Content_Types].xml", HEAD
+                    + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                    + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                    + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                    + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+                    + "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+                    + "</Types>");
+            part("_rels/.rels", HEAD
+                    + "<Relationships xmlns=\"" + RELS_NS + "\">"
+                    + "<Relationship Id=\"rId1\" Type=\"" + DOC_RELS_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                    + "</Relationships>");
+            part("xl/workbook.xml", HEAD
+                    + "<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + DOC_RELS_NS + "\">"
+                    + "<sheets><sheet name=\"Export\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+                    + "</workbook>");
+            part("xl/_rels/workbook.xml.rels", HEAD
+                    + "<Relationships xmlns=\"" + RELS_NS + "\">"
+                    + "<Relationship Id=\"rId1\" Type=\"" + DOC_RELS_NS + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                    + "<Relationship Id=\"rId2\" Type=\"" + DOC_RELS_NS + "/styles\" Target=\"styles.xml\"/>"
+                    + "</Relationships>");
+            part("xl/styles.xml", HEAD
+                    + "<styleSheet xmlns=\"" + MAIN_NS + "\">"
+                    + "<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+                    + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                    + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+                    + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+                    + "<cellXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/></cellXfs>"
+                    + "</styleSheet>");
+
+            // The worksheet goes last and stays open while rows stream in
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            sheet = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+            sheet.write(HEAD + "<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+        }
+
+        private void part(String name, String xml) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(xml.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        @Override
+        public void writeRow(String[] cells) throws IOException {
+            row++;
+            sheet.write("<row r=\"" + row + "\">");
+            for (int i = 0; i < cells.length; i++) {
+                if (cells[i] == null || cells[i].isEmpty()) {
+                    continue;
+                }
+                sheet.write("<c r=\"" + columnName(i) + row + "\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writeEscaped(cells[i]);
+                sheet.write("</t></is></c>");
+            }
+            sheet.write("</row>");
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '&' -> sheet.write("&amp;");
+                    case '<' -> sheet.write("&lt;");
+                    case '>' -> sheet.write("&gt;");
+                    case '"' -> sheet.write("&quot;");
+                    default -> {
+                        // Control characters other than tab/newline are not legal in XML 1.0
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                            sheet.write(c);
+                        }
+                    }
+                }
+            }
+        }
+
+        static String columnName(int index) {
+            StringBuilder name = new StringBuilder();
+            for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+                name.insert(0, (char) ('A' + (n - 1) % 26));
+            }
+            return name.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            sheet.write("</sheetData></worksheet>");
+            sheet.flush();
+            zip.closeEntry();
+            zip.finish();
+            zip.close();
+        }
+    }
+}
@@ -1,19 +1,25 @@
 package com.campus.EventInClubs.service;
 
 import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.TeamMember;
 import com.campus.EventInClubs.domain.model.TeamRegistration;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.dto.TeamRegistrationDto;
 import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.TeamMemberRepository;
 import com.campus.EventInClubs.repository.TeamRegistrationRepository;
 import com.campus.EventInClubs.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +29,7 @@ import java.util.stream.Collectors;
 public class TeamRegistrationService {
     
     private final TeamRegistrationRepository teamRegistrationRepository;
+    private final TeamMemberRepository teamMemberRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
@@ -53,41 +60,23 @@ public class TeamRegistrationService {
             throw new RuntimeException("Team size cannot exceed " + event.getMaxTeamMembers() + " members");
         }
         
-        // Validate that no roll number is already registered in another team for this event
-        for (String rollNumber : memberRollNumbers) {
-            List<TeamRegistration> existingRegistrations = 
-                teamRegistrationRepository.findByEventIdAndRollNumberContaining(eventId, rollNumber);
-            
-            if (!existingRegistrations.isEmpty()) {
-                throw new RuntimeException("Roll number " + rollNumber + " is already registered in another team");
-            }
-        }
-        
-        // Validate that no email is already registered in another team for this event
-        if (memberEmails != null && !memberEmails.isEmpty()) {
-            for (String email : memberEmails) {
-                if (email != null && !email.trim().isEmpty()) {
-                    String normalizedEmail = email.trim().toLowerCase();
-                    log.debug("Checking if email {} is already registered for event {}", normalizedEmail, eventId);
-                    List<TeamRegistration> existingEmailRegistrations = 
-                        teamRegistrationRepository.findByEventIdAndEmailContaining(eventId, normalizedEmail);
-                    
-                    if (!existingEmailRegistrations.isEmpty()) {
-                        TeamRegistration existingTeam = existingEmailRegistrations.get(0);
-                        log.warn("Duplicate email registration attempt: {} already in team '{}' for event {}", 
-                                normalizedEmail, existingTeam.getTeamName(), eventId);
-                        throw new RuntimeException("Email " + email + " is already registered in another team for this event");
-                    }
-                }
-            }
+        // Normalize once; the same values are validated, indexed and stored
+        List<String> rollNumbers = memberRollNumbers.stream()
+                .map(rollNumber -> rollNumber == null ? "" : rollNumber.trim())
+                .collect(Collectors.toList());
+        List<String> emails = new ArrayList<>(teamSize);
+        for (int i = 0; i < teamSize; i++) {
+            String email = (memberEmails != null && i < memberEmails.size()) ? memberEmails.get(i) : null;
+            emails.add(email == null || email.trim().isEmpty() ? null : email.trim().toLowerCase());
         }
+        validateTeamMembers(eventId, rollNumbers, emails);
         
         // Get user
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
         // Create team registration
-        String rollNumbersStr = String.join(",", memberRollNumbers);
+        String rollNumbersStr = String.join(",", rollNumbers);
         String namesStr = (memberNames != null && !memberNames.isEmpty()) ? String.join(",", memberNames) : null;
         // Store emails in lowercase for consistent validation
         String emailsStr = (memberEmails != null && !memberEmails.isEmpty()) 
@@ -112,6 +101,7 @@ public class TeamRegistrationService {
                 .build();
         
         TeamRegistration saved = teamRegistrationRepository.save(teamRegistration);
+        insertTeamMembers(saved, rollNumbers, memberNames, emails);
         log.info("Team '{}' registered for event '{}' with {} members", 
                 teamName, event.getTitle(), teamSize);
         
@@ -165,18 +155,21 @@ public class TeamRegistrationService {
         return convertToDto(saved);
     }
     
+    @Transactional(readOnly = true)
     public List<TeamRegistrationDto> getTeamsByEvent(Long eventId) {
         return teamRegistrationRepository.findByEventId(eventId).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<TeamRegistrationDto> getTeamsByUser(Long userId) {
         return teamRegistrationRepository.findByRegisteredById(userId).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public TeamRegistrationDto getTeamById(Long teamId) {
         TeamRegistration team = teamRegistrationRepository.findById(teamId)
                 .orElseThrow(() -> new RuntimeException("Team registration not found"));
@@ -194,11 +187,76 @@ public class TeamRegistrationService {
         
         team.setStatus(TeamRegistration.RegistrationStatus.CANCELLED);
         teamRegistrationRepository.save(team);
+        // Frees the members' roll numbers and emails for other teams
+        teamMemberRepository.deleteByTeamRegistrationId(teamId);
         
         log.info("Team '{}' registration cancelled for event '{}'", 
                 team.getTeamName(), team.getEvent().getTitle());
     }
     
+    /**
+     * Checks the whole team against the event's existing members in one query,
+     * plus duplicates within the submitted team itself. The unique indexes on
+     * team_members remain the final word for concurrent sign-ups.
+     */
+    private void validateTeamMembers(Long eventId, List<String> rollNumbers, List<String> emails) {
+        Set<String> seenRollNumbers = new HashSet<>();
+        for (String rollNumber : rollNumbers) {
+            if (rollNumber.isEmpty()) {
+                throw new RuntimeException("Every team member needs a roll number");
+            }
+            if (rollNumber.length() > TeamMember.MAX_ROLL_NUMBER_LENGTH) {
+                throw new RuntimeException("Roll number " + rollNumber + " is longer than "
+                        + TeamMember.MAX_ROLL_NUMBER_LENGTH + " characters");
+            }
+            if (!seenRollNumbers.add(rollNumber)) {
+                throw new RuntimeException("Roll number " + rollNumber + " appears more than once in the team");
+            }
+        }
+        Set<String> seenEmails = new HashSet<>();
+        for (String email : emails) {
+            if (email != null && !seenEmails.add(email)) {
+                throw new RuntimeException("Email " + email + " appears more than once in the team");
+            }
+        }
+        
+        List<TeamMember> conflicts = teamMemberRepository.findConflicts(eventId, seenRollNumbers, seenEmails);
+        for (TeamMember conflict : conflicts) {
+            if (seenRollNumbers.contains(conflict.getRollNumber())) {
+                throw new RuntimeException("Roll number " + conflict.getRollNumber() + " is already registered in another team");
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            TeamMember conflict = conflicts.get(0);
+            log.warn("Duplicate email registration attempt: {} already in team '{}' for event {}",
+                    conflict.getEmail(), conflict.getTeamRegistration().getTeamName(), eventId);
+            throw new RuntimeException("Email " + conflict.getEmail() + " is already registered in another team for this event");
+        }
+    }
+    
+    private void insertTeamMembers(TeamRegistration team, List<String> rollNumbers,
+                                   List<String> memberNames, List<String> emails) {
+        String[] names = new String[rollNumbers.size()];
+        for (int i = 0; i < names.length; i++) {
+            String name = (memberNames != null && i < memberNames.size()) ? memberNames.get(i) : null;
+            names[i] = name == null || name.trim().isEmpty() ? null : name.trim();
+        }
+        try {
+            teamMemberRepository.insertTeam(team.getId(), team.getEvent().getId(),
+                    rollNumbers.toArray(new String[0]), names, emails.toArray(new String[0]));
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with another team registering the same member
+            String message = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (message.contains(TeamMember.UNIQUE_EMAIL)) {
+                throw new RuntimeException("One of the member emails was just registered in another team for this event");
+            }
+            if (message.contains(TeamMember.UNIQUE_ROLL_NUMBER)) {
+                throw new RuntimeException("One of the roll numbers was just registered in another team for this event");
+            }
+            throw e;
+        }
+    }
+    
     private TeamRegistrationDto convertToDto(TeamRegistration team) {
         List<String> rollNumbers = Arrays.asList(team.getMemberRollNumbers().split(","));
         List<String> names = (team.getMemberNames() != null && !team.getMemberNames().isEmpty()) 
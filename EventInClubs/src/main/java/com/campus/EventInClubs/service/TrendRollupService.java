@@ -0,0 +1,219 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.ActivityRollup.Granularity;
+import com.campus.EventInClubs.domain.model.ActivityRollup.Metric;
+import com.campus.EventInClubs.domain.model.ActivityRollup.Scope;
+import com.campus.EventInClubs.dto.TrendDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps hourly and daily activity counts per club, per event and campus-wide
+ * in activity_rollups, by tailing the raw tables.
+ * <p>
+ * Each metric has a watermark holding the last source id counted. A periodic
+ * pass folds newer rows into their buckets and advances the watermark in the
+ * same transaction. The pass therefore sees every write path, including bulk
+ * imports and the synthetic seeder. A backfill is just the tail starting again
+ * from zero.
+ * <p>
+ * Counts are of rows created: a registration cancelled later still counted on
+ * the day it was made.
+ */
+@Service
+@Slf4j
+public class TrendRollupService {
+
+    // Each source as (id, at, event_id, club_id); "s" is the table whose ids the watermark follows
+    private static final Map<Metric, String> SOURCES = Map.of(
+            Metric.REGISTRATIONS,
+            "SELECT s.id, CAST(s.registered_at AS TIMESTAMPTZ) AS at, s.event_id, e.club_id " +
+            "FROM event_registrations s JOIN events e ON e.id = s.event_id",
+            Metric.IDEAS,
+            "SELECT s.id, s.created_at AS at, s.event_id, COALESCE(e.club_id, p.club_id) AS club_id " +
+            "FROM ideas s LEFT JOIN events e ON e.id = s.event_id LEFT JOIN problems p ON p.id = s.problem_id",
+            Metric.VOTES,
+            "SELECT s.id, s.created_at AS at, i.event_id, COALESCE(e.club_id, p.club_id) AS club_id " +
+            "FROM votes s JOIN ideas i ON i.id = s.idea_id " +
+            "LEFT JOIN events e ON e.id = i.event_id LEFT JOIN problems p ON p.id = i.problem_id",
+            Metric.MEMBERS,
+            "SELECT s.id, s.joined_at AS at, CAST(NULL AS BIGINT) AS event_id, s.club_id " +
+            "FROM club_memberships s");
+
+    private static final Map<Metric, String> SOURCE_TABLES = Map.of(
+            Metric.REGISTRATIONS, "event_registrations s",
+            Metric.IDEAS, "ideas s",
+            Metric.VOTES, "votes s",
+            Metric.MEMBERS, "club_memberships s");
+
+    private static final Map<Metric, String> SOURCE_TIMES = Map.of(
+            Metric.REGISTRATIONS, "s.registered_at",
+            Metric.IDEAS, "s.created_at",
+            Metric.VOTES, "s.created_at",
+            Metric.MEMBERS, "s.joined_at");
+
+    private static final String ROLL_UP =
+            "WITH batch AS (%s WHERE s.id > ? AND s.id <= ?) " +
+            "INSERT INTO activity_rollups (metric, scope, scope_id, granularity, bucket_start, count) " +
+            "SELECT ?, sc.scope, sc.scope_id, g.granularity, date_trunc(g.unit, b.at, ?), COUNT(*) FROM batch b " +
+            "CROSS JOIN LATERAL (VALUES ('ALL', CAST(0 AS BIGINT)), ('CLUB', b.club_id), ('EVENT', b.event_id)) AS sc(scope, scope_id) " +
+            "CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g(granularity, unit) " +
+            "WHERE sc.scope_id IS NOT NULL AND b.at IS NOT NULL " +
+            "GROUP BY 2, 3, 4, 5 " +
+            "ON CONFLICT (metric, scope, scope_id, granularity, bucket_start) " +
+            "DO UPDATE SET count = activity_rollups.count + EXCLUDED.count";
+
+    // Upper end of the next batch: only rows old enough that any transaction writing a lower id has committed
+    private static final String BATCH_END =
+            "SELECT MAX(s.id) FROM %s WHERE s.id > ? AND s.id <= ? AND %s <= ?";
+
+    private static final String LOCK_WATERMARK =
+            "SELECT last_id FROM rollup_watermarks WHERE metric = ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ZoneId zone;
+
+    @Value("${app.trends.batch-size:20000}")
+    private int batchSize = 20_000;
+
+    @Value("${app.trends.max-batches-per-run:50}")
+    private int maxBatchesPerRun = 50;
+
+    // Rows younger than this wait for the next pass, so one committed late under a lower id is not skipped
+    @Value("${app.trends.settle-seconds:30}")
+    private long settleSeconds = 30;
+
+    @Value("${app.trends.hourly-retention-days:90}")
+    private long hourlyRetentionDays = 90;
+
+    @Value("${app.trends.max-points:1000}")
+    private int maxPoints = 1000;
+
+    public TrendRollupService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              @Value("${app.trends.time-zone:}") String timeZone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        // Day buckets start at midnight here; changing it needs a rebuild
+        this.zone = timeZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(timeZone);
+    }
+
+    @Scheduled(fixedDelayString = "${app.trends.interval-ms:60000}", initialDelayString = "${app.trends.initial-delay-ms:20000}")
+    public void rollUp() {
+        for (Metric metric : Metric.values()) {
+            int rows = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer counted = transactionTemplate.execute(status -> rollUpBatch(metric));
+                if (counted == null || counted < 0) {
+                    break;
+                }
+                rows += counted;
+            }
+            if (rows > 0) {
+                log.info("Rolled up {}: {} buckets updated", metric, rows);
+            }
+        }
+        jdbcTemplate.update("DELETE FROM activity_rollups WHERE granularity = 'HOUR' AND bucket_start < ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(hourlyRetentionDays))));
+    }
+
+    /** Folds the next batch of source rows into the rollups; -1 once caught up. */
+    private int rollUpBatch(Metric metric) {
+        jdbcTemplate.update("INSERT INTO rollup_watermarks (metric, last_id, updated_at) VALUES (?, 0, ?) ON CONFLICT (metric) DO NOTHING",
+                metric.name(), Timestamp.from(Instant.now()));
+        long from = jdbcTemplate.queryForObject(LOCK_WATERMARK, Long.class, metric.name());
+        Timestamp settled = Timestamp.valueOf(LocalDateTime.now().minusSeconds(settleSeconds));
+        Long to = jdbcTemplate.queryForObject(BATCH_END.formatted(SOURCE_TABLES.get(metric), SOURCE_TIMES.get(metric)),
+                Long.class, from, from + batchSize, settled);
+        if (to == null) {
+            // Nothing settled in this id window; skip ahead only if the window holds no rows at all
+            Long next = jdbcTemplate.queryForObject("SELECT MIN(s.id) FROM " + SOURCE_TABLES.get(metric) + " WHERE s.id > ?", Long.class, from);
+            if (next == null || next <= from + batchSize) {
+                return -1;
+            }
+            to = next - 1;
+        }
+        int buckets = jdbcTemplate.update(ROLL_UP.formatted(SOURCES.get(metric)), from, to, metric.name(), zone.getId());
+        jdbcTemplate.update("UPDATE rollup_watermarks SET last_id = ?, updated_at = ? WHERE metric = ?",
+                to, Timestamp.from(Instant.now()), metric.name());
+        return buckets;
+    }
+
+    /**
+     * Drops a metric's rollups and counts it again from the first row; the
+     * periodic pass does the work in batches.
+     */
+    public void rebuild(Metric metric) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO rollup_watermarks (metric, last_id, updated_at) VALUES (?, 0, ?) ON CONFLICT (metric) DO NOTHING",
+                    metric.name(), Timestamp.from(Instant.now()));
+            jdbcTemplate.queryForObject(LOCK_WATERMARK, Long.class, metric.name());
+            jdbcTemplate.update("DELETE FROM activity_rollups WHERE metric = ?", metric.name());
+            jdbcTemplate.update("UPDATE rollup_watermarks SET last_id = 0, updated_at = ? WHERE metric = ?",
+                    Timestamp.from(Instant.now()), metric.name());
+        });
+        log.info("Cleared {} rollups for rebuild", metric);
+    }
+
+    /** Last counted id per metric, for watching a rebuild catch up. */
+    public Map<String, Long> watermarks() {
+        Map<String, Long> watermarks = new HashMap<>();
+        jdbcTemplate.query("SELECT metric, last_id FROM rollup_watermarks",
+                rs -> { watermarks.put(rs.getString("metric"), rs.getLong("last_id")); });
+        return watermarks;
+    }
+
+    /**
+     * The series for [from, to), one point per bucket. Throws
+     * IllegalArgumentException for a range with more than max-points buckets.
+     */
+    public TrendDto trend(Metric metric, Scope scope, Long scopeId, Granularity granularity, Instant from, Instant to) {
+        ChronoUnit unit = granularity == Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        ZonedDateTime start = from.atZone(zone).truncatedTo(unit);
+        if (unit.between(start, to.atZone(zone)) >= maxPoints) {
+            throw new IllegalArgumentException("Range covers more than " + maxPoints + " " + unit.name().toLowerCase());
+        }
+        long id = scope == Scope.ALL ? 0L : scopeId;
+
+        Map<Instant, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT bucket_start, count FROM activity_rollups " +
+                "WHERE metric = ? AND scope = ? AND scope_id = ? AND granularity = ? AND bucket_start >= ? AND bucket_start < ?",
+                rs -> { counts.put(rs.getTimestamp("bucket_start").toInstant(), rs.getLong("count")); },
+                metric.name(), scope.name(), id, granularity.name(), Timestamp.from(start.toInstant()), Timestamp.from(to));
+
+        List<TrendDto.Point> points = new ArrayList<>();
+        long total = 0;
+        for (ZonedDateTime bucket = start; bucket.toInstant().isBefore(to); bucket = bucket.plus(1, unit)) {
+            long count = counts.getOrDefault(bucket.toInstant(), 0L);
+            points.add(new TrendDto.Point(bucket.toInstant(), count));
+            total += count;
+        }
+        return TrendDto.builder()
+                .metric(metric.name())
+                .scope(scope.name())
+                .scopeId(id)
+                .granularity(granularity.name())
+                .timeZone(zone.getId())
+                .from(start.toInstant())
+                .to(to)
+                .total(total)
+                .points(points)
+                .build();
+    }
+}
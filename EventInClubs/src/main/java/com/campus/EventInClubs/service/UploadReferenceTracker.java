@@ -0,0 +1,124 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.CloudinaryUploadJob;
+import com.campus.EventInClubs.domain.model.ImageDerivativeJob;
+import com.campus.EventInClubs.domain.model.StoredFile;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps {@code stored_files.ref_count} in step with the entity columns holding
+ * upload URLs. Any string property of any entity counts, so a new column that
+ * stores an upload URL is tracked without changes here. Counts are written in
+ * the same transaction as the entity change. The same columns are handed to
+ * FileStorageService for its checks against the tables themselves.
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadReferenceTracker implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    // Rows that name a file without holding it: the files themselves, and job rows written with plain SQL,
+    // which manage their references explicitly
+    private static final Set<Class<?>> UNTRACKED = Set.of(StoredFile.class, ImageDerivativeJob.class, CloudinaryUploadJob.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final FileStorageService fileStorageService;
+
+    @PostConstruct
+    public void register() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+
+        Set<FileStorageService.ReferenceColumn> columns = new LinkedHashSet<>();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (!tracks(persister)) {
+                return;
+            }
+            persister.forEachAttributeMapping(attribute -> {
+                BasicValuedModelPart basic = attribute.asBasicValuedModelPart();
+                if (basic != null && !basic.isFormula() && basic.getJavaType().getJavaTypeClass() == String.class) {
+                    columns.add(new FileStorageService.ReferenceColumn(basic.getContainingTableExpression(), basic.getSelectionExpression()));
+                }
+            });
+        });
+        fileStorageService.trackReferencesIn(new ArrayList<>(columns));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (tracks(event.getPersister())) {
+            apply(references(null, event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        // Without the loaded state a removal cannot be seen; the count only errs high, which is safe
+        if (tracks(event.getPersister())) {
+            apply(references(event.getOldState(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (tracks(event.getPersister())) {
+            apply(references(event.getDeletedState(), null));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /** Net change in references per URL between two states of one entity. */
+    static Map<String, Integer> references(Object[] before, Object[] after) {
+        Map<String, Integer> delta = new HashMap<>();
+        if (before != null) {
+            for (Object value : before) {
+                if (FileStorageService.isStoredUrl(value)) {
+                    delta.merge((String) value, -1, Integer::sum);
+                }
+            }
+        }
+        if (after != null) {
+            for (Object value : after) {
+                if (FileStorageService.isStoredUrl(value)) {
+                    delta.merge((String) value, 1, Integer::sum);
+                }
+            }
+        }
+        delta.values().removeIf(change -> change == 0);
+        return delta;
+    }
+
+    private static boolean tracks(EntityPersister persister) {
+        return !UNTRACKED.contains(persister.getMappedClass());
+    }
+
+    private void apply(Map<String, Integer> delta) {
+        delta.forEach(fileStorageService::adjustReferences);
+    }
+}
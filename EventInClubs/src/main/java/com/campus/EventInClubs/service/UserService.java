@@ -19,6 +19,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AnalyticsService analyticsService;
 
     // Register a new user
     public User register(String name, String email, String rawPassword, Role role) {
@@ -60,11 +61,12 @@ public class UserService {
 
     // Get user counts by role
     public Map<String, Long> getUserCounts() {
+        AnalyticsService.Snapshot snapshot = analyticsService.snapshot();
         Map<String, Long> counts = new HashMap<>();
-        counts.put("total", userRepository.count());
-        counts.put("students", userRepository.countByRole(Role.STUDENT));
-        counts.put("clubAdmins", userRepository.countByRole(Role.CLUB_ADMIN));
-        counts.put("superAdmins", userRepository.countByRole(Role.SUPER_ADMIN));
+        counts.put("total", snapshot.users());
+        counts.put("students", snapshot.students());
+        counts.put("clubAdmins", snapshot.clubAdmins());
+        counts.put("superAdmins", snapshot.superAdmins());
         return counts;
     }
 
@@ -73,10 +75,11 @@ public class UserService {
         Map<String, Object> analytics = new HashMap<>();
         
         // Basic counts
-        long totalUsers = userRepository.count();
-        long students = userRepository.countByRole(Role.STUDENT);
-        long clubAdmins = userRepository.countByRole(Role.CLUB_ADMIN);
-        long superAdmins = userRepository.countByRole(Role.SUPER_ADMIN);
+        AnalyticsService.Snapshot snapshot = analyticsService.snapshot();
+        long totalUsers = snapshot.users();
+        long students = snapshot.students();
+        long clubAdmins = snapshot.clubAdmins();
+        long superAdmins = snapshot.superAdmins();
         
         analytics.put("totalUsers", totalUsers);
         analytics.put("students", students);
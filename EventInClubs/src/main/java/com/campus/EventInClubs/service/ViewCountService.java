@@ -0,0 +1,220 @@
+package com.campus.EventInClubs.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Counts detail-page views in memory and writes them out in batches every few
+ * seconds, so a busy page costs no database write per view.
+ * <p>
+ * Each viewed item has a striped LongAdder for the view count and a
+ * HyperLogLog sketch of who viewed it. A flush adds the counted views to
+ * view_counts (and to problems.view_count, which trending sorts by) and merges
+ * the sketch into the stored one. Merging keeps the larger of each register, so
+ * nodes flushing the same item never double count its viewers.
+ */
+@Service
+@Slf4j
+public class ViewCountService {
+
+    public enum Kind {
+        PROBLEM, EVENT, IDEA
+    }
+
+    public record Stats(long views, long uniqueViewers) {}
+
+    private record Key(Kind kind, long id) {}
+
+    // 2048 registers: 2 KB per item and about 2.3% error. Stored sketches depend on it, so it cannot change
+    static final int PRECISION = 11;
+
+    private static final int LOCK_CHUNK = 500;
+
+    private static final String UPSERT =
+            "INSERT INTO view_counts (entity_type, entity_id, views, viewers, updated_at) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (entity_type, entity_id) DO UPDATE SET views = view_counts.views + EXCLUDED.views, " +
+            "viewers = COALESCE(EXCLUDED.viewers, view_counts.viewers), updated_at = EXCLUDED.updated_at";
+
+    private static final String ADD_PROBLEM_VIEWS =
+            "UPDATE problems SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+
+    private static final class Pending {
+        final LongAdder views = new LongAdder();
+        final HyperLogLog viewers = new HyperLogLog(PRECISION);
+        volatile boolean viewersChanged;
+        // Only touched by the flushing thread
+        int idleFlushes;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Key, Pending> pending = new ConcurrentHashMap<>();
+    // Dropped as idle on the last flush and drained once more on this one, for views that were mid-record then
+    private volatile Map<Key, Pending> retiring = Map.of();
+    // One flush at a time
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Items not viewed for this many flushes stop taking memory until they are viewed again
+    @Value("${app.views.idle-flushes:12}")
+    private int idleFlushes = 12;
+
+    public ViewCountService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void recordView(Kind kind, Long id, String viewer) {
+        Pending entry = pending.computeIfAbsent(new Key(kind, id), key -> new Pending());
+        entry.views.increment();
+        if (entry.viewers.offer(viewer)) {
+            entry.viewersChanged = true;
+        }
+    }
+
+    /** Stored counts plus what this node has not flushed yet. */
+    public Stats stats(Kind kind, Long id) {
+        HyperLogLog viewers = new HyperLogLog(PRECISION);
+        long[] views = {0};
+        jdbcTemplate.query("SELECT views, viewers FROM view_counts WHERE entity_type = ? AND entity_id = ?", rs -> {
+            views[0] = rs.getLong("views");
+            byte[] stored = rs.getBytes("viewers");
+            if (stored != null) {
+                viewers.merge(stored);
+            }
+        }, kind.name(), id);
+        Key key = new Key(kind, id);
+        for (Pending entry : new Pending[]{pending.get(key), retiring.get(key)}) {
+            if (entry != null) {
+                views[0] += entry.views.sum();
+                viewers.merge(entry.viewers.toBytes());
+            }
+        }
+        return new Stats(views[0], viewers.estimate());
+    }
+
+    /**
+     * Who is viewing: the signed-in user, or for anonymous requests the client
+     * address and user agent, which is as close as we can get without a cookie.
+     */
+    public static String viewerKey(HttpServletRequest request) {
+        if (request.getUserPrincipal() != null) {
+            return "user:" + request.getUserPrincipal().getName();
+        }
+        return "anon:" + request.getRemoteAddr() + "|" + request.getHeader("User-Agent");
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}", initialDelayString = "${app.views.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        Map<Key, Pending> draining = retiring;
+        Map<Key, Pending> idle = new HashMap<>();
+        List<Map.Entry<Key, Pending>> entries = new ArrayList<>(pending.entrySet());
+        entries.addAll(draining.entrySet());
+
+        Map<Key, Long> views = new HashMap<>();
+        Map<Key, HyperLogLog> viewers = new HashMap<>();
+        for (Map.Entry<Key, Pending> e : entries) {
+            Pending entry = e.getValue();
+            // Per-cell getAndSet: a concurrent increment lands in this flush or the next, never neither
+            long counted = entry.views.sumThenReset();
+            boolean changed = entry.viewersChanged;
+            if (changed) {
+                // Reset before copying, so a register raised after the copy is caught next time
+                entry.viewersChanged = false;
+                viewers.merge(e.getKey(), HyperLogLog.of(entry.viewers.toBytes()), (a, b) -> {
+                    a.merge(b.toBytes());
+                    return a;
+                });
+            }
+            if (counted > 0) {
+                views.merge(e.getKey(), counted, Long::sum);
+            }
+            if (draining.get(e.getKey()) != entry) {
+                entry.idleFlushes = counted > 0 || changed ? 0 : entry.idleFlushes + 1;
+                if (entry.idleFlushes >= idleFlushes && pending.remove(e.getKey(), entry)) {
+                    idle.put(e.getKey(), entry);
+                }
+            }
+        }
+        retiring = idle;
+        if (views.isEmpty() && viewers.isEmpty()) {
+            return;
+        }
+        try {
+            write(views, viewers);
+        } catch (RuntimeException ex) {
+            // Put the counts back for the next flush rather than lose them
+            views.forEach((key, counted) -> pending.computeIfAbsent(key, k -> new Pending()).views.add(counted));
+            viewers.forEach((key, sketch) -> {
+                Pending entry = pending.computeIfAbsent(key, k -> new Pending());
+                entry.viewers.merge(sketch.toBytes());
+                entry.viewersChanged = true;
+            });
+            log.warn("Could not flush view counts for {} items, will retry: {}", views.size(), ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        flush();
+    }
+
+    private void write(Map<Key, Long> views, Map<Key, HyperLogLog> viewers) {
+        List<Key> keys = new ArrayList<>(views.keySet());
+        viewers.keySet().stream().filter(key -> !views.containsKey(key)).forEach(keys::add);
+        // Rows are locked in one order everywhere so two nodes flushing together cannot deadlock
+        keys.sort(Comparator.comparing(Key::kind).thenComparingLong(Key::id));
+        Timestamp now = Timestamp.from(Instant.now());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Key> merging = keys.stream().filter(viewers::containsKey).toList();
+            for (int from = 0; from < merging.size(); from += LOCK_CHUNK) {
+                List<Key> chunk = merging.subList(from, Math.min(from + LOCK_CHUNK, merging.size()));
+                String tuples = String.join(", ", Collections.nCopies(chunk.size(), "(?, ?)"));
+                Object[] args = chunk.stream().flatMap(key -> Stream.of(key.kind().name(), key.id())).toArray();
+                jdbcTemplate.query("SELECT entity_type, entity_id, viewers FROM view_counts " +
+                        "WHERE (entity_type, entity_id) IN (" + tuples + ") ORDER BY entity_type, entity_id FOR UPDATE", rs -> {
+                    byte[] stored = rs.getBytes("viewers");
+                    if (stored != null) {
+                        viewers.get(new Key(Kind.valueOf(rs.getString("entity_type")), rs.getLong("entity_id"))).merge(stored);
+                    }
+                }, args);
+            }
+            jdbcTemplate.batchUpdate(UPSERT, keys.stream().map(key -> new Object[]{
+                    key.kind().name(), key.id(), views.getOrDefault(key, 0L),
+                    viewers.containsKey(key) ? viewers.get(key).toBytes() : null, now}).toList());
+            jdbcTemplate.batchUpdate(ADD_PROBLEM_VIEWS, views.entrySet().stream()
+                    .filter(e -> e.getKey().kind() == Kind.PROBLEM)
+                    .map(e -> new Object[]{e.getValue(), e.getKey().id()}).toList());
+        });
+        log.debug("Flushed views for {} items", keys.size());
+    }
+}
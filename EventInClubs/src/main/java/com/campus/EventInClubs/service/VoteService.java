@@ -26,6 +26,7 @@ public class VoteService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final AchievementService achievementService;
+    private final IdeaRankingService ideaRankingService;
     
     public Map<String, Object> voteOnIdea(Long ideaId, Long userId, String voteType) {
         // Validate vote type
@@ -52,8 +53,9 @@ public class VoteService {
             Vote vote = existingVote.get();
             
             // If same vote type, remove the vote
-            if (vote.getVoteType().equals(voteType)) {
+            if (vote.getVoteType() == Vote.VoteType.valueOf(voteType)) {
                 voteRepository.delete(vote);
+                recordVote(ideaId, vote.getVoteType(), -1);
                 log.info("Removed {} vote from idea: {} by user: {}", voteType, idea.getTitle(), user.getName());
                 
                 return Map.of(
@@ -65,7 +67,9 @@ public class VoteService {
                 );
             } else {
                 // If different vote type, update the vote
+                recordVote(ideaId, vote.getVoteType(), -1);
                 vote.setVoteType(Vote.VoteType.valueOf(voteType));
+                recordVote(ideaId, vote.getVoteType(), 1);
                 vote.setUpdatedAt(Instant.now());
                 voteRepository.save(vote);
                 log.info("Changed vote to {} for idea: {} by user: {}", voteType, idea.getTitle(), user.getName());
@@ -89,6 +93,7 @@ public class VoteService {
                     .build();
             
             voteRepository.save(vote);
+            recordVote(ideaId, vote.getVoteType(), 1);
             log.info("Added {} vote to idea: {} by user: {}", voteType, idea.getTitle(), user.getName());
             
             // Send notification to idea owner (if not voting on own idea)
@@ -110,6 +115,7 @@ public class VoteService {
         }
     }
     
+    @Transactional(readOnly = true)
     public Map<String, Object> getVoteStats(Long ideaId) {
         // Verify idea exists
         Idea idea = ideaRepository.findById(ideaId)
@@ -128,6 +134,7 @@ public class VoteService {
         );
     }
     
+    @Transactional(readOnly = true)
     public String getUserVote(Long ideaId, Long userId) {
         Optional<Vote> vote = voteRepository.findByIdeaIdAndUserId(ideaId, userId);
         return vote.map(v -> v.getVoteType().name()).orElse(null);
@@ -137,7 +144,12 @@ public class VoteService {
         Optional<Vote> vote = voteRepository.findByIdeaIdAndUserId(ideaId, userId);
         if (vote.isPresent()) {
             voteRepository.delete(vote.get());
+            recordVote(ideaId, vote.get().getVoteType(), -1);
             log.info("Removed vote from idea: {} by user: {}", ideaId, userId);
         }
     }
+    
+    private void recordVote(Long ideaId, Vote.VoteType type, int delta) {
+        ideaRankingService.recordVote(ideaId, type == Vote.VoteType.UP ? delta : 0, type == Vote.VoteType.DOWN ? delta : 0);
+    }
 }
@@ -0,0 +1,63 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.domain.model.Notification;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tells promoted registrants they have a seat, on the notification pool so the
+ * cancellation that freed it does not wait for the mail server.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistPromotionNotifier {
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onWaitlistPromoted(WaitlistPromotionService.WaitlistPromoted promoted) {
+        try {
+            Event event = new TransactionTemplate(transactionManager).execute(status -> {
+                Event loaded = eventRepository.findById(promoted.eventId()).orElseThrow();
+                // Touch what is read below, outside the transaction
+                loaded.getClub().getAdminUser().getEmail();
+                return loaded;
+            });
+
+            for (Long userId : promoted.userIds()) {
+                notificationService.createNotification(
+                    userId,
+                    "Off the Waitlist",
+                    String.format("A seat opened up and you are now registered for '%s'", event.getTitle()),
+                    Notification.NotificationType.SYSTEM,
+                    event.getId(),
+                    "EVENT"
+                );
+            }
+
+            String clubAdminEmail = event.getClub().getAdminUser().getEmail();
+            for (EventRegistration registration : registrationRepository.findForEmailByEventIdAndUserIdIn(
+                    event.getId(), promoted.userIds(), EventRegistration.RegistrationStatus.REGISTERED)) {
+                emailService.sendRegistrationConfirmation(registration, clubAdminEmail);
+            }
+        } catch (Exception e) {
+            log.error("Failed to notify promoted registrants of event {}: {}", promoted.eventId(), e.getMessage(), e);
+        }
+    }
+}
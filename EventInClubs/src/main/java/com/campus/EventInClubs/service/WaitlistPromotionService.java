@@ -0,0 +1,139 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration.RegistrationStatus;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves waitlisted registrations into free seats, oldest first. A run locks the
+ * event row, so concurrent runs for the same event (from any node) take turns
+ * and never hand out the same seat twice, then claims waitlisted rows with
+ * {@code FOR UPDATE SKIP LOCKED}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistPromotionService {
+
+    private static final Set<Event.EventStatus> PROMOTABLE_EVENT_STATUSES = EnumSet.of(
+            Event.EventStatus.PUBLISHED, Event.EventStatus.APPROVED,
+            Event.EventStatus.REGISTRATION_CLOSED, Event.EventStatus.ONGOING);
+
+    public record SeatsReleased(Long eventId) {}
+
+    public record WaitlistPromoted(Long eventId, List<Long> registrationIds, List<Long> userIds) {}
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final CheckInService checkInService;
+    private final ResourceVersionService resourceVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    // When set, marking someone NO_SHOW gives their seat to the waitlist
+    @Value("${app.waitlist.release-no-show-seats:false}")
+    private boolean releaseNoShowSeats = false;
+
+    public boolean holdsSeat(RegistrationStatus status) {
+        return status == RegistrationStatus.REGISTERED
+                || status == RegistrationStatus.ATTENDED
+                || (status == RegistrationStatus.NO_SHOW && !releaseNoShowSeats);
+    }
+
+    /**
+     * Runs a promotion for the event once the caller's transaction has committed,
+     * so the seat it freed is visible. The run happens on the promotion pool:
+     * the committing thread still holds its connection, and a second one per
+     * request could drain the pool under a burst of cancellations. When that
+     * pool is full the run is dropped and the sweep promotes instead.
+     */
+    public void seatsReleased(Long eventId) {
+        eventPublisher.publishEvent(new SeatsReleased(eventId));
+    }
+
+    @Async("promotionExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSeatsReleased(SeatsReleased released) {
+        promoteQuietly(released.eventId());
+    }
+
+    /** Promotes as many waitlisted registrations as there are free seats and returns their ids. */
+    public List<Long> promote(Long eventId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction.execute(status -> {
+            Event event = eventRepository.findByIdForUpdate(eventId).orElse(null);
+            if (event == null || !PROMOTABLE_EVENT_STATUSES.contains(event.getStatus())
+                    || (event.getEndDate() != null && event.getEndDate().isBefore(LocalDateTime.now()))) {
+                return List.<Long>of();
+            }
+
+            int freeSeats = Integer.MAX_VALUE;
+            if (event.getMaxParticipants() != null) {
+                long taken = registrationRepository.countByEventIdAndStatusIn(eventId, seatStatuses());
+                freeSeats = (int) Math.max(0, event.getMaxParticipants() - taken);
+            }
+            if (freeSeats == 0) {
+                return List.<Long>of();
+            }
+
+            // A row skipped here is being cancelled or edited elsewhere; the next run reconsiders it
+            List<Long> promoted = registrationRepository.lockOldestWaitlistedIds(eventId, freeSeats);
+            if (promoted.isEmpty()) {
+                return promoted;
+            }
+            registrationRepository.promoteWaitlisted(promoted);
+            List<Long> userIds = registrationRepository.findUserIdsByIdIn(promoted);
+
+            promoted.forEach(registrationId -> checkInService.registrationChanged(eventId, registrationId));
+            // Bulk updates skip the entity listener
+            resourceVersionService.markChanged(ResourceVersionService.Resource.EVENTS);
+            eventPublisher.publishEvent(new WaitlistPromoted(eventId, promoted, userIds));
+            log.info("Promoted {} waitlisted registrations for event {}", promoted.size(), eventId);
+            return promoted;
+        });
+    }
+
+    /**
+     * Catches seats a missed trigger left free, e.g. a node stopping between a
+     * cancellation's commit and its promotion run.
+     */
+    @Scheduled(fixedDelayString = "${app.waitlist.sweep-interval-ms:300000}")
+    public void sweep() {
+        for (Long eventId : registrationRepository.findEventIdsWithWaitlist(LocalDateTime.now())) {
+            promoteQuietly(eventId);
+        }
+    }
+
+    private Set<RegistrationStatus> seatStatuses() {
+        return releaseNoShowSeats
+                ? EnumSet.of(RegistrationStatus.REGISTERED, RegistrationStatus.ATTENDED)
+                : EnumSet.of(RegistrationStatus.REGISTERED, RegistrationStatus.ATTENDED, RegistrationStatus.NO_SHOW);
+    }
+
+    private void promoteQuietly(Long eventId) {
+        try {
+            promote(eventId);
+        } catch (Exception e) {
+            log.error("Failed to promote the waitlist for event {}: {}", eventId, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+-- Normalized team members replacing LIKE scans over the comma-separated columns
+CREATE TABLE IF NOT EXISTS team_members (
+    id BIGSERIAL PRIMARY KEY,
+    team_registration_id BIGINT NOT NULL REFERENCES team_registrations(id),
+    event_id BIGINT NOT NULL REFERENCES events(id),
+    member_index INTEGER NOT NULL,
+    roll_number VARCHAR(32) NOT NULL,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    CONSTRAINT uk_team_members_event_roll UNIQUE (event_id, roll_number),
+    CONSTRAINT uk_team_members_event_email UNIQUE (event_id, email)
+);
+
+CREATE INDEX IF NOT EXISTS idx_team_members_team ON team_members(team_registration_id);
+
+-- Backfill from existing teams (cancelled teams no longer hold their members)
+-- Also run at startup by DataInitializer.backfillTeamMembers, so it is safe to repeat
+INSERT INTO team_members (team_registration_id, event_id, member_index, roll_number, name, email)
+SELECT tr.id, tr.event_id, r.ord - 1, trim(r.roll_number),
+       NULLIF(trim((string_to_array(tr.member_names, ','))[r.ord]), ''),
+       NULLIF(lower(trim((string_to_array(tr.member_emails, ','))[r.ord])), '')
+FROM team_registrations tr
+CROSS JOIN LATERAL unnest(string_to_array(tr.member_roll_numbers, ',')) WITH ORDINALITY AS r(roll_number, ord)
+WHERE tr.status <> 'CANCELLED' AND trim(r.roll_number) <> ''
+  AND NOT EXISTS (SELECT 1 FROM team_members tm WHERE tm.team_registration_id = tr.id)
+ON CONFLICT DO NOTHING;
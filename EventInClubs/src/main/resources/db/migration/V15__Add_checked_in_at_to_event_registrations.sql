@@ -0,0 +1,3 @@
+-- Time of the first QR check-in scan, written by the check-in flush
+ALTER TABLE event_registrations
+ADD COLUMN IF NOT EXISTS checked_in_at TIMESTAMP;
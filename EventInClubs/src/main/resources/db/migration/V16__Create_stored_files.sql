@@ -0,0 +1,14 @@
+-- Content-addressed uploads: one row per distinct file, keyed by its SHA-256
+CREATE TABLE IF NOT EXISTS stored_files (
+    sha256 VARCHAR(64) PRIMARY KEY,
+    extension VARCHAR(16) NOT NULL,
+    content_type VARCHAR(255),
+    size_bytes BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    last_uploaded_at TIMESTAMP NOT NULL
+);
+
+-- Garbage collection looks for unreferenced files past their grace period
+CREATE INDEX IF NOT EXISTS idx_stored_files_unreferenced
+ON stored_files (last_uploaded_at) WHERE ref_count <= 0;
@@ -0,0 +1,19 @@
+-- Background resizing of uploaded posters into thumbnail and card variants
+CREATE TABLE IF NOT EXISTS image_derivative_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    source_url VARCHAR(512) NOT NULL UNIQUE,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP
+);
+
+-- The sweep looks for work that is waiting or abandoned
+CREATE INDEX IF NOT EXISTS idx_image_derivative_jobs_open
+ON image_derivative_jobs (created_at) WHERE status IN ('PENDING', 'RUNNING');
+
+-- Nodes load finished jobs incrementally by completion time
+CREATE INDEX IF NOT EXISTS idx_image_derivative_jobs_completed
+ON image_derivative_jobs (completed_at) WHERE status = 'DONE';
@@ -0,0 +1,21 @@
+-- Club logos are staged locally and pushed to Cloudinary in the background
+CREATE TABLE IF NOT EXISTS cloudinary_upload_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    staged_url VARCHAR(512) NOT NULL,
+    folder VARCHAR(100) NOT NULL,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    remote_url VARCHAR(512),
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- The sweep looks for jobs that are due or abandoned
+CREATE INDEX IF NOT EXISTS idx_cloudinary_upload_jobs_open
+ON cloudinary_upload_jobs (next_attempt_at) WHERE status IN ('PENDING', 'UPLOADING');
+
+-- Clubs saved with a staged URL are mapped to the finished upload
+CREATE INDEX IF NOT EXISTS idx_cloudinary_upload_jobs_staged_url
+ON cloudinary_upload_jobs (staged_url);
@@ -0,0 +1,19 @@
+-- Materialized thread position so a whole discussion loads in one indexed query
+ALTER TABLE comments
+ADD COLUMN IF NOT EXISTS root_id BIGINT,
+ADD COLUMN IF NOT EXISTS path VARCHAR(2048);
+
+CREATE INDEX IF NOT EXISTS idx_comments_idea_roots ON comments (idea_id, path);
+CREATE INDEX IF NOT EXISTS idx_comments_thread ON comments (root_id, path);
+
+-- Backfill existing comments: each id zero-padded to 12 digits plus '/', from the root down
+-- Also run at startup by DataInitializer.backfillCommentThreads, so it is safe to repeat
+WITH RECURSIVE tree AS (
+    SELECT id, id AS root_id, lpad(id::text, 12, '0') || '/' AS path
+    FROM comments WHERE parent_comment_id IS NULL
+    UNION ALL
+    SELECT c.id, t.root_id, t.path || lpad(c.id::text, 12, '0') || '/'
+    FROM comments c JOIN tree t ON c.parent_comment_id = t.id
+)
+UPDATE comments c SET root_id = tree.root_id, path = tree.path
+FROM tree WHERE c.id = tree.id AND c.path IS NULL;
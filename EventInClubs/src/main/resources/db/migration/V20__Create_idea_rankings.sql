@@ -0,0 +1,36 @@
+-- Per-idea vote/comment tallies with decayed activity, maintained by IdeaRankingService
+CREATE TABLE IF NOT EXISTS idea_scores (
+    idea_id BIGINT PRIMARY KEY,
+    upvotes INTEGER NOT NULL,
+    downvotes INTEGER NOT NULL,
+    comments INTEGER NOT NULL,
+    activity DOUBLE PRECISION NOT NULL,
+    recent_activity DOUBLE PRECISION NOT NULL,
+    activity_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    idea_created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    decay_until TIMESTAMP WITH TIME ZONE NOT NULL,
+    ranked_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Only ideas still decaying are visited by the periodic pass
+CREATE INDEX IF NOT EXISTS idx_idea_scores_decaying ON idea_scores (idea_id)
+WHERE ranked_at IS NULL OR decay_until > ranked_at;
+
+-- One row per list (ALL, EVENT, PROBLEM, CLUB) an idea appears in; scope_id is 0 for ALL
+CREATE TABLE IF NOT EXISTS idea_rankings (
+    id BIGSERIAL PRIMARY KEY,
+    scope VARCHAR(8) NOT NULL,
+    scope_id BIGINT NOT NULL,
+    idea_id BIGINT NOT NULL,
+    top_score DOUBLE PRECISION NOT NULL,
+    hot_score DOUBLE PRECISION NOT NULL,
+    rising_score DOUBLE PRECISION NOT NULL,
+    CONSTRAINT uk_idea_rankings_scope_idea UNIQUE (scope, scope_id, idea_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idea_rankings_top ON idea_rankings (scope, scope_id, top_score DESC, idea_id DESC);
+CREATE INDEX IF NOT EXISTS idx_idea_rankings_hot ON idea_rankings (scope, scope_id, hot_score DESC, idea_id DESC);
+CREATE INDEX IF NOT EXISTS idx_idea_rankings_rising ON idea_rankings (scope, scope_id, rising_score DESC, idea_id DESC);
+CREATE INDEX IF NOT EXISTS idx_idea_rankings_idea ON idea_rankings (idea_id);
+
+-- Existing ideas are scored from their votes and comments by the first decay pass after startup
@@ -0,0 +1,21 @@
+-- Detail-page views per problem, event or idea, flushed in batches by ViewCountService.
+-- viewers holds 2048 one-byte HyperLogLog registers for the unique-viewer estimate
+CREATE TABLE IF NOT EXISTS view_counts (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(10) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    views BIGINT NOT NULL,
+    viewers BYTEA,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_view_counts_entity UNIQUE (entity_type, entity_id)
+);
+
+-- Trending problems are read straight off this index
+CREATE INDEX IF NOT EXISTS idx_problems_trending ON problems (is_active, idea_count DESC, view_count DESC, created_at DESC);
+
+-- idea_count was never maintained; recount it from active ideas
+-- Also run at startup by DataInitializer.recountProblemIdeas, so it is safe to repeat
+UPDATE problems p SET idea_count = c.n, view_count = COALESCE(p.view_count, 0)
+FROM (SELECT pr.id, COUNT(i.id) AS n FROM problems pr
+      LEFT JOIN ideas i ON i.problem_id = pr.id AND i.is_active GROUP BY pr.id) c
+WHERE c.id = p.id AND (p.idea_count IS DISTINCT FROM c.n OR p.view_count IS NULL);
@@ -0,0 +1,19 @@
+-- Hourly and daily counts per metric for the campus (scope_id 0), each club and each event,
+-- maintained by TrendRollupService. Existing data is counted by its first passes after startup
+CREATE TABLE IF NOT EXISTS activity_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    metric VARCHAR(16) NOT NULL,
+    scope VARCHAR(8) NOT NULL,
+    scope_id BIGINT NOT NULL,
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    count BIGINT NOT NULL,
+    CONSTRAINT uk_activity_rollups_bucket UNIQUE (metric, scope, scope_id, granularity, bucket_start)
+);
+
+-- Last source row id counted per metric
+CREATE TABLE IF NOT EXISTS rollup_watermarks (
+    metric VARCHAR(16) PRIMARY KEY,
+    last_id BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,18 @@
+-- Events that take sign-ups through the admission queue instead of registering inline
+ALTER TABLE events ADD COLUMN IF NOT EXISTS admission_queue BOOLEAN DEFAULT FALSE;
+
+-- Queued sign-ups, written before the 202 is sent and decided in id order by AdmissionQueueService.
+-- Tickets still QUEUED after a restart are picked up by its sweep
+CREATE TABLE IF NOT EXISTS registration_tickets (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    roll_number VARCHAR(32),
+    notes VARCHAR(255),
+    status VARCHAR(16) NOT NULL,
+    message VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    decided_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_registration_tickets_queue ON registration_tickets (event_id, status, id);
@@ -0,0 +1,7 @@
+-- Version stamps behind the ETag / Last-Modified of list endpoints, shared by all nodes.
+-- One row per list view (EVENTS, CLUBS, ...) and per user's notifications (n:<user id>)
+CREATE TABLE IF NOT EXISTS resource_versions (
+    resource_key VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    last_modified BIGINT NOT NULL
+);
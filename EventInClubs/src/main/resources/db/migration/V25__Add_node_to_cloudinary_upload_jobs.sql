@@ -0,0 +1,2 @@
+-- The node whose local upload directory holds the staged file; only it (or a node that can see the file) claims the job
+ALTER TABLE cloudinary_upload_jobs ADD COLUMN IF NOT EXISTS node_id VARCHAR(64);
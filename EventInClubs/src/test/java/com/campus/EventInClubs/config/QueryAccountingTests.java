@@ -0,0 +1,93 @@
+package com.campus.EventInClubs.config;
+
+import com.campus.EventInClubs.support.QueryCountAssertions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QueryAccountingTests {
+
+	private SimpleMeterRegistry meterRegistry;
+	private QueryAccountingFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new QueryAccountingFilter(meterRegistry);
+		ReflectionTestUtils.setField(filter, "statementBudget", 3);
+	}
+
+	@Test
+	void nestedScopesFoldIntoTheirParent() {
+		try (QueryAccounting.Scope outer = QueryAccounting.open()) {
+			executeStatements(1);
+			try (QueryAccounting.Scope inner = QueryAccounting.open()) {
+				executeStatements(2);
+				QueryAccounting.entityLoaded();
+				assertEquals(2, inner.getStatements());
+			}
+			assertEquals(3, outer.getStatements());
+			assertEquals(1, outer.getEntityLoads());
+		}
+	}
+
+	@Test
+	void workOutsideAScopeIsIgnored() {
+		executeStatements(5);
+		try (QueryAccounting.Scope scope = QueryAccounting.open()) {
+			assertEquals(0, scope.getStatements());
+		}
+	}
+
+	@Test
+	void filterRecordsMetersByUriPattern() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/7");
+		MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse res) {
+				req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/events/{id}");
+				executeStatements(4);
+				QueryAccounting.entityLoaded();
+			}
+		});
+
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		assertEquals(4.0, meterRegistry.get(QueryAccountingFilter.STATEMENTS_METRIC)
+				.tag("method", "GET").tag("uri", "/api/events/{id}").summary().totalAmount());
+		assertEquals(1.0, meterRegistry.get(QueryAccountingFilter.ENTITY_LOADS_METRIC)
+				.tag("uri", "/api/events/{id}").summary().totalAmount());
+		assertEquals(1.0, meterRegistry.get(QueryAccountingFilter.BUDGET_EXCEEDED_METRIC)
+				.tag("uri", "/api/events/{id}").counter().count());
+		assertNull(meterRegistry.find(QueryAccountingFilter.STATEMENTS_METRIC).tag("uri", "UNMAPPED").summary());
+	}
+
+	@Test
+	void assertionFailsWhenBudgetIsExceeded() {
+		assertEquals("ok", QueryCountAssertions.assertMaxStatements(2, () -> {
+			executeStatements(2);
+			return "ok";
+		}));
+		assertThrows(AssertionError.class, () -> QueryCountAssertions.assertMaxStatements(2, () -> executeStatements(3)));
+	}
+
+	private static void executeStatements(int count) {
+		QueryAccountingConfig.StatementListener listener = new QueryAccountingConfig.StatementListener();
+		for (int i = 0; i < count; i++) {
+			listener.jdbcExecuteStatementStart();
+			listener.jdbcExecuteStatementEnd();
+		}
+	}
+}
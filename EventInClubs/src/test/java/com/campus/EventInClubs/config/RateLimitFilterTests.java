@@ -0,0 +1,165 @@
+package com.campus.EventInClubs.config;
+
+import com.campus.EventInClubs.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private RateLimitFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		JwtUtil jwtUtil = mock(JwtUtil.class);
+		when(jwtUtil.extractUserId("alice")).thenReturn(1L);
+		when(jwtUtil.extractUserId("bob")).thenReturn(2L);
+		CorsConfiguration cors = new CorsConfiguration();
+		cors.setAllowedOrigins(List.of("http://localhost:5173"));
+		cors.setAllowedMethods(List.of("POST"));
+		UrlBasedCorsConfigurationSource corsSource = new UrlBasedCorsConfigurationSource();
+		corsSource.registerCorsConfiguration("/**", cors);
+
+		filter = new RateLimitFilter(meterRegistry, jwtUtil, corsSource, new ObjectMapper());
+		ReflectionTestUtils.setField(filter, "registrationsPerUser", "2/1m");
+		ReflectionTestUtils.setField(filter, "maxConcurrentWrites", 1);
+		ReflectionTestUtils.setField(filter, "writeQueueMs", 20L);
+		filter.init();
+	}
+
+	@Test
+	void eachUserGetsTheirOwnBucketAndAnEmptyOneAnswers429() throws Exception {
+		assertEquals(200, register("alice").getStatus());
+		assertEquals(200, register("alice").getStatus());
+
+		MockHttpServletResponse limited = register("alice");
+		assertEquals(429, limited.getStatus());
+		assertEquals("30", limited.getHeader("Retry-After"));
+		assertEquals("http://localhost:5173", limited.getHeader("Access-Control-Allow-Origin"));
+		assertTrue(limited.getContentAsString().contains("\"error\""));
+
+		assertEquals(200, register("bob").getStatus());
+		assertEquals(1.0, meterRegistry.counter(RateLimitFilter.DECISIONS_METRIC,
+				"route", "registrations", "outcome", "limited_user").count());
+	}
+
+	@Test
+	void writesBeyondTheConcurrencyCapAreShed() throws Exception {
+		CountDownLatch inside = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread slow = Thread.startVirtualThread(() -> {
+			try {
+				filter.doFilter(post("/api/ideas", "bob"), new MockHttpServletResponse(), (request, response) -> {
+					inside.countDown();
+					await(release);
+				});
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+		MockHttpServletResponse shed = new MockHttpServletResponse();
+		filter.doFilter(post("/api/ideas", "alice"), shed, new MockFilterChain());
+		assertEquals(503, shed.getStatus());
+		assertEquals("1", shed.getHeader("Retry-After"));
+
+		MockHttpServletResponse read = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/ideas"), read, new MockFilterChain());
+		assertEquals(200, read.getStatus());
+
+		release.countDown();
+		slow.join();
+		assertEquals(200, register("alice").getStatus());
+	}
+
+	@Test
+	void aLongUploadDoesNotStarveOtherWrites() throws Exception {
+		CountDownLatch inside = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread upload = Thread.startVirtualThread(() -> {
+			MockHttpServletRequest request = post("/api/upload/poster", "bob");
+			request.setContentType("multipart/form-data; boundary=x");
+			try {
+				filter.doFilter(request, new MockHttpServletResponse(), (req, response) -> {
+					inside.countDown();
+					await(release);
+				});
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+		// The only write slot is free while the upload streams in, and sign-in never needs one
+		assertEquals(200, register("alice").getStatus());
+		MockHttpServletResponse login = new MockHttpServletResponse();
+		filter.doFilter(post("/api/auth/login"), login, new MockFilterChain());
+		assertEquals(200, login.getStatus());
+		assertEquals(0.0, meterRegistry.find(RateLimitFilter.DECISIONS_METRIC).tag("outcome", "shed").counters()
+				.stream().mapToDouble(counter -> counter.count()).sum());
+
+		release.countDown();
+		upload.join();
+	}
+
+	@Test
+	void idleBucketsAreDroppedWhenTheirStripeFillsUp() {
+		AtomicLong clock = new AtomicLong();
+		RateLimiter limiter = new RateLimiter(16, clock::get);
+		RateLimiter.Limit limit = RateLimiter.Limit.parse("5/10s");
+		for (int i = 0; i < 100; i++) {
+			assertEquals(0, limiter.tryAcquire("old-" + i, limit));
+		}
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+		for (int i = 0; i < 100; i++) {
+			limiter.tryAcquire("new-" + i, limit);
+		}
+		assertEquals(100, limiter.trackedKeys());
+	}
+
+	private MockHttpServletResponse register(String token) throws Exception {
+		MockHttpServletRequest request = post("/api/event-registrations/register", token);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private static MockHttpServletRequest post(String uri) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+		request.addHeader("Origin", "http://localhost:5173");
+		return request;
+	}
+
+	private static MockHttpServletRequest post(String uri, String token) {
+		MockHttpServletRequest request = post(uri);
+		request.addHeader("Authorization", "Bearer " + token);
+		return request;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.campus.EventInClubs.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final DataSource primary = mock(DataSource.class);
+	private final DataSource replica = mock(DataSource.class);
+	private final Connection primaryConnection = mock(Connection.class);
+	private final Connection replicaConnection = mock(Connection.class);
+	private final ReplicaLagMonitor monitor = mock(ReplicaLagMonitor.class);
+	private final AtomicLong now = new AtomicLong(100 * SECOND);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private ReadYourWrites readYourWrites;
+	private ReplicaRoutingDataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(replica.getConnection()).thenReturn(replicaConnection);
+		when(monitor.lagNanos()).thenReturn(0L);
+		readYourWrites = new ReadYourWrites(3 * SECOND, now::get);
+		dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, readYourWrites, meterRegistry,
+				SECOND, 2 * SECOND);
+		ReadYourWrites.setClient(client("token:a"));
+	}
+
+	@AfterEach
+	void clearClient() {
+		ReadYourWrites.setClient(null);
+	}
+
+	@Test
+	void aClientReadsItsOwnWritesFromThePrimaryUntilTheReplicaHasThem() throws Exception {
+		assertSame(replicaConnection, dataSource.getConnection());
+
+		TransactionExecution write = mock(TransactionExecution.class);
+		when(write.isNewTransaction()).thenReturn(true);
+		readYourWrites.afterCommit(write, null);
+		assertSame(primaryConnection, dataSource.getConnection());
+
+		ReadYourWrites.setClient(client("token:b"));
+		assertSame(replicaConnection, dataSource.getConnection());
+
+		ReadYourWrites.setClient(client("token:a"));
+		now.addAndGet(3 * SECOND);
+		assertSame(replicaConnection, dataSource.getConnection());
+		readYourWrites.forgetSettledWrites();
+		assertEquals(0, readYourWrites.trackedClients());
+		assertEquals(1, routed("primary", "read_your_writes"));
+	}
+
+	@Test
+	void readsFallBackToThePrimaryWhileTheReplicaLagsOrFails() throws Exception {
+		when(monitor.lagNanos()).thenReturn(5 * SECOND);
+		assertSame(primaryConnection, dataSource.getConnection());
+
+		when(monitor.lagNanos()).thenReturn(0L);
+		when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+		assertSame(primaryConnection, dataSource.getConnection());
+
+		assertEquals(1, routed("primary", "replica_lagging"));
+		assertEquals(1, routed("primary", "replica_unavailable"));
+		assertEquals(0, routed("replica", "ok"));
+	}
+
+	@Test
+	void aWriteCarriedInFromAnotherNodeKeepsTheClientOnThePrimary() throws Exception {
+		ReadYourWrites.setClient(new ReadYourWrites.Client(null, now.get() - SECOND, null));
+		assertSame(primaryConnection, dataSource.getConnection());
+
+		now.addAndGet(2 * SECOND);
+		assertSame(replicaConnection, dataSource.getConnection());
+		assertEquals(0, readYourWrites.trackedClients());
+	}
+
+	@Test
+	void anonymousWritesFollowTheClientToAnotherNodeInACookie() throws Exception {
+		ReadYourWrites nodeA = new ReadYourWrites(3 * SECOND);
+		ReadYourWrites nodeB = new ReadYourWrites(3 * SECOND);
+		MockHttpServletResponse written = new MockHttpServletResponse();
+		new ReadYourWritesFilter(nodeA).doFilter(new MockHttpServletRequest("POST", "/api/auth/register"), written,
+				(request, response) -> nodeA.recordWrite());
+		Cookie lastWrite = written.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+		assertEquals(0, nodeA.trackedClients());
+
+		MockHttpServletRequest sameBrowser = new MockHttpServletRequest("GET", "/api/ideas");
+		sameBrowser.setCookies(lastWrite);
+		new ReadYourWritesFilter(nodeB).doFilter(sameBrowser, new MockHttpServletResponse(),
+				(request, response) -> assertTrue(nodeB.wroteWithin(SECOND)));
+
+		// Another caller at the same address is not held on the primary
+		new ReadYourWritesFilter(nodeA).doFilter(new MockHttpServletRequest("GET", "/api/ideas"), new MockHttpServletResponse(),
+				(request, response) -> assertFalse(nodeA.wroteWithin(SECOND)));
+	}
+
+	private static ReadYourWrites.Client client(String key) {
+		return new ReadYourWrites.Client(key, 0, null);
+	}
+
+	private double routed(String target, String reason) {
+		var counter = meterRegistry.find(ReplicaRoutingDataSource.ROUTING_METRIC)
+				.tag("target", target).tag("reason", reason).counter();
+		return counter == null ? 0 : counter.count();
+	}
+}
@@ -0,0 +1,63 @@
+package com.campus.EventInClubs.controller;
+
+import com.campus.EventInClubs.security.JwtUtil;
+import com.campus.EventInClubs.service.CheckInService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CheckInControllerTests {
+
+	private final JwtUtil jwtUtil = new JwtUtil();
+	private final CheckInService checkInService = mock(CheckInService.class);
+	private MockMvc mockMvc;
+	private String bearer;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(new CheckInController(checkInService, jwtUtil)).build();
+		bearer = "Bearer " + jwtUtil.generateToken("admin@example.edu", "CLUB_ADMIN", 7L);
+	}
+
+	@Test
+	void adminEndpointsActAsTheUserTheTokenNames() throws Exception {
+		when(checkInService.getRoster(1L, 7L)).thenReturn(List.of());
+		when(checkInService.issueToken(5L, 7L)).thenReturn("signed");
+
+		// User ids in the query string are not trusted
+		mockMvc.perform(get("/api/check-in/event/1/roster").param("adminUserId", "1").header("Authorization", bearer))
+				.andExpect(status().isOk());
+		mockMvc.perform(post("/api/check-in/event/1/scan").param("adminUserId", "1").param("token", "t")
+						.header("Authorization", bearer))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/check-in/registration/5/token").param("userId", "1").header("Authorization", bearer))
+				.andExpect(status().isOk());
+
+		verify(checkInService).getRoster(1L, 7L);
+		verify(checkInService).scan(1L, 7L, "t");
+		verify(checkInService).issueToken(5L, 7L);
+	}
+
+	@Test
+	void requestsWithoutAValidTokenAreRefused() throws Exception {
+		mockMvc.perform(get("/api/check-in/event/1/stats").param("adminUserId", "1"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/api/check-in/event/1/open").header("Authorization", "Bearer forged"))
+				.andExpect(status().isUnauthorized());
+
+		verify(checkInService, never()).getStats(any(), any());
+		verify(checkInService, never()).openRoster(any(), any(), any(Boolean.class));
+	}
+}
@@ -0,0 +1,82 @@
+package com.campus.EventInClubs.controller;
+
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.service.HallService;
+import com.campus.EventInClubs.service.ResourceVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class HallControllerConditionalGetTests {
+
+	private HallService hallService;
+	private ResourceVersionService resourceVersionService;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		hallService = mock(HallService.class);
+		resourceVersionService = new ResourceVersionService();
+		mockMvc = MockMvcBuilders.standaloneSetup(new HallController(hallService, resourceVersionService)).build();
+		when(hallService.getAllActiveHalls()).thenReturn(List.of(Hall.builder().id(1L).name("Main Auditorium").seatingCapacity(300).build()));
+	}
+
+	@Test
+	void unchangedListIsAnsweredWithoutLoadingHalls() throws Exception {
+		MockHttpServletResponse first = mockMvc.perform(get("/api/halls"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		assertEquals(1, first.getHeaders("ETag").size());
+		assertEquals(1, first.getHeaders("Last-Modified").size());
+		String etag = first.getHeader("ETag");
+
+		mockMvc.perform(get("/api/halls").header("If-None-Match", etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", etag));
+
+		verify(hallService, times(1)).getAllActiveHalls();
+	}
+
+	@Test
+	void writeInvalidatesPreviousEtag() throws Exception {
+		String etag = mockMvc.perform(get("/api/halls"))
+				.andReturn().getResponse().getHeader("ETag");
+
+		resourceVersionService.entityChanged(new Hall());
+
+		String newEtag = mockMvc.perform(get("/api/halls").header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+
+		assertNotEquals(etag, newEtag);
+		verify(hallService, times(2)).getAllActiveHalls();
+	}
+
+	@Test
+	void ifModifiedSinceFallsBackToLastModified() throws Exception {
+		String lastModified = mockMvc.perform(get("/api/halls"))
+				.andReturn().getResponse().getHeader("Last-Modified");
+
+		mockMvc.perform(get("/api/halls").header("If-Modified-Since", lastModified))
+				.andExpect(status().isNotModified());
+
+		resourceVersionService.entityChanged(new Hall());
+
+		mockMvc.perform(get("/api/halls").header("If-Modified-Since", lastModified))
+				.andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,66 @@
+package com.campus.EventInClubs.controller;
+
+import com.campus.EventInClubs.security.JwtUtil;
+import com.campus.EventInClubs.service.AdmissionQueueService;
+import com.campus.EventInClubs.service.EventRegistrationService;
+import com.campus.EventInClubs.service.LiveSeatService;
+import com.campus.EventInClubs.service.RegistrationExportService;
+import com.campus.EventInClubs.service.RegistrationImportService;
+import com.campus.EventInClubs.service.TabularFileWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RegistrationExportControllerTests {
+
+	private final JwtUtil jwtUtil = new JwtUtil();
+	private final RegistrationExportService exportService = mock(RegistrationExportService.class);
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		EventRegistrationController controller = new EventRegistrationController(mock(EventRegistrationService.class),
+				mock(AdmissionQueueService.class), mock(RegistrationImportService.class), exportService,
+				mock(LiveSeatService.class), new ObjectMapper(), jwtUtil);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+		when(exportService.prepare(any(), anyLong(), anyLong(), any(), any(), any()))
+				.thenReturn(new RegistrationExportService.Export("registrations.csv", "text/csv", out -> {}));
+	}
+
+	@Test
+	void theExportRunsAsTheUserTheTokenNames() throws Exception {
+		String token = jwtUtil.generateToken("admin@example.edu", "CLUB_ADMIN", 7L);
+
+		// A user id in the query string is not trusted
+		mockMvc.perform(get("/api/event-registrations/event/1/export")
+						.param("adminUserId", "1")
+						.header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk());
+
+		verify(exportService).prepare(eq(RegistrationExportService.Dataset.REGISTRATIONS), eq(1L), eq(7L),
+				eq(TabularFileWriter.Format.CSV), isNull(), isNull());
+	}
+
+	@Test
+	void anExportWithoutAValidTokenIsRefused() throws Exception {
+		mockMvc.perform(get("/api/event-registrations/event/1/export").param("adminUserId", "1"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/event-registrations/event/1/export").header("Authorization", "Bearer forged"))
+				.andExpect(status().isUnauthorized());
+
+		verify(exportService, never()).prepare(any(), any(), any(), any(), any(), any());
+	}
+}
@@ -0,0 +1,93 @@
+package com.campus.EventInClubs.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UploadFileControllerTests {
+
+	private static final String SHA = "ab".repeat(32);
+	private static final String BLOB_URL = "/uploads/blobs/ab/ab/" + SHA + ".ppt";
+
+	@TempDir
+	Path uploadDir;
+
+	private MockMvc mockMvc;
+	private byte[] content;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		Path blob = uploadDir.resolve("blobs/ab/ab/" + SHA + ".ppt");
+		Files.createDirectories(blob.getParent());
+		content = "0123456789".repeat(100).getBytes();
+		Files.write(blob, content);
+		ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+			out.write(content);
+		}
+		Files.write(blob.resolveSibling(SHA + ".ppt.gz"), gzip.toByteArray());
+		mockMvc = MockMvcBuilders.standaloneSetup(new UploadFileController(uploadDir.toString())).build();
+	}
+
+	@Test
+	void blobIsImmutableAndRevalidatesByHash() throws Exception {
+		mockMvc.perform(get(BLOB_URL))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"" + SHA + "\""))
+				.andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+				.andExpect(header().longValue("Content-Length", content.length))
+				.andExpect(content().bytes(content));
+
+		mockMvc.perform(get(BLOB_URL).header("If-None-Match", "\"" + SHA + "\""))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void rangeIsServedFromTheIdentityBytes() throws Exception {
+		byte[] body = mockMvc.perform(get(BLOB_URL).header("Range", "bytes=10-19").header("Accept-Encoding", "gzip"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string("Content-Range", "bytes 10-19/" + content.length))
+				.andExpect(header().doesNotExist("Content-Encoding"))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertArrayEquals("0123456789".getBytes(), body);
+
+		mockMvc.perform(get(BLOB_URL).header("Range", "bytes=5000-"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string("Content-Range", "bytes */" + content.length));
+
+		// A stale If-Range gets the whole file instead of a range of different bytes
+		mockMvc.perform(get(BLOB_URL).header("Range", "bytes=10-19").header("If-Range", "\"other\""))
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(content));
+	}
+
+	@Test
+	void precompressedSiblingGoesToGzipClients() throws Exception {
+		mockMvc.perform(get(BLOB_URL).header("Accept-Encoding", "gzip, deflate"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Encoding", "gzip"))
+				.andExpect(header().string("Vary", "Accept-Encoding"))
+				.andExpect(header().string("ETag", "\"" + SHA + "-gz\""));
+	}
+
+	@Test
+	void nothingOutsideTheUploadRootOrHiddenIsServed() throws Exception {
+		Files.writeString(uploadDir.resolve("blobs/ab/ab/.upload-partial"), "partial");
+		mockMvc.perform(get("/uploads/blobs/ab/ab/.upload-partial")).andExpect(status().isNotFound());
+		mockMvc.perform(get("/uploads/blobs/ab")).andExpect(status().isNotFound());
+		mockMvc.perform(get("/uploads/missing.png")).andExpect(status().isNotFound());
+	}
+}
@@ -0,0 +1,70 @@
+package com.campus.EventInClubs.repository;
+
+import com.campus.EventInClubs.domain.model.Club;
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.Role;
+import com.campus.EventInClubs.domain.model.TeamRegistration;
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EmbeddedPostgresTest
+class TeamMemberRepositoryTests {
+
+	private static final String TOO_LONG = "ROLL-" + "9".repeat(40);
+
+	@Autowired
+	private TeamMemberRepository teamMemberRepository;
+	@Autowired
+	private TeamRegistrationRepository teamRegistrationRepository;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private ClubRepository clubRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void backfillLeavesOutRollNumbersTooLongForTheColumn() {
+		User admin = userRepository.save(User.builder()
+				.name("Admin").email("admin@example.edu").passwordHash("x").role(Role.CLUB_ADMIN).build());
+		Club club = clubRepository.save(Club.builder().name("Club").adminUser(admin).build());
+		LocalDateTime start = LocalDateTime.now().plusDays(7);
+		Event event = eventRepository.save(Event.builder()
+				.title("Hackathon").club(club).organizer(admin)
+				.status(Event.EventStatus.APPROVED).approvalStatus(Event.ApprovalStatus.APPROVED)
+				.startDate(start).endDate(start.plusHours(2))
+				.build());
+		// A legacy team, registered before team_members existed and before roll numbers were length-checked
+		TeamRegistration team = teamRegistrationRepository.save(TeamRegistration.builder()
+				.event(event).registeredBy(admin).teamName("Legacy").teamSize(3)
+				.memberRollNumbers("R1, " + TOO_LONG + ", R3")
+				.memberNames("Asha, Ben, Chen")
+				.memberEmails("asha@example.edu, ben@example.edu, chen@example.edu")
+				.build());
+
+		List<Object[]> skipped = teamMemberRepository.findRollNumbersTooLongToBackfill();
+		assertEquals(1, skipped.size());
+		assertArrayEquals(new Object[] {team.getId(), TOO_LONG},
+				new Object[] {((Number) skipped.get(0)[0]).longValue(), skipped.get(0)[1]});
+
+		assertEquals(2, teamMemberRepository.backfillFromTeamRegistrations());
+		assertEquals(List.of("R1", "R3"), jdbcTemplate.queryForList(
+				"SELECT roll_number FROM team_members WHERE team_registration_id = ? ORDER BY member_index",
+				String.class, team.getId()));
+
+		// The team has member rows now, so neither query picks it up again
+		assertEquals(0, teamMemberRepository.backfillFromTeamRegistrations());
+		assertEquals(0, teamMemberRepository.findRollNumbersTooLongToBackfill().size());
+	}
+}
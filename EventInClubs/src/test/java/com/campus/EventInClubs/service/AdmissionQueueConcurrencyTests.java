@@ -0,0 +1,201 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Club;
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.domain.model.RegistrationTicket;
+import com.campus.EventInClubs.domain.model.Role;
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.repository.ClubRepository;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.UserRepository;
+import com.campus.EventInClubs.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the admission queue on an embedded Postgres with two writers, one per
+ * simulated node, sharing the journal: the event row lock is all that keeps
+ * them from handing out the same seats twice.
+ */
+@EmbeddedPostgresTest
+class AdmissionQueueConcurrencyTests {
+
+	private static final int SEATS = 40;
+	private static final int USERS = 300;
+
+	@Autowired
+	private AdmissionQueueService node;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private EventRegistrationRepository registrationRepository;
+	@Autowired
+	private ClubRepository clubRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private WaitlistPromotionService waitlistPromotionService;
+	@Autowired
+	private ResourceVersionService resourceVersionService;
+	@Autowired
+	private LiveSeatService liveSeatService;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	@Autowired
+	@Qualifier("admissionExecutor")
+	private ThreadPoolTaskExecutor admissionExecutor;
+
+	@Test
+	void concurrentSignUpsOnTwoNodesFillTheSeatsOnceAndRejectDuplicates() throws Exception {
+		Event event = event("Flash", SEATS);
+		List<Long> userIds = users("flash", USERS);
+		AdmissionQueueService otherNode = otherNode(admissionExecutor);
+
+		// Every student signs up twice at once: even ones on the same node (a double click),
+		// odd ones on both nodes (a retry that a load balancer sent elsewhere)
+		ExecutorService clients = Executors.newFixedThreadPool(32);
+		CountDownLatch start = new CountDownLatch(1);
+		Map<Future<AdmissionQueueService.Ticket>, AdmissionQueueService> submitted = new LinkedHashMap<>();
+		try {
+			for (int i = 0; i < USERS; i++) {
+				Long userId = userIds.get(i);
+				AdmissionQueueService second = i % 2 == 0 ? node : otherNode;
+				for (AdmissionQueueService target : List.of(node, second)) {
+					submitted.put(clients.submit(() -> {
+						start.await();
+						return target.enqueue(event.getId(), userId, "R" + userId, null);
+					}), target);
+				}
+			}
+			start.countDown();
+			for (Future<AdmissionQueueService.Ticket> ticket : submitted.keySet()) {
+				ticket.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			clients.shutdownNow();
+		}
+
+		awaitUntil(() -> queued(event) == 0);
+		assertEquals(SEATS, registrationRepository.countActiveByEventId(event.getId()));
+		assertEquals(USERS - SEATS, registrationRepository.countByEventIdAndStatus(event.getId(),
+				EventRegistration.RegistrationStatus.WAITLISTED));
+		assertEquals(USERS, jdbcTemplate.queryForObject(
+				"SELECT count(DISTINCT user_id) FROM event_registrations WHERE event_id = ?", Integer.class, event.getId()));
+		assertEquals(USERS, jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM event_registrations WHERE event_id = ?", Integer.class, event.getId()));
+		// Whatever tickets the double clicks produced beyond one per student were turned away
+		int tickets = jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM registration_tickets WHERE event_id = ?", Integer.class, event.getId());
+		assertEquals(tickets - USERS, jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM registration_tickets WHERE event_id = ? AND status = 'REJECTED' " +
+				"AND message = 'User is already registered for this event'", Integer.class, event.getId()));
+
+		// Each node learns the outcome of its own tickets, whichever writer decided them
+		awaitUntil(() -> waiting(node, event).isEmpty() && waiting(otherNode, event).isEmpty());
+		for (Map.Entry<Future<AdmissionQueueService.Ticket>, AdmissionQueueService> ticket : submitted.entrySet()) {
+			Long ticketId = ticket.getKey().get().id();
+			assertNotEquals(RegistrationTicket.Status.QUEUED, ticket.getValue().findTicket(ticketId).status());
+		}
+	}
+
+	@Test
+	void aNodeForgetsTicketsThatAnotherNodeDecided() {
+		Event event = event("Handover", 1);
+		List<Long> userIds = users("handover", 2);
+		// This node's writer never runs, as if the node had stalled
+		AdmissionQueueService stalled = otherNode(mock(ThreadPoolTaskExecutor.class));
+
+		AdmissionQueueService.Ticket first = stalled.enqueue(event.getId(), userIds.get(0), null, null);
+		AdmissionQueueService.Ticket second = stalled.enqueue(event.getId(), userIds.get(1), null, null);
+		// The other node's writer takes the whole journal, including these tickets
+		node.admitBatch(new AdmissionQueueService.Lane(event.getId()));
+
+		assertEquals(0, stalled.admitBatch(lane(stalled, event)));
+		assertTrue(waiting(stalled, event).isEmpty());
+		assertEquals(RegistrationTicket.Status.REGISTERED, stalled.findTicket(first.id()).status());
+		assertEquals(RegistrationTicket.Status.WAITLISTED, stalled.findTicket(second.id()).status());
+	}
+
+	private AdmissionQueueService otherNode(ThreadPoolTaskExecutor executor) {
+		return new AdmissionQueueService(jdbcTemplate, transactionTemplate, eventRepository, registrationRepository,
+				waitlistPromotionService, resourceVersionService, liveSeatService, eventPublisher, executor);
+	}
+
+	private Event event(String title, int seats) {
+		User admin = userRepository.save(User.builder().name(title + " Admin")
+				.email(title.toLowerCase() + "-admin@example.edu").passwordHash("x").role(Role.CLUB_ADMIN).build());
+		Club club = clubRepository.save(Club.builder().name(title + " Club").adminUser(admin).build());
+		LocalDateTime start = LocalDateTime.now().plusDays(7);
+		return eventRepository.save(Event.builder()
+				.title(title).club(club).organizer(admin).admissionQueue(true)
+				.status(Event.EventStatus.PUBLISHED).approvalStatus(Event.ApprovalStatus.APPROVED)
+				.startDate(start).endDate(start.plusHours(2)).maxParticipants(seats).registrationFee(0.0)
+				.build());
+	}
+
+	private List<Long> users(String prefix, int count) {
+		List<User> users = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			users.add(User.builder().name("Student " + i).email(prefix + i + "@example.edu")
+					.passwordHash("x").role(Role.STUDENT).build());
+		}
+		return userRepository.saveAll(users).stream().map(User::getId).toList();
+	}
+
+	private int queued(Event event) {
+		return jdbcTemplate.queryForObject("SELECT count(*) FROM registration_tickets WHERE event_id = ? AND status = 'QUEUED'",
+				Integer.class, event.getId());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static AdmissionQueueService.Lane lane(AdmissionQueueService service, Event event) {
+		return ((Map<Long, AdmissionQueueService.Lane>) ReflectionTestUtils.getField(service, "lanes"))
+				.computeIfAbsent(event.getId(), AdmissionQueueService.Lane::new);
+	}
+
+	private static Map<Long, Long> waiting(AdmissionQueueService service, Event event) {
+		return lane(service, event).waiting;
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Timed out waiting for the admission writers");
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.RegistrationTicket;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdmissionQueueServiceTests {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final EventRepository eventRepository = mock(EventRepository.class);
+	private final EventRegistrationRepository registrationRepository = mock(EventRegistrationRepository.class);
+	private final WaitlistPromotionService waitlistPromotionService = mock(WaitlistPromotionService.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	// Never runs the writer; the tests call admitBatch themselves
+	private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+
+	private AdmissionQueueService service;
+	private long nextTicketId = 100;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		when(transactionTemplate.execute(any()))
+				.then(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+		when(jdbcTemplate.queryForObject(startsWith("INSERT INTO registration_tickets"), eq(Long.class), any(Object[].class)))
+				.then(invocation -> nextTicketId++);
+		Event event = Event.builder().id(1L).maxParticipants(2).registrationFee(0.0)
+				.status(Event.EventStatus.PUBLISHED).build();
+		when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(event));
+		when(registrationRepository.countActiveByEventId(1L)).thenReturn(0L);
+		service = new AdmissionQueueService(jdbcTemplate, transactionTemplate, eventRepository, registrationRepository,
+				waitlistPromotionService, mock(ResourceVersionService.class), mock(LiveSeatService.class),
+				eventPublisher, executor);
+	}
+
+	@Test
+	void queuedStudentsGetTheirPlaceInLineAndOneTicketEach() {
+		AdmissionQueueService.Ticket first = service.enqueue(1L, 10L, "R10", null);
+		AdmissionQueueService.Ticket second = service.enqueue(1L, 11L, "R11", null);
+		AdmissionQueueService.Ticket again = service.enqueue(1L, 10L, "R10", null);
+
+		assertEquals(RegistrationTicket.Status.QUEUED, first.status());
+		assertEquals(1L, first.position());
+		assertEquals(2L, second.position());
+		assertEquals(first.id(), again.id());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void aBatchIsDecidedInQueueOrderAndCommittedTogether() throws Exception {
+		// Tickets 1-5 in line: users 10 and 11 take the two seats, 11 again is a duplicate,
+		// 12 is waitlisted and 13 does not exist
+		long[][] queued = {{1, 10}, {2, 11}, {3, 11}, {4, 12}, {5, 13}};
+		when(jdbcTemplate.query(startsWith("SELECT id, user_id"), any(RowMapper.class), any(Object[].class)))
+				.then(invocation -> {
+					RowMapper<Object> mapper = invocation.getArgument(1);
+					List<Object> rows = new ArrayList<>();
+					for (long[] ticket : queued) {
+						ResultSet rs = mock(ResultSet.class);
+						when(rs.getLong("id")).thenReturn(ticket[0]);
+						when(rs.getLong("user_id")).thenReturn(ticket[1]);
+						rows.add(mapper.mapRow(rs, rows.size()));
+					}
+					return rows;
+				});
+		when(jdbcTemplate.queryForList(startsWith("SELECT id FROM users"), eq(Long.class), any(Object[].class)))
+				.thenReturn(List.of(10L, 11L, 12L));
+
+		assertEquals(5, service.admitBatch(new AdmissionQueueService.Lane(1L)));
+
+		ArgumentCaptor<List<Object[]>> outcomes = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(startsWith("UPDATE registration_tickets"), outcomes.capture());
+		assertEquals(List.of("REGISTERED", "REGISTERED", "REJECTED", "WAITLISTED", "REJECTED"),
+				outcomes.getValue().stream().map(row -> row[0]).toList());
+		ArgumentCaptor<List<Object[]>> inserted = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO event_registrations"), inserted.capture());
+		assertEquals(3, inserted.getValue().size());
+		verify(eventPublisher).publishEvent(new AdmissionQueueService.AdmissionsCommitted(1L, List.of(10L, 11L), List.of(12L)));
+	}
+}
@@ -0,0 +1,71 @@
+package com.campus.EventInClubs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalyticsServiceTests {
+
+	private JdbcTemplate jdbcTemplate;
+	private final List<Runnable> queued = new ArrayList<>();
+	private AnalyticsService service;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(counts(1), counts(2), counts(3));
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+			@Override
+			public void execute(Runnable task) {
+				queued.add(task);
+			}
+		};
+		service = new AnalyticsService(jdbcTemplate, executor);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void staleSnapshotIsServedWhileOneRefreshRunsInTheBackground() {
+		assertEquals(1, service.snapshot().users());
+		ReflectionTestUtils.setField(service, "ttlMs", -1L);
+
+		assertEquals(1, service.snapshot().users());
+		assertEquals(1, service.snapshot().users());
+		assertEquals(1, queued.size());
+		verify(jdbcTemplate, times(1)).queryForObject(anyString(), any(RowMapper.class));
+
+		queued.remove(0).run();
+		assertEquals(2, service.snapshot().users());
+		assertEquals(1, queued.size());
+	}
+
+	@Test
+	void snapshotPastMaxStaleIsRecomputedBeforeAnswering() {
+		assertEquals(1, service.snapshot().users());
+		ReflectionTestUtils.setField(service, "ttlMs", -1L);
+		ReflectionTestUtils.setField(service, "maxStaleMs", -1L);
+
+		assertEquals(2, service.snapshot().users());
+		assertEquals(0, queued.size());
+	}
+
+	private static AnalyticsService.Snapshot counts(long users) {
+		return new AnalyticsService.Snapshot(users, 0, 0, 0, 0, 0, 0, 0, 0, Instant.now());
+	}
+}
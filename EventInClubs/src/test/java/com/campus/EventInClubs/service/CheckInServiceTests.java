@@ -0,0 +1,128 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.dto.CheckInResult;
+import com.campus.EventInClubs.dto.CheckInResult.Outcome;
+import com.campus.EventInClubs.dto.CheckInStats;
+import com.campus.EventInClubs.dto.OfflineScan;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CheckInServiceTests {
+
+	private final CheckInTokenService tokens = new CheckInTokenService("test-secret");
+	private EventAccessService eventAccessService;
+	private JdbcTemplate jdbcTemplate;
+	private CheckInService service;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		eventAccessService = mock(EventAccessService.class);
+		EventRepository eventRepository = mock(EventRepository.class);
+		jdbcTemplate = mock(JdbcTemplate.class);
+		service = new CheckInService(tokens, eventAccessService, eventRepository, mock(EventRegistrationRepository.class),
+				jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+		when(eventRepository.findById(7L)).thenReturn(Optional.of(Event.builder()
+				.id(7L).endDate(LocalDateTime.now().plusHours(3)).build()));
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(7L))).thenReturn(List.of(
+				new CheckInService.Attendee(100L, 1L, "Asha", "2021CS1", null),
+				new CheckInService.Attendee(101L, 2L, "Ben", "2021CS2", null),
+				new CheckInService.Attendee(102L, 3L, "Chen", "2021CS3", LocalDateTime.now().minusMinutes(5))));
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(7L), anyLong())).thenReturn(List.of());
+	}
+
+	@Test
+	void scansAreAnsweredFromTheRosterAndFlushedInOneBatch() {
+		assertEquals(Outcome.CHECKED_IN, service.scan(7L, 50L, tokens.issue(100L, 7L)).getOutcome());
+		assertEquals(Outcome.ALREADY_CHECKED_IN, service.scan(7L, 50L, tokens.issue(100L, 7L)).getOutcome());
+		assertEquals(Outcome.ALREADY_CHECKED_IN, service.scan(7L, 50L, tokens.issue(102L, 7L)).getOutcome());
+		CheckInResult second = service.scan(7L, 50L, tokens.issue(101L, 7L));
+		assertEquals(Outcome.CHECKED_IN, second.getOutcome());
+		assertEquals("Ben", second.getName());
+		assertEquals(3, second.getCheckedIn());
+
+		String forged = tokens.issue(100L, 7L).replace("100.", "103.");
+		assertEquals(Outcome.INVALID_TOKEN, service.scan(7L, 50L, forged).getOutcome());
+		assertEquals(Outcome.INVALID_TOKEN, service.scan(7L, 50L, new CheckInTokenService("other").issue(100L, 7L)).getOutcome());
+		assertEquals(Outcome.WRONG_EVENT, service.scan(7L, 50L, tokens.issue(100L, 8L)).getOutcome());
+		assertEquals(Outcome.NOT_ADMITTED, service.scan(7L, 50L, tokens.issue(999L, 7L)).getOutcome());
+
+		// The scanner's access is checked once, not per scan
+		verify(eventAccessService, times(1)).requireEventAdmin(7L, 50L);
+		verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+		service.flushPending();
+
+		verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+		CheckInStats stats = service.getStats(7L, 50L);
+		assertEquals(3, stats.getExpected());
+		assertEquals(3, stats.getCheckedIn());
+		assertEquals(0, stats.getPendingFlush());
+	}
+
+	@Test
+	void offlineScansKeepTheEarliestTime() {
+		LocalDateTime earlier = LocalDateTime.now().minusMinutes(20);
+		service.scan(7L, 50L, tokens.issue(100L, 7L));
+
+		List<CheckInResult> results = service.sync(7L, 50L, List.of(
+				new OfflineScan(tokens.issue(100L, 7L), earlier),
+				new OfflineScan(tokens.issue(100L, 7L), earlier.plusMinutes(1)),
+				new OfflineScan(tokens.issue(101L, 7L), earlier.plusMinutes(2))));
+
+		assertEquals(Outcome.ALREADY_CHECKED_IN, results.get(0).getOutcome());
+		assertEquals(earlier, results.get(0).getCheckedInAt());
+		assertEquals(earlier, results.get(1).getCheckedInAt());
+		assertEquals(Outcome.CHECKED_IN, results.get(2).getOutcome());
+		// First scan, its earlier replacement, and the second attendee
+		assertEquals(3, service.getStats(7L, 50L).getPendingFlush());
+
+		service.flushPending();
+
+		ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.captor();
+		verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+		assertEquals(3, batch.getValue().size());
+		assertArrayEquals(new Object[]{Timestamp.valueOf(earlier), Timestamp.valueOf(earlier), 100L}, batch.getValue().get(0));
+		assertArrayEquals(new Object[]{Timestamp.valueOf(earlier), Timestamp.valueOf(earlier), 100L}, batch.getValue().get(1));
+		assertArrayEquals(new Object[]{Timestamp.valueOf(earlier.plusMinutes(2)), Timestamp.valueOf(earlier.plusMinutes(2)), 101L},
+				batch.getValue().get(2));
+	}
+
+	@Test
+	void withoutASecretEachProcessSignsWithItsOwnRandomKey() {
+		CheckInTokenService unset = new CheckInTokenService("");
+
+		assertEquals(new CheckInTokenService.Claims(100L, 7L), unset.verify(unset.issue(100L, 7L)));
+		assertNull(new CheckInTokenService("").verify(unset.issue(100L, 7L)));
+		assertThrows(IllegalStateException.class, () -> new CheckInTokenService("change-me-check-in-secret"));
+	}
+}
@@ -0,0 +1,107 @@
+package com.campus.EventInClubs.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Runs the real SDK against a local stand-in for the upload API. */
+class CloudinaryServiceTests {
+
+	@TempDir
+	Path dir;
+
+	private HttpServer server;
+	private final AtomicReference<String> requestPath = new AtomicReference<>();
+	private final AtomicInteger status = new AtomicInteger(200);
+	private final AtomicInteger delayMs = new AtomicInteger();
+	private CloudinaryService service;
+	private Path logo;
+
+	@BeforeEach
+	void startStandIn() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			requestPath.set(exchange.getRequestURI().getPath());
+			exchange.getRequestBody().readAllBytes();
+			try {
+				Thread.sleep(delayMs.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = (status.get() == 200
+					? "{\"public_id\":\"club-logos/abc\",\"secure_url\":\"https://res.cloudinary.com/test/image/upload/v1/club-logos/abc.png\"}"
+					: "{\"error\":{\"message\":\"Internal error\"}}").getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(status.get(), body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+
+		Cloudinary cloudinary = new Cloudinary(ObjectUtils.asMap("cloud_name", "test", "api_key", "key", "api_secret", "secret"));
+		cloudinary.config.uploadPrefix = "http://127.0.0.1:" + server.getAddress().getPort();
+		service = new CloudinaryService(cloudinary);
+		ReflectionTestUtils.setField(service, "timeoutMs", 500);
+		logo = Files.write(dir.resolve("logo.png"), new byte[]{1, 2, 3});
+	}
+
+	@AfterEach
+	void stopStandIn() {
+		server.stop(0);
+	}
+
+	@Test
+	void returnsTheSecureUrlFromTheUploadApi() throws IOException {
+		String url = service.upload(logo, "club-logos");
+
+		assertEquals("https://res.cloudinary.com/test/image/upload/v1/club-logos/abc.png", url);
+		assertEquals("/v1_1/test/image/upload", requestPath.get());
+	}
+
+	@Test
+	void serverErrorsSurfaceAsIoExceptions() {
+		status.set(500);
+
+		assertThrows(IOException.class, () -> service.upload(logo, "club-logos"));
+	}
+
+	@Test
+	void stalledResponsesTimeOut() {
+		delayMs.set(3000);
+
+		long started = System.nanoTime();
+		assertThrows(IOException.class, () -> service.upload(logo, "club-logos"));
+		assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 2500);
+	}
+
+	@Test
+	void backoffDoublesUpToTheCapWithJitter() {
+		for (int i = 0; i < 100; i++) {
+			long first = CloudinaryUploadService.backoff(1, 2000, 60_000).toMillis();
+			long fourth = CloudinaryUploadService.backoff(4, 2000, 60_000).toMillis();
+			long capped = CloudinaryUploadService.backoff(20, 2000, 60_000).toMillis();
+			assertTrue(first >= 1000 && first <= 2000, "first retry " + first);
+			assertTrue(fourth >= 8000 && fourth <= 16_000, "fourth retry " + fourth);
+			assertTrue(capped >= 30_000 && capped <= 60_000, "capped retry " + capped);
+		}
+	}
+}
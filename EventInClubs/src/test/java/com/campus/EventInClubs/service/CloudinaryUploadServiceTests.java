@@ -0,0 +1,79 @@
+package com.campus.EventInClubs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CloudinaryUploadServiceTests {
+
+	@TempDir
+	Path dir;
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+	private final FileStorageService fileStorageService = mock(FileStorageService.class);
+	private final List<Runnable> submitted = new ArrayList<>();
+	private CloudinaryUploadService service;
+
+	@BeforeEach
+	void setUp() {
+		when(executor.getQueueCapacity()).thenReturn(100);
+		doAnswer(invocation -> submitted.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+		service = new CloudinaryUploadService(jdbcTemplate, mock(TransactionTemplate.class),
+				mock(ApplicationEventPublisher.class), executor, fileStorageService,
+				mock(CloudinaryService.class), mock(ResourceVersionService.class), "node-a");
+	}
+
+	@Test
+	void sweepLeavesJobsStagedOnAnotherNodeToThatNode() throws Exception {
+		Path shared = Files.write(dir.resolve("shared.png"), new byte[]{1});
+		when(fileStorageService.localPath("/uploads/files/mine.png")).thenReturn(dir.resolve("mine.png"));
+		when(fileStorageService.localPath("/uploads/files/elsewhere.png")).thenReturn(dir.resolve("elsewhere.png"));
+		when(fileStorageService.localPath("/uploads/files/shared.png")).thenReturn(shared);
+		when(jdbcTemplate.queryForList(startsWith("SELECT id, staged_url, node_id"),
+				any(Timestamp.class), any(Timestamp.class), anyInt())).thenReturn(List.of(
+				job(1, "/uploads/files/mine.png", "node-a"),
+				job(2, "/uploads/files/elsewhere.png", "node-b"),
+				job(3, "/uploads/files/shared.png", "node-b")));
+
+		service.sweep();
+
+		// Its own job is handed to the pool even if the file is gone, so that it fails and retries;
+		// another node's job only when this node can see the staged file
+		assertEquals(2, submitted.size());
+	}
+
+	@Test
+	void theUploadEventOnlyClaimsThisNodesJobs() {
+		assertFalse(service.process(7L, false));
+
+		verify(jdbcTemplate).queryForList(startsWith("UPDATE cloudinary_upload_jobs SET status = 'UPLOADING'"),
+				any(Timestamp.class), eq(7L), any(Timestamp.class), any(Timestamp.class), eq("node-a"), eq(false));
+	}
+
+	private static Map<String, Object> job(long id, String stagedUrl, String nodeId) {
+		return Map.of("id", id, "staged_url", stagedUrl, "node_id", nodeId);
+	}
+}
@@ -0,0 +1,59 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.dto.CommentDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CommentServiceTests {
+
+	@Test
+	void nestsRowsGivenInPathOrder() {
+		List<CommentDto> threads = CommentService.assembleThreads(rows(
+				row(1L, null, true, 3), row(2L, 1L, true, 3), row(4L, 2L, true, 3), row(3L, 1L, true, 3),
+				row(5L, null, true, 0)));
+
+		assertEquals(2, threads.size());
+		CommentDto first = threads.get(0);
+		assertEquals(3, first.getReplyCount());
+		assertEquals(List.of(2L, 3L), first.getReplies().stream().map(CommentDto::getId).toList());
+		CommentDto reply = first.getReplies().get(0);
+		assertEquals(4L, reply.getReplies().get(0).getId());
+		assertNull(reply.getReplyCount());
+		assertEquals(0, threads.get(1).getReplies().size());
+	}
+
+	@Test
+	void deletedCommentsStayAsPlaceholdersOnlyAboveLiveReplies() {
+		List<CommentDto> threads = CommentService.assembleThreads(rows(
+				row(1L, null, false, 1), row(2L, 1L, false, 1), row(3L, 2L, true, 1), row(4L, 1L, false, 1)));
+
+		CommentDto root = threads.get(0);
+		assertNull(root.getContent());
+		assertNull(root.getUserName());
+		assertEquals(1, root.getReplies().size());
+		CommentDto placeholder = root.getReplies().get(0);
+		assertEquals(2L, placeholder.getId());
+		assertNull(placeholder.getContent());
+		assertEquals("comment 3", placeholder.getReplies().get(0).getContent());
+	}
+
+	private static List<CommentDto> rows(CommentDto... rows) {
+		return new ArrayList<>(List.of(rows));
+	}
+
+	private static CommentDto row(Long id, Long parentId, boolean active, int threadReplies) {
+		return CommentDto.builder()
+				.id(id)
+				.parentCommentId(parentId)
+				.content("comment " + id)
+				.userName("user")
+				.isActive(active)
+				.replyCount(threadReplies)
+				.build();
+	}
+}
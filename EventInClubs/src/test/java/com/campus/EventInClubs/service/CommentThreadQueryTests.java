@@ -0,0 +1,166 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Club;
+import com.campus.EventInClubs.domain.model.Comment;
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.Idea;
+import com.campus.EventInClubs.domain.model.Role;
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.dto.CommentDto;
+import com.campus.EventInClubs.dto.CommentThreadDto;
+import com.campus.EventInClubs.repository.ClubRepository;
+import com.campus.EventInClubs.repository.CommentRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.IdeaRepository;
+import com.campus.EventInClubs.repository.UserRepository;
+import com.campus.EventInClubs.support.EmbeddedPostgresTest;
+import com.campus.EventInClubs.support.QueryCountAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads comment threads through the path query on an embedded Postgres,
+ * including comments written before paths existed.
+ */
+@EmbeddedPostgresTest
+class CommentThreadQueryTests {
+
+	private static final int CHAIN_DEPTH = 30;
+
+	@Autowired
+	private CommentService commentService;
+	@Autowired
+	private CommentRepository commentRepository;
+	@Autowired
+	private IdeaRepository ideaRepository;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private ClubRepository clubRepository;
+	@Autowired
+	private UserRepository userRepository;
+
+	private User author;
+	private Idea idea;
+
+	@BeforeEach
+	void setUp() {
+		String unique = Long.toString(System.nanoTime(), 36);
+		author = userRepository.save(User.builder().name("Author").email("author-" + unique + "@example.edu")
+				.passwordHash("x").role(Role.CLUB_ADMIN).build());
+		Club club = clubRepository.save(Club.builder().name("Club " + unique).adminUser(author).build());
+		LocalDateTime start = LocalDateTime.now().plusDays(7);
+		Event event = eventRepository.save(Event.builder()
+				.title("Ideathon").club(club).organizer(author)
+				.status(Event.EventStatus.APPROVED).approvalStatus(Event.ApprovalStatus.APPROVED)
+				.startDate(start).endDate(start.plusHours(2))
+				.build());
+		idea = ideaRepository.save(Idea.builder().title("Idea").description("An idea")
+				.event(event).submittedBy(author).build());
+	}
+
+	@Test
+	void aDeepChainComesBackNestedFromOneStatement() {
+		CommentDto root = comment(null);
+		Long parent = root.getId();
+		for (int depth = 1; depth < CHAIN_DEPTH; depth++) {
+			parent = comment(parent).getId();
+		}
+
+		CommentThreadDto page = QueryCountAssertions.assertMaxStatements(1,
+				() -> commentService.getThreads(idea.getId(), 0, 10, null));
+
+		assertEquals(1L, page.getTotalThreads());
+		CommentDto node = page.getThreads().get(0);
+		assertEquals(CHAIN_DEPTH - 1, node.getReplyCount());
+		for (int depth = 0; depth < CHAIN_DEPTH - 1; depth++) {
+			assertEquals(depth, node.getDepth());
+			assertEquals(1, node.getReplies().size());
+			node = node.getReplies().get(0);
+		}
+		assertEquals(CHAIN_DEPTH - 1, node.getDepth());
+		assertEquals(parent, node.getId());
+		assertTrue(node.getReplies().isEmpty());
+	}
+
+	@Test
+	void aDepthLimitedPageStopsAtTheLimitButCountsTheWholeThread() {
+		Long parent = comment(null).getId();
+		for (int depth = 1; depth < CHAIN_DEPTH; depth++) {
+			parent = comment(parent).getId();
+		}
+
+		CommentThreadDto page = commentService.getThreads(idea.getId(), 0, 10, 2);
+
+		CommentDto root = page.getThreads().get(0);
+		assertEquals(CHAIN_DEPTH - 1, root.getReplyCount());
+		CommentDto grandchild = root.getReplies().get(0).getReplies().get(0);
+		assertEquals(2, grandchild.getDepth());
+		assertTrue(grandchild.getReplies().isEmpty());
+	}
+
+	@Test
+	void deletedCommentsStayAsPlaceholdersOnlyWhileLiveRepliesRemain() {
+		CommentDto first = comment(null);
+		CommentDto reply = comment(first.getId());
+		CommentDto answer = comment(reply.getId());
+		CommentDto deletedAlone = comment(null);
+		CommentDto last = comment(null);
+		commentService.deleteComment(reply.getId(), author.getId());
+		commentService.deleteComment(deletedAlone.getId(), author.getId());
+
+		CommentThreadDto page = commentService.getThreads(idea.getId(), 0, 10, null);
+
+		// A deleted root with nothing below it is not a thread any more
+		assertEquals(2L, page.getTotalThreads());
+		assertEquals(List.of(first.getId(), last.getId()), page.getThreads().stream().map(CommentDto::getId).toList());
+		CommentDto placeholder = page.getThreads().get(0).getReplies().get(0);
+		assertEquals(reply.getId(), placeholder.getId());
+		assertNull(placeholder.getContent());
+		assertNull(placeholder.getUserId());
+		assertEquals(answer.getId(), placeholder.getReplies().get(0).getId());
+		assertEquals(1, page.getThreads().get(0).getReplyCount());
+
+		commentService.deleteComment(answer.getId(), author.getId());
+		page = commentService.getThreads(idea.getId(), 1, 1, null);
+		assertEquals(List.of(last.getId()), page.getThreads().stream().map(CommentDto::getId).toList());
+		assertTrue(commentService.getThreads(idea.getId(), 0, 1, null).getThreads().get(0).getReplies().isEmpty());
+	}
+
+	@Test
+	void legacyCommentsAreBackfilledIntoThreads() {
+		// Saved without placeInThread, as comments were before root_id and path existed
+		Comment root = legacyComment(null);
+		Comment reply = legacyComment(root);
+		Comment answer = legacyComment(reply);
+
+		assertEquals(3, commentRepository.backfillThreadPaths());
+		assertEquals(0, commentRepository.backfillThreadPaths());
+
+		CommentDto thread = commentService.getThreads(idea.getId(), 0, 10, null).getThreads().get(0);
+		assertEquals(root.getId(), thread.getId());
+		assertEquals(2, thread.getReplyCount());
+		CommentDto nested = thread.getReplies().get(0).getReplies().get(0);
+		assertEquals(answer.getId(), nested.getId());
+		assertEquals(2, nested.getDepth());
+	}
+
+	private CommentDto comment(Long parentCommentId) {
+		return commentService.createComment(CommentDto.builder().content("Comment").build(),
+				idea.getId(), author.getId(), parentCommentId);
+	}
+
+	private Comment legacyComment(Comment parent) {
+		return commentRepository.save(Comment.builder().content("Legacy").idea(idea).user(author)
+				.parentComment(parent).isActive(true).createdAt(Instant.now()).updatedAt(Instant.now()).build());
+	}
+}
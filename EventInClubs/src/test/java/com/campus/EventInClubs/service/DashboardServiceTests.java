@@ -0,0 +1,90 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.dto.DashboardDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTests {
+
+	private final ClubService clubService = mock(ClubService.class);
+	private final EventService eventService = mock(EventService.class);
+	private final UserService userService = mock(UserService.class);
+	private final AnalyticsService analyticsService = mock(AnalyticsService.class);
+	private final SuperAdminRequestService superAdminRequestService = mock(SuperAdminRequestService.class);
+	private final ClubAdminRequestService clubAdminRequestService = mock(ClubAdminRequestService.class);
+	private final AtomicInteger running = new AtomicInteger();
+	private final AtomicInteger mostRunning = new AtomicInteger();
+
+	private DashboardService service;
+
+	@BeforeEach
+	void setUp() {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+		executor.setVirtualThreads(true);
+		service = new DashboardService(executor, clubService, eventService, mock(EventRegistrationService.class),
+				mock(ClubMembershipService.class), mock(NotificationService.class), userService, analyticsService,
+				superAdminRequestService, clubAdminRequestService, 2);
+		ReflectionTestUtils.setField(service, "sectionTimeoutMs", 1_000L);
+		ReflectionTestUtils.setField(service, "maxParallelSections", 6);
+	}
+
+	@Test
+	void slowAndFailingSectionsAreReportedWhileTheRestAreReturned() {
+		when(clubService.getAllActiveClubs()).then(takes(5_000, List.of()));
+		when(userService.getAllUsers()).thenThrow(new RuntimeException("users table unavailable"));
+		when(eventService.getEventsAcceptingIdeas()).thenReturn(List.of());
+		when(analyticsService.getSystemAnalytics()).thenReturn(Map.of("totalUsers", 3L));
+		when(superAdminRequestService.getPendingRequestsCount()).thenReturn(4L);
+
+		DashboardDto dashboard = service.superAdmin();
+
+		assertTrue(dashboard.isPartial());
+		assertEquals("Timed out after 1000 ms", dashboard.getErrors().get("clubs"));
+		assertEquals("users table unavailable", dashboard.getErrors().get("users"));
+		assertEquals(4L, dashboard.getSections().get("pendingSuperAdminRequests"));
+		assertEquals(Map.of("totalUsers", 3L), dashboard.getSections().get("analytics"));
+		assertFalse(dashboard.getSections().containsKey("clubs"));
+		assertTrue(dashboard.getElapsedMs() < 3_000);
+	}
+
+	@Test
+	void sectionsNeverHoldMoreThanTheConnectionCap() {
+		when(clubService.getAllActiveClubs()).then(takes(100, List.of()));
+		when(eventService.getEventsAcceptingIdeas()).then(takes(100, List.of()));
+		when(userService.getAllUsers()).then(takes(100, List.of()));
+		when(analyticsService.getSystemAnalytics()).then(takes(100, Map.of()));
+		when(superAdminRequestService.getPendingRequestsCount()).then(takes(100, 0L));
+		when(clubAdminRequestService.getPendingRequests()).then(takes(100, List.of()));
+
+		DashboardDto dashboard = service.superAdmin();
+
+		assertFalse(dashboard.isPartial());
+		assertEquals(6, dashboard.getSections().size());
+		assertEquals(2, mostRunning.get());
+	}
+
+	private Answer<Object> takes(long millis, Object result) {
+		return invocation -> {
+			mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(millis);
+				return result;
+			} finally {
+				running.decrementAndGet();
+			}
+		};
+	}
+}
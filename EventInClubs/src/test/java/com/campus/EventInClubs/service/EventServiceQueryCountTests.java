@@ -0,0 +1,68 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.dto.EventDto;
+import com.campus.EventInClubs.domain.model.Club;
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.domain.model.Role;
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.repository.ClubRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.HallRepository;
+import com.campus.EventInClubs.repository.UserRepository;
+import com.campus.EventInClubs.support.EmbeddedPostgresTest;
+import com.campus.EventInClubs.support.QueryCountAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the statements of a real event list load, through the JPA mappings
+ * and EventService, on an embedded Postgres.
+ */
+@EmbeddedPostgresTest
+class EventServiceQueryCountTests {
+
+	private static final int EVENTS = 12;
+
+	@Autowired
+	private EventService eventService;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private ClubRepository clubRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private HallRepository hallRepository;
+
+	@Test
+	void activeEventListFetchesClubsOrganizersAndHallsInTheListQuery() {
+		LocalDateTime start = LocalDateTime.now().plusDays(7);
+		for (int i = 0; i < EVENTS; i++) {
+			// Every event has its own club, organizer and hall, so a lazy load would show per event
+			User organizer = userRepository.save(User.builder()
+					.name("Organizer " + i).email("organizer" + i + "@example.edu")
+					.passwordHash("x").role(Role.CLUB_ADMIN).build());
+			Club club = clubRepository.save(Club.builder().name("Club " + i).adminUser(organizer).build());
+			Hall hall = hallRepository.save(Hall.builder().name("Hall " + i).seatingCapacity(100).build());
+			eventRepository.save(Event.builder()
+					.title("Event " + i).club(club).organizer(organizer).hall(hall)
+					.status(Event.EventStatus.APPROVED).approvalStatus(Event.ApprovalStatus.APPROVED)
+					.startDate(start).endDate(start.plusHours(2)).maxParticipants(50)
+					.build());
+		}
+
+		// One list query, then one participant count per event
+		List<EventDto> events = QueryCountAssertions.assertWithin(1 + EVENTS, 4 * EVENTS,
+				() -> eventService.getActiveEventsForStudents());
+
+		assertEquals(EVENTS, events.size());
+		assertEquals("Hall 0", events.stream().filter(event -> event.getTitle().equals("Event 0"))
+				.findFirst().orElseThrow().getHallName());
+	}
+}
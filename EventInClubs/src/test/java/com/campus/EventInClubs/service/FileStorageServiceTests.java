@@ -0,0 +1,96 @@
+package com.campus.EventInClubs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileStorageServiceTests {
+
+	@TempDir
+	Path uploadDir;
+
+	private JdbcTemplate jdbcTemplate;
+	private FileStorageService service;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class))).thenReturn("png");
+		service = new FileStorageService(jdbcTemplate, mock(TransactionTemplate.class), uploadDir.toString());
+	}
+
+	@Test
+	void sameContentIsWrittenOnceUnderItsHash() throws Exception {
+		byte[] content = "poster".getBytes();
+		FileStorageService.Stored first = service.store(new MockMultipartFile("file", "a.png", "image/png", content), "jpg");
+		FileStorageService.Stored second = service.store(new MockMultipartFile("file", "b.PNG", "image/png", content), "jpg");
+
+		assertFalse(first.deduplicated());
+		assertTrue(second.deduplicated());
+		assertEquals(first.url(), second.url());
+		String sha256 = first.sha256();
+		assertEquals("/uploads/blobs/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256 + ".png", first.url());
+		Path blob = uploadDir.resolve("blobs").resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256 + ".png");
+		assertArrayEquals(content, Files.readAllBytes(blob));
+		try (var files = Files.list(blob.getParent())) {
+			assertEquals(1, files.count());
+		}
+	}
+
+	@Test
+	void onlyBlobUrlsAdjustReferences() {
+		String url = FileStorageService.url("ab".repeat(32), "png");
+		Map<String, Integer> delta = UploadReferenceTracker.references(
+				new Object[] {"/uploads/posters/old.png", url, 3L}, new Object[] {url, null, "title"});
+		assertTrue(delta.isEmpty());
+
+		service.adjustReferences("/uploads/posters/old.png", -1);
+		service.adjustReferences(url, 1);
+		verify(jdbcTemplate, never()).update(anyString(), eq(-1), anyString());
+		verify(jdbcTemplate).update(anyString(), eq(1), eq("ab".repeat(32)));
+	}
+
+	@Test
+	void extensionFallsBackWhenMissingOrOdd() {
+		assertEquals("pptx", FileStorageService.extensionOf("Deck.PPTX", "jpg"));
+		assertEquals("jpg", FileStorageService.extensionOf("poster", "jpg"));
+		assertEquals("jpg", FileStorageService.extensionOf("x.p/../g", "jpg"));
+	}
+
+	@Test
+	void recountCoversEveryTrackedColumn() {
+		service.recountReferences();
+		verify(jdbcTemplate, never()).update(anyString());
+
+		service.trackReferencesIn(List.of(new FileStorageService.ReferenceColumn("clubs", "logo_url"),
+				new FileStorageService.ReferenceColumn("events", "description")));
+		service.recountReferences();
+
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		verify(jdbcTemplate).update(sql.capture());
+		assertTrue(sql.getValue().contains("SELECT logo_url AS url FROM clubs WHERE logo_url LIKE '/uploads/blobs/%'"));
+		assertTrue(sql.getValue().contains("SELECT description AS url FROM events WHERE description LIKE '/uploads/blobs/%'"));
+		assertTrue(sql.getValue().contains("FROM cloudinary_upload_jobs WHERE status IN ('PENDING', 'UPLOADING')"));
+	}
+}
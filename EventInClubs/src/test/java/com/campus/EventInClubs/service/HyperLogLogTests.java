@@ -0,0 +1,44 @@
+package com.campus.EventInClubs.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTests {
+
+	@Test
+	void estimatesDistinctViewersWithinTheExpectedError() {
+		for (int distinct : new int[]{10, 1_000, 100_000}) {
+			HyperLogLog sketch = new HyperLogLog(ViewCountService.PRECISION);
+			for (int i = 0; i < distinct; i++) {
+				sketch.offer("user:" + i + "@campus.test");
+				// Repeat views by the same viewer must not count again
+				sketch.offer("user:" + i + "@campus.test");
+			}
+			double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+			assertTrue(error < 0.07, distinct + " viewers estimated as " + sketch.estimate());
+		}
+	}
+
+	@Test
+	void mergedSketchesCountTheUnionOnce() {
+		HyperLogLog first = new HyperLogLog(ViewCountService.PRECISION);
+		HyperLogLog second = new HyperLogLog(ViewCountService.PRECISION);
+		for (int i = 0; i < 3_000; i++) {
+			first.offer("anon:" + i);
+		}
+		for (int i = 2_000; i < 5_000; i++) {
+			second.offer("anon:" + i);
+		}
+
+		HyperLogLog union = HyperLogLog.of(first.toBytes());
+		union.merge(second.toBytes());
+		union.merge(second.toBytes());
+
+		assertTrue(Math.abs(union.estimate() - 5_000) < 5_000 * 0.07, "union estimated as " + union.estimate());
+		assertEquals(first.estimate(), HyperLogLog.of(first.toBytes()).estimate());
+		assertFalse(union.offer("anon:42"));
+	}
+}
@@ -0,0 +1,80 @@
+package com.campus.EventInClubs.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class IdeaRankingServiceTests {
+
+	@Test
+	void wilsonLowerBoundFavoursMoreEvidence() {
+		assertEquals(0, IdeaRankingService.wilsonLowerBound(0, 0));
+		assertTrue(IdeaRankingService.wilsonLowerBound(100, 0) > IdeaRankingService.wilsonLowerBound(5, 0));
+		assertTrue(IdeaRankingService.wilsonLowerBound(5, 0) > IdeaRankingService.wilsonLowerBound(5, 1));
+		assertTrue(IdeaRankingService.wilsonLowerBound(90, 10) > IdeaRankingService.wilsonLowerBound(3, 0));
+		assertTrue(IdeaRankingService.wilsonLowerBound(100, 0) < 1);
+	}
+
+	@Test
+	void activityHalvesEachHalfLife() {
+		Instant from = Instant.parse("2026-01-01T00:00:00Z");
+
+		assertEquals(8, IdeaRankingService.decayed(8, from, from, 24), 1e-9);
+		assertEquals(4, IdeaRankingService.decayed(8, from, from.plus(Duration.ofHours(24)), 24), 1e-9);
+		assertEquals(1, IdeaRankingService.decayed(8, from, from.plus(Duration.ofHours(9)), 3), 1e-9);
+		assertEquals(8, IdeaRankingService.decayed(8, from, from.minus(Duration.ofHours(1)), 3), 1e-9);
+		assertEquals(0, IdeaRankingService.decayed(8, from, from.plus(Duration.ofDays(10_000)), 1), 1e-9);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void votesReachTheScoresOnlyAfterCommitAndOncePerIdeaPerFlush() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		doAnswer(invocation -> {
+			invocation.getArgument(0, Consumer.class).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+		IdeaRankingService service = new IdeaRankingService(jdbcTemplate, transactionTemplate);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			service.recordVote(7L, 1, 0);
+			service.recordVote(7L, 1, 0);
+			service.recordVote(7L, -1, 1);
+			service.recordComment(8L, 1);
+			verifyNoInteractions(jdbcTemplate);
+			assertEquals(0, service.pendingIdeas());
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertEquals(2, service.pendingIdeas());
+
+		service.flush();
+
+		// Idea 7: one up, one down, three units of engagement, in a single statement
+		verify(jdbcTemplate).query(anyString(), any(RowMapper.class), eq(1), eq(1), eq(0),
+				any(), any(), eq(3.0), any(), any(), eq(3.0), any(), any(), any(), eq(7L));
+		verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), any(Object[].class));
+		assertEquals(0, service.pendingIdeas());
+	}
+}
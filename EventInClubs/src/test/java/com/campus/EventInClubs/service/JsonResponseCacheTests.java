@@ -0,0 +1,101 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.config.JacksonConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonResponseCacheTests {
+
+	private final ResourceVersionService versions = new ResourceVersionService();
+	private JsonResponseCache cache;
+	private AtomicInteger builds;
+	private Supplier<List<String>> body;
+
+	@BeforeEach
+	void setUp() {
+		cache = new JsonResponseCache(new JacksonConfig().objectMapper());
+		builds = new AtomicInteger();
+		body = () -> {
+			builds.incrementAndGet();
+			return IntStream.range(0, 200).mapToObj(i -> "hall-" + i).toList();
+		};
+	}
+
+	@Test
+	void servesGzipVariantAndBuildsOncePerVersion() throws Exception {
+		ResponseEntity<byte[]> plain = cache.cached(request(null, null), "halls",
+				versions.current(ResourceVersionService.Resource.HALLS), body);
+		ResponseEntity<byte[]> gzipped = cache.cached(request("gzip, deflate, br", null), "halls",
+				versions.current(ResourceVersionService.Resource.HALLS), body);
+
+		assertNull(plain.getHeaders().getFirst("Content-Encoding"));
+		assertEquals("gzip", gzipped.getHeaders().getFirst("Content-Encoding"));
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+			assertArrayEquals(plain.getBody(), in.readAllBytes());
+		}
+		assertEquals(1, builds.get());
+	}
+
+	@Test
+	void eachResponseCarriesOnlyTheTagOfTheRepresentationItSends() {
+		ServletWebRequest gzip = request("gzip", null);
+		ResponseEntity<byte[]> gzipped = cache.cached(gzip, "halls",
+				versions.current(ResourceVersionService.Resource.HALLS), body);
+		ServletWebRequest identity = request(null, null);
+		cache.cached(identity, "halls", versions.current(ResourceVersionService.Resource.HALLS), body);
+
+		assertNull(gzipped.getHeaders().getETag());
+		assertEquals(1, gzip.getResponse().getHeaders("ETag").size());
+		assertTrue(gzip.getResponse().getHeader("ETag").endsWith("-gz\""));
+		assertEquals(1, gzip.getResponse().getHeaders("Last-Modified").size());
+		assertEquals(1, identity.getResponse().getHeaders("ETag").size());
+		assertFalse(identity.getResponse().getHeader("ETag").endsWith("-gz\""));
+	}
+
+	@Test
+	void revalidatesGzipEtagUntilTheViewChanges() {
+		ServletWebRequest first = request("gzip", null);
+		cache.cached(first, "halls", versions.current(ResourceVersionService.Resource.HALLS), body);
+		String etag = first.getResponse().getHeader("ETag");
+
+		ResponseEntity<byte[]> again = cache.cached(request("gzip", etag), "halls",
+				versions.current(ResourceVersionService.Resource.HALLS), body);
+		assertEquals(HttpStatus.NOT_MODIFIED, again.getStatusCode());
+
+		versions.markChanged(ResourceVersionService.Resource.HALLS);
+
+		ResponseEntity<byte[]> changed = cache.cached(request("gzip", etag), "halls",
+				versions.current(ResourceVersionService.Resource.HALLS), body);
+		assertEquals(HttpStatus.OK, changed.getStatusCode());
+		assertEquals(2, builds.get());
+	}
+
+	private static ServletWebRequest request(String acceptEncoding, String ifNoneMatch) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/halls");
+		if (acceptEncoding != null) {
+			request.addHeader("Accept-Encoding", acceptEncoding);
+		}
+		if (ifNoneMatch != null) {
+			request.addHeader("If-None-Match", ifNoneMatch);
+		}
+		return new ServletWebRequest(request, new MockHttpServletResponse());
+	}
+}
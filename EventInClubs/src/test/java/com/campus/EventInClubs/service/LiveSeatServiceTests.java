@@ -0,0 +1,150 @@
+package com.campus.EventInClubs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LiveSeatServiceTests {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	// Never runs the send, so updates stay in the outbox where the test can see them
+	private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+	private final AtomicLong taken = new AtomicLong(3);
+	private final SimpleAsyncTaskExecutor sendExecutor = new SimpleAsyncTaskExecutor("seat-send-");
+
+	private LiveSeatService service;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ResultSet row = mock(ResultSet.class);
+		when(row.getLong("id")).thenReturn(1L);
+		when(row.getObject("max_participants")).thenReturn(10);
+		when(row.getLong("taken")).then(invocation -> taken.get());
+		doAnswer(invocation -> {
+			invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+		service = new LiveSeatService(jdbcTemplate, executor, sendExecutor) {
+			@Override
+			SseEmitter newEmitter() {
+				return new RecordingEmitter();
+			}
+		};
+		ReflectionTestUtils.setField(service, "maxSubscribers", 1);
+	}
+
+	@Test
+	void burstsOfRegistrationsAreSentAsOneUpdateWithTheSummedDelta() {
+		service.subscribe(List.of(1L));
+
+		taken.set(5);
+		service.seatsChanged(1L);
+		service.seatsChanged(1L);
+		service.broadcast();
+		taken.set(8);
+		service.seatsChanged(1L);
+		service.broadcast();
+		service.broadcast();
+
+		Map<Long, LiveSeatService.Seats> outbox = outbox();
+		assertEquals(new LiveSeatService.Seats(1L, 8, 10, 2, 5), outbox.get(1L));
+		// One load on subscribe and one per broadcast that had a dirty event
+		verify(jdbcTemplate, times(3)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+	}
+
+	@Test
+	void unwatchedEventsAreNotRecountedAndStreamsAreCapped() {
+		service.seatsChanged(2L);
+		service.broadcast();
+		assertTrue(outbox().isEmpty());
+
+		service.subscribe(List.of(1L));
+		assertThrows(IllegalStateException.class, () -> service.subscribe(List.of(1L)));
+		assertEquals(1, service.subscriberCount());
+	}
+
+	@Test
+	void aClientThatStopsReadingIsClosedWithoutHoldingUpTheOthers() throws Exception {
+		ReflectionTestUtils.setField(service, "maxSubscribers", 2);
+		ReflectionTestUtils.setField(service, "sendTimeoutMs", 200L);
+		RecordingEmitter stalled = (RecordingEmitter) service.subscribe(List.of(1L));
+		RecordingEmitter reading = (RecordingEmitter) service.subscribe(List.of(1L));
+		stalled.blocked.set(true);
+
+		taken.set(4);
+		service.seatsChanged(1L);
+		service.broadcast();
+		long started = System.nanoTime();
+		service.send();
+
+		assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 2000);
+		assertEquals(2, reading.sent.get());
+		assertEquals(1, service.subscriberCount());
+		assertTrue(stalled.failed.get());
+
+		stalled.release.countDown();
+		taken.set(5);
+		service.seatsChanged(1L);
+		service.broadcast();
+		service.send();
+		assertEquals(3, reading.sent.get());
+		assertEquals(1, stalled.sent.get());
+	}
+
+	/** Counts sends; once blocked, sends wait like a write to a client that has stopped reading. */
+	private static class RecordingEmitter extends SseEmitter {
+		final AtomicInteger sent = new AtomicInteger();
+		final AtomicBoolean blocked = new AtomicBoolean();
+		final AtomicBoolean failed = new AtomicBoolean();
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (blocked.get()) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new IOException("Interrupted", e);
+				}
+				throw new IOException("Broken pipe");
+			}
+			sent.incrementAndGet();
+		}
+
+		@Override
+		public void completeWithError(Throwable ex) {
+			failed.set(true);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<Long, LiveSeatService.Seats> outbox() {
+		return (Map<Long, LiveSeatService.Seats>) ReflectionTestUtils.getField(service, "outbox");
+	}
+}
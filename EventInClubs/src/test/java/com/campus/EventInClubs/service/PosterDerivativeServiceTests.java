@@ -0,0 +1,51 @@
+package com.campus.EventInClubs.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PosterDerivativeServiceTests {
+
+	@TempDir
+	Path uploadDir;
+
+	@Test
+	void writesWidthBoundedJpegsNextToTheOriginal() throws Exception {
+		Path posters = uploadDir.resolve("posters");
+		posters.toFile().mkdirs();
+		Path source = posters.resolve("launch.png");
+		ImageIO.write(new BufferedImage(2400, 1200, BufferedImage.TYPE_INT_ARGB), "png", source.toFile());
+
+		PosterDerivativeService service = new PosterDerivativeService(null, null, null, null, uploadDir.toString());
+		service.writeVariants(service.sourcePath("/uploads/posters/launch.png"));
+
+		BufferedImage thumbnail = ImageIO.read(posters.resolve("launch-thumb.jpg").toFile());
+		BufferedImage card = ImageIO.read(posters.resolve("launch-card.jpg").toFile());
+		assertEquals(320, thumbnail.getWidth());
+		assertEquals(160, thumbnail.getHeight());
+		assertEquals(800, card.getWidth());
+		assertEquals("/uploads/posters/launch-card.jpg",
+				PosterDerivativeService.variantUrl("/uploads/posters/launch.png", PosterDerivativeService.Variant.CARD));
+	}
+
+	@Test
+	void smallImagesAreNotUpscaled() {
+		BufferedImage scaled = PosterDerivativeService.scaleToWidth(new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB), 800);
+		assertEquals(200, scaled.getWidth());
+		assertEquals(BufferedImage.TYPE_INT_RGB, scaled.getType());
+	}
+
+	@Test
+	void onlyLocalUploadsAreProcessed() {
+		PosterDerivativeService service = new PosterDerivativeService(null, null, null, null, uploadDir.toString());
+		assertNull(service.sourcePath("https://res.cloudinary.com/demo/poster.png"));
+		assertNull(service.sourcePath("/uploads/../application.properties"));
+		assertNull(service.derivativeUrl("/uploads/posters/launch.png", PosterDerivativeService.Variant.CARD));
+	}
+}
@@ -0,0 +1,75 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration;
+import com.campus.EventInClubs.dto.RegistrationImportReport;
+import com.campus.EventInClubs.dto.RegistrationImportReport.Outcome;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegistrationImportServiceTests {
+
+	private final EventRepository eventRepository = mock(EventRepository.class);
+	private final EventRegistrationRepository registrationRepository = mock(EventRegistrationRepository.class);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final WaitlistPromotionService waitlistPromotionService = mock(WaitlistPromotionService.class);
+	private RegistrationImportService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new RegistrationImportService(mock(EventAccessService.class), eventRepository, userRepository,
+				registrationRepository, mock(JdbcTemplate.class), mock(ResourceVersionService.class),
+				mock(ApplicationEventPublisher.class), waitlistPromotionService);
+		when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(Event.builder()
+				.id(1L).status(Event.EventStatus.PUBLISHED).maxParticipants(10).registrationFee(0.0).build()));
+		when(userRepository.findIdsByLowerEmailIn(anyCollection())).thenReturn(List.of(
+				new Object[]{21L, "a@campus.edu"}, new Object[]{22L, "b@campus.edu"}));
+		when(registrationRepository.countActiveByEventId(1L)).thenReturn(3L);
+	}
+
+	@Test
+	void rowsQueueBehindAnExistingWaitlistEvenWithSeatsFree() {
+		when(registrationRepository.countByEventIdAndStatus(1L, EventRegistration.RegistrationStatus.WAITLISTED)).thenReturn(2L);
+
+		RegistrationImportReport report = service.importRegistrations(1L, 9L, csv());
+
+		assertEquals(0, report.getRegistered());
+		assertEquals(2, report.getWaitlisted());
+		assertEquals(Outcome.WAITLISTED, report.getRows().get(0).getOutcome());
+		verify(eventRepository).findByIdForUpdate(1L);
+		verify(waitlistPromotionService).seatsReleased(1L);
+	}
+
+	@Test
+	void rowsTakeFreeSeatsWhenNobodyIsWaiting() {
+		when(registrationRepository.countByEventIdAndStatus(eq(1L), any())).thenReturn(0L);
+
+		RegistrationImportReport report = service.importRegistrations(1L, 9L, csv());
+
+		assertEquals(2, report.getRegistered());
+		assertEquals(0, report.getWaitlisted());
+	}
+
+	private static MockMultipartFile csv() {
+		return new MockMultipartFile("file", "registrations.csv", "text/csv",
+				"email\na@campus.edu\nb@campus.edu\n".getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,108 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.ClubMembership;
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.service.ResourceVersionService.Resource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResourceVersionServiceTests {
+
+	@Test
+	void aWriteOnOneNodeInvalidatesTheEtagOnEveryNode() {
+		ResourceVersionsTable table = new ResourceVersionsTable();
+		ResourceVersionService writer = node(table);
+		ResourceVersionService reader = node(table);
+		String before = reader.current(Resource.HALLS).etag();
+		assertEquals(before, writer.current(Resource.HALLS).etag());
+
+		writer.entityChanged(new Hall());
+		// The writing node's own clients see the change before it reaches the table
+		assertNotEquals(before, writer.current(Resource.HALLS).etag());
+
+		writer.flushBumps();
+		String after = reader.current(Resource.HALLS).etag();
+		assertNotEquals(before, after);
+		assertEquals(after, writer.current(Resource.HALLS).etag());
+		assertEquals(1, table.versions.get("HALLS")[0]);
+	}
+
+	@Test
+	void membershipChangesInvalidateClubLists() {
+		ResourceVersionService versions = new ResourceVersionService();
+		String before = versions.current(Resource.CLUBS).etag();
+
+		versions.entityChanged(new ClubMembership());
+
+		assertNotEquals(before, versions.current(Resource.CLUBS).etag());
+	}
+
+	@Test
+	void userChangesInvalidateEventAndClubLists() {
+		ResourceVersionService versions = new ResourceVersionService();
+		String events = versions.current(Resource.EVENTS).etag();
+		String clubs = versions.current(Resource.CLUBS).etag();
+
+		// A renamed organizer or club admin shows up in both
+		versions.entityChanged(new User());
+
+		assertNotEquals(events, versions.current(Resource.EVENTS).etag());
+		assertNotEquals(clubs, versions.current(Resource.CLUBS).etag());
+	}
+
+	private static ResourceVersionService node(ResourceVersionsTable table) {
+		ResourceVersionService versions = new ResourceVersionService(table);
+		// Every read goes to the table, as if the refresh interval had passed
+		ReflectionTestUtils.setField(versions, "refreshMs", 0L);
+		return versions;
+	}
+
+	/** resource_versions, shared by the nodes of a test. */
+	private static class ResourceVersionsTable extends JdbcTemplate {
+
+		final Map<String, long[]> versions = new ConcurrentHashMap<>();
+
+		@Override
+		public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+			long[] row = versions.get((String) args[0]);
+			return row == null ? List.of() : List.of(map(rowMapper, row));
+		}
+
+		@Override
+		public int update(String sql, Object... args) {
+			return versions.putIfAbsent((String) args[0], new long[] {0, (Long) args[1]}) == null ? 1 : 0;
+		}
+
+		@Override
+		public <T> T queryForObject(String sql, RowMapper<T> rowMapper, Object... args) {
+			long[] row = versions.merge((String) args[0], new long[] {1, (Long) args[1]},
+					(old, inserted) -> new long[] {old[0] + 1, Math.max(inserted[1], old[1] + 1000)});
+			return map(rowMapper, row);
+		}
+
+		private static <T> T map(RowMapper<T> rowMapper, long[] row) {
+			try {
+				ResultSet rs = mock(ResultSet.class);
+				when(rs.getLong(1)).thenReturn(row[0]);
+				when(rs.getLong(2)).thenReturn(row[1]);
+				return rowMapper.mapRow(rs, 0);
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.campus.EventInClubs.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TabularFileReaderTests {
+
+	@Test
+	void csvHandlesBomQuotesAndEmbeddedNewlines() throws IOException {
+		String csv = "\uFEFFemail,notes\r\na@campus.edu,\"says \"\"hi\"\", twice\"\r\nb@campus.edu,\"line one\nline two\"\nc@campus.edu,";
+		List<String[]> rows = new ArrayList<>();
+		List<Integer> rowNumbers = new ArrayList<>();
+		try (TabularFileReader reader = TabularFileReader.open(new MockMultipartFile("file", "list.csv", "text/csv",
+				csv.getBytes(StandardCharsets.UTF_8)))) {
+			String[] row;
+			while ((row = reader.next()) != null) {
+				rows.add(row);
+				rowNumbers.add(reader.getRowNumber());
+			}
+		}
+
+		assertEquals(4, rows.size());
+		assertArrayEquals(new String[]{"email", "notes"}, rows.get(0));
+		assertArrayEquals(new String[]{"a@campus.edu", "says \"hi\", twice"}, rows.get(1));
+		assertArrayEquals(new String[]{"b@campus.edu", "line one\nline two"}, rows.get(2));
+		assertArrayEquals(new String[]{"c@campus.edu", ""}, rows.get(3));
+		assertEquals(List.of(1, 2, 3, 5), rowNumbers);
+	}
+
+	@Test
+	void xlsxReadsSharedInlineAndNumericCellsInColumnOrder() throws IOException {
+		byte[] workbook = zip(Map.of(
+				"xl/workbook.xml", "<workbook xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+						+ "<sheets><sheet name=\"Sheet\" sheetId=\"1\" r:id=\"rId7\"/></sheets></workbook>",
+				"xl/_rels/workbook.xml.rels", "<Relationships><Relationship Id=\"rId7\" Target=\"worksheets/data.xml\"/></Relationships>",
+				"xl/sharedStrings.xml", "<sst><si><t>email</t></si><si><t>roll</t></si><si><r><t>a@</t></r><r><t>campus.edu</t></r></si></sst>",
+				"xl/worksheets/data.xml", "<worksheet><sheetData>"
+						+ "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"C1\" t=\"s\"><v>1</v></c></row>"
+						+ "<row r=\"4\"><c r=\"A4\" t=\"s\"><v>2</v></c><c r=\"C4\"><v>2.110990123E9</v></c></row>"
+						+ "<row r=\"5\"><c r=\"B5\" t=\"inlineStr\"><is><t>b@campus.edu</t></is></c></row>"
+						+ "</sheetData></worksheet>"));
+
+		try (TabularFileReader reader = TabularFileReader.open(new MockMultipartFile("file", "List.XLSX", null, workbook))) {
+			assertArrayEquals(new String[]{"email", "", "roll"}, reader.next());
+			assertArrayEquals(new String[]{"a@campus.edu", "", "2110990123"}, reader.next());
+			assertEquals(4, reader.getRowNumber());
+			assertArrayEquals(new String[]{"", "b@campus.edu"}, reader.next());
+			assertEquals(null, reader.next());
+		}
+	}
+
+	private static byte[] zip(Map<String, String> entries) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(out)) {
+			for (Map.Entry<String, String> entry : entries.entrySet()) {
+				zip.putNextEntry(new ZipEntry(entry.getKey()));
+				zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+				zip.closeEntry();
+			}
+		}
+		return out.toByteArray();
+	}
+}
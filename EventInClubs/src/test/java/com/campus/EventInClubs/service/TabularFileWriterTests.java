@@ -0,0 +1,65 @@
+package com.campus.EventInClubs.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TabularFileWriterTests {
+
+	private static final String[][] ROWS = {
+			{"Name", "Email", "Notes"},
+			{"Asha", "asha@campus.edu", "says \"hi\", twice"},
+			{"Ben <&>", null, "line one\nline two"},
+			{"=HYPERLINK(\"x\")", "ben@campus.edu", ""},
+	};
+
+	@Test
+	void csvQuotesSpecialCellsAndDefusesFormulas() throws IOException {
+		String csv = new String(write(TabularFileWriter.Format.CSV), StandardCharsets.UTF_8);
+
+		assertEquals("\uFEFFName,Email,Notes\r\n"
+				+ "Asha,asha@campus.edu,\"says \"\"hi\"\", twice\"\r\n"
+				+ "Ben <&>,,\"line one\nline two\"\r\n"
+				+ "\"'=HYPERLINK(\"\"x\"\")\",ben@campus.edu,\r\n", csv);
+	}
+
+	@Test
+	void xlsxRoundTripsThroughTheReader() throws IOException {
+		byte[] workbook = write(TabularFileWriter.Format.XLSX);
+
+		List<String[]> rows = new ArrayList<>();
+		try (TabularFileReader reader = TabularFileReader.open(new MockMultipartFile("file", "export.xlsx",
+				TabularFileWriter.Format.XLSX.getContentType(), workbook))) {
+			String[] row;
+			while ((row = reader.next()) != null) {
+				rows.add(row);
+			}
+		}
+
+		assertEquals(4, rows.size());
+		assertArrayEquals(ROWS[0], rows.get(0));
+		assertArrayEquals(ROWS[1], rows.get(1));
+		assertArrayEquals(new String[]{"Ben <&>", "", "line one\nline two"}, rows.get(2));
+		// Trailing empty cells are not written
+		assertArrayEquals(new String[]{"=HYPERLINK(\"x\")", "ben@campus.edu"}, rows.get(3));
+		assertEquals("AA", TabularFileWriter.XlsxWriter.columnName(26));
+	}
+
+	private static byte[] write(TabularFileWriter.Format format) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (TabularFileWriter writer = TabularFileWriter.open(format, out)) {
+			for (String[] row : ROWS) {
+				writer.writeRow(row);
+			}
+		}
+		return out.toByteArray();
+	}
+}
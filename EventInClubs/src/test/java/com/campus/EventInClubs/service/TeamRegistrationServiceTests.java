@@ -0,0 +1,74 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.TeamMember;
+import com.campus.EventInClubs.domain.model.TeamRegistration;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.TeamMemberRepository;
+import com.campus.EventInClubs.repository.TeamRegistrationRepository;
+import com.campus.EventInClubs.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TeamRegistrationServiceTests {
+
+	private TeamMemberRepository teamMemberRepository;
+	private TeamRegistrationService service;
+
+	@BeforeEach
+	void setUp() {
+		EventRepository eventRepository = mock(EventRepository.class);
+		teamMemberRepository = mock(TeamMemberRepository.class);
+		service = new TeamRegistrationService(mock(TeamRegistrationRepository.class), teamMemberRepository,
+				eventRepository, mock(UserRepository.class), mock(NotificationService.class), mock(EmailService.class));
+		when(eventRepository.findById(1L)).thenReturn(Optional.of(Event.builder()
+				.id(1L).isTeamEvent(true).minTeamMembers(2).maxTeamMembers(4).build()));
+	}
+
+	@Test
+	void wholeTeamIsCheckedInOneQueryWithNormalizedValues() {
+		TeamRegistration existing = TeamRegistration.builder().teamName("Null Pointers").build();
+		when(teamMemberRepository.findConflicts(eq(1L), anyCollection(), anyCollection())).thenReturn(List.of(
+				TeamMember.builder().rollNumber("other").email("b@campus.edu").teamRegistration(existing).build()));
+
+		RuntimeException error = assertThrows(RuntimeException.class, () -> service.registerTeam(1L, 9L, "Team",
+				List.of(" 2021CS1 ", "2021CS2", "2021CS3"), null, List.of("A@Campus.edu", " B@campus.edu", ""), null));
+
+		assertEquals("Email b@campus.edu is already registered in another team for this event", error.getMessage());
+		verify(teamMemberRepository, times(1)).findConflicts(1L,
+				Set.of("2021CS1", "2021CS2", "2021CS3"), Set.of("a@campus.edu", "b@campus.edu"));
+	}
+
+	@Test
+	void duplicateWithinTheTeamIsRejectedBeforeQuerying() {
+		RuntimeException error = assertThrows(RuntimeException.class, () -> service.registerTeam(1L, 9L, "Team",
+				List.of("2021CS1", "2021CS1 "), null, null, null));
+
+		assertEquals("Roll number 2021CS1 appears more than once in the team", error.getMessage());
+		verify(teamMemberRepository, never()).findConflicts(any(), anyCollection(), anyCollection());
+	}
+
+	@Test
+	void overLongRollNumberIsRejectedAsSuch() {
+		RuntimeException error = assertThrows(RuntimeException.class, () -> service.registerTeam(1L, 9L, "Team",
+				List.of("2021CS1", "2021CS2-" + "X".repeat(30)), null, null, null));
+
+		assertEquals("Roll number 2021CS2-" + "X".repeat(30) + " is longer than 32 characters", error.getMessage());
+		verify(teamMemberRepository, never()).findConflicts(any(), anyCollection(), anyCollection());
+	}
+}
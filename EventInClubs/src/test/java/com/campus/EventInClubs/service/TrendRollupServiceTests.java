@@ -0,0 +1,41 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.ActivityRollup.Granularity;
+import com.campus.EventInClubs.domain.model.ActivityRollup.Metric;
+import com.campus.EventInClubs.domain.model.ActivityRollup.Scope;
+import com.campus.EventInClubs.dto.TrendDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class TrendRollupServiceTests {
+
+	private final TrendRollupService service =
+			new TrendRollupService(mock(JdbcTemplate.class), mock(TransactionTemplate.class), "Asia/Kolkata");
+
+	@Test
+	void bucketsWithoutRollupsAreFilledWithZeros() {
+		TrendDto trend = service.trend(Metric.VOTES, Scope.CLUB, 7L, Granularity.DAY,
+				Instant.parse("2026-03-01T10:00:00Z"), Instant.parse("2026-03-04T10:00:00Z"));
+
+		// Days start at local midnight, 18:30 UTC the evening before
+		assertEquals(Instant.parse("2026-02-28T18:30:00Z"), trend.getFrom());
+		assertEquals(4, trend.getPoints().size());
+		assertEquals(Instant.parse("2026-03-03T18:30:00Z"), trend.getPoints().get(3).getBucket());
+		assertTrue(trend.getPoints().stream().allMatch(point -> point.getCount() == 0));
+		assertEquals(0, trend.getTotal());
+	}
+
+	@Test
+	void rangeWithTooManyBucketsIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> service.trend(Metric.IDEAS, Scope.ALL, null, Granularity.HOUR,
+				Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-03-01T00:00:00Z")));
+	}
+}
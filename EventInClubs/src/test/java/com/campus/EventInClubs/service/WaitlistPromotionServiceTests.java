@@ -0,0 +1,71 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.EventRegistration.RegistrationStatus;
+import com.campus.EventInClubs.repository.EventRegistrationRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WaitlistPromotionServiceTests {
+
+	private EventRepository eventRepository;
+	private EventRegistrationRepository registrationRepository;
+	private ApplicationEventPublisher eventPublisher;
+	private WaitlistPromotionService service;
+
+	@BeforeEach
+	void setUp() {
+		eventRepository = mock(EventRepository.class);
+		registrationRepository = mock(EventRegistrationRepository.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		service = new WaitlistPromotionService(eventRepository, registrationRepository, mock(CheckInService.class),
+				mock(ResourceVersionService.class), eventPublisher, mock(PlatformTransactionManager.class));
+
+		when(eventRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(Event.builder()
+				.id(7L).status(Event.EventStatus.PUBLISHED).maxParticipants(10)
+				.endDate(LocalDateTime.now().plusDays(1)).build()));
+	}
+
+	@Test
+	void promotesOnlyAsManyAsThereAreFreeSeats() {
+		when(registrationRepository.countByEventIdAndStatusIn(eq(7L), anyCollection())).thenReturn(8L);
+		when(registrationRepository.lockOldestWaitlistedIds(7L, 2)).thenReturn(List.of(31L, 32L));
+		when(registrationRepository.findUserIdsByIdIn(List.of(31L, 32L))).thenReturn(List.of(5L, 6L));
+
+		assertEquals(List.of(31L, 32L), service.promote(7L));
+
+		verify(registrationRepository).promoteWaitlisted(List.of(31L, 32L));
+		verify(eventPublisher).publishEvent(new WaitlistPromotionService.WaitlistPromoted(7L, List.of(31L, 32L), List.of(5L, 6L)));
+	}
+
+	@Test
+	void leavesTheQueueAloneWhenTheEventIsFull() {
+		when(registrationRepository.countByEventIdAndStatusIn(eq(7L), anyCollection())).thenReturn(10L);
+
+		assertTrue(service.promote(7L).isEmpty());
+
+		verify(registrationRepository, never()).lockOldestWaitlistedIds(any(), anyInt());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+		assertTrue(service.holdsSeat(RegistrationStatus.NO_SHOW));
+		assertFalse(service.holdsSeat(RegistrationStatus.WAITLISTED));
+	}
+}
@@ -0,0 +1,56 @@
+package com.campus.EventInClubs.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test class against the full application context on its own embedded
+ * Postgres, with the schema built from the JPA mappings. Native queries, row
+ * locks and constraints behave as in production. Each class gets a fresh
+ * database, so rows left by one class never show up in another.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+		"spring.jpa.hibernate.ddl-auto=update",
+		"spring.mail.host=localhost",
+		"spring.mail.port=1",
+		"spring.mail.username=test@example.edu",
+		"spring.mail.password=unused",
+		"app.seed.synthetic.enabled=false",
+		"app.uploads.dir=${java.io.tmpdir}/eventinclubs-test-uploads",
+		"logging.level.root=WARN"
+})
+@Import(EmbeddedPostgresTest.EmbeddedDatabase.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public @interface EmbeddedPostgresTest {
+
+	@TestConfiguration
+	class EmbeddedDatabase {
+
+		@Bean(destroyMethod = "close")
+		EmbeddedPostgres embeddedPostgres() throws IOException {
+			return EmbeddedPostgres.start();
+		}
+
+		@Bean
+		DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+			return DataSourceBuilder.create()
+					.url(embeddedPostgres.getJdbcUrl("postgres", "postgres"))
+					.username("postgres")
+					.build();
+		}
+	}
+}
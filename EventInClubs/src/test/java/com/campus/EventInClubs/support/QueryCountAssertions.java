@@ -0,0 +1,53 @@
+package com.campus.EventInClubs.support;
+
+import com.campus.EventInClubs.config.QueryAccounting;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fails a test when the code under test issues more SQL than allowed, so an
+ * N+1 regression breaks the build instead of a production dashboard. Needs a
+ * context with Hibernate (the accounting hooks are registered by
+ * QueryAccountingConfig); everything on the calling thread is counted.
+ *
+ * <pre>
+ * List&lt;EventDto&gt; events = QueryCountAssertions.assertMaxStatements(3, () -&gt; eventService.getActiveEvents());
+ * </pre>
+ */
+public final class QueryCountAssertions {
+
+	private QueryCountAssertions() {
+	}
+
+	public static <T> T assertMaxStatements(long maxStatements, Supplier<T> work) {
+		return assertWithin(maxStatements, Long.MAX_VALUE, work);
+	}
+
+	public static void assertMaxStatements(long maxStatements, Runnable work) {
+		assertWithin(maxStatements, Long.MAX_VALUE, () -> {
+			work.run();
+			return null;
+		});
+	}
+
+	public static <T> T assertWithin(long maxStatements, long maxEntityLoads, Supplier<T> work) {
+		T result;
+		long statements;
+		long entityLoads;
+		try (QueryAccounting.Scope scope = QueryAccounting.open()) {
+			result = work.get();
+			statements = scope.getStatements();
+			entityLoads = scope.getEntityLoads();
+		}
+		if (statements > maxStatements) {
+			fail("Expected at most " + maxStatements + " SQL statements but " + statements + " were executed ("
+					+ entityLoads + " entity loads)");
+		}
+		if (entityLoads > maxEntityLoads) {
+			fail("Expected at most " + maxEntityLoads + " entity loads but " + entityLoads + " were loaded");
+		}
+		return result;
+	}
+}
@@ -7,6 +7,16 @@ const commentApi = {
     return response.data;
   },
 
+  // Get a page of an idea's threads with replies nested (maxDepth omitted loads every level)
+  getCommentThreads: async (ideaId, { offset = 0, limit = 20, maxDepth } = {}) => {
+    const params = new URLSearchParams({ offset, limit });
+    if (maxDepth !== undefined && maxDepth !== null) {
+      params.append('maxDepth', maxDepth);
+    }
+    const response = await http.get(`/api/comments/idea/${ideaId}/thread?${params}`);
+    return response.data;
+  },
+
   // Get comments by user
   getCommentsByUser: async (userId) => {
     const response = await http.get(`/api/comments/user/${userId}`);
@@ -0,0 +1,35 @@
+import { httpClient } from './http';
+
+// Each dashboard in one request. A section that failed or timed out on the server
+// is missing from `sections` and listed in `errors`; the rest are still usable.
+export const dashboardApi = {
+  getClubAdminDashboard: async () => {
+    try {
+      const response = await httpClient.get('/dashboard/club-admin');
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching club admin dashboard:', error);
+      throw error;
+    }
+  },
+
+  getSuperAdminDashboard: async () => {
+    try {
+      const response = await httpClient.get('/dashboard/super-admin');
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching super admin dashboard:', error);
+      throw error;
+    }
+  },
+
+  getStudentDashboard: async () => {
+    try {
+      const response = await httpClient.get('/dashboard/student');
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching student dashboard:', error);
+      throw error;
+    }
+  }
+};
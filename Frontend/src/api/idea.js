@@ -13,6 +13,12 @@ const ideaApi = {
     return response.data;
   },
 
+  // Get ranked ideas: sort is 'hot', 'top' or 'rising'; scope is optional { eventId | problemId | clubId }
+  getRankedIdeas: async (sort = 'hot', scope = {}, limit = 20) => {
+    const response = await http.get('/ideas/ranked', { params: { sort, limit, ...scope } });
+    return response.data;
+  },
+
   // Get featured ideas
   getFeaturedIdeas: async () => {
     const response = await http.get('/ideas/featured');
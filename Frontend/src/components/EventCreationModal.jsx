@@ -15,6 +15,7 @@ const EventCreationModal = ({ onClose, onSubmit, clubId, initialData = null, isR
     registrationFee: 0,
     selectedHall: '',
     isTeamEvent: false,
+    admissionQueue: false,
     minTeamMembers: '',
     maxTeamMembers: ''
   });
@@ -400,6 +401,20 @@ const EventCreationModal = ({ onClose, onSubmit, clubId, initialData = null, isR
             </label>
           </div>
 
+          {!formData.isTeamEvent && (
+            <div className="form-group">
+              <label className="checkbox-label">
+                <input
+                  type="checkbox"
+                  name="admissionQueue"
+                  checked={formData.admissionQueue}
+                  onChange={handleInputChange}
+                />
+                <span>Expect a rush: queue sign-ups and admit them in order</span>
+              </label>
+            </div>
+          )}
+
           {formData.isTeamEvent && (
             <div className="form-row">
               <div className="form-group">
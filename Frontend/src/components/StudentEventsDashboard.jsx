@@ -11,6 +11,24 @@ const StudentEventsDashboard = () => {
     fetchApprovedEvents();
   }, []);
 
+  // Live seat counts for the listed events; the server pushes at most one update per event per second
+  const watchedEventIds = approvedEvents.slice(0, 100).map(event => event.id).join(',');
+  useEffect(() => {
+    if (!watchedEventIds) return undefined;
+    const source = new EventSource(`/api/event-registrations/seats/stream?eventIds=${watchedEventIds}`, {
+      withCredentials: true
+    });
+    source.addEventListener('seats', (message) => {
+      const seats = JSON.parse(message.data);
+      setApprovedEvents(events => events.map(event =>
+        event.id === seats.eventId
+          ? { ...event, currentParticipants: seats.taken, maxParticipants: seats.capacity ?? event.maxParticipants }
+          : event
+      ));
+    });
+    return () => source.close();
+  }, [watchedEventIds]);
+
   const fetchApprovedEvents = async () => {
     try {
       setLoading(true);
@@ -189,7 +207,7 @@ const StudentEventsDashboard = () => {
               <div key={event.id} className="event-card">
                 {event.imageUrl && (
                   <div className="event-image">
-                    <img src={event.imageUrl} alt={event.title} />
+                    <img src={event.imageCardUrl || event.imageUrl} alt={event.title} />
                   </div>
                 )}
 
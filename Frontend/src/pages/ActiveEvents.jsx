@@ -85,6 +85,17 @@ const ActiveEvents = () => {
     }
   };
 
+  // Queued sign-ups come back 202 with a ticket; poll it until the queue has decided
+  const waitForTicket = async (ticketId) => {
+    while (true) {
+      await new Promise(resolve => setTimeout(resolve, 1500));
+      const { data: ticket } = await http.get(`/event-registrations/queue/${ticketId}`);
+      if (ticket.status !== 'QUEUED') {
+        return ticket;
+      }
+    }
+  };
+
   const handleRegistrationSubmit = async (e) => {
     e.preventDefault();
     setIsSubmitting(true);
@@ -187,7 +198,18 @@ const ActiveEvents = () => {
         response = await http.post(`/event-registrations/register?${params.toString()}`);
       }
 
-      if (response.status === 200) {
+      if (response.status === 202) {
+        const ticket = await waitForTicket(response.data.id);
+        if (ticket.status === 'REGISTERED') {
+          alert('Registration successful! You will receive a confirmation notification.');
+        } else if (ticket.status === 'WAITLISTED') {
+          alert('The event is full, you have been added to the waitlist.');
+        } else {
+          alert(`Registration failed: ${ticket.message || 'Please try again'}`);
+        }
+        setShowRegistrationModal(false);
+        fetchActiveEvents();
+      } else if (response.status === 200) {
         const result = response.data;
         alert('Registration successful! You will receive a confirmation notification.');
         setShowRegistrationModal(false);
@@ -311,7 +333,7 @@ const ActiveEvents = () => {
             <div key={event.id} className="event-card">
               {event.imageUrl && (
                 <div className="event-image">
-                  <img src={event.imageUrl} alt={event.title} />
+                  <img src={event.imageCardUrl || event.imageUrl} alt={event.title} />
                 </div>
               )}
               
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
 import './ClubAdminDashboard.css';
 import ClubRegistrationModal from '../components/ClubRegistrationModal';
@@ -9,6 +9,7 @@ import RejectedEventsPanel from '../components/RejectedEventsPanel';
 import { clubApi } from '../api/club';
 import { eventApi } from '../api/event.js';
 import http from '../api/http';
+import { dashboardApi } from '../api/dashboard';
 
 export default function ClubAdminDashboard() {
   const navigate = useNavigate();
@@ -42,6 +43,8 @@ export default function ClubAdminDashboard() {
   const [registrationsEventId, setRegistrationsEventId] = useState(null);
   const [searchQuery, setSearchQuery] = useState('');
   const [proposalStatusFilter, setProposalStatusFilter] = useState('all');
+  // Sections that came with the clubs from the dashboard request, so the clubs effect skips refetching them
+  const dashboardSectionsRef = useRef(null);
   // Handle URL parameters for tab navigation
   useEffect(() => {
     const searchParams = new URLSearchParams(location.search);
@@ -70,9 +73,7 @@ export default function ClubAdminDashboard() {
       
       if (userId) {
         console.log('User data available, fetching dashboard data for user:', userId);
-        fetchClubs();
-        fetchActiveEvents();
-        fetchAllEvents();
+        loadDashboard();
         fetchNotifications();
       } else {
         retryCount++;
@@ -97,12 +98,16 @@ export default function ClubAdminDashboard() {
   useEffect(() => {
     if (clubs.length > 0) {
       console.log('Clubs loaded, fetching rejected events and active events for clubs:', clubs);
-      fetchRejectedEvents(clubs);
+      const loaded = dashboardSectionsRef.current || {};
+      dashboardSectionsRef.current = null;
+      if (!('rejectedEvents' in loaded)) fetchRejectedEvents(clubs);
       // Fetch proposals/topics and events now that admin club IDs are available
-      fetchProposals();
-      fetchEvents();
-      fetchActiveEvents(); // Refetch active events now that clubs are loaded
-      fetchAllEvents(); // Refetch all events for engagement calculation
+      if (!('topics' in loaded)) {
+        fetchProposals();
+        fetchEvents();
+      }
+      if (!('activeEvents' in loaded)) fetchActiveEvents(); // Refetch active events now that clubs are loaded
+      if (!('allEvents' in loaded)) fetchAllEvents(); // Refetch all events for engagement calculation
       if (!selectedClubId) {
         setSelectedClubId(clubs[0]?.id || null);
       }
@@ -169,6 +174,32 @@ export default function ClubAdminDashboard() {
     return isActive;
   };
 
+  // Loads every panel in one request; panels the server could not load fall back to their own fetch
+  const loadDashboard = async () => {
+    let sections = {};
+    try {
+      sections = (await dashboardApi.getClubAdminDashboard()).sections || {};
+    } catch (error) {
+      console.error('Dashboard request failed, loading panels separately:', error);
+    }
+    if (!('clubs' in sections)) {
+      await fetchClubs();
+      return;
+    }
+    if ((sections.clubs || []).length > 0) {
+      dashboardSectionsRef.current = sections;
+    }
+    if ('topics' in sections) {
+      setProposals(toActiveProposals(sections.topics || []));
+      setEvents(sections.topics || []);
+    }
+    if ('activeEvents' in sections) setActiveEvents(sections.activeEvents || []);
+    if ('allEvents' in sections) setAllEvents(sections.allEvents || []);
+    if ('rejectedEvents' in sections) setRejectedEvents(sections.rejectedEvents || []);
+    setClubs(sections.clubs || []);
+    setLoading(false);
+  };
+
   const fetchClubs = async () => {
     try {
       console.log('Fetching clubs from API...');
@@ -198,6 +229,36 @@ export default function ClubAdminDashboard() {
     }
   };
 
+  // Maps club topic events to proposal cards, dropping those past their deadline (with 1 day grace period)
+  const toActiveProposals = (eventsData) => {
+    const proposalsData = eventsData.map(event => ({
+      id: event.id,
+      title: event.title,
+      description: event.description,
+      clubName: event.clubName,
+      clubId: event.clubId,
+      type: event.type || 'WORKSHOP', // Add event type
+      date: event.createdAt ? new Date(event.createdAt).toLocaleDateString() : new Date().toLocaleDateString(), // Add creation date
+      votes: event.totalVotes || 0, // Add total votes (from ideas)
+      submissionDeadline: event.ideaSubmissionDeadline || event.submissionDeadline,
+      status: event.status, // Event status (DRAFT, PENDING_APPROVAL, APPROVED, etc.)
+      approvalStatus: event.approvalStatus, // Approval status (PENDING, APPROVED, REJECTED)
+      rejectionReason: event.rejectionReason || '',
+      approvedByName: event.approvedByName || '',
+      upvotes: 0,
+      ideas: []
+    }));
+    
+    console.log('All proposals before filtering:', proposalsData);
+    const activeProposals = proposalsData.filter(proposal => {
+      const isActive = isProposalActive(proposal.submissionDeadline);
+      console.log(`Proposal "${proposal.title}" - Active: ${isActive}`);
+      return isActive;
+    });
+    console.log('Active proposals after filtering:', activeProposals);
+    return activeProposals;
+  };
+
   const fetchProposals = async () => {
     try {
       // Fetch events that accept ideas for proposals section
@@ -208,34 +269,9 @@ export default function ClubAdminDashboard() {
       const adminClubIds = clubs.map(club => Number(club.id));
       console.log('Admin club IDs:', adminClubIds);
       
-      const proposalsData = eventsData
-        .filter(event => adminClubIds.includes(Number(event.clubId))) // Filter by admin's clubs
-        .map(event => ({
-          id: event.id,
-          title: event.title,
-          description: event.description,
-          clubName: event.clubName,
-          clubId: event.clubId,
-          type: event.type || 'WORKSHOP', // Add event type
-          date: event.createdAt ? new Date(event.createdAt).toLocaleDateString() : new Date().toLocaleDateString(), // Add creation date
-          votes: event.totalVotes || 0, // Add total votes (from ideas)
-          submissionDeadline: event.ideaSubmissionDeadline || event.submissionDeadline,
-          status: event.status, // Event status (DRAFT, PENDING_APPROVAL, APPROVED, etc.)
-          approvalStatus: event.approvalStatus, // Approval status (PENDING, APPROVED, REJECTED)
-          rejectionReason: event.rejectionReason || '',
-          approvedByName: event.approvedByName || '',
-          upvotes: 0,
-          ideas: []
-        }));
-      
-      // Filter out proposals where deadline has passed (with 1 day grace period)
-      console.log('All proposals before filtering:', proposalsData);
-      const activeProposals = proposalsData.filter(proposal => {
-        const isActive = isProposalActive(proposal.submissionDeadline);
-        console.log(`Proposal "${proposal.title}" - Active: ${isActive}`);
-        return isActive;
-      });
-      console.log('Active proposals after filtering:', activeProposals);
+      const activeProposals = toActiveProposals(
+        eventsData.filter(event => adminClubIds.includes(Number(event.clubId))) // Filter by admin's clubs
+      );
       
       setProposals(activeProposals || []);
       
@@ -1373,7 +1409,7 @@ export default function ClubAdminDashboard() {
               <div className="event-header">
                 {event.imageUrl && (
                   <div className="event-poster">
-                    <img src={event.imageUrl} alt={event.title} />
+                    <img src={event.imageCardUrl || event.imageUrl} alt={event.title} />
                   </div>
                 )}
                 <div className="event-title-section">
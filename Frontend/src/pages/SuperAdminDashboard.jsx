@@ -5,6 +5,7 @@ import { userApi } from '../api/user';
 import { analyticsApi } from '../api/analytics';
 import { superAdminRequestApi } from '../api/superAdminRequests';
 import { clubAdminRequestApi } from '../api/clubAdminRequests';
+import { dashboardApi } from '../api/dashboard';
 import SuperAdminRequests from './SuperAdminRequests';
 import ClubAdminRequests from './ClubAdminRequests';
 import SuperAdminApprovalDashboard from '../components/SuperAdminApprovalDashboard';
@@ -26,13 +27,26 @@ export default function SuperAdminDashboard() {
 
   const fetchAllData = async () => {
     try {
+      // One request for every panel; any section the server could not load is fetched on its own
+      let sections = {};
+      try {
+        sections = (await dashboardApi.getSuperAdminDashboard()).sections || {};
+      } catch (error) {
+        console.error('Dashboard request failed, loading panels separately:', error);
+      }
+      if ('clubs' in sections) setClubs(sections.clubs || []);
+      if ('events' in sections) setEvents(sections.events || []);
+      if ('users' in sections) setUsers(sections.users || []);
+      if ('analytics' in sections) setAnalytics(sections.analytics || {});
+      if ('pendingSuperAdminRequests' in sections) setPendingSuperAdminRequests(sections.pendingSuperAdminRequests || 0);
+      if ('pendingClubAdminRequests' in sections) setPendingClubAdminRequests(sections.pendingClubAdminRequests || 0);
       await Promise.all([
-        fetchClubs(),
-        fetchEvents(),
-        fetchUsers(),
-        fetchAnalytics(),
-        fetchPendingSuperAdminRequests(),
-        fetchPendingClubAdminRequests()
+        !('clubs' in sections) && fetchClubs(),
+        !('events' in sections) && fetchEvents(),
+        !('users' in sections) && fetchUsers(),
+        !('analytics' in sections) && fetchAnalytics(),
+        !('pendingSuperAdminRequests' in sections) && fetchPendingSuperAdminRequests(),
+        !('pendingClubAdminRequests' in sections) && fetchPendingClubAdminRequests()
       ]);
       setLoading(false);
     } catch (error) {